@@ -23,7 +23,7 @@ CREATE TABLE "public"."book" (
                                  "description" character varying(255),
                                  "image" character varying(255),
                                  "name" character varying(255),
-                                 "price" double precision NOT NULL,
+                                 "price_cents" bigint DEFAULT 0 NOT NULL,
                                  "stock" integer,
                                  "updated_at" timestamp(6),
                                  "category_id" uuid,
@@ -0,0 +1,46 @@
+package com.nullers.restbookstore.config.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuración del pool que resuelve en paralelo las referencias de un pedido
+ * <p>
+ * El pool está acotado en hilos y en cola. Cuando se satura, la consulta se ejecuta en el hilo de la petición, de
+ * forma que la validación nunca se rechaza y la presión vuelve al cliente en lugar de acumularse en memoria.
+ */
+@Configuration
+public class OrderValidationExecutorConfig {
+
+    /**
+     * Pool de validación de pedidos
+     *
+     * @param threads       hilos del pool
+     * @param queueCapacity consultas que pueden esperar en la cola
+     * @return pool de validación
+     */
+    @Bean(name = "orderValidationExecutor", destroyMethod = "shutdown")
+    public ExecutorService orderValidationExecutor(@Value("${orders.validation.threads:8}") int threads,
+                                                   @Value("${orders.validation.queue-capacity:256}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "order-validation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int size = Math.max(threads, 1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,46 @@
+package com.nullers.restbookstore.config.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuración del pool que calcula los hash BCrypt de las contraseñas
+ * <p>
+ * BCrypt consume CPU a propósito. Con un pool propio y acotado, una avalancha de inicios de sesión ocupa como mucho
+ * estos hilos y no los de Tomcat. Cuando la cola está llena la tarea se rechaza al instante, y el cliente recibe un
+ * 503 en lugar de esperar a que se libere un hilo.
+ */
+@Configuration
+public class PasswordHashingExecutorConfig {
+
+    /**
+     * Pool de hash de contraseñas
+     *
+     * @param threads       hilos del pool, 0 para la mitad de los procesadores
+     * @param queueCapacity hash que pueden esperar en la cola
+     * @return pool de hash de contraseñas
+     */
+    @Bean(name = "passwordHashingExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(@Value("${security.password.threads:0}") int threads,
+                                                      @Value("${security.password.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int size = threads > 0 ? threads : Math.max(Runtime.getRuntime().availableProcessors() / 2, 1);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -1,13 +1,17 @@
 package com.nullers.restbookstore.config.auth;
 
+import com.nullers.restbookstore.config.jfr.JwtFilterEvent;
 import com.nullers.restbookstore.rest.auth.services.jwt.JwtService;
+import com.nullers.restbookstore.rest.auth.services.jwt.TokenVersionRegistry;
 import com.nullers.restbookstore.rest.auth.services.users.AuthUsersService;
+import com.nullers.restbookstore.rest.user.models.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
@@ -19,10 +23,15 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * JwtAuthenticationFilter es un filtro que se ejecuta en cada petición y comprueba si el token
  * de autenticación es válido. Si es así, lo añade al contexto de seguridad.
+ * <p>
+ * Con jwt.stateless-principal activo, el usuario se reconstruye con los claims del token y la revocación se comprueba
+ * en memoria, sin consultar la base de datos. Los tokens emitidos sin esos claims se siguen validando cargando el
+ * usuario.
  *
  * @Author Binwei Wang
  */
@@ -34,17 +43,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private final JwtService jwtService;
     private final AuthUsersService authUsersService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessPrincipal;
 
     /**
      * Constructor de la clase
      *
-     * @param jwtService       jwtService para la gestión de JWT
-     * @param authUsersService authUsersService para la gestión de usuarios
+     * @param jwtService           jwtService para la gestión de JWT
+     * @param authUsersService     authUsersService para la gestión de usuarios
+     * @param tokenVersionRegistry versiones mínimas válidas de los tokens
+     * @param statelessPrincipal   reconstruir el usuario con los claims del token
      */
     @Autowired
-    public JwtAuthenticationFilter(JwtService jwtService, AuthUsersService authUsersService) {
+    public JwtAuthenticationFilter(JwtService jwtService, AuthUsersService authUsersService,
+                                   TokenVersionRegistry tokenVersionRegistry,
+                                   @Value("${jwt.stateless-principal:true}") boolean statelessPrincipal) {
         this.jwtService = jwtService;
         this.authUsersService = authUsersService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     /**
@@ -71,11 +88,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         log.info("Se ha encontrado cabecera de autenticación, se procesa");
+        JwtFilterEvent event = JwtFilterEvent.start();
         jwt = authHeader.substring(7);
         try {
             userName = jwtService.extractUserName(jwt);
         } catch (Exception e) {
             log.info("Token no válido");
+            JwtFilterEvent.decoded(event);
+            JwtFilterEvent.finish(event, JwtFilterEvent.INVALID);
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token no autorizado o no válido");
             return;
         }
@@ -83,25 +103,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(userName)
                 && SecurityContextHolder.getContext().getAuthentication() == null) {
             log.info("Comprobando usuario y token");
+            Optional<User> principal = statelessPrincipal ? jwtService.extractPrincipal(jwt) : Optional.empty();
+            JwtFilterEvent.decoded(event);
+            if (principal.isPresent()) {
+                User user = principal.get();
+                if (!tokenVersionRegistry.isValid(user.getId(), user.getTokenVersion())) {
+                    log.info("Token revocado para el usuario: {}", userName);
+                    JwtFilterEvent.finish(event, JwtFilterEvent.REVOKED);
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token revocado");
+                    return;
+                }
+                authenticate(request, user);
+                JwtFilterEvent.finish(event, JwtFilterEvent.AUTHENTICATED);
+                filterChain.doFilter(request, response);
+                return;
+            }
             try {
                 userDetails = authUsersService.loadUserByUsername(userName);
             } catch (Exception e) {
                 log.info("Usuario no encontrado: {}", userName);
+                JwtFilterEvent.userLoaded(event);
+                JwtFilterEvent.finish(event, JwtFilterEvent.USER_NOT_FOUND);
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Usuario no autorizado");
                 return;
             }
-            authUsersService.loadUserByUsername(userName);
             log.info("Usuario encontrado: {}", userDetails);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                log.info("JWT válido");
-                SecurityContext context = SecurityContextHolder.createEmptyContext();
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                context.setAuthentication(authToken);
-                SecurityContextHolder.setContext(context);
+            boolean valid = jwtService.isTokenValid(jwt, userDetails);
+            JwtFilterEvent.userLoaded(event);
+            if (valid) {
+                authenticate(request, userDetails);
             }
+            JwtFilterEvent.finish(event, valid ? JwtFilterEvent.AUTHENTICATED : JwtFilterEvent.REJECTED);
+        } else {
+            JwtFilterEvent.decoded(event);
+            JwtFilterEvent.finish(event, JwtFilterEvent.SKIPPED);
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Añade el usuario autenticado al contexto de seguridad
+     *
+     * @param request     petición http
+     * @param userDetails usuario autenticado
+     */
+    private void authenticate(HttpServletRequest request, UserDetails userDetails) {
+        log.info("JWT válido");
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        context.setAuthentication(authToken);
+        SecurityContextHolder.setContext(context);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.nullers.restbookstore.config.auth;
+
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+
+/**
+ * Configuración de la seguridad de métodos
+ * <p>
+ * Sustituye el interceptor estándar de {@code @PreAuthorize} por uno que resuelve las expresiones de roles sin
+ * evaluar SpEL. Las demás anotaciones de pre y post autorización no se usan en la aplicación, por lo que
+ * {@link SecurityConfig} desactiva su registro.
+ */
+@Configuration
+public class MethodSecurityConfig {
+
+    /**
+     * Interceptor de {@code @PreAuthorize}
+     *
+     * @param applicationContext contexto de la aplicación, para las expresiones que referencian beans
+     * @return interceptor de autorización previo a la invocación
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(ApplicationContext applicationContext) {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setApplicationContext(applicationContext);
+        PreAuthorizeAuthorizationManager preAuthorize = new PreAuthorizeAuthorizationManager();
+        preAuthorize.setExpressionHandler(expressionHandler);
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(
+                new RoleFastPathAuthorizationManager(preAuthorize));
+    }
+}
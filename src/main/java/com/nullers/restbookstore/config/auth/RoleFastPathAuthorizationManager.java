@@ -0,0 +1,101 @@
+package com.nullers.restbookstore.config.auth;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Autorización de {@link PreAuthorize} con atajo para las expresiones de roles
+ * <p>
+ * Las expresiones {@code hasRole('X')} y {@code hasAnyRole('X', 'Y')} se resuelven una vez por método y después se
+ * comprueban directamente contra las autoridades del usuario, sin crear el contexto de evaluación de SpEL ni el
+ * conjunto de autoridades en cada llamada. Cualquier otra expresión se delega en el gestor estándar.
+ */
+public class RoleFastPathAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+    private static final Pattern ROLE_EXPRESSION = Pattern.compile(
+            "\\s*has(?:Any)?Role\\(\\s*('\\w+'(?:\\s*,\\s*'\\w+')*)\\s*\\)\\s*");
+    private static final Pattern QUOTED_ROLE = Pattern.compile("'(\\w+)'");
+
+    private final AuthorizationManager<MethodInvocation> delegate;
+    private final Map<MethodClassKey, AuthorizationManager<MethodInvocation>> managers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param delegate gestor estándar de {@link PreAuthorize} para el resto de expresiones
+     */
+    public RoleFastPathAuthorizationManager(AuthorizationManager<MethodInvocation> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Decide si la invocación está autorizada
+     *
+     * @param authentication usuario autenticado
+     * @param invocation     invocación del método protegido
+     * @return decisión de autorización, o null si el método no tiene {@link PreAuthorize}
+     */
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : method.getDeclaringClass();
+        return managers.computeIfAbsent(new MethodClassKey(method, targetClass), key -> resolve(method, targetClass))
+                .check(authentication, invocation);
+    }
+
+    /**
+     * Elige el gestor de un método según su expresión
+     *
+     * @param method      método invocado
+     * @param targetClass clase del objeto invocado
+     * @return gestor de roles si la expresión es de roles, el gestor estándar en otro caso
+     */
+    private AuthorizationManager<MethodInvocation> resolve(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, PreAuthorize.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        }
+        List<String> roles = annotation == null ? List.of() : roles(annotation.value());
+        return roles.isEmpty() ? delegate : AuthorityAuthorizationManager.hasAnyRole(roles.toArray(String[]::new));
+    }
+
+    /**
+     * Extrae los roles de una expresión {@code hasRole} o {@code hasAnyRole}
+     *
+     * @param expression expresión de {@link PreAuthorize}
+     * @return roles sin prefijo, o vacío si la expresión es de otro tipo
+     */
+    static List<String> roles(String expression) {
+        Matcher matcher = ROLE_EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            return List.of();
+        }
+        List<String> roles = new ArrayList<>();
+        Matcher quoted = QUOTED_ROLE.matcher(matcher.group(1));
+        while (quoted.find()) {
+            if (quoted.group(1).startsWith("ROLE_")) {
+                return List.of();
+            }
+            roles.add(quoted.group(1));
+        }
+        return roles;
+    }
+}
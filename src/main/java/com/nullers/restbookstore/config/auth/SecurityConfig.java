@@ -1,5 +1,6 @@
 package com.nullers.restbookstore.config.auth;
 
+import com.nullers.restbookstore.rest.auth.services.users.AuthUsersService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,8 +12,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -31,24 +30,28 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity
+@EnableMethodSecurity(prePostEnabled = false)
 public class SecurityConfig {
     /**
      * Atributos de la clase
      */
-    private final UserDetailsService userService;
+    private final AuthUsersService userService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PasswordEncoder passwordEncoder;
 
     /**
      * Constructor de la clase
      *
      * @param userService             user service para la autenticación
      * @param jwtAuthenticationFilter filtro de autenticación
+     * @param passwordEncoder         codificador de contraseñas con pool acotado
      */
     @Autowired
-    public SecurityConfig(UserDetailsService userService, JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(AuthUsersService userService, JwtAuthenticationFilter jwtAuthenticationFilter,
+                          PasswordEncoder passwordEncoder) {
         this.userService = userService;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.passwordEncoder = passwordEncoder;
     }
 
     /**
@@ -86,7 +89,8 @@ public class SecurityConfig {
     }
 
     /**
-     * Configura la autenticación
+     * Configura la autenticación. Las contraseñas con un coste de BCrypt distinto del configurado se recalculan al
+     * iniciar sesión
      *
      * @return AuthenticationProvider
      */
@@ -94,21 +98,11 @@ public class SecurityConfig {
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userService);
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
-    /**
-     * Encripta la contraseña
-     *
-     * @return PasswordEncoder
-     */
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     /**
      * Configura el AuthenticationManager
      *
@@ -0,0 +1,54 @@
+package com.nullers.restbookstore.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de una lectura de las cachés de los servicios
+ */
+@Name("com.nullers.restbookstore.CacheAccess")
+@Label("Acceso a caché")
+@Category({"Bookstore", "Caché"})
+@Description("Lectura de una caché de Spring, con acierto o fallo")
+public class CacheAccessEvent extends jdk.jfr.Event {
+
+    @Label("Caché")
+    String cache;
+
+    @Label("Acierto")
+    boolean hit;
+
+    /**
+     * Empieza el evento si está activo
+     *
+     * @return evento empezado, o null si no se emite
+     */
+    public static CacheAccessEvent start() {
+        if (!JfrEvents.isEnabled()) {
+            return null;
+        }
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termina y registra el evento
+     *
+     * @param event evento empezado, o null si no se emite
+     * @param cache nombre de la caché
+     * @param hit   si el valor estaba en la caché
+     */
+    public static void finish(CacheAccessEvent event, String cache, boolean hit) {
+        if (event != null) {
+            event.cache = cache;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
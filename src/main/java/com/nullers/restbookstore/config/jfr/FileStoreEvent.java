@@ -0,0 +1,61 @@
+package com.nullers.restbookstore.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Evento JFR del almacenamiento de un fichero subido
+ */
+@Name("com.nullers.restbookstore.FileStore")
+@Label("Almacenamiento de fichero")
+@Category({"Bookstore", "Almacenamiento"})
+@Description("Validación y copia a disco de un fichero subido")
+public class FileStoreEvent extends jdk.jfr.Event {
+
+    @Label("Fichero")
+    String filename;
+
+    @Label("Tamaño")
+    @DataAmount
+    long size;
+
+    @Label("Almacenado")
+    boolean stored;
+
+    /**
+     * Empieza el evento si está activo
+     *
+     * @return evento empezado, o null si no se emite
+     */
+    public static FileStoreEvent start() {
+        if (!JfrEvents.isEnabled()) {
+            return null;
+        }
+        FileStoreEvent event = new FileStoreEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termina y registra el evento
+     *
+     * @param event  evento empezado, o null si no se emite
+     * @param file   fichero subido
+     * @param stored nombre con el que se ha guardado, o null si no se ha guardado
+     */
+    public static void finish(FileStoreEvent event, MultipartFile file, String stored) {
+        if (event != null) {
+            event.filename = stored != null ? stored : file.getOriginalFilename();
+            event.size = file.getSize();
+            event.stored = stored != null;
+            event.commit();
+        }
+    }
+}
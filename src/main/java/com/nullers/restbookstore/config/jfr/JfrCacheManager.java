@@ -0,0 +1,124 @@
+package com.nullers.restbookstore.config.jfr;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gestor de cachés que emite un {@link CacheAccessEvent} en cada lectura de las cachés de otro gestor
+ */
+public class JfrCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param delegate gestor de cachés original
+     */
+    public JfrCacheManager(CacheManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Cache getCache(@NonNull String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache original = delegate.getCache(name);
+        return original == null ? null : caches.computeIfAbsent(name, key -> new JfrCache(original));
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * Caché que emite un evento en cada lectura y delega todo en la original
+     */
+    static final class JfrCache implements Cache {
+        private final Cache delegate;
+
+        JfrCache(Cache delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        @NonNull
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        @NonNull
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(@NonNull Object key) {
+            CacheAccessEvent event = CacheAccessEvent.start();
+            ValueWrapper value = delegate.get(key);
+            CacheAccessEvent.finish(event, delegate.getName(), value != null);
+            return value;
+        }
+
+        @Override
+        public <T> T get(@NonNull Object key, Class<T> type) {
+            CacheAccessEvent event = CacheAccessEvent.start();
+            T value = delegate.get(key, type);
+            CacheAccessEvent.finish(event, delegate.getName(), value != null);
+            return value;
+        }
+
+        @Override
+        public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+            CacheAccessEvent event = CacheAccessEvent.start();
+            boolean[] loaded = new boolean[1];
+            T value = delegate.get(key, () -> {
+                loaded[0] = true;
+                return valueLoader.call();
+            });
+            CacheAccessEvent.finish(event, delegate.getName(), !loaded[0]);
+            return value;
+        }
+
+        @Override
+        public void put(@NonNull Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(@NonNull Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(@NonNull Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+    }
+}
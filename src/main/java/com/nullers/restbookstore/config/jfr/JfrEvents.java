@@ -0,0 +1,37 @@
+package com.nullers.restbookstore.config.jfr;
+
+/**
+ * Interruptor de los eventos JFR propios de la aplicación
+ * <p>
+ * Los eventos solo se crean si el perfil {@code jfr} está activo. Mientras no lo está, cada punto instrumentado se
+ * reduce a leer este interruptor, sin crear el evento ni leer el reloj.
+ */
+public final class JfrEvents {
+
+    private static volatile boolean enabled;
+
+    /**
+     * Constructor privado para evitar instancias
+     */
+    private JfrEvents() {
+        // Constructor privado para evitar instancias
+    }
+
+    /**
+     * Indica si se emiten los eventos
+     *
+     * @return true si el perfil jfr está activo
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Activa o desactiva la emisión de los eventos
+     *
+     * @param value true para emitirlos
+     */
+    static void setEnabled(boolean value) {
+        enabled = value;
+    }
+}
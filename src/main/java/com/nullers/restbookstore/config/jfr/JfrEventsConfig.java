@@ -0,0 +1,56 @@
+package com.nullers.restbookstore.config.jfr;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Activa los eventos JFR propios de la aplicación con el perfil {@code jfr}
+ * <p>
+ * Los eventos de pedidos, filtro JWT, difusión WebSocket y almacenamiento de ficheros se emiten desde su código, y los
+ * de las cachés envolviendo el gestor de cachés. Para grabarlos hay que arrancar también una grabación de JFR, por
+ * ejemplo con {@code -XX:StartFlightRecording}.
+ */
+@Configuration
+@Profile("jfr")
+@Slf4j
+public class JfrEventsConfig implements DisposableBean {
+
+    /**
+     * Constructor
+     */
+    public JfrEventsConfig() {
+        JfrEvents.setEnabled(true);
+        log.info("Eventos JFR de la aplicación activados");
+    }
+
+    /**
+     * Envuelve los gestores de cachés para emitir un evento en cada lectura
+     *
+     * @return post-procesador de los gestores de cachés
+     */
+    @Bean
+    public static BeanPostProcessor jfrCacheManagerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof JfrCacheManager)) {
+                    return new JfrCacheManager(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Desactiva los eventos al cerrar el contexto
+     */
+    @Override
+    public void destroy() {
+        JfrEvents.setEnabled(false);
+    }
+}
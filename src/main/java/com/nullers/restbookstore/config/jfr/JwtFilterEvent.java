@@ -0,0 +1,115 @@
+package com.nullers.restbookstore.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de la autenticación de una petición con token JWT
+ * <p>
+ * Separa el tiempo de decodificar y verificar el token del de cargar el usuario, y no incluye el resto de la cadena
+ * de filtros.
+ */
+@Name("com.nullers.restbookstore.JwtFilter")
+@Label("Filtro JWT")
+@Category({"Bookstore", "Seguridad"})
+@Description("Autenticación de una petición con token JWT")
+public class JwtFilterEvent extends jdk.jfr.Event {
+
+    /**
+     * Token no válido
+     */
+    public static final String INVALID = "INVALID";
+    /**
+     * Token revocado
+     */
+    public static final String REVOKED = "REVOKED";
+    /**
+     * Usuario autenticado
+     */
+    public static final String AUTHENTICATED = "AUTHENTICATED";
+    /**
+     * Token que no corresponde al usuario
+     */
+    public static final String REJECTED = "REJECTED";
+    /**
+     * Usuario no encontrado
+     */
+    public static final String USER_NOT_FOUND = "USER_NOT_FOUND";
+    /**
+     * Petición ya autenticada o sin usuario en el token
+     */
+    public static final String SKIPPED = "SKIPPED";
+
+    @Label("Decodificación del token")
+    @Timespan(Timespan.NANOSECONDS)
+    long decodeTime;
+
+    @Label("Carga del usuario")
+    @Timespan(Timespan.NANOSECONDS)
+    long userLoadTime;
+
+    @Label("Resultado")
+    String outcome;
+
+    private transient long mark;
+
+    /**
+     * Empieza el evento si está activo
+     *
+     * @return evento empezado, o null si no se emite
+     */
+    public static JwtFilterEvent start() {
+        if (!JfrEvents.isEnabled()) {
+            return null;
+        }
+        JwtFilterEvent event = new JwtFilterEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        event.mark = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Marca el fin de la decodificación del token
+     *
+     * @param event evento empezado, o null si no se emite
+     */
+    public static void decoded(JwtFilterEvent event) {
+        if (event != null) {
+            long now = System.nanoTime();
+            event.decodeTime += now - event.mark;
+            event.mark = now;
+        }
+    }
+
+    /**
+     * Marca el fin de la carga y la comprobación del usuario
+     *
+     * @param event evento empezado, o null si no se emite
+     */
+    public static void userLoaded(JwtFilterEvent event) {
+        if (event != null) {
+            long now = System.nanoTime();
+            event.userLoadTime += now - event.mark;
+            event.mark = now;
+        }
+    }
+
+    /**
+     * Termina y registra el evento
+     *
+     * @param event   evento empezado, o null si no se emite
+     * @param outcome resultado de la autenticación
+     */
+    public static void finish(JwtFilterEvent event, String outcome) {
+        if (event != null) {
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+}
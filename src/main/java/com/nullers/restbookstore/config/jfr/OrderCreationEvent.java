@@ -0,0 +1,66 @@
+package com.nullers.restbookstore.config.jfr;
+
+import com.nullers.restbookstore.rest.orders.models.Order;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de la creación de un pedido
+ */
+@Name("com.nullers.restbookstore.OrderCreation")
+@Label("Creación de pedido")
+@Category({"Bookstore", "Pedidos"})
+@Description("Creación de un pedido, desde la validación hasta que se guarda")
+public class OrderCreationEvent extends jdk.jfr.Event {
+
+    @Label("Pedido")
+    String orderId;
+
+    @Label("Líneas")
+    int lines;
+
+    @Label("Escrituras de stock")
+    @Description("Libros cuyo stock se ha actualizado")
+    int stockWrites;
+
+    @Label("Desde reserva de carrito")
+    boolean fromHold;
+
+    /**
+     * Empieza el evento si está activo
+     *
+     * @return evento empezado, o null si no se emite
+     */
+    public static OrderCreationEvent start() {
+        if (!JfrEvents.isEnabled()) {
+            return null;
+        }
+        OrderCreationEvent event = new OrderCreationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termina y registra el evento
+     *
+     * @param event       evento empezado, o null si no se emite
+     * @param order       pedido guardado
+     * @param stockWrites libros cuyo stock se ha actualizado
+     * @param fromHold    si el pedido viene de una reserva de carrito
+     */
+    public static void finish(OrderCreationEvent event, Order order, int stockWrites, boolean fromHold) {
+        if (event == null) {
+            return;
+        }
+        event.orderId = order.getId() == null ? null : order.getIdStr();
+        event.lines = order.getOrderLines() == null ? 0 : order.getOrderLines().size();
+        event.stockWrites = stockWrites;
+        event.fromHold = fromHold;
+        event.commit();
+    }
+}
@@ -0,0 +1,63 @@
+package com.nullers.restbookstore.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * Evento JFR del envío de un mensaje a los clientes WebSocket conectados
+ */
+@Name("com.nullers.restbookstore.WebSocketFanOut")
+@Label("Difusión WebSocket")
+@Category({"Bookstore", "WebSocket"})
+@Description("Envío de un mensaje de cambios a todas las sesiones abiertas")
+public class WebSocketFanOutEvent extends jdk.jfr.Event {
+
+    @Label("Entidad")
+    String entity;
+
+    @Label("Sesiones")
+    int sessions;
+
+    @Label("Bytes enviados")
+    @Description("Tamaño del mensaje por el número de sesiones")
+    @DataAmount
+    long bytes;
+
+    /**
+     * Empieza el evento si está activo
+     *
+     * @return evento empezado, o null si no se emite
+     */
+    public static WebSocketFanOutEvent start() {
+        if (!JfrEvents.isEnabled()) {
+            return null;
+        }
+        WebSocketFanOutEvent event = new WebSocketFanOutEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termina y registra el evento
+     *
+     * @param event    evento empezado, o null si no se emite
+     * @param entity   entidad de los cambios
+     * @param sessions sesiones a las que se ha enviado
+     * @param message  mensaje enviado
+     */
+    public static void finish(WebSocketFanOutEvent event, String entity, int sessions, TextMessage message) {
+        if (event != null) {
+            event.entity = entity;
+            event.sessions = sessions;
+            event.bytes = (long) message.getPayloadLength() * sessions;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.nullers.restbookstore.config.metrics;
+
+import com.nullers.restbookstore.rest.metrics.dto.MethodLatency;
+import com.nullers.restbookstore.rest.metrics.services.LatencyMetricsService;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Añade el {@link LatencyInterceptor} a los controladores REST, a los servicios y a los repositorios de Spring Data
+ * de JPA y de MongoDB
+ * <p>
+ * Si el componente ya tiene un proxy, por la caché, las transacciones o la seguridad de métodos, el interceptor se
+ * añade el primero de su cadena para medir también esos consejos; si no, se crea un proxy de la clase. En los
+ * repositorios se añade al proxy que crea Spring Data, de modo que el nombre es el de la interfaz del repositorio. Se
+ * desactiva con {@code metrics.latency.enabled=false}.
+ */
+@Component
+public class LatencyInstrumentation implements BeanPostProcessor, BeanClassLoaderAware {
+
+    private static final String METRICS_PACKAGE = "com.nullers.restbookstore.rest.metrics";
+
+    private final LatencyMetricsService metrics;
+    private final boolean enabled;
+    private ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+    /**
+     * Constructor
+     *
+     * @param metrics servicio de latencias
+     * @param enabled si se instrumentan los componentes
+     */
+    @Autowired
+    public LatencyInstrumentation(LatencyMetricsService metrics,
+                                  @Value("${metrics.latency.enabled:true}") boolean enabled) {
+        this.metrics = metrics;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Registra el interceptor en las factorías de repositorios antes de que creen el repositorio
+     *
+     * @param bean     bean
+     * @param beanName nombre del bean
+     * @return el mismo bean
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(new LatencyInterceptor(metrics,
+                            MethodLatency.Layer.REPOSITORY, information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    /**
+     * Añade el interceptor a los controladores REST y a los servicios
+     *
+     * @param bean     bean
+     * @param beanName nombre del bean
+     * @return el bean con el interceptor
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled) {
+            return bean;
+        }
+        Class<?> type = ClassUtils.getUserClass(AopUtils.getTargetClass(bean));
+        MethodLatency.Layer layer = layerOf(type);
+        if (layer == null || type.getName().startsWith(METRICS_PACKAGE)) {
+            return bean;
+        }
+        LatencyInterceptor interceptor = new LatencyInterceptor(metrics, layer, type.getSimpleName());
+        if (bean instanceof Advised advised) {
+            if (!advised.isFrozen()) {
+                advised.addAdvice(0, interceptor);
+            }
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(classLoader);
+    }
+
+    private static MethodLatency.Layer layerOf(Class<?> type) {
+        if (AnnotatedElementUtils.hasAnnotation(type, RestController.class)) {
+            return MethodLatency.Layer.CONTROLLER;
+        }
+        if (AnnotatedElementUtils.hasAnnotation(type, Service.class)) {
+            return MethodLatency.Layer.SERVICE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.nullers.restbookstore.config.metrics;
+
+import com.nullers.restbookstore.rest.metrics.dto.MethodLatency;
+import com.nullers.restbookstore.rest.metrics.services.LatencyMetricsService;
+import com.nullers.restbookstore.rest.metrics.services.MethodTimer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interceptor que cuenta las llamadas a los métodos de un componente y mide su latencia
+ * <p>
+ * Guarda el cronómetro de cada método, así que después de la primera llamada medir una llamada es una búsqueda en
+ * un mapa, dos lecturas del reloj y unos incrementos atómicos, sin reservar memoria.
+ */
+public class LatencyInterceptor implements MethodInterceptor {
+    private final LatencyMetricsService metrics;
+    private final MethodLatency.Layer layer;
+    private final String component;
+    private final ConcurrentMap<Method, MethodTimer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param metrics   servicio de latencias
+     * @param layer     capa del componente
+     * @param component nombre del componente
+     */
+    public LatencyInterceptor(LatencyMetricsService metrics, MethodLatency.Layer layer, String component) {
+        this.metrics = metrics;
+        this.layer = layer;
+        this.component = component;
+    }
+
+    /**
+     * Llama al método y registra si ha terminado con una excepción y, si toca según el muestreo, su latencia
+     *
+     * @param invocation llamada
+     * @return resultado del método
+     * @throws Throwable excepción del método
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        MethodTimer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, m -> metrics.timer(layer, component, m.getName()));
+        }
+        boolean sampled = timer.sample();
+        long start = sampled ? System.nanoTime() : 0;
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            timer.record(sampled ? System.nanoTime() - start : -1, failed);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.nullers.restbookstore.config.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Migración de los importes en coma flotante a céntimos
+ * <p>
+ * En la base de datos relacional copia la antigua columna price de los libros a price_cents y la elimina. En MongoDB
+ * reescribe en céntimos el total y las líneas de los pedidos que aún guardan el importe como Double. Las dos
+ * migraciones son idempotentes: solo actúan sobre la columna antigua y sobre los pedidos con importes decimales.
+ * <p>
+ * Se ejecutan al terminar de crear los beans y antes de arrancar el servidor web, de modo que ninguna petición lee
+ * precios sin migrar ni inserta libros mientras la columna antigua sigue siendo obligatoria.
+ */
+@Component
+@Slf4j
+public class MoneyMigration implements SmartInitializingSingleton {
+    private static final String ORDERS_COLLECTION = "orders";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final boolean onStartup;
+
+    /**
+     * Constructor
+     *
+     * @param jdbcTemplate        plantilla JDBC
+     * @param transactionTemplate plantilla de transacciones JPA
+     * @param mongoTemplate       plantilla de MongoDB
+     * @param onStartup           migrar al arrancar
+     */
+    @Autowired
+    public MoneyMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                          MongoTemplate mongoTemplate, @Value("${money.migration.on-startup:true}") boolean onStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.onStartup = onStartup;
+    }
+
+    /**
+     * Ejecuta las migraciones antes de que el servidor web empiece a atender peticiones
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    /**
+     * Ejecuta las migraciones
+     */
+    public void migrate() {
+        if (!onStartup) {
+            return;
+        }
+        try {
+            migrateBooks();
+        } catch (RuntimeException e) {
+            log.error("No se pueden migrar los precios de los libros " + e);
+        }
+        try {
+            migrateOrders();
+        } catch (RuntimeException e) {
+            log.warn("No se pueden migrar los importes de los pedidos " + e);
+        }
+    }
+
+    /**
+     * Copia los precios de la columna antigua a céntimos y elimina la columna antigua
+     */
+    void migrateBooks() {
+        Integer legacyColumns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE LOWER(table_name) = 'book' AND LOWER(column_name) = 'price'", Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int rows = jdbcTemplate.update("UPDATE book SET price_cents = ROUND(price * 100) WHERE price IS NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE book DROP COLUMN price");
+            log.info("Precios de " + rows + " libros migrados a céntimos");
+        });
+    }
+
+    /**
+     * Reescribe en céntimos los importes de los pedidos guardados como Double
+     */
+    void migrateOrders() {
+        Document filter = new Document("total", new Document("$type", "double"));
+        Document lines = new Document("$map", new Document()
+                .append("input", new Document("$ifNull", List.of("$orderLines", List.of())))
+                .append("as", "line")
+                .append("in", new Document("$mergeObjects", List.of("$$line", new Document()
+                        .append("price", toCents("$$line.price"))
+                        .append("total", toCents("$$line.total"))))));
+        Document set = new Document("$set", new Document()
+                .append("total", toCents("$total"))
+                .append("orderLines", lines));
+        long modified = mongoTemplate.getCollection(ORDERS_COLLECTION).updateMany(filter, List.of(set))
+                .getModifiedCount();
+        if (modified > 0) {
+            log.info("Importes de " + modified + " pedidos migrados a céntimos");
+        }
+    }
+
+    /**
+     * Expresión de agregación que convierte un importe decimal a céntimos
+     *
+     * @param field campo con el importe
+     * @return expresión
+     */
+    private static Document toCents(String field) {
+        return new Document("$toLong", new Document("$round",
+                List.of(new Document("$multiply", List.of(new Document("$ifNull", List.of(field, 0)), 100)), 0)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.nullers.restbookstore.config.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.nullers.restbookstore.rest.orders.codecs.OrderDocumentConverters;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.UuidRepresentation;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migración de los UUID de los pedidos a binario estándar
+ * <p>
+ * Los pedidos guardados con la representación antigua de Java (subtipo 3) se siguen pudiendo leer, pero las consultas
+ * por usuario, cliente o tienda buscan el subtipo 4 y no los encontrarían. La migración reescribe esos campos. Es
+ * idempotente: el filtro solo selecciona binarios que ordenan antes que cualquier UUID estándar, es decir, los de
+ * subtipo menor que 4.
+ * <p>
+ * Se ejecuta al terminar de crear los beans y antes de arrancar el servidor web, de modo que ninguna consulta por
+ * usuario, cliente o tienda llega mientras quedan pedidos sin migrar.
+ */
+@Component
+@Slf4j
+public class UuidMigration implements SmartInitializingSingleton {
+    private static final String ORDERS_COLLECTION = "orders";
+    private static final List<String> UUID_FIELDS = List.of(OrderDocumentConverters.USER_ID,
+            OrderDocumentConverters.CLIENT_ID, OrderDocumentConverters.SHOP_ID);
+    private static final BsonBinary LOWEST_STANDARD_UUID = new BsonBinary(BsonBinarySubType.UUID_STANDARD,
+            new byte[16]);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean onStartup;
+    private final int batchSize;
+
+    /**
+     * Constructor
+     *
+     * @param mongoTemplate plantilla de MongoDB
+     * @param onStartup     migrar al arrancar
+     * @param batchSize     pedidos reescritos por lote
+     */
+    @Autowired
+    public UuidMigration(MongoTemplate mongoTemplate, @Value("${uuid.migration.on-startup:true}") boolean onStartup,
+                         @Value("${uuid.migration.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.onStartup = onStartup;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Ejecuta la migración antes de que el servidor web empiece a atender peticiones
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    /**
+     * Ejecuta la migración
+     */
+    public void migrate() {
+        if (!onStartup) {
+            return;
+        }
+        try {
+            migrateOrders();
+        } catch (RuntimeException e) {
+            log.warn("No se pueden migrar los UUID de los pedidos " + e);
+        }
+    }
+
+    /**
+     * Reescribe como binario estándar los UUID de los pedidos guardados con la representación antigua
+     */
+    void migrateOrders() {
+        MongoCollection<BsonDocument> orders = mongoTemplate.getCollection(ORDERS_COLLECTION)
+                .withDocumentClass(BsonDocument.class);
+        var filter = Filters.or(UUID_FIELDS.stream().map(field -> Filters.lt(field, LOWEST_STANDARD_UUID)).toList());
+        List<WriteModel<BsonDocument>> updates = new ArrayList<>();
+        long modified = 0;
+        try (MongoCursor<BsonDocument> cursor = orders.find(filter)
+                .projection(Projections.include(UUID_FIELDS))
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                BsonDocument order = cursor.next();
+                BsonDocument set = new BsonDocument();
+                for (String field : UUID_FIELDS) {
+                    BsonValue value = order.get(field);
+                    if (value != null && value.isBinary()
+                            && value.asBinary().getType() == BsonBinarySubType.UUID_LEGACY.getValue()) {
+                        set.append(field, new BsonBinary(value.asBinary().asUuid(UuidRepresentation.JAVA_LEGACY)));
+                    }
+                }
+                if (!set.isEmpty()) {
+                    updates.add(new UpdateOneModel<>(Filters.eq(OrderDocumentConverters.ID, order.get(OrderDocumentConverters.ID)),
+                            new BsonDocument("$set", set)));
+                }
+                if (updates.size() >= batchSize) {
+                    modified += orders.bulkWrite(updates).getModifiedCount();
+                    updates.clear();
+                }
+            }
+        }
+        if (!updates.isEmpty()) {
+            modified += orders.bulkWrite(updates).getModifiedCount();
+        }
+        if (modified > 0) {
+            log.info("UUID de " + modified + " pedidos migrados a binario estándar");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.nullers.restbookstore.config.mongo;
+
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderOutboxEntry;
+import com.nullers.restbookstore.rest.sales.models.SalesRollup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.List;
+
+/**
+ * Configuración de los índices de MongoDB
+ * <p>
+ * Crea al arrancar los índices declarados en los documentos. Si MongoDB no está disponible solo se registra un aviso
+ * para no impedir el arranque de la aplicación.
+ */
+@Configuration
+@Slf4j
+public class MongoIndexConfig {
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Order.class, OrderOutboxEntry.class,
+            SalesRollup.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean createOnStartup;
+
+    /**
+     * Constructor
+     *
+     * @param mongoTemplate   Plantilla de MongoDB
+     * @param createOnStartup Crear los índices al arrancar
+     */
+    @Autowired
+    public MongoIndexConfig(MongoTemplate mongoTemplate,
+                            @Value("${mongo.indexes.create-on-startup:true}") boolean createOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.createOnStartup = createOnStartup;
+    }
+
+    /**
+     * Crea los índices declarados cuando la aplicación está lista
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!createOnStartup) {
+            return;
+        }
+        var resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            try {
+                resolver.resolveIndexFor(document).forEach(indexOps::ensureIndex);
+                log.info("Índices de " + document.getSimpleName() + " creados");
+            } catch (RuntimeException e) {
+                log.warn("No se pueden crear los índices de " + document.getSimpleName() + " " + e);
+            }
+        }
+    }
+}
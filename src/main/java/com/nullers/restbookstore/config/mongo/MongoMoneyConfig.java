@@ -0,0 +1,94 @@
+package com.nullers.restbookstore.config.mongo;
+
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.codecs.OrderDocumentConverters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de la conversión de importes en MongoDB
+ * <p>
+ * Los importes se guardan como céntimos en un Int64. Los documentos anteriores a la migración, con el importe en
+ * Double, se siguen pudiendo leer. Los pedidos tienen sus propias conversiones, escritas a mano, que ya guardan los
+ * importes en céntimos.
+ */
+@Configuration
+public class MongoMoneyConfig {
+
+    /**
+     * Conversiones personalizadas de MongoDB
+     *
+     * @return conversiones de importes y de pedidos
+     */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        List<Converter<?, ?>> converters = new ArrayList<>(moneyConverters());
+        converters.addAll(OrderDocumentConverters.converters());
+        return new MongoCustomConversions(converters);
+    }
+
+    /**
+     * Conversores de importes
+     *
+     * @return conversores de escritura y lectura de importes
+     */
+    public static List<Converter<?, ?>> moneyConverters() {
+        return List.of(
+                new MoneyToLongConverter(),
+                new LongToMoneyConverter(),
+                new IntegerToMoneyConverter(),
+                new DoubleToMoneyConverter()
+        );
+    }
+
+    /**
+     * Escribe un importe como céntimos
+     */
+    @WritingConverter
+    static class MoneyToLongConverter implements Converter<Money, Long> {
+        @Override
+        public Long convert(Money source) {
+            return source.cents();
+        }
+    }
+
+    /**
+     * Lee un importe guardado en céntimos
+     */
+    @ReadingConverter
+    static class LongToMoneyConverter implements Converter<Long, Money> {
+        @Override
+        public Money convert(Long source) {
+            return Money.ofCents(source);
+        }
+    }
+
+    /**
+     * Lee un importe guardado en céntimos como Int32
+     */
+    @ReadingConverter
+    static class IntegerToMoneyConverter implements Converter<Integer, Money> {
+        @Override
+        public Money convert(Integer source) {
+            return Money.ofCents(source);
+        }
+    }
+
+    /**
+     * Lee un importe decimal de un documento anterior a la migración
+     */
+    @ReadingConverter
+    static class DoubleToMoneyConverter implements Converter<Double, Money> {
+        @Override
+        public Money convert(Double source) {
+            return Money.of(source);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nullers.restbookstore.config.statements;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Anota en la petición en curso cada comando que el driver de MongoDB envía al servidor
+ * <p>
+ * La forma del comando es su nombre, la colección y los campos del filtro, sin sus valores.
+ */
+public class MongoStatementListener implements CommandListener {
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (StatementTracker.current() != null) {
+            StatementTracker.recordMongo(shape(event));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        StatementTracker.recordMongoTime(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        StatementTracker.recordMongoTime(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private static String shape(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        BsonValue collection = command.get(event.getCommandName());
+        StringBuilder shape = new StringBuilder("mongo ").append(event.getCommandName());
+        if (collection != null && collection.isString()) {
+            shape.append(' ').append(event.getDatabaseName()).append('.').append(collection.asString().getValue());
+        }
+        BsonValue filter = command.get("filter");
+        if (filter != null && filter.isDocument()) {
+            shape.append(' ').append(filter.asDocument().keySet());
+        }
+        return shape.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.nullers.restbookstore.config.statements;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sentencias SQL y comandos de MongoDB ejecutados durante una petición
+ * <p>
+ * Cuenta las sentencias y su tiempo, y cuántas veces se repite cada forma de sentencia: el texto con los literales
+ * sustituidos por {@code ?}. Una misma forma repetida muchas veces en una petición suele ser una consulta por fila
+ * (N+1). Se puede actualizar desde varios hilos si la petición reparte trabajo en un pool.
+ */
+public class RequestStatements {
+    private final LongAdder sqlCount = new LongAdder();
+    private final LongAdder sqlNanos = new LongAdder();
+    private final LongAdder mongoCount = new LongAdder();
+    private final LongAdder mongoNanos = new LongAdder();
+    private final ConcurrentMap<String, Integer> shapes = new ConcurrentHashMap<>();
+
+    void sql(String shape) {
+        sqlCount.increment();
+        shapes.merge(shape, 1, Integer::sum);
+    }
+
+    void sqlTime(long nanos) {
+        sqlNanos.add(nanos);
+    }
+
+    void mongo(String shape) {
+        mongoCount.increment();
+        shapes.merge(shape, 1, Integer::sum);
+    }
+
+    void mongoTime(long nanos) {
+        mongoNanos.add(nanos);
+    }
+
+    /**
+     * Sentencias SQL ejecutadas
+     *
+     * @return número de sentencias
+     */
+    public long getSqlCount() {
+        return sqlCount.sum();
+    }
+
+    /**
+     * Tiempo de las sentencias SQL
+     *
+     * @return tiempo en nanosegundos
+     */
+    public long getSqlNanos() {
+        return sqlNanos.sum();
+    }
+
+    /**
+     * Comandos de MongoDB ejecutados
+     *
+     * @return número de comandos
+     */
+    public long getMongoCount() {
+        return mongoCount.sum();
+    }
+
+    /**
+     * Tiempo de los comandos de MongoDB
+     *
+     * @return tiempo en nanosegundos
+     */
+    public long getMongoNanos() {
+        return mongoNanos.sum();
+    }
+
+    /**
+     * Formas de sentencia que se repiten al menos el número de veces indicado
+     *
+     * @param threshold repeticiones a partir de las cuales se considera N+1
+     * @return forma y repeticiones, de más a menos repetida
+     */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+}
@@ -0,0 +1,21 @@
+package com.nullers.restbookstore.config.statements;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Anota en la petición en curso cada sentencia SQL que Hibernate prepara, sin modificarla
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    /**
+     * Anota la sentencia
+     *
+     * @param sql sentencia SQL
+     * @return la misma sentencia
+     */
+    @Override
+    public String inspect(String sql) {
+        StatementTracker.recordSql(sql);
+        return sql;
+    }
+}
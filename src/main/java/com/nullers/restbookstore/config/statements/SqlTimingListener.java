@@ -0,0 +1,33 @@
+package com.nullers.restbookstore.config.statements;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Mide el tiempo de ejecución de las sentencias SQL de una sesión de Hibernate y lo anota en la petición en curso
+ * <p>
+ * Hibernate crea una instancia por sesión a partir de {@code hibernate.session.events.auto}.
+ */
+public class SqlTimingListener extends BaseSessionEventListener {
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        StatementTracker.recordSqlTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        StatementTracker.recordSqlTime(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,148 @@
+package com.nullers.restbookstore.config.statements;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de las sentencias de la petición en curso
+ * <p>
+ * La petición abre un {@link RequestStatements} en el hilo que la atiende y los ganchos de Hibernate y del driver de
+ * MongoDB anotan en él cada sentencia. Fuera de una petición, como en las tareas programadas o al arrancar, no se
+ * anota nada. El trabajo que la petición lanza en otros hilos solo se cuenta si se envuelve con
+ * {@link #propagate(Supplier)}.
+ */
+public final class StatementTracker {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Constructor privado para evitar instancias
+     */
+    private StatementTracker() {
+        // Constructor privado para evitar instancias
+    }
+
+    /**
+     * Empieza a anotar las sentencias del hilo actual
+     *
+     * @return sentencias de la petición
+     */
+    public static RequestStatements start() {
+        RequestStatements statements = new RequestStatements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    /**
+     * Deja de anotar las sentencias del hilo actual
+     *
+     * @return sentencias anotadas, o null si no se estaban anotando
+     */
+    public static RequestStatements stop() {
+        RequestStatements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements;
+    }
+
+    /**
+     * Sentencias de la petición en curso
+     *
+     * @return sentencias anotadas, o null si no se están anotando
+     */
+    public static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Envuelve una tarea para que sus sentencias se anoten en la petición que la lanza
+     *
+     * @param task tarea
+     * @param <T>  tipo del resultado
+     * @return tarea que anota en la petición actual, o la misma tarea si no hay ninguna
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestStatements statements = CURRENT.get();
+        if (statements == null) {
+            return task;
+        }
+        return () -> {
+            RequestStatements previous = CURRENT.get();
+            CURRENT.set(statements);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Anota una sentencia SQL
+     *
+     * @param sql texto de la sentencia
+     */
+    static void recordSql(String sql) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.sql(sqlShape(sql));
+        }
+    }
+
+    /**
+     * Anota el tiempo de ejecución de una sentencia SQL
+     *
+     * @param nanos tiempo en nanosegundos
+     */
+    static void recordSqlTime(long nanos) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.sqlTime(nanos);
+        }
+    }
+
+    /**
+     * Anota un comando de MongoDB
+     *
+     * @param shape forma del comando
+     */
+    static void recordMongo(String shape) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.mongo(shape);
+        }
+    }
+
+    /**
+     * Anota el tiempo de un comando de MongoDB
+     *
+     * @param nanos tiempo en nanosegundos
+     */
+    static void recordMongoTime(long nanos) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.mongoTime(nanos);
+        }
+    }
+
+    /**
+     * Forma de una sentencia SQL: los literales se sustituyen por {@code ?}, las listas de parámetros se reducen a
+     * uno y los espacios se compactan, de modo que las sentencias que solo cambian en sus valores tienen la misma forma
+     *
+     * @param sql texto de la sentencia
+     * @return forma de la sentencia
+     */
+    static String sqlShape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,62 @@
+package com.nullers.restbookstore.config.statements;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Engancha el registro de sentencias a Hibernate y al cliente de MongoDB
+ * <p>
+ * Hibernate pasa cada sentencia SQL por un {@link SqlStatementInspector} y mide su ejecución con un
+ * {@link SqlTimingListener} por sesión, y el cliente de MongoDB avisa de cada comando a un
+ * {@link MongoStatementListener}. Solo se activa con {@code statements.tracking.enabled=true}, en el perfil dev y
+ * en los tests.
+ */
+@Configuration
+@Slf4j
+public class StatementTrackingConfig {
+    private final boolean enabled;
+
+    /**
+     * Constructor
+     *
+     * @param enabled si se registran las sentencias
+     */
+    public StatementTrackingConfig(@Value("${statements.tracking.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Añade el inspector de sentencias y el listener de tiempos a la configuración de Hibernate
+     *
+     * @return personalización de las propiedades de Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementTrackingHibernateCustomizer() {
+        return properties -> {
+            if (enabled) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+                properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+                log.info("Registro de sentencias SQL por petición activado");
+            }
+        };
+    }
+
+    /**
+     * Añade el listener de comandos a la configuración del cliente de MongoDB
+     *
+     * @return personalización de la configuración del cliente
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer statementTrackingMongoCustomizer() {
+        return builder -> {
+            if (enabled) {
+                builder.addCommandListener(new MongoStatementListener());
+            }
+        };
+    }
+}
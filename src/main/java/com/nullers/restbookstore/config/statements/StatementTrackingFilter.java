@@ -0,0 +1,162 @@
+package com.nullers.restbookstore.config.statements;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que cuenta las sentencias SQL y los comandos de MongoDB de cada petición
+ * <p>
+ * Va delante del filtro de seguridad, así que cuenta también la carga del usuario del token. Cuando la respuesta
+ * empieza a escribir el cuerpo, o al terminar si no lo tiene, añade las cabeceras con los contadores y los tiempos, y
+ * {@value #N_PLUS_ONE_HEADER} con el número de formas de sentencia repetidas al menos
+ * {@code statements.n-plus-one.threshold} veces. Al terminar escribe una línea de log con los contadores y un aviso
+ * por cada forma repetida. Como las cabeceras muestran detalles internos, solo se activa con
+ * {@code statements.tracking.enabled=true}, en el perfil dev y en los tests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class StatementTrackingFilter extends OncePerRequestFilter {
+
+    /**
+     * Cabecera con el número de sentencias SQL
+     */
+    public static final String SQL_STATEMENTS_HEADER = "X-Sql-Statements";
+
+    /**
+     * Cabecera con el tiempo de las sentencias SQL en milisegundos
+     */
+    public static final String SQL_TIME_HEADER = "X-Sql-Time-Ms";
+
+    /**
+     * Cabecera con el número de comandos de MongoDB
+     */
+    public static final String MONGO_COMMANDS_HEADER = "X-Mongo-Commands";
+
+    /**
+     * Cabecera con el tiempo de los comandos de MongoDB en milisegundos
+     */
+    public static final String MONGO_TIME_HEADER = "X-Mongo-Time-Ms";
+
+    /**
+     * Cabecera con el número de formas de sentencia repetidas, solo si hay alguna
+     */
+    public static final String N_PLUS_ONE_HEADER = "X-N-Plus-One";
+
+    private final boolean enabled;
+    private final int threshold;
+
+    /**
+     * Constructor
+     *
+     * @param enabled   si se registran las sentencias
+     * @param threshold repeticiones de una misma forma de sentencia a partir de las cuales se considera N+1
+     */
+    public StatementTrackingFilter(@Value("${statements.tracking.enabled:false}") boolean enabled,
+                                   @Value("${statements.n-plus-one.threshold:5}") int threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    /**
+     * Registra las sentencias de la petición, las añade a la respuesta y las escribe en el log
+     *
+     * @param request     petición http
+     * @param response    respuesta http
+     * @param filterChain filtro de cadenas
+     * @throws ServletException excepción servlet
+     * @throws IOException      excepción de entrada/salida
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestStatements statements = StatementTracker.start();
+        StatementHeadersResponse wrapped = new StatementHeadersResponse(response, statements);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            StatementTracker.stop();
+            wrapped.addHeaders();
+            report(request, response.getStatus(), statements);
+        }
+    }
+
+    private void report(HttpServletRequest request, int status, RequestStatements statements) {
+        if (statements.getSqlCount() == 0 && statements.getMongoCount() == 0) {
+            return;
+        }
+        log.info("{} {} -> {}: {} sentencias SQL en {} ms, {} comandos MongoDB en {} ms",
+                request.getMethod(), request.getRequestURI(), status,
+                statements.getSqlCount(), millis(statements.getSqlNanos()),
+                statements.getMongoCount(), millis(statements.getMongoNanos()));
+        for (Map.Entry<String, Integer> shape : statements.repeatedShapes(threshold).entrySet()) {
+            log.warn("Posible N+1 en {} {}: {} veces {}",
+                    request.getMethod(), request.getRequestURI(), shape.getValue(), shape.getKey());
+        }
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Respuesta que añade las cabeceras de sentencias justo antes de escribir el cuerpo, cuando aún se pueden añadir
+     */
+    private final class StatementHeadersResponse extends HttpServletResponseWrapper {
+        private final RequestStatements statements;
+        private boolean headersAdded;
+
+        StatementHeadersResponse(HttpServletResponse response, RequestStatements statements) {
+            super(response);
+            this.statements = statements;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addHeaders();
+            return super.getWriter();
+        }
+
+        void addHeaders() {
+            if (headersAdded || isCommitted()) {
+                return;
+            }
+            headersAdded = true;
+            setHeader(SQL_STATEMENTS_HEADER, Long.toString(statements.getSqlCount()));
+            setHeader(SQL_TIME_HEADER, Long.toString(millis(statements.getSqlNanos())));
+            setHeader(MONGO_COMMANDS_HEADER, Long.toString(statements.getMongoCount()));
+            setHeader(MONGO_TIME_HEADER, Long.toString(millis(statements.getMongoNanos())));
+            int repeated = statements.repeatedShapes(threshold).size();
+            if (repeated > 0) {
+                setHeader(N_PLUS_ONE_HEADER, Integer.toString(repeated));
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.nullers.restbookstore.config.websockets;
 
+import com.nullers.restbookstore.config.jfr.WebSocketFanOutEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -70,11 +71,19 @@ public class WebSocketHandler extends TextWebSocketHandler implements SubProtoco
     @Override
     public void sendMessage(String message) throws IOException {
         log.info("Enviar mensaje de cambios en la entidad: " + entity + " : " + message);
-        for (WebSocketSession session : sessions) {
-            if (session.isOpen()) {
-                log.info("Servidor WS envía: " + message);
-                session.sendMessage(new TextMessage(message));
+        WebSocketFanOutEvent event = WebSocketFanOutEvent.start();
+        TextMessage textMessage = new TextMessage(message);
+        int sent = 0;
+        try {
+            for (WebSocketSession session : sessions) {
+                if (session.isOpen()) {
+                    log.info("Servidor WS envía: " + message);
+                    session.sendMessage(textMessage);
+                    sent++;
+                }
             }
+        } finally {
+            WebSocketFanOutEvent.finish(event, entity, sent, textMessage);
         }
     }
 
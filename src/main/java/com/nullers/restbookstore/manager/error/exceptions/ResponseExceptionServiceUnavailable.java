@@ -0,0 +1,44 @@
+package com.nullers.restbookstore.manager.error.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Class ResponseException
+ *
+ * @Author Madirex
+ */
+public abstract class ResponseExceptionServiceUnavailable extends RuntimeException implements ResponseExceptionInterface {
+    /**
+     * Segundos que el cliente debe esperar antes de reintentar
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor ResponseException
+     *
+     * @param message           Mensaje de error
+     * @param retryAfterSeconds Segundos que el cliente debe esperar antes de reintentar
+     */
+    protected ResponseExceptionServiceUnavailable(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(retryAfterSeconds, 1);
+    }
+
+    /**
+     * Devuelve los segundos que el cliente debe esperar antes de reintentar
+     *
+     * @return segundos para la cabecera Retry-After
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Devuelve el HttpStatus
+     *
+     * @return HttpStatus
+     */
+    public HttpStatus getHttpStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
@@ -4,9 +4,11 @@ import com.nullers.restbookstore.rest.auth.dto.JwtAuthResponse;
 import com.nullers.restbookstore.rest.auth.dto.UserSignInRequest;
 import com.nullers.restbookstore.rest.auth.dto.UserSignUpRequest;
 import com.nullers.restbookstore.rest.auth.services.authentication.AuthenticationService;
+import com.nullers.restbookstore.rest.auth.services.throttle.LoginThrottle;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,20 +33,28 @@ public class AuthenticationController {
      */
     private final AuthenticationService authenticationService;
 
+    /**
+     * Limitación de intentos por usuario y por dirección IP
+     */
+    private final LoginThrottle loginThrottle;
+
     /**
      * Constructor de AuthenticationController
      *
      * @param authenticationService Servicio de autenticación
+     * @param loginThrottle         Limitación de intentos por usuario y por dirección IP
      */
     @Autowired
-    public AuthenticationController(AuthenticationService authenticationService) {
+    public AuthenticationController(AuthenticationService authenticationService, LoginThrottle loginThrottle) {
         this.authenticationService = authenticationService;
+        this.loginThrottle = loginThrottle;
     }
 
     /**
      * Método para registrar un usuario
      *
-     * @param request Usuario a registrar
+     * @param request     Usuario a registrar
+     * @param httpRequest Petición HTTP, para limitar los intentos por dirección IP
      * @return Respuesta de autenticación
      */
     @Operation(summary = "crea una cuenta", description = "crear cuenta")
@@ -52,17 +62,22 @@ public class AuthenticationController {
             @ApiResponse(responseCode = "200", description = "Cuenta creada"),
             @ApiResponse(responseCode = "400", description = "Error al crear cuenta"),
             @ApiResponse(responseCode = "403", description = "Denegado"),
+            @ApiResponse(responseCode = "429", description = "Demasiados intentos"),
+            @ApiResponse(responseCode = "503", description = "Servicio de autenticación saturado"),
     })
     @PostMapping("/signup")
-    public ResponseEntity<JwtAuthResponse> singUp(@Valid @RequestBody UserSignUpRequest request) {
+    public ResponseEntity<JwtAuthResponse> singUp(@Valid @RequestBody UserSignUpRequest request,
+                                                  HttpServletRequest httpRequest) {
         log.info("Registrando usuario: {}", request);
+        loginThrottle.acquire(request.getUsername(), httpRequest.getRemoteAddr());
         return ResponseEntity.ok(authenticationService.signUp(request));
     }
 
     /**
      * Método para iniciar sesión
      *
-     * @param request Usuario a iniciar sesión
+     * @param request     Usuario a iniciar sesión
+     * @param httpRequest Petición HTTP, para limitar los intentos por dirección IP
      * @return Respuesta de autenticación
      */
     @Operation(summary = "inicia sesión", description = "iniciar sesión")
@@ -70,10 +85,14 @@ public class AuthenticationController {
             @ApiResponse(responseCode = "200", description = "Inicio de sesión realizado"),
             @ApiResponse(responseCode = "400", description = "Error al iniciar sesión"),
             @ApiResponse(responseCode = "403", description = "Denegado"),
+            @ApiResponse(responseCode = "429", description = "Demasiados intentos"),
+            @ApiResponse(responseCode = "503", description = "Servicio de autenticación saturado"),
     })
     @PostMapping("/signin")
-    public ResponseEntity<JwtAuthResponse> signIn(@Valid @RequestBody UserSignInRequest request) {
+    public ResponseEntity<JwtAuthResponse> signIn(@Valid @RequestBody UserSignInRequest request,
+                                                  HttpServletRequest httpRequest) {
         log.info("Iniciando sesión de usuario: {}", request);
+        loginThrottle.acquire(request.getUsername(), httpRequest.getRemoteAddr());
         return ResponseEntity.ok(authenticationService.signIn(request));
     }
 }
@@ -0,0 +1,53 @@
+package com.nullers.restbookstore.rest.auth.controllers;
+
+import com.nullers.restbookstore.rest.auth.dto.PasswordHashingStats;
+import com.nullers.restbookstore.rest.auth.services.password.AdmissionControlledPasswordEncoder;
+import com.nullers.restbookstore.rest.auth.services.throttle.LoginThrottle;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * PasswordHashingController
+ */
+@RestController
+@RequestMapping("/api/auth/password-hashing")
+@PreAuthorize("hasRole('ADMIN')")
+public class PasswordHashingController {
+    private final AdmissionControlledPasswordEncoder passwordEncoder;
+    private final LoginThrottle loginThrottle;
+
+    /**
+     * PasswordHashingController
+     *
+     * @param passwordEncoder Codificador de contraseñas
+     * @param loginThrottle   Limitación de intentos de autenticación
+     */
+    @Autowired
+    public PasswordHashingController(AdmissionControlledPasswordEncoder passwordEncoder, LoginThrottle loginThrottle) {
+        this.passwordEncoder = passwordEncoder;
+        this.loginThrottle = loginThrottle;
+    }
+
+    /**
+     * Obtiene las métricas del hash de contraseñas
+     *
+     * @return Métricas del pool de hash y de la limitación de intentos
+     */
+    @Operation(summary = "Obtiene las métricas del hash de contraseñas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Métricas del hash de contraseñas")
+    })
+    @GetMapping
+    public ResponseEntity<PasswordHashingStats> getStats() {
+        return ResponseEntity.ok(passwordEncoder.getStats().toBuilder()
+                .throttled(loginThrottle.getThrottled())
+                .build());
+    }
+}
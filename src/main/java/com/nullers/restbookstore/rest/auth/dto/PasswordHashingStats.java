@@ -0,0 +1,53 @@
+package com.nullers.restbookstore.rest.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Métricas del pool de hash de contraseñas y de la limitación de intentos de autenticación
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class PasswordHashingStats {
+    @Schema(description = "Coste de BCrypt configurado", example = "10")
+    private int bcryptStrength;
+
+    @Schema(description = "Hilos del pool", example = "4")
+    private int threads;
+
+    @Schema(description = "Hilos calculando un hash", example = "2")
+    private int activeThreads;
+
+    @Schema(description = "Hash esperando en la cola", example = "5")
+    private int queueDepth;
+
+    @Schema(description = "Capacidad de la cola", example = "64")
+    private int queueCapacity;
+
+    @Schema(description = "Hash calculados", example = "12000")
+    private long hashes;
+
+    @Schema(description = "Tiempo medio de cálculo en milisegundos", example = "72.5")
+    private double meanHashMillis;
+
+    @Schema(description = "Tiempo máximo de cálculo en milisegundos", example = "180.3")
+    private double maxHashMillis;
+
+    @Schema(description = "Tiempo medio en cola en milisegundos", example = "3.1")
+    private double meanQueueMillis;
+
+    @Schema(description = "Hash rechazados por pool saturado", example = "15")
+    private long rejections;
+
+    @Schema(description = "Hash abandonados por superar la espera máxima", example = "0")
+    private long timeouts;
+
+    @Schema(description = "Contraseñas recalculadas con el coste configurado", example = "340")
+    private long rehashes;
+
+    @Schema(description = "Intentos de autenticación limitados", example = "80")
+    private long throttled;
+}
@@ -0,0 +1,21 @@
+package com.nullers.restbookstore.rest.auth.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionTooManyRequests;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * AuthThrottled
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class AuthThrottled extends ResponseExceptionTooManyRequests {
+    /**
+     * Constructor
+     *
+     * @param message           Mensaje de error
+     * @param retryAfterSeconds Segundos hasta el siguiente intento permitido
+     */
+    public AuthThrottled(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
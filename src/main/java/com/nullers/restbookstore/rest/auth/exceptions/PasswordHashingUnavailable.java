@@ -0,0 +1,20 @@
+package com.nullers.restbookstore.rest.auth.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionServiceUnavailable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * PasswordHashingUnavailable
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingUnavailable extends ResponseExceptionServiceUnavailable {
+    /**
+     * Constructor
+     *
+     * @param message Mensaje de error
+     */
+    public PasswordHashingUnavailable(String message) {
+        super(message, 1);
+    }
+}
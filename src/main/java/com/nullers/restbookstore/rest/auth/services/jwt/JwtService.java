@@ -1,7 +1,10 @@
 package com.nullers.restbookstore.rest.auth.services.jwt;
 
+import com.nullers.restbookstore.rest.user.models.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Optional;
+
 /**
  * JwtService interface
  *
@@ -34,4 +37,12 @@ public interface JwtService {
      */
 
     boolean isTokenValid(String token, UserDetails userDetails);
+
+    /**
+     * Reconstruye el usuario autenticado a partir de los claims del token, sin consultar la base de datos
+     *
+     * @param token jwt token
+     * @return usuario con id, nombre de usuario, roles y versión del token, o vacío si el token no los incluye
+     */
+    Optional<User> extractPrincipal(String token);
 }
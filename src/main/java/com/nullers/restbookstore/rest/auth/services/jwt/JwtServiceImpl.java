@@ -1,17 +1,27 @@
 package com.nullers.restbookstore.rest.auth.services.jwt;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.nullers.restbookstore.rest.user.models.Role;
+import com.nullers.restbookstore.rest.user.models.User;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.util.Base64;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementación de JwtService
@@ -20,6 +30,10 @@ import java.util.function.Function;
  */
 @Service
 public class JwtServiceImpl implements JwtService {
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     /**
      * Atributos de configuración de JWT
      */
@@ -27,6 +41,17 @@ public class JwtServiceImpl implements JwtService {
     private String jwtSecretKey;
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    /**
+     * Prepara el algoritmo de firma y el verificador
+     */
+    @PostConstruct
+    public void init() {
+        algorithm = Algorithm.HMAC512(getSigningKey());
+        verifier = JWT.require(algorithm).build();
+    }
 
     /**
      * Extrae el nombre de usuario del token
@@ -63,6 +88,32 @@ public class JwtServiceImpl implements JwtService {
         return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
 
+    /**
+     * Reconstruye el usuario autenticado a partir de los claims del token
+     *
+     * @param token jwt token
+     * @return usuario con id, nombre de usuario, roles y versión del token, o vacío si el token no los incluye
+     */
+    @Override
+    public Optional<User> extractPrincipal(String token) {
+        DecodedJWT jwt = verifier.verify(token);
+        Claim userId = jwt.getClaim(USER_ID_CLAIM);
+        Claim roles = jwt.getClaim(ROLES_CLAIM);
+        Claim version = jwt.getClaim(TOKEN_VERSION_CLAIM);
+        if (userId.isMissing() || roles.isMissing() || version.isMissing()) {
+            return Optional.empty();
+        }
+        Set<Role> userRoles = roles.asList(String.class).stream()
+                .map(Role::valueOf)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(Role.class)));
+        return Optional.of(User.builder()
+                .id(UUID.fromString(userId.asString()))
+                .username(jwt.getSubject())
+                .roles(userRoles)
+                .tokenVersion(version.asInt())
+                .build());
+    }
+
     /**
      * Verifica si el token ha expirado
      *
@@ -85,7 +136,7 @@ public class JwtServiceImpl implements JwtService {
     }
 
     /**
-     * Extrae un claim del token
+     * Extrae un claim del token tras comprobar su firma
      *
      * @param token          jwt token
      * @param claimsResolver función que extrae el claim
@@ -93,28 +144,33 @@ public class JwtServiceImpl implements JwtService {
      * @return claim extraído
      */
     private <T> T extractClaim(String token, Function<DecodedJWT, T> claimsResolver) {
-        final DecodedJWT jwt = JWT.decode(token);
+        final DecodedJWT jwt = verifier.verify(token);
         return claimsResolver.apply(jwt);
     }
 
     /**
-     * Genera un token de autenticación
+     * Genera un token de autenticación. Si es un usuario de la aplicación, incluye su id, sus roles y la versión de
+     * sus tokens para poder reconstruirlo sin consultar la base de datos
      *
      * @param extraClaims claims extra
      * @param userDetails username y password
      * @return jwt token
      */
     private String generateToken(HashMap<String, Object> extraClaims, UserDetails userDetails) {
-        Algorithm algorithm = Algorithm.HMAC512(getSigningKey());
         Date now = new Date();
         Date expiration = new Date(now.getTime() + (1000 * jwtExpiration));
-        return JWT.create()
+        var builder = JWT.create()
                 .withHeader(createHeader())
                 .withSubject(userDetails.getUsername())
                 .withIssuedAt(now)
                 .withExpiresAt(expiration)
-                .withClaim("extra", extraClaims)
-                .sign(algorithm);
+                .withClaim("extra", extraClaims);
+        if (userDetails instanceof User user && user.getId() != null && user.getRoles() != null) {
+            builder.withClaim(USER_ID_CLAIM, user.getId().toString())
+                    .withClaim(ROLES_CLAIM, user.getRoles().stream().map(Role::name).toList())
+                    .withClaim(TOKEN_VERSION_CLAIM, user.getTokenVersion() == null ? 0 : user.getTokenVersion());
+        }
+        return builder.sign(algorithm);
     }
 
     /**
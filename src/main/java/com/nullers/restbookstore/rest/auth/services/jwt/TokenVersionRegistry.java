@@ -0,0 +1,144 @@
+package com.nullers.restbookstore.rest.auth.services.jwt;
+
+import com.nullers.restbookstore.rest.user.models.User;
+import com.nullers.restbookstore.rest.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Versión mínima válida de los tokens de cada usuario
+ * <p>
+ * Los tokens llevan la versión que tenía el usuario al emitirse. Al modificar o borrar un usuario su versión sube y los
+ * tokens anteriores dejan de ser válidos sin consultar la base de datos en cada petición. La versión de cada usuario se
+ * lee de su fila la primera vez que se comprueba un token suyo y se vuelve a leer cuando la copia en memoria supera la
+ * antigüedad máxima. Un usuario que ya no existe no tiene ningún token válido.
+ * <p>
+ * Las revocaciones se aplican al momento en la instancia que las hace; el resto de instancias las ven al volver a leer
+ * la versión, como mucho tras la antigüedad máxima. Con antigüedad 0 se lee la versión en cada petición.
+ */
+@Component
+@Slf4j
+public class TokenVersionRegistry {
+    private static final int REMOVED_USER = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final Map<UUID, Entry> minVersions = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurgeNanos = new AtomicLong();
+    private final long maxAgeNanos;
+    private final LongSupplier clock;
+
+    /**
+     * Versión mínima válida de un usuario y momento en que se leyó
+     *
+     * @param minVersion  versión mínima válida
+     * @param loadedNanos momento de la lectura
+     */
+    private record Entry(int minVersion, long loadedNanos) {
+        Entry max(Entry other) {
+            return new Entry(Math.max(minVersion, other.minVersion), Math.max(loadedNanos, other.loadedNanos));
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param userRepository repositorio de usuarios
+     * @param maxAgeSeconds  antigüedad máxima de la versión en memoria antes de volver a leerla
+     */
+    @Autowired
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${jwt.token-version.max-age-seconds:30}") long maxAgeSeconds) {
+        this(userRepository, TimeUnit.SECONDS.toNanos(Math.max(maxAgeSeconds, 0)), System::nanoTime);
+    }
+
+    TokenVersionRegistry(UserRepository userRepository, long maxAgeNanos, LongSupplier clock) {
+        this.userRepository = userRepository;
+        this.maxAgeNanos = maxAgeNanos;
+        this.clock = clock;
+        this.lastPurgeNanos.set(clock.getAsLong());
+    }
+
+    /**
+     * Carga las versiones guardadas
+     */
+    @PostConstruct
+    public void load() {
+        long now = clock.getAsLong();
+        userRepository.findTokenVersions()
+                .forEach(version -> store(version.getId(), new Entry(version.getTokenVersion(), now)));
+        log.info("Cargadas las versiones de token de " + minVersions.size() + " usuarios");
+    }
+
+    /**
+     * Indica si un token emitido con una versión sigue siendo válido
+     *
+     * @param userId  id del usuario
+     * @param version versión del token, null equivale a 0
+     * @return true si no se ha revocado
+     */
+    public boolean isValid(UUID userId, Integer version) {
+        long now = clock.getAsLong();
+        purgeExpired(now);
+        Entry entry = minVersions.get(userId);
+        if (entry == null || now - entry.loadedNanos() >= maxAgeNanos) {
+            entry = store(userId, new Entry(userRepository.findTokenVersionById(userId)
+                    .map(stored -> stored.getTokenVersion() == null ? 0 : stored.getTokenVersion())
+                    .orElse(REMOVED_USER), now));
+        }
+        return (version == null ? 0 : version) >= entry.minVersion();
+    }
+
+    /**
+     * Revoca los tokens de un usuario con una versión menor que la indicada
+     *
+     * @param userId     id del usuario
+     * @param minVersion versión mínima válida
+     */
+    public void revoke(UUID userId, int minVersion) {
+        store(userId, new Entry(minVersion, clock.getAsLong()));
+    }
+
+    /**
+     * Devuelve la versión que debe guardarse en un usuario para revocar sus tokens actuales
+     *
+     * @param user usuario guardado
+     * @return siguiente versión
+     */
+    public static int nextVersion(User user) {
+        return (user.getTokenVersion() == null ? 0 : user.getTokenVersion()) + 1;
+    }
+
+    /**
+     * Guarda una versión sin bajar nunca la que ya hubiera, de modo que una lectura anterior a una revocación todavía
+     * sin confirmar no la deshace
+     *
+     * @param userId id del usuario
+     * @param entry  versión leída
+     * @return versión guardada
+     */
+    private Entry store(UUID userId, Entry entry) {
+        return minVersions.merge(userId, entry, Entry::max);
+    }
+
+    /**
+     * Descarta las versiones caducadas, como mucho una vez por cada antigüedad máxima
+     *
+     * @param now momento actual
+     */
+    private void purgeExpired(long now) {
+        long last = lastPurgeNanos.get();
+        if (now - last >= maxAgeNanos && lastPurgeNanos.compareAndSet(last, now)) {
+            minVersions.values().removeIf(entry -> now - entry.loadedNanos() >= maxAgeNanos);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.nullers.restbookstore.rest.auth.services.password;
+
+import com.nullers.restbookstore.rest.auth.dto.PasswordHashingStats;
+import com.nullers.restbookstore.rest.auth.exceptions.PasswordHashingUnavailable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Codificador de contraseñas BCrypt que calcula los hash en un pool acotado
+ * <p>
+ * Es el {@link PasswordEncoder} de la aplicación, así que lo usan el inicio de sesión, el registro y el alta o
+ * modificación de usuarios. El hilo de la petición espera el resultado, pero nunca hay más hash en curso que hilos
+ * tiene el pool: si además la cola está llena, la petición se rechaza con un 503 sin llegar a calcular nada. Si el
+ * coste configurado cambia, {@link #upgradeEncoding(String)} pide recalcular las contraseñas con otro coste en el
+ * siguiente inicio de sesión correcto.
+ */
+@Component
+@Slf4j
+public class AdmissionControlledPasswordEncoder implements PasswordEncoder {
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+    private static final String UNAVAILABLE = "Servicio de autenticación saturado, inténtelo de nuevo más tarde";
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final long maxWaitMillis;
+
+    private final AtomicLong hashes = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final AtomicLong queueNanos = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong rehashes = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param executor      pool de hash de contraseñas
+     * @param strength      coste de BCrypt, entre 4 y 31
+     * @param maxWaitMillis milisegundos máximos que una petición espera su hash
+     */
+    @Autowired
+    public AdmissionControlledPasswordEncoder(@Qualifier("passwordHashingExecutor") ThreadPoolExecutor executor,
+                                              @Value("${security.password.bcrypt-strength:10}") int strength,
+                                              @Value("${security.password.max-wait-ms:5000}") long maxWaitMillis) {
+        this.executor = executor;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.maxWaitMillis = Math.max(maxWaitMillis, 1);
+    }
+
+    /**
+     * Codifica una contraseña con el coste configurado
+     *
+     * @param rawPassword contraseña en claro
+     * @return hash BCrypt
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Comprueba una contraseña contra su hash, sea cual sea el coste con el que se calculó
+     *
+     * @param rawPassword     contraseña en claro
+     * @param encodedPassword hash BCrypt guardado
+     * @return true si coinciden
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Indica si un hash se calculó con un coste distinto del configurado y debe recalcularse
+     *
+     * @param encodedPassword hash BCrypt guardado
+     * @return true si el coste no coincide
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find() || Integer.parseInt(matcher.group(1)) == strength) {
+            return false;
+        }
+        rehashes.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Devuelve las métricas del pool
+     *
+     * @return métricas del hash de contraseñas
+     */
+    public PasswordHashingStats getStats() {
+        long count = hashes.get();
+        return PasswordHashingStats.builder()
+                .bcryptStrength(strength)
+                .threads(executor.getMaximumPoolSize())
+                .activeThreads(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(executor.getQueue().size() + executor.getQueue().remainingCapacity())
+                .hashes(count)
+                .meanHashMillis(count == 0 ? 0 : hashNanos.get() / 1e6 / count)
+                .maxHashMillis(maxHashNanos.get() / 1e6)
+                .meanQueueMillis(count == 0 ? 0 : queueNanos.get() / 1e6 / count)
+                .rejections(rejections.get())
+                .timeouts(timeouts.get())
+                .rehashes(rehashes.get())
+                .build();
+    }
+
+    /**
+     * Ejecuta un cálculo en el pool y espera su resultado
+     *
+     * @param task cálculo BCrypt
+     * @param <T>  tipo del resultado
+     * @return resultado del cálculo
+     */
+    private <T> T hash(Supplier<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                queueNanos.addAndGet(start - submitted);
+                try {
+                    return task.get();
+                } finally {
+                    record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.incrementAndGet();
+            log.warn("Pool de hash de contraseñas saturado, petición rechazada");
+            throw new PasswordHashingUnavailable(UNAVAILABLE);
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.incrementAndGet();
+            log.warn("Hash de contraseña abandonado tras " + maxWaitMillis + " ms de espera");
+            throw new PasswordHashingUnavailable(UNAVAILABLE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailable(UNAVAILABLE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Registra la duración de un cálculo
+     *
+     * @param nanos nanosegundos del cálculo
+     */
+    private void record(long nanos) {
+        hashes.incrementAndGet();
+        hashNanos.addAndGet(nanos);
+        maxHashNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
@@ -0,0 +1,135 @@
+package com.nullers.restbookstore.rest.auth.services.throttle;
+
+import com.nullers.restbookstore.rest.auth.exceptions.AuthThrottled;
+import com.nullers.restbookstore.util.TokenBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitación de intentos de autenticación por nombre de usuario y por dirección IP
+ * <p>
+ * Cada usuario y cada dirección tienen su propio cubo de fichas, y un intento gasta una ficha de los dos. Se comprueba
+ * antes de calcular ningún hash, de modo que los intentos limitados no llegan al pool de BCrypt. Al alcanzar el máximo
+ * de entradas se descarta el cubo usado hace más tiempo, así que una clave nueva nunca se rechaza por falta de sitio.
+ * <p>
+ * La dirección es la que entrega el contenedor de servlets. Detrás de un proxy inverso solo es la del cliente si
+ * {@code server.forward-headers-strategy} está configurado y el proxy es de confianza; si no, todos los clientes
+ * comparten la dirección del proxy.
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+    private static final String THROTTLED = "Demasiados intentos de autenticación, inténtelo de nuevo más tarde";
+
+    private final Buckets usernames;
+    private final Buckets addresses;
+    private final AtomicLong throttled = new AtomicLong();
+    private final Limit usernameLimit;
+    private final Limit addressLimit;
+    private final LongSupplier clock;
+
+    /**
+     * Límite de un tipo de clave
+     *
+     * @param capacity        intentos seguidos permitidos
+     * @param refillPerMinute intentos que se recuperan por minuto
+     */
+    record Limit(long capacity, long refillPerMinute) {
+    }
+
+    /**
+     * Cubos de un tipo de clave en orden de uso, que descartan el usado hace más tiempo al superar el máximo
+     */
+    private static final class Buckets extends LinkedHashMap<String, TokenBucket> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        Buckets(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param usernameCapacity        intentos seguidos permitidos por usuario
+     * @param usernameRefillPerMinute intentos recuperados por minuto y usuario
+     * @param addressCapacity         intentos seguidos permitidos por dirección IP
+     * @param addressRefillPerMinute  intentos recuperados por minuto y dirección IP
+     * @param maxEntries              cubos máximos de cada tipo
+     */
+    @Autowired
+    public LoginThrottle(@Value("${security.auth.throttle.username.capacity:5}") long usernameCapacity,
+                         @Value("${security.auth.throttle.username.refill-per-minute:5}") long usernameRefillPerMinute,
+                         @Value("${security.auth.throttle.ip.capacity:20}") long addressCapacity,
+                         @Value("${security.auth.throttle.ip.refill-per-minute:60}") long addressRefillPerMinute,
+                         @Value("${security.auth.throttle.max-entries:100000}") int maxEntries) {
+        this(new Limit(usernameCapacity, usernameRefillPerMinute), new Limit(addressCapacity, addressRefillPerMinute),
+                maxEntries, System::nanoTime);
+    }
+
+    LoginThrottle(Limit usernameLimit, Limit addressLimit, int maxEntries, LongSupplier clock) {
+        this.usernameLimit = usernameLimit;
+        this.addressLimit = addressLimit;
+        this.usernames = new Buckets(Math.max(maxEntries, 1));
+        this.addresses = new Buckets(Math.max(maxEntries, 1));
+        this.clock = clock;
+    }
+
+    /**
+     * Registra un intento de autenticación
+     *
+     * @param username nombre de usuario, puede ser null
+     * @param address  dirección IP del cliente
+     * @throws AuthThrottled si el usuario o la dirección han agotado sus intentos
+     */
+    public void acquire(String username, String address) {
+        long now = clock.getAsLong();
+        acquire(addresses, address, addressLimit, now);
+        if (username != null) {
+            acquire(usernames, username.toLowerCase(Locale.ROOT), usernameLimit, now);
+        }
+    }
+
+    /**
+     * Devuelve los intentos limitados desde el arranque
+     *
+     * @return intentos limitados
+     */
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    private void acquire(Buckets buckets, String key, Limit limit, long now) {
+        TokenBucket bucket;
+        synchronized (buckets) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.refillPerMinute(), 1,
+                    TimeUnit.MINUTES, now));
+        }
+        if (!bucket.tryConsume(now)) {
+            reject(key, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilNextToken(now)) + 1);
+        }
+    }
+
+    private void reject(String key, long retryAfterSeconds) {
+        throttled.incrementAndGet();
+        log.warn("Intento de autenticación limitado para " + key);
+        throw new AuthThrottled(THROTTLED, retryAfterSeconds);
+    }
+}
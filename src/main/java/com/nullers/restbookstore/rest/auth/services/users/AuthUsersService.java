@@ -1,6 +1,7 @@
 package com.nullers.restbookstore.rest.auth.services.users;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 /**
@@ -8,7 +9,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
  *
  * @Author Binwei Wang
  */
-public interface AuthUsersService extends UserDetailsService {
+public interface AuthUsersService extends UserDetailsService, UserDetailsPasswordService {
     /**
      * Cargar los datos de un usuario a partir de su nombre de usuario.
      *
@@ -17,4 +18,14 @@ public interface AuthUsersService extends UserDetailsService {
      */
     @Override
     UserDetails loadUserByUsername(String username);
+
+    /**
+     * Guardar la contraseña de un usuario recalculada con el coste de BCrypt configurado.
+     *
+     * @param user        Usuario autenticado
+     * @param newPassword Nuevo hash de la contraseña
+     * @return UserDetails con la contraseña actualizada
+     */
+    @Override
+    UserDetails updatePassword(UserDetails user, String newPassword);
 }
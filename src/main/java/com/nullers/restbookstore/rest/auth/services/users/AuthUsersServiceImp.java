@@ -2,6 +2,8 @@ package com.nullers.restbookstore.rest.auth.services.users;
 
 import com.nullers.restbookstore.rest.auth.repositories.AuthUsersRepository;
 import com.nullers.restbookstore.rest.user.exceptions.UserNotFound;
+import com.nullers.restbookstore.rest.user.models.User;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -12,6 +14,7 @@ import org.springframework.stereotype.Service;
  * @Author Binwei Wang
  */
 @Service("userDetailsService")
+@Slf4j
 public class AuthUsersServiceImp implements AuthUsersService {
     /**
      * AuthUsersRepository
@@ -40,4 +43,20 @@ public class AuthUsersServiceImp implements AuthUsersService {
         return authUsersRepository.findByUsernameIgnoreCase(username)
                 .orElseThrow(() -> new UserNotFound("Usuario con username " + username + " no encontrado"));
     }
+
+    /**
+     * updatePassword
+     *
+     * @param user        Usuario autenticado
+     * @param newPassword Nuevo hash de la contraseña
+     * @return UserDetails con la contraseña actualizada
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = authUsersRepository.findByUsernameIgnoreCase(user.getUsername())
+                .orElseThrow(() -> new UserNotFound("Usuario con username " + user.getUsername() + " no encontrado"));
+        stored.setPassword(newPassword);
+        log.info("Contraseña del usuario " + stored.getUsername() + " recalculada con el coste configurado");
+        return authUsersRepository.save(stored);
+    }
 }
@@ -0,0 +1,63 @@
+package com.nullers.restbookstore.rest.autocomplete.controllers;
+
+import com.nullers.restbookstore.rest.autocomplete.dto.AutocompleteSuggestion;
+import com.nullers.restbookstore.rest.autocomplete.services.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Controlador del autocompletado del buscador
+ */
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Constructor
+     *
+     * @param autocompleteService servicio de autocompletado
+     */
+    @Autowired
+    public AutocompleteController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Sugiere títulos, autores y editoriales que empiezan por el texto escrito, sin acceder a la base de datos
+     *
+     * @param q     texto escrito
+     * @param type  tipo de sugerencia; todos si no se indica
+     * @param limit sugerencias máximas
+     * @return sugerencias ordenadas por stock descendente
+     */
+    @Operation(summary = "Autocompleta títulos, autores y editoriales", description = "Sugiere títulos, autores y editoriales que empiezan por el texto escrito")
+    @Parameter(name = "q", description = "Texto escrito", example = "el ases", required = true)
+    @Parameter(name = "type", description = "Tipo de sugerencia (TITLE, AUTHOR o PUBLISHER)", example = "TITLE")
+    @Parameter(name = "limit", description = "Sugerencias máximas", example = "10")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugerencias"),
+            @ApiResponse(responseCode = "400", description = "Petición no válida")
+    })
+    @GetMapping
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<List<AutocompleteSuggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Optional<AutocompleteSuggestion.Type> type,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, type, limit));
+    }
+}
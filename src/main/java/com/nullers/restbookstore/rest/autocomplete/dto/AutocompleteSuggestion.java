@@ -0,0 +1,36 @@
+package com.nullers.restbookstore.rest.autocomplete.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Sugerencia de autocompletado del buscador
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AutocompleteSuggestion {
+
+    /**
+     * Tipos de sugerencia
+     */
+    public enum Type {
+        TITLE, AUTHOR, PUBLISHER
+    }
+
+    @Schema(description = "Tipo de sugerencia", example = "TITLE")
+    private Type type;
+
+    @Schema(description = "ID del libro o de la editorial; no se incluye en los autores", example = "1")
+    private Long id;
+
+    @Schema(description = "Texto sugerido", example = "¿El asesino sigue aquí?")
+    private String text;
+
+    @Schema(description = "Stock del libro, o stock total de los libros activos del autor o la editorial", example = "12")
+    private long weight;
+}
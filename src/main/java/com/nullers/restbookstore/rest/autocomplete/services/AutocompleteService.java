@@ -0,0 +1,52 @@
+package com.nullers.restbookstore.rest.autocomplete.services;
+
+import com.nullers.restbookstore.rest.autocomplete.dto.AutocompleteSuggestion;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.publisher.model.Publisher;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Servicio de autocompletado de títulos, autores y editoriales
+ */
+public interface AutocompleteService {
+
+    /**
+     * Sugiere títulos, autores o editoriales que empiezan por el texto indicado
+     *
+     * @param query texto escrito
+     * @param type  tipo de sugerencia; todos si está vacío
+     * @param limit sugerencias máximas
+     * @return sugerencias ordenadas por stock descendente
+     */
+    List<AutocompleteSuggestion> suggest(String query, Optional<AutocompleteSuggestion.Type> type, int limit);
+
+    /**
+     * Actualiza las sugerencias con un libro guardado
+     *
+     * @param book libro
+     */
+    void bookSaved(Book book);
+
+    /**
+     * Quita de las sugerencias un libro borrado
+     *
+     * @param id id del libro
+     */
+    void bookRemoved(Long id);
+
+    /**
+     * Actualiza las sugerencias con una editorial guardada
+     *
+     * @param publisher editorial
+     */
+    void publisherSaved(Publisher publisher);
+
+    /**
+     * Quita de las sugerencias una editorial borrada
+     *
+     * @param id id de la editorial
+     */
+    void publisherRemoved(Long id);
+}
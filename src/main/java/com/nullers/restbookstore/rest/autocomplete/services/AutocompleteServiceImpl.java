@@ -0,0 +1,337 @@
+package com.nullers.restbookstore.rest.autocomplete.services;
+
+import com.nullers.restbookstore.rest.autocomplete.dto.AutocompleteSuggestion;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.publisher.model.Publisher;
+import com.nullers.restbookstore.rest.publisher.repository.PublisherRepository;
+import com.nullers.restbookstore.util.AfterCommit;
+import com.nullers.restbookstore.util.RadixTrie;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Servicio de autocompletado en memoria
+ * <p>
+ * Guarda los títulos de los libros activos, sus autores y las editoriales activas en árboles radix con las mejores
+ * sugerencias precalculadas en cada nodo, así que una consulta no accede a la base de datos. El peso de un título es
+ * el stock del libro, y el de un autor o una editorial la suma del stock de sus libros activos. Los árboles se cargan
+ * al arrancar y se actualizan con los libros y editoriales guardados en cuanto se confirma la transacción, incluidos
+ * los cambios de stock de los pedidos. Mientras no están cargados no se devuelven sugerencias.
+ */
+@Service
+@Slf4j
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private record BookState(String name, String author, long stock, Long publisherId, boolean active) {
+    }
+
+    private record PublisherState(String name, boolean active) {
+    }
+
+    /**
+     * Libros activos y stock total de un autor
+     */
+    private static final class AuthorTotal {
+        private final String name;
+        private long stock;
+        private int books;
+
+        AuthorTotal(String name) {
+            this.name = name;
+        }
+    }
+
+    private final BookRepository bookRepository;
+    private final PublisherRepository publisherRepository;
+    private final boolean enabled;
+    private final int topK;
+
+    private final RadixTrie<Long> titles;
+    private final RadixTrie<String> authors;
+    private final RadixTrie<Long> publisherNames;
+
+    private final Map<Long, BookState> books = new HashMap<>();
+    private final Map<Long, PublisherState> publishers = new HashMap<>();
+    private final Map<String, AuthorTotal> authorTotals = new HashMap<>();
+    private final Map<Long, Long> publisherStock = new HashMap<>();
+    private Set<Long> removedBooks = new HashSet<>();
+    private Set<Long> removedPublishers = new HashSet<>();
+    private volatile boolean ready;
+
+    /**
+     * Constructor
+     *
+     * @param bookRepository      repositorio de libros
+     * @param publisherRepository repositorio de editoriales
+     * @param enabled             si las sugerencias se cargan al arrancar
+     * @param topK                sugerencias precalculadas por prefijo
+     */
+    @Autowired
+    public AutocompleteServiceImpl(BookRepository bookRepository, PublisherRepository publisherRepository,
+                                   @Value("${autocomplete.enabled:true}") boolean enabled,
+                                   @Value("${autocomplete.top-k:10}") int topK) {
+        this.bookRepository = bookRepository;
+        this.publisherRepository = publisherRepository;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.titles = new RadixTrie<>(topK);
+        this.authors = new RadixTrie<>(topK);
+        this.publisherNames = new RadixTrie<>(topK);
+    }
+
+    /**
+     * Sugiere títulos, autores o editoriales que empiezan por el texto indicado
+     *
+     * @param query texto escrito
+     * @param type  tipo de sugerencia; todos si está vacío
+     * @param limit sugerencias máximas, hasta el número de sugerencias precalculadas
+     * @return sugerencias ordenadas por stock descendente
+     */
+    @Override
+    public List<AutocompleteSuggestion> suggest(String query, Optional<AutocompleteSuggestion.Type> type, int limit) {
+        if (!ready || query == null || query.isBlank()) {
+            return List.of();
+        }
+        int max = Math.max(1, Math.min(limit, topK));
+        List<AutocompleteSuggestion> suggestions = new ArrayList<>();
+        if (type.map(t -> t == AutocompleteSuggestion.Type.TITLE).orElse(true)) {
+            titles.complete(query, max).forEach(c -> suggestions.add(toSuggestion(AutocompleteSuggestion.Type.TITLE, c.id(), c)));
+        }
+        if (type.map(t -> t == AutocompleteSuggestion.Type.AUTHOR).orElse(true)) {
+            authors.complete(query, max).forEach(c -> suggestions.add(toSuggestion(AutocompleteSuggestion.Type.AUTHOR, null, c)));
+        }
+        if (type.map(t -> t == AutocompleteSuggestion.Type.PUBLISHER).orElse(true)) {
+            publisherNames.complete(query, max).forEach(c -> suggestions.add(toSuggestion(AutocompleteSuggestion.Type.PUBLISHER, c.id(), c)));
+        }
+        if (type.isEmpty()) {
+            suggestions.sort(Comparator.comparingLong(AutocompleteSuggestion::getWeight).reversed());
+            return suggestions.subList(0, Math.min(max, suggestions.size()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Actualiza las sugerencias con un libro guardado al confirmarse la transacción
+     *
+     * @param book libro
+     */
+    @Override
+    public void bookSaved(Book book) {
+        if (!enabled || book.getId() == null) {
+            return;
+        }
+        Long id = book.getId();
+        BookState state = new BookState(book.getName(), book.getAuthor(),
+                book.getStock() == null ? 0 : book.getStock(),
+                book.getPublisher() == null ? null : book.getPublisher().getId(),
+                Boolean.TRUE.equals(book.getActive()));
+        AfterCommit.run(() -> applyBook(id, state));
+    }
+
+    /**
+     * Quita de las sugerencias un libro borrado al confirmarse la transacción
+     *
+     * @param id id del libro
+     */
+    @Override
+    public void bookRemoved(Long id) {
+        if (enabled && id != null) {
+            AfterCommit.run(() -> applyBook(id, null));
+        }
+    }
+
+    /**
+     * Actualiza las sugerencias con una editorial guardada al confirmarse la transacción
+     *
+     * @param publisher editorial
+     */
+    @Override
+    public void publisherSaved(Publisher publisher) {
+        if (!enabled || publisher.getId() == null) {
+            return;
+        }
+        Long id = publisher.getId();
+        PublisherState state = new PublisherState(publisher.getName(), Boolean.TRUE.equals(publisher.getActive()));
+        AfterCommit.run(() -> applyPublisher(id, state));
+    }
+
+    /**
+     * Quita de las sugerencias una editorial borrada al confirmarse la transacción
+     *
+     * @param id id de la editorial
+     */
+    @Override
+    public void publisherRemoved(Long id) {
+        if (enabled && id != null) {
+            AfterCommit.run(() -> applyPublisher(id, null));
+        }
+    }
+
+    /**
+     * Carga las sugerencias cuando la aplicación está lista
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            build();
+        }
+    }
+
+    /**
+     * Carga todas las editoriales y libros. Los que se han guardado o borrado durante la carga ya están en su
+     * versión más reciente y no se sobrescriben
+     */
+    public void build() {
+        try {
+            var loadedPublishers = publisherRepository.findAutocompleteFields();
+            var loadedBooks = bookRepository.findAutocompleteFields();
+            synchronized (this) {
+                for (var p : loadedPublishers) {
+                    if (!publishers.containsKey(p.getId()) && !removedPublishers.contains(p.getId())) {
+                        applyPublisher(p.getId(), new PublisherState(p.getName(), Boolean.TRUE.equals(p.getActive())));
+                    }
+                }
+                for (var b : loadedBooks) {
+                    if (!books.containsKey(b.getId()) && !removedBooks.contains(b.getId())) {
+                        applyBook(b.getId(), new BookState(b.getName(), b.getAuthor(),
+                                b.getStock() == null ? 0 : b.getStock(), b.getPublisherId(),
+                                Boolean.TRUE.equals(b.getActive())));
+                    }
+                }
+                removedBooks = null;
+                removedPublishers = null;
+                ready = true;
+            }
+            log.info("Autocompletado cargado con " + titles.size() + " títulos, " + authors.size() + " autores y "
+                    + publisherNames.size() + " editoriales");
+        } catch (RuntimeException e) {
+            log.warn("No se pueden cargar las sugerencias de autocompletado " + e);
+        }
+    }
+
+    /**
+     * Aplica el nuevo estado de un libro a los títulos y a los totales de su autor y su editorial
+     *
+     * @param id   id del libro
+     * @param next estado nuevo, o null si se ha borrado
+     */
+    private synchronized void applyBook(Long id, BookState next) {
+        BookState previous = next == null ? books.remove(id) : books.put(id, next);
+        if (next == null && removedBooks != null) {
+            removedBooks.add(id);
+        }
+        if (previous != null && previous.active()) {
+            addToTotals(previous, -1);
+        }
+        if (next != null && next.active()) {
+            addToTotals(next, 1);
+            titles.put(id, next.name(), next.stock());
+        } else {
+            titles.remove(id);
+        }
+        if (previous != null) {
+            refreshAuthor(previous.author());
+            refreshPublisher(previous.publisherId());
+        }
+        if (next != null) {
+            refreshAuthor(next.author());
+            refreshPublisher(next.publisherId());
+        }
+    }
+
+    /**
+     * Aplica el nuevo estado de una editorial
+     *
+     * @param id   id de la editorial
+     * @param next estado nuevo, o null si se ha borrado
+     */
+    private synchronized void applyPublisher(Long id, PublisherState next) {
+        if (next == null) {
+            publishers.remove(id);
+            if (removedPublishers != null) {
+                removedPublishers.add(id);
+            }
+        } else {
+            publishers.put(id, next);
+        }
+        refreshPublisher(id);
+    }
+
+    /**
+     * Suma o resta un libro activo de los totales de su autor y su editorial
+     *
+     * @param book libro
+     * @param sign 1 para sumar, -1 para restar
+     */
+    private void addToTotals(BookState book, int sign) {
+        if (book.author() != null && !book.author().isBlank()) {
+            AuthorTotal total = authorTotals.computeIfAbsent(RadixTrie.normalize(book.author()),
+                    key -> new AuthorTotal(book.author()));
+            total.stock += sign * book.stock();
+            total.books += sign;
+        }
+        if (book.publisherId() != null) {
+            publisherStock.merge(book.publisherId(), sign * book.stock(), Long::sum);
+        }
+    }
+
+    /**
+     * Actualiza la sugerencia de un autor con su total actual
+     *
+     * @param author nombre del autor
+     */
+    private void refreshAuthor(String author) {
+        if (author == null || author.isBlank()) {
+            return;
+        }
+        String key = RadixTrie.normalize(author);
+        AuthorTotal total = authorTotals.get(key);
+        if (total == null || total.books <= 0) {
+            authorTotals.remove(key);
+            authors.remove(key);
+        } else {
+            authors.put(key, total.name, total.stock);
+        }
+    }
+
+    /**
+     * Actualiza la sugerencia de una editorial con su estado y su stock actuales
+     *
+     * @param id id de la editorial
+     */
+    private void refreshPublisher(Long id) {
+        if (id == null) {
+            return;
+        }
+        PublisherState publisher = publishers.get(id);
+        if (publisher == null || !publisher.active()) {
+            publisherNames.remove(id);
+        } else {
+            publisherNames.put(id, publisher.name(), publisherStock.getOrDefault(id, 0L));
+        }
+    }
+
+    private static AutocompleteSuggestion toSuggestion(AutocompleteSuggestion.Type type, Long id,
+                                                       RadixTrie.Completion<?> completion) {
+        return AutocompleteSuggestion.builder()
+                .type(type)
+                .id(id)
+                .text(completion.text())
+                .weight(completion.weight())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.nullers.restbookstore.rest.autocomplete.services;
+
+import com.nullers.restbookstore.rest.book.model.Book;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Mantiene las sugerencias de autocompletado con los libros guardados y borrados, incluidos los cambios de stock
+ */
+public class BookAutocompleteListener {
+    private final ObjectProvider<AutocompleteService> autocompleteService;
+
+    /**
+     * Constructor
+     *
+     * @param autocompleteService servicio de autocompletado, si existe en el contexto
+     */
+    @Autowired
+    public BookAutocompleteListener(ObjectProvider<AutocompleteService> autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Actualiza las sugerencias con el libro guardado
+     *
+     * @param book libro
+     */
+    @PostPersist
+    @PostUpdate
+    public void saved(Book book) {
+        autocompleteService.ifAvailable(service -> service.bookSaved(book));
+    }
+
+    /**
+     * Quita de las sugerencias el libro borrado
+     *
+     * @param book libro
+     */
+    @PostRemove
+    public void removed(Book book) {
+        autocompleteService.ifAvailable(service -> service.bookRemoved(book.getId()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.nullers.restbookstore.rest.autocomplete.services;
+
+import com.nullers.restbookstore.rest.publisher.model.Publisher;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Mantiene las sugerencias de autocompletado con las editoriales guardadas y borradas
+ */
+public class PublisherAutocompleteListener {
+    private final ObjectProvider<AutocompleteService> autocompleteService;
+
+    /**
+     * Constructor
+     *
+     * @param autocompleteService servicio de autocompletado, si existe en el contexto
+     */
+    @Autowired
+    public PublisherAutocompleteListener(ObjectProvider<AutocompleteService> autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Actualiza las sugerencias con la editorial guardada
+     *
+     * @param publisher editorial
+     */
+    @PostPersist
+    @PostUpdate
+    public void saved(Publisher publisher) {
+        autocompleteService.ifAvailable(service -> service.publisherSaved(publisher));
+    }
+
+    /**
+     * Quita de las sugerencias la editorial borrada
+     *
+     * @param publisher editorial
+     */
+    @PostRemove
+    public void removed(Publisher publisher) {
+        autocompleteService.ifAvailable(service -> service.publisherRemoved(publisher.getId()));
+    }
+}
@@ -43,6 +43,16 @@ public interface BookMapper {
      */
     GetBookDTO toGetBookDTO(Book book, PublisherData publisherData);
 
+    /**
+     * Mapea un Book en GetBookDTO con el nombre de su categoría ya resuelto
+     *
+     * @param book          Book a mapear
+     * @param publisherData PublisherData
+     * @param category      nombre de la categoría
+     * @return GetBookDTO mapeado
+     */
+    GetBookDTO toGetBookDTO(Book book, PublisherData publisherData, String category);
+
     /**
      * Mapea una lista de Book en una lista de GetBookDTO
      *
@@ -5,6 +5,7 @@ import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
 import com.nullers.restbookstore.rest.book.dto.UpdateBookDTO;
 import com.nullers.restbookstore.rest.book.model.Book;
 import com.nullers.restbookstore.rest.category.model.Category;
+import com.nullers.restbookstore.rest.common.Money;
 import com.nullers.restbookstore.rest.publisher.dto.PublisherData;
 import com.nullers.restbookstore.rest.publisher.model.Publisher;
 import org.springframework.stereotype.Component;
@@ -33,7 +34,7 @@ public class BookMapperImpl implements BookMapper {
                 .name(dto.getName())
                 .author(dto.getAuthor())
                 .publisher(publisher)
-                .price(dto.getPrice())
+                .price(Money.of(dto.getPrice()))
                 .image(dto.getImage())
                 .description(dto.getDescription())
                 .createdAt(LocalDateTime.now())
@@ -54,7 +55,7 @@ public class BookMapperImpl implements BookMapper {
                 .id(dto.getId())
                 .name(dto.getName())
                 .author(dto.getAuthor())
-                .price(dto.getPrice())
+                .price(Money.of(dto.getPrice()))
                 .image(dto.getImage())
                 .description(dto.getDescription())
                 .createdAt(LocalDateTime.now())
@@ -77,7 +78,7 @@ public class BookMapperImpl implements BookMapper {
                 .name(dto.getName())
                 .author(dto.getAuthor())
                 .publisher(publisher)
-                .price(dto.getPrice())
+                .price(Money.of(dto.getPrice()))
                 .image(dto.getImage())
                 .description(dto.getDescription())
                 .createdAt(LocalDateTime.now())
@@ -102,7 +103,7 @@ public class BookMapperImpl implements BookMapper {
                 .name(dto.getName())
                 .author(dto.getAuthor())
                 .publisher(publisher)
-                .price(dto.getPrice())
+                .price(Money.of(dto.getPrice()))
                 .image(dto.getImage())
                 .description(dto.getDescription())
                 .createdAt(book.getCreatedAt())
@@ -127,7 +128,7 @@ public class BookMapperImpl implements BookMapper {
                 .name(dto.getName())
                 .author(dto.getAuthor())
                 .publisher(publisher)
-                .price(dto.getPrice())
+                .price(Money.of(dto.getPrice()))
                 .image(dto.getImage())
                 .description(dto.getDescription())
                 .createdAt(book.getCreatedAt())
@@ -145,18 +146,30 @@ public class BookMapperImpl implements BookMapper {
      * @return GetBookDTO mapeado
      */
     public GetBookDTO toGetBookDTO(Book book, PublisherData publisherData) {
+        return toGetBookDTO(book, publisherData, book.getCategory().getName());
+    }
+
+    /**
+     * Mapea un Book en GetBookDTO con el nombre de su categoría ya resuelto, sin leer la categoría del Book
+     *
+     * @param book          Book a mapear
+     * @param publisherData PublisherData
+     * @param category      nombre de la categoría
+     * @return GetBookDTO mapeado
+     */
+    public GetBookDTO toGetBookDTO(Book book, PublisherData publisherData, String category) {
         return GetBookDTO.builder()
                 .id(book.getId())
                 .name(book.getName())
                 .author(book.getAuthor())
                 .publisher(publisherData)
-                .price(book.getPrice())
+                .price(Money.toDouble(book.getPrice()))
                 .image(book.getImage())
                 .description(book.getDescription())
                 .createdAt(book.getCreatedAt())
                 .updatedAt(book.getUpdatedAt())
                 .active(book.getActive())
-                .category(book.getCategory().getName())
+                .category(category)
                 .stock(book.getStock())
                 .build();
     }
@@ -172,7 +185,7 @@ public class BookMapperImpl implements BookMapper {
                 .id(book.getId())
                 .name(book.getName())
                 .author(book.getAuthor())
-                .price(book.getPrice())
+                .price(Money.toDouble(book.getPrice()))
                 .image(book.getImage())
                 .description(book.getDescription())
                 .createdAt(book.getCreatedAt())
@@ -2,7 +2,11 @@ package com.nullers.restbookstore.rest.book.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.nullers.restbookstore.rest.autocomplete.services.BookAutocompleteListener;
 import com.nullers.restbookstore.rest.category.model.Category;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.common.MoneyAttributeConverter;
+import com.nullers.restbookstore.rest.common.NonNegativeMoney;
 import com.nullers.restbookstore.rest.publisher.model.Publisher;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
@@ -28,6 +32,7 @@ import java.time.LocalDateTime;
 @ToString
 @Builder
 @Entity
+@EntityListeners(BookAutocompleteListener.class)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Book {
     public static final String IMAGE_DEFAULT = "https://books.madirex.com/favicon.ico";
@@ -62,9 +67,11 @@ public class Book {
     private String description;
 
     @NotNull(message = "El precio no puede estar vacío")
-    @Min(value = 0, message = "El precio no puede estar en negativo")
+    @NonNegativeMoney(message = "El precio no puede estar en negativo")
+    @Convert(converter = MoneyAttributeConverter.class)
+    @Column(name = "price_cents", columnDefinition = "bigint default 0")
     @Schema(description = "Precio", example = "12.99")
-    private Double price;
+    private Money price;
 
     @CreatedDate
     @Temporal(TemporalType.TIMESTAMP)
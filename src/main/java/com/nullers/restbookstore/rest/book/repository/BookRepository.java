@@ -1,11 +1,19 @@
 package com.nullers.restbookstore.rest.book.repository;
 
 import com.nullers.restbookstore.rest.book.model.Book;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Interface BookRepository
@@ -22,4 +30,74 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
      * @return lista de libros
      */
     List<Book> findByCategory_Name(String category);
+
+    /**
+     * Obtiene una página de los libros de una editorial
+     *
+     * @param publisherId ID de la editorial
+     * @param pageable    paginación
+     * @return página de libros
+     */
+    Page<Book> findByPublisher_Id(Long publisherId, Pageable pageable);
+
+    /**
+     * Obtiene por bloques las imágenes referenciadas por los libros
+     *
+     * @param pageable bloque a obtener
+     * @return bloque de imágenes
+     */
+    @Query("SELECT b.image FROM Book b WHERE b.image IS NOT NULL")
+    Slice<String> findAllImages(Pageable pageable);
+
+    /**
+     * Comprueba si algún libro referencia una imagen
+     *
+     * @param filename nombre del fichero
+     * @return true si alguna imagen termina con ese nombre
+     */
+    boolean existsByImageEndingWith(String filename);
+
+    /**
+     * Obtiene y bloquea para escritura los libros indicados, siempre en orden de ID para evitar interbloqueos
+     *
+     * @param ids IDs de los libros
+     * @return libros encontrados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllByIdForUpdate(Collection<Long> ids);
+
+    /**
+     * Obtiene los IDs de las categorías referenciadas por algún libro
+     *
+     * @return IDs de categorías
+     */
+    @Query("SELECT DISTINCT b.category.id FROM Book b WHERE b.category IS NOT NULL")
+    List<UUID> findDistinctCategoryIds();
+
+    /**
+     * Obtiene los campos de todos los libros que alimentan el autocompletado
+     *
+     * @return campos de los libros
+     */
+    @Query("SELECT b.id AS id, b.name AS name, b.author AS author, b.stock AS stock, b.active AS active, "
+            + "p.id AS publisherId FROM Book b LEFT JOIN b.publisher p")
+    List<AutocompleteFields> findAutocompleteFields();
+
+    /**
+     * Campos de un libro usados por el autocompletado
+     */
+    interface AutocompleteFields {
+        Long getId();
+
+        String getName();
+
+        String getAuthor();
+
+        Integer getStock();
+
+        Boolean getActive();
+
+        Long getPublisherId();
+    }
 }
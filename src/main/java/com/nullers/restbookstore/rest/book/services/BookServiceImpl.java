@@ -21,6 +21,9 @@ import com.nullers.restbookstore.rest.category.exceptions.CategoryInvalidID;
 import com.nullers.restbookstore.rest.category.model.Category;
 import com.nullers.restbookstore.rest.category.repository.CategoryRepositoryJpa;
 import com.nullers.restbookstore.rest.category.services.CategoryServiceJpa;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.common.ReferenceData;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import com.nullers.restbookstore.rest.publisher.exceptions.PublisherIDNotValid;
 import com.nullers.restbookstore.rest.publisher.exceptions.PublisherNotFound;
 import com.nullers.restbookstore.rest.publisher.mappers.PublisherMapper;
@@ -74,6 +77,8 @@ public class BookServiceImpl implements BookService {
     private final ObjectMapper mapper;
     private final BookNotificationMapper bookNotificationMapper;
     private final CategoryRepositoryJpa categoryRepositoryJpa;
+    private final ReferenceFilters referenceFilters;
+    private final ReferenceData referenceData;
 
 
     /**
@@ -87,12 +92,15 @@ public class BookServiceImpl implements BookService {
      * @param publisherService       PublisherService
      * @param categoryService        CategoryService
      * @param bookNotificationMapper BookNotificationMapper
+     * @param referenceFilters       ReferenceFilters
+     * @param referenceData          ReferenceData
      */
     @Autowired
     public BookServiceImpl(BookRepository bookRepository, BookMapperImpl bookMapperImpl,
                            PublisherMapper publisherMapper, WebSocketConfig webSocketConfig, StorageService storageService,
                            PublisherService publisherService, CategoryServiceJpa categoryService,
-                           BookNotificationMapper bookNotificationMapper, CategoryRepositoryJpa categoryRepository) {
+                           BookNotificationMapper bookNotificationMapper, CategoryRepositoryJpa categoryRepository,
+                           ReferenceFilters referenceFilters, ReferenceData referenceData) {
         this.bookRepository = bookRepository;
         this.bookMapperImpl = bookMapperImpl;
         this.publisherMapper = publisherMapper;
@@ -104,6 +112,8 @@ public class BookServiceImpl implements BookService {
         this.bookNotificationMapper = bookNotificationMapper;
         this.mapper = new ObjectMapper();
         this.categoryRepositoryJpa = categoryRepository;
+        this.referenceFilters = referenceFilters;
+        this.referenceData = referenceData;
     }
 
     /**
@@ -125,7 +135,7 @@ public class BookServiceImpl implements BookService {
             }
         }).orElseGet(() -> criteriaBuilder.isTrue(criteriaBuilder.literal(true)));
 
-        Specification<Book> specMaxPrice = (root, query, criteriaBuilder) -> maxPrice.map(p -> criteriaBuilder.lessThanOrEqualTo(root.get("price"), p)).orElseGet(() -> criteriaBuilder.isTrue(criteriaBuilder.literal(true)));
+        Specification<Book> specMaxPrice = (root, query, criteriaBuilder) -> maxPrice.map(p -> criteriaBuilder.lessThanOrEqualTo(root.<Money>get("price"), Money.of(p))).orElseGet(() -> criteriaBuilder.isTrue(criteriaBuilder.literal(true)));
 
         Specification<Book> specCategory = (root, query, criteriaBuilder) -> category.map(c -> criteriaBuilder.equal(criteriaBuilder.upper(root.get("category").get("name")), c.toUpperCase())).orElseGet(() -> criteriaBuilder.isTrue(criteriaBuilder.literal(true)));
 
@@ -167,10 +177,12 @@ public class BookServiceImpl implements BookService {
     @CachePut(key = "#result.id")
     @Override
     public GetBookDTO postBook(CreateBookDTO book) throws PublisherNotFound, PublisherIDNotValid {
-        var publisher = publisherMapper.toPublisher(publisherService.findById(book.getPublisherId()));
+        var publisher = publisherService.getReference(book.getPublisherId());
         var category = checkCategory(book.getCategory());
-        var f = bookRepository.save(bookMapperImpl.toBook(book, publisher, category));
-        var bookDTO = bookMapperImpl.toGetBookDTO(f, publisherMapper.toPublisherData(f.getPublisher()));
+        Book newBook = bookMapperImpl.toBook(book, publisher, category);
+        referenceFilters.recordBook(newBook);
+        var f = bookRepository.save(newBook);
+        var bookDTO = toSavedBookDTO(f);
         onChange(Notification.Type.CREATE, bookDTO);
         return bookDTO;
     }
@@ -193,11 +205,12 @@ public class BookServiceImpl implements BookService {
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException("Book no encontrado"));
         Category category = checkCategory(book.getCategory());
-        var publisher = publisherMapper.toPublisher(publisherService.findById(book.getPublisherId()));
+        var publisher = publisherService.getReference(book.getPublisherId());
         Book f = bookMapperImpl.toBook(existingBook, book, publisher, category);
         f.setId(id);
+        referenceFilters.recordBook(f);
         var modified = bookRepository.save(f);
-        var bookDTO = bookMapperImpl.toGetBookDTO(modified, publisherMapper.toPublisherData(modified.getPublisher()));
+        var bookDTO = toSavedBookDTO(modified);
         onChange(Notification.Type.UPDATE, bookDTO);
         return bookDTO;
     }
@@ -224,19 +237,28 @@ public class BookServiceImpl implements BookService {
         BeanUtils.copyProperties(book, opt.get(), Util.getNullPropertyNames(book));
         opt.get().setId(id);
         opt.get().setUpdatedAt(LocalDateTime.now());
+        if (book.getPrice() != null) {
+            opt.get().setPrice(Money.of(book.getPrice()));
+        }
         if (book.getPublisherId() != null) {
-            opt.get().setPublisher(publisherMapper.toPublisher(publisherService.findById(book.getPublisherId())));
+            opt.get().setPublisher(publisherService.getReference(book.getPublisherId()));
         }
         if (book.getCategory() != null) {
             try {
                 var uuid = UUID.fromString(book.getCategory());
-                opt.get().setCategory(categoryService.getCategoryById(uuid));
+                if (referenceData.isReady()) {
+                    referenceData.findCategory(uuid).orElseThrow(() -> new CategoryNotFoundException(uuid));
+                    opt.get().setCategory(categoryRepositoryJpa.getReferenceById(uuid));
+                } else {
+                    opt.get().setCategory(categoryService.getCategoryById(uuid));
+                }
             } catch (IllegalArgumentException e) {
                 throw new CategoryInvalidID(book.getCategory());
             }
         }
+        referenceFilters.recordBook(opt.get());
         Book modified = bookRepository.save(opt.get());
-        var bookDTO = bookMapperImpl.toGetBookDTO(modified, publisherMapper.toPublisherData(modified.getPublisher()));
+        var bookDTO = toSavedBookDTO(modified);
         onChange(Notification.Type.UPDATE, bookDTO);
         return bookDTO;
     }
@@ -323,12 +345,37 @@ public class BookServiceImpl implements BookService {
     }
 
     /**
-     * Comprueba si existe una categoría
+     * Mapea un Book guardado en GetBookDTO. La editorial y el nombre de la categoría se toman de los datos de
+     * referencia si están cargados, para no cargar las referencias asignadas sin consultar la base de datos
+     *
+     * @param book Book guardado
+     * @return GetBookDTO mapeado
+     */
+    private GetBookDTO toSavedBookDTO(Book book) {
+        var publisherId = book.getPublisher() == null ? null : book.getPublisher().getId();
+        var publisherData = referenceData.findPublisher(publisherId)
+                .map(publisherMapper::toPublisherDataFromReference)
+                .orElseGet(() -> publisherMapper.toPublisherData(book.getPublisher()));
+        UUID categoryId = book.getCategory() == null ? null : book.getCategory().getId();
+        return referenceData.findCategory(categoryId)
+                .map(category -> bookMapperImpl.toGetBookDTO(book, publisherData, category.name()))
+                .orElseGet(() -> bookMapperImpl.toGetBookDTO(book, publisherData));
+    }
+
+    /**
+     * Comprueba si existe una categoría. Si los datos de referencia están cargados, la busca en ellos y devuelve una
+     * referencia sin consultar la base de datos
      *
      * @param category nombre de la categoría
      * @return categoría
      */
     public Category checkCategory(String category) {
+        if (referenceData.isReady()) {
+            var entry = referenceData.findCategory(category)
+                    .filter(ReferenceData.CategoryEntry::active)
+                    .orElseThrow(() -> new CategoryNotFoundException("La categoría no existe o no esta activa"));
+            return categoryRepositoryJpa.getReferenceById(entry.id());
+        }
         var res = categoryRepositoryJpa.findByNameEqualsIgnoreCase(category);
         if (res.isEmpty() || Boolean.TRUE.equals(!res.get().getIsActive())) {
             throw new CategoryNotFoundException("La categoría no existe o no esta activa");
@@ -3,8 +3,7 @@ package com.nullers.restbookstore.rest.category.mappers;
 
 import com.nullers.restbookstore.rest.category.dto.CategoryCreateDTO;
 import com.nullers.restbookstore.rest.category.model.Category;
-
-import java.util.UUID;
+import com.nullers.restbookstore.util.UuidV7;
 
 /**
  * Clase CategoryCreateMapper
@@ -26,7 +25,7 @@ public class CategoryCreateMapper {
      */
     public static Category toEntity(CategoryCreateDTO dto) {
         return Category.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.randomUuid())
                 .name(dto.getName())
                 .isActive(dto.isActive())
                 .build();
@@ -41,7 +40,7 @@ public class CategoryCreateMapper {
      */
     public static Category toEntity(CategoryCreateDTO dto, Category entity) {
         return Category.builder()
-                .id(entity.getId() == null ? UUID.randomUUID() : entity.getId())
+                .id(entity.getId() == null ? UuidV7.randomUuid() : entity.getId())
                 .name(dto.getName() == null ? entity.getName() : dto.getName())
                 .isActive(dto.isActive() == entity.getIsActive() ? entity.getIsActive() : dto.isActive())
                 .createdAt(entity.getCreatedAt())
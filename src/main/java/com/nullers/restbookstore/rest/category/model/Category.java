@@ -1,5 +1,6 @@
 package com.nullers.restbookstore.rest.category.model;
 
+import com.nullers.restbookstore.rest.common.TimeOrderedUuid;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
@@ -21,7 +22,7 @@ import java.util.UUID;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Schema(description = "Id de la categoría", example = "23ebd873-4667-4679-bfc8-9f126cc7b04f")
     private UUID id;
 
@@ -8,6 +8,8 @@ import com.nullers.restbookstore.rest.category.exceptions.CategoryNotFoundExcept
 import com.nullers.restbookstore.rest.category.mappers.CategoryCreateMapper;
 import com.nullers.restbookstore.rest.category.model.Category;
 import com.nullers.restbookstore.rest.category.repository.CategoryRepositoryJpa;
+import com.nullers.restbookstore.rest.common.ReferenceData;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
@@ -28,17 +30,24 @@ public class CategoryServiceJpaImpl implements CategoryServiceJpa {
 
     CategoryRepositoryJpa repository;
     private final BookRepository bookRepository;
+    private final ReferenceFilters referenceFilters;
+    private final ReferenceData referenceData;
 
     /**
      * Constructor
      *
      * @param repository     repositorio de categorías
      * @param bookRepository repositorio de libros
+     * @param referenceFilters filtros de referencias de libros
+     * @param referenceData    datos de referencia en memoria
      */
     @Autowired
-    public CategoryServiceJpaImpl(CategoryRepositoryJpa repository, BookRepository bookRepository) {
+    public CategoryServiceJpaImpl(CategoryRepositoryJpa repository, BookRepository bookRepository,
+                                  ReferenceFilters referenceFilters, ReferenceData referenceData) {
         this.repository = repository;
         this.bookRepository = bookRepository;
+        this.referenceFilters = referenceFilters;
+        this.referenceData = referenceData;
     }
 
     /**
@@ -94,7 +103,9 @@ public class CategoryServiceJpaImpl implements CategoryServiceJpa {
             throw new CategoryConflictException("Ya existe una categoría con el nombre: " + categoryCreateDTO.getName());
         });
         categoryCreateDTO.setActive(true);
-        return repository.save(CategoryCreateMapper.toEntity(categoryCreateDTO));
+        Category saved = repository.save(CategoryCreateMapper.toEntity(categoryCreateDTO));
+        referenceData.categorySaved(saved);
+        return saved;
     }
 
     /**
@@ -113,7 +124,9 @@ public class CategoryServiceJpaImpl implements CategoryServiceJpa {
                 throw new CategoryConflictException("Ya existe una categoría con el nombre: " + categoryCreateDTO.getName());
             }
         });
-        return repository.save(CategoryCreateMapper.toEntity(categoryCreateDTO, category));
+        Category saved = repository.save(CategoryCreateMapper.toEntity(categoryCreateDTO, category));
+        referenceData.categorySaved(saved);
+        return saved;
     }
 
     /**
@@ -125,9 +138,11 @@ public class CategoryServiceJpaImpl implements CategoryServiceJpa {
     @Cacheable(key = "#id")
     public void deleteById(UUID id) {
         Category category = repository.findById(id).orElseThrow(() -> new CategoryNotFoundException(id));
-        if (!bookRepository.findByCategory_Name(category.getName()).isEmpty()) {
+        if (referenceFilters.mightBeReferenced(ReferenceFilters.Reference.BOOK_CATEGORY, id)
+                && !bookRepository.findByCategory_Name(category.getName()).isEmpty()) {
             throw new CategoryConflictException("No se puede eliminar la categoría porque tiene libros asociados");
         }
         repository.deleteById(id);
+        referenceData.categoryRemoved(id);
     }
 }
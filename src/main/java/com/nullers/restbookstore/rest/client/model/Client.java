@@ -1,7 +1,9 @@
 package com.nullers.restbookstore.rest.client.model;
 
 import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.client.services.ClientSearchListener;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.TimeOrderedUuid;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -22,12 +24,13 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "clients")
+@EntityListeners(ClientSearchListener.class)
 @ToString
 public class Client {
     public static final String DEFAULT_IMAGE = "https://via.placeholder.com/150";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Schema(name = "ID", example = "550e8400-e29b-41d4-a716-446655440000")
     private UUID id;
 
@@ -1,11 +1,17 @@
 package com.nullers.restbookstore.rest.client.repository;
 
 import com.nullers.restbookstore.rest.client.model.Client;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -22,4 +28,62 @@ public interface ClientRepository extends JpaRepository<Client, UUID>, JpaSpecif
      */
     Optional<Client> getClientByEmailEqualsIgnoreCase(String email);
 
+    /**
+     * Método para obtener por bloques las imágenes referenciadas por los clientes
+     *
+     * @param pageable bloque a obtener
+     * @return bloque de imágenes
+     */
+    @Query("SELECT c.image FROM Client c WHERE c.image IS NOT NULL")
+    Slice<String> findAllImages(Pageable pageable);
+
+    /**
+     * Método para comprobar si algún cliente referencia una imagen
+     *
+     * @param filename nombre del fichero
+     * @return true si alguna imagen termina con ese nombre
+     */
+    boolean existsByImageEndingWith(String filename);
+
+    /**
+     * Método que devuelve cuáles de los IDs indicados existen
+     *
+     * @param ids IDs a comprobar
+     * @return IDs existentes
+     */
+    @Query("SELECT c.id FROM Client c WHERE c.id IN :ids")
+    Set<UUID> findExistingIds(Collection<UUID> ids);
+
+    /**
+     * Método para obtener el primer bloque de campos buscables de los clientes ordenados por id
+     *
+     * @param pageable tamaño del bloque
+     * @return campos buscables
+     */
+    List<SearchFields> findAllByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Método para obtener el siguiente bloque de campos buscables de los clientes ordenados por id
+     *
+     * @param id       último id del bloque anterior
+     * @param pageable tamaño del bloque
+     * @return campos buscables
+     */
+    List<SearchFields> findByIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable);
+
+    /**
+     * Campos de un cliente indexados para las búsquedas
+     */
+    interface SearchFields {
+        UUID getId();
+
+        String getName();
+
+        String getSurname();
+
+        String getEmail();
+
+        String getPhone();
+    }
+
 }
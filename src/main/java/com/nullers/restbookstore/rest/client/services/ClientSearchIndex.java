@@ -0,0 +1,71 @@
+package com.nullers.restbookstore.rest.client.services;
+
+import com.nullers.restbookstore.rest.client.model.Client;
+import com.nullers.restbookstore.rest.client.repository.ClientRepository;
+import com.nullers.restbookstore.rest.common.EntitySearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Índice de trigramas del nombre, apellidos, email y teléfono de los clientes
+ */
+@Component
+public class ClientSearchIndex extends EntitySearchIndex {
+    private final ClientRepository clientRepository;
+
+    /**
+     * Constructor
+     *
+     * @param clientRepository repositorio de clientes
+     * @param enabled          si el índice se construye al arrancar
+     * @param batchSize        clientes leídos por consulta durante la construcción
+     * @param maxCandidates    candidatos a partir de los cuales se recorre la tabla
+     */
+    @Autowired
+    public ClientSearchIndex(ClientRepository clientRepository,
+                             @Value("${search.index.enabled:true}") boolean enabled,
+                             @Value("${search.index.batch-size:1000}") int batchSize,
+                             @Value("${search.index.max-candidates:5000}") int maxCandidates) {
+        super("clientes", 4, enabled, batchSize, maxCandidates);
+        this.clientRepository = clientRepository;
+    }
+
+    /**
+     * Busca los clientes que pueden cumplir los filtros
+     *
+     * @param name    nombre
+     * @param surname apellidos
+     * @param email   email
+     * @param phone   teléfono
+     * @return ids candidatos, o vacío si hay que recorrer la tabla
+     */
+    public Optional<List<UUID>> candidates(Optional<String> name, Optional<String> surname, Optional<String> email,
+                                           Optional<String> phone) {
+        return candidates(name.orElse(null), surname.orElse(null), email.orElse(null), phone.orElse(null));
+    }
+
+    /**
+     * Indexa un cliente guardado
+     *
+     * @param client cliente
+     */
+    public void index(Client client) {
+        index(client.getId(), client.getName(), client.getSurname(), client.getEmail(), client.getPhone());
+    }
+
+    @Override
+    protected List<Entry> loadAfter(UUID after, int batchSize) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        var fields = after == null ? clientRepository.findAllByOrderByIdAsc(page)
+                : clientRepository.findByIdGreaterThanOrderByIdAsc(after, page);
+        return fields.stream()
+                .map(c -> entry(c.getId(), c.getName(), c.getSurname(), c.getEmail(), c.getPhone()))
+                .toList();
+    }
+}
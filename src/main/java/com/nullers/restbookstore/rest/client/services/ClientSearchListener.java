@@ -0,0 +1,46 @@
+package com.nullers.restbookstore.rest.client.services;
+
+import com.nullers.restbookstore.rest.client.model.Client;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Mantiene el índice de búsqueda de clientes con los clientes guardados y borrados
+ */
+public class ClientSearchListener {
+    private final ObjectProvider<ClientSearchIndex> searchIndex;
+
+    /**
+     * Constructor
+     *
+     * @param searchIndex índice de búsqueda de clientes, si existe en el contexto
+     */
+    @Autowired
+    public ClientSearchListener(ObjectProvider<ClientSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Indexa el cliente guardado
+     *
+     * @param client cliente
+     */
+    @PostPersist
+    @PostUpdate
+    public void saved(Client client) {
+        searchIndex.ifAvailable(index -> index.index(client));
+    }
+
+    /**
+     * Quita del índice el cliente borrado
+     *
+     * @param client cliente
+     */
+    @PostRemove
+    public void removed(Client client) {
+        searchIndex.ifAvailable(index -> index.remove(client.getId()));
+    }
+}
@@ -20,6 +20,7 @@ import com.nullers.restbookstore.rest.client.notifications.dto.ClientNotificatio
 import com.nullers.restbookstore.rest.client.notifications.mapper.ClientNotificationMapper;
 import com.nullers.restbookstore.rest.client.repository.ClientRepository;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
 import com.nullers.restbookstore.storage.services.StorageService;
 import lombok.extern.slf4j.Slf4j;
@@ -28,7 +29,7 @@ import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -36,6 +37,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -63,6 +65,10 @@ public class ClientServiceImpl implements ClientService {
     private WebSocketHandler webSocketService;
     private final ClientNotificationMapper clientNotificationMapper;
 
+    private final ReferenceFilters referenceFilters;
+
+    private final ClientSearchIndex clientSearchIndex;
+
     private final ObjectMapper mapper;
 
 
@@ -74,14 +80,18 @@ public class ClientServiceImpl implements ClientService {
      * @param storageService           servicio de almacenamiento
      * @param webSocketConfig          configuración de websockets
      * @param clientNotificationMapper mapper de notificaciones de clientes
+     * @param referenceFilters         filtros de referencias de pedidos
+     * @param clientSearchIndex        índice de búsqueda de clientes
      */
     @Autowired
-    public ClientServiceImpl(ClientRepository clientRepository, OrderRepository orderRepository, StorageService storageService, WebSocketConfig webSocketConfig, ClientNotificationMapper clientNotificationMapper) {
+    public ClientServiceImpl(ClientRepository clientRepository, OrderRepository orderRepository, StorageService storageService, WebSocketConfig webSocketConfig, ClientNotificationMapper clientNotificationMapper, ReferenceFilters referenceFilters, ClientSearchIndex clientSearchIndex) {
         this.clientRepository = clientRepository;
         this.orderRepository = orderRepository;
         this.storageService = storageService;
         this.webSocketConfig = webSocketConfig;
         this.clientNotificationMapper = clientNotificationMapper;
+        this.referenceFilters = referenceFilters;
+        this.clientSearchIndex = clientSearchIndex;
         webSocketService = webSocketConfig.webSocketClientsHandler();
         mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
@@ -121,6 +131,15 @@ public class ClientServiceImpl implements ClientService {
                 .and(specEmail)
                 .and(specPhone);
 
+        // Si el índice de trigramas resuelve la búsqueda, la consulta se limita a los candidatos por clave primaria
+        Optional<List<UUID>> candidates = clientSearchIndex.candidates(name, surname, email, phone);
+        if (candidates.isPresent()) {
+            if (candidates.get().isEmpty()) {
+                return new PageImpl<>(List.of(), pageable, 0);
+            }
+            criterio = criterio.and((root, query, criteriaBuilder) -> root.get("id").in(candidates.get()));
+        }
+
         return clientRepository.findAll(criterio, pageable).map(ClientMapper::toDto);
     }
 
@@ -235,8 +254,8 @@ public class ClientServiceImpl implements ClientService {
         if (clientToDelete.isEmpty()) {
             throw new ClientNotFound("id", id);
         }
-        int ordersClient = orderRepository.findByClientId(id, PageRequest.of(0, 10)).getContent().size();
-        if (ordersClient > 0) {
+        if (referenceFilters.mightBeReferenced(ReferenceFilters.Reference.ORDER_CLIENT, id)
+                && orderRepository.existsByClientId(id)) {
             log.error("El cliente con id: " + id + " tiene pedidos asociados");
             throw new ClientInOrderException(id);
         }
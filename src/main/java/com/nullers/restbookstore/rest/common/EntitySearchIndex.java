@@ -0,0 +1,187 @@
+package com.nullers.restbookstore.rest.common;
+
+import com.nullers.restbookstore.util.AfterCommit;
+import com.nullers.restbookstore.util.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Índice de trigramas de los campos de texto de una entidad para resolver las búsquedas por subcadena
+ * <p>
+ * Devuelve los ids candidatos de una búsqueda para que la consulta a la base de datos filtre por clave primaria en
+ * lugar de recorrer la tabla. La consulta sigue aplicando los filtros originales, así que los candidatos sobrantes no
+ * cambian el resultado. El índice se construye por bloques al arrancar y se mantiene con los cambios confirmados de
+ * la entidad. Mientras no está construido, o si la búsqueda no se puede resolver con trigramas, las búsquedas
+ * recorren la tabla como antes.
+ */
+@Slf4j
+public abstract class EntitySearchIndex {
+
+    /**
+     * Campos indexados de una entidad
+     *
+     * @param id     id de la entidad
+     * @param values valores de los campos, en el orden del índice
+     */
+    protected record Entry(UUID id, String[] values) {
+    }
+
+    /**
+     * Crea los campos indexados de una entidad
+     *
+     * @param id     id de la entidad
+     * @param values valores de los campos, en el orden del índice
+     * @return campos indexados
+     */
+    protected static Entry entry(UUID id, String... values) {
+        return new Entry(id, values);
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxCandidates;
+    private final TrigramIndex index;
+
+    private Set<UUID> removedWhileBuilding;
+    private volatile boolean ready;
+
+    /**
+     * Constructor
+     *
+     * @param name          nombre de la entidad para los logs
+     * @param fields        número de campos indexados
+     * @param enabled       si el índice se construye al arrancar
+     * @param batchSize     entidades leídas por consulta durante la construcción
+     * @param maxCandidates candidatos a partir de los cuales se recorre la tabla
+     */
+    protected EntitySearchIndex(String name, int fields, boolean enabled, int batchSize, int maxCandidates) {
+        this.name = name;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxCandidates = maxCandidates;
+        this.index = new TrigramIndex(fields);
+    }
+
+    /**
+     * Lee un bloque de entidades ordenadas por id
+     *
+     * @param after     último id del bloque anterior, o null para el primero
+     * @param batchSize entidades del bloque
+     * @return entidades con id mayor que after
+     */
+    protected abstract List<Entry> loadAfter(UUID after, int batchSize);
+
+    /**
+     * Busca los ids que pueden cumplir los filtros por subcadena
+     *
+     * @param queries subcadena de cada campo, en el orden del índice; null si el campo no se filtra
+     * @return ids candidatos, o vacío si hay que recorrer la tabla
+     */
+    protected Optional<List<UUID>> candidates(String... queries) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return index.candidates(maxCandidates, queries);
+    }
+
+    /**
+     * Indexa los campos de una entidad guardada. Si hay una transacción en curso, se indexa al confirmarse
+     *
+     * @param id     id de la entidad
+     * @param values valores de los campos, en el orden del índice
+     */
+    protected void index(UUID id, String... values) {
+        if (enabled && id != null) {
+            AfterCommit.run(() -> index.put(id, values));
+        }
+    }
+
+    /**
+     * Quita una entidad borrada del índice. Si hay una transacción en curso, se quita al confirmarse
+     *
+     * @param id id de la entidad
+     */
+    public void remove(UUID id) {
+        if (enabled && id != null) {
+            AfterCommit.run(() -> {
+                synchronized (this) {
+                    index.remove(id);
+                    if (removedWhileBuilding != null) {
+                        removedWhileBuilding.add(id);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Indica si el índice está construido
+     *
+     * @return true si las búsquedas usan el índice
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Entidades indexadas
+     *
+     * @return número de entidades
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Construye el índice cuando la aplicación está lista
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            build();
+        }
+    }
+
+    /**
+     * Carga en el índice todas las entidades por bloques. Las entidades guardadas durante la construcción ya están
+     * en su versión más reciente y no se sobrescriben, y las borradas no se vuelven a añadir
+     */
+    public void build() {
+        synchronized (this) {
+            removedWhileBuilding = new HashSet<>();
+        }
+        try {
+            UUID after = null;
+            List<Entry> batch;
+            do {
+                batch = loadAfter(after, batchSize);
+                synchronized (this) {
+                    for (Entry entry : batch) {
+                        if (!removedWhileBuilding.contains(entry.id())) {
+                            index.putIfAbsent(entry.id(), entry.values());
+                        }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    after = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == batchSize);
+            ready = true;
+            log.info("Índice de búsqueda de " + name + " construido con " + index.size() + " entradas");
+        } catch (RuntimeException e) {
+            log.warn("No se puede construir el índice de búsqueda de " + name + ", se recorrerá la tabla " + e);
+        } finally {
+            synchronized (this) {
+                removedWhileBuilding = null;
+            }
+        }
+    }
+}
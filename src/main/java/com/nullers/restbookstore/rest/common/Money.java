@@ -0,0 +1,136 @@
+package com.nullers.restbookstore.rest.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Importe monetario en coma fija
+ * <p>
+ * Guarda el importe en céntimos en un long, de modo que sumas y multiplicaciones son exactas y dos importes con el
+ * mismo valor son siempre iguales. En JSON se representa como un número decimal, igual que los Double a los que
+ * sustituye; en la base de datos se guardan los céntimos.
+ *
+ * @param cents importe en céntimos
+ */
+@Schema(type = "number", format = "double", example = "12.99")
+public record Money(long cents) implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+    private static final int SCALE = 2;
+
+    /**
+     * Crea un importe a partir de sus céntimos
+     *
+     * @param cents céntimos
+     * @return importe
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Crea un importe a partir de un decimal, redondeando a céntimos
+     *
+     * @param amount importe decimal
+     * @return importe, o null si amount es null
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Crea un importe a partir de un Double, redondeando a céntimos
+     *
+     * @param amount importe decimal
+     * @return importe, o null si amount es null
+     */
+    public static Money of(Double amount) {
+        return amount == null ? null : of(BigDecimal.valueOf(amount));
+    }
+
+    /**
+     * Convierte un importe a Double
+     *
+     * @param money importe
+     * @return importe decimal, o null si money es null
+     */
+    public static Double toDouble(Money money) {
+        return money == null ? null : money.doubleValue();
+    }
+
+    /**
+     * Suma dos importes
+     *
+     * @param other importe a sumar
+     * @return suma
+     */
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    /**
+     * Multiplica el importe por una cantidad
+     *
+     * @param quantity cantidad
+     * @return producto
+     */
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    /**
+     * Indica si el importe es negativo
+     *
+     * @return true si es menor que cero
+     */
+    public boolean isNegative() {
+        return cents < 0;
+    }
+
+    /**
+     * Importe decimal
+     *
+     * @return importe como BigDecimal con dos decimales
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Importe en coma flotante, usado en la representación JSON
+     *
+     * @return importe como double
+     */
+    @JsonValue
+    public double doubleValue() {
+        return cents / 100.0;
+    }
+
+    /**
+     * Compara dos importes
+     *
+     * @param other importe a comparar
+     * @return resultado de la comparación
+     */
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * Importe decimal como texto
+     *
+     * @return importe con dos decimales
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
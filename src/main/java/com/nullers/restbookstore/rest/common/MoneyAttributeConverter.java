@@ -0,0 +1,33 @@
+package com.nullers.restbookstore.rest.common;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Conversor JPA que guarda los importes como céntimos en una columna BIGINT
+ */
+@Converter
+public class MoneyAttributeConverter implements AttributeConverter<Money, Long> {
+
+    /**
+     * Convierte un importe a la columna
+     *
+     * @param money importe
+     * @return céntimos
+     */
+    @Override
+    public Long convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.cents();
+    }
+
+    /**
+     * Convierte la columna a un importe
+     *
+     * @param cents céntimos
+     * @return importe
+     */
+    @Override
+    public Money convertToEntityAttribute(Long cents) {
+        return cents == null ? null : Money.ofCents(cents);
+    }
+}
@@ -0,0 +1,23 @@
+package com.nullers.restbookstore.rest.common;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricción que exige que un importe no sea negativo (los importes nulos se consideran válidos)
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = NonNegativeMoneyValidator.class)
+public @interface NonNegativeMoney {
+    String message() default "El importe no puede ser negativo";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,22 @@
+package com.nullers.restbookstore.rest.common;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validador de {@link NonNegativeMoney}
+ */
+public class NonNegativeMoneyValidator implements ConstraintValidator<NonNegativeMoney, Money> {
+
+    /**
+     * Comprueba que el importe no sea negativo
+     *
+     * @param money   importe
+     * @param context contexto de validación
+     * @return true si el importe es nulo o mayor o igual que cero
+     */
+    @Override
+    public boolean isValid(Money money, ConstraintValidatorContext context) {
+        return money == null || !money.isNegative();
+    }
+}
@@ -0,0 +1,36 @@
+package com.nullers.restbookstore.rest.common;
+
+import com.nullers.restbookstore.rest.orders.models.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra en los filtros de referencias los usuarios, clientes y tiendas de cada pedido antes de guardarlo,
+ * tanto desde los repositorios como desde las operaciones masivas de MongoTemplate
+ */
+@Component
+public class OrderReferenceListener extends AbstractMongoEventListener<Order> {
+    private final ReferenceFilters referenceFilters;
+
+    /**
+     * Constructor
+     *
+     * @param referenceFilters filtros de referencias
+     */
+    @Autowired
+    public OrderReferenceListener(ReferenceFilters referenceFilters) {
+        this.referenceFilters = referenceFilters;
+    }
+
+    /**
+     * Registra las referencias del pedido que se va a guardar
+     *
+     * @param event evento previo al guardado
+     */
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<Order> event) {
+        referenceFilters.recordOrder(event.getSource());
+    }
+}
@@ -0,0 +1,409 @@
+package com.nullers.restbookstore.rest.common;
+
+import com.nullers.restbookstore.rest.category.model.Category;
+import com.nullers.restbookstore.rest.category.repository.CategoryRepositoryJpa;
+import com.nullers.restbookstore.rest.publisher.model.Publisher;
+import com.nullers.restbookstore.rest.publisher.repository.PublisherRepository;
+import com.nullers.restbookstore.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Diccionario en memoria de las categorías y las editoriales
+ * <p>
+ * Las dos tablas son pequeñas y cambian poco, así que se cargan enteras al arrancar en una instantánea inmutable:
+ * categorías por id y por nombre sin distinguir mayúsculas, y editoriales por id. Cada escritura confirmada de una
+ * categoría o una editorial copia los mapas, aplica el cambio y publica la nueva instantánea con una versión más, de
+ * modo que las lecturas son una lectura volátil sin bloqueos. Las escrituras de libros la usan para validar sus
+ * referencias sin consultar la base de datos. Mientras no está cargada las búsquedas devuelven vacío y quien la usa
+ * consulta la base de datos como antes.
+ * <p>
+ * Las escrituras hechas en otra instancia no llegan a esta: una búsqueda que no encuentra la fila en la instantánea la
+ * lee de la base de datos y la añade, y la instantánea entera se vuelve a cargar cuando supera la antigüedad máxima,
+ * de modo que los cambios y borrados de otras instancias se ven como mucho tras ese tiempo. Con antigüedad 0 se vuelve
+ * a cargar en cada búsqueda.
+ */
+@Component
+@Slf4j
+public class ReferenceData {
+
+    /**
+     * Categoría de la instantánea
+     *
+     * @param id     id de la categoría
+     * @param name   nombre
+     * @param active si está activa
+     */
+    public record CategoryEntry(UUID id, String name, boolean active) {
+    }
+
+    /**
+     * Editorial de la instantánea
+     *
+     * @param id        id de la editorial
+     * @param name      nombre
+     * @param image     imagen
+     * @param active    si está activa
+     * @param createdAt fecha de creación
+     * @param updatedAt fecha de actualización
+     */
+    public record PublisherEntry(Long id, String name, String image, boolean active, LocalDateTime createdAt,
+                                 LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Versión publicada de los datos de referencia; sus mapas no se modifican
+     */
+    private record Snapshot(long version, Map<UUID, CategoryEntry> categories,
+                            Map<String, CategoryEntry> categoriesByName, Map<Long, PublisherEntry> publishers) {
+    }
+
+    private final CategoryRepositoryJpa categoryRepository;
+    private final PublisherRepository publisherRepository;
+    private final boolean enabled;
+    private final long maxAgeNanos;
+    private final LongSupplier clock;
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of(), Map.of(), Map.of());
+    private volatile boolean ready;
+    private volatile long loadedNanos;
+    private Set<UUID> changedCategories = new HashSet<>();
+    private Set<Long> changedPublishers = new HashSet<>();
+
+    /**
+     * Constructor
+     *
+     * @param categoryRepository  repositorio de categorías
+     * @param publisherRepository repositorio de editoriales
+     * @param enabled             si los datos se cargan al arrancar
+     * @param maxAgeSeconds       antigüedad máxima de la instantánea antes de volver a cargarla
+     */
+    @Autowired
+    public ReferenceData(CategoryRepositoryJpa categoryRepository, PublisherRepository publisherRepository,
+                         @Value("${reference-data.enabled:true}") boolean enabled,
+                         @Value("${reference-data.max-age-seconds:60}") long maxAgeSeconds) {
+        this(categoryRepository, publisherRepository, enabled, TimeUnit.SECONDS.toNanos(Math.max(maxAgeSeconds, 0)),
+                System::nanoTime);
+    }
+
+    ReferenceData(CategoryRepositoryJpa categoryRepository, PublisherRepository publisherRepository, boolean enabled,
+                  long maxAgeNanos, LongSupplier clock) {
+        this.categoryRepository = categoryRepository;
+        this.publisherRepository = publisherRepository;
+        this.enabled = enabled;
+        this.maxAgeNanos = maxAgeNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * Indica si la instantánea está cargada
+     *
+     * @return true si las búsquedas usan la instantánea
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Versión de la instantánea publicada
+     *
+     * @return número de versión, que aumenta con cada cambio
+     */
+    public long getVersion() {
+        return snapshot.version();
+    }
+
+    /**
+     * Busca una categoría por id
+     *
+     * @param id id de la categoría
+     * @return categoría, o vacío si no existe o la instantánea no está cargada
+     */
+    public Optional<CategoryEntry> findCategory(UUID id) {
+        if (!ready || id == null) {
+            return Optional.empty();
+        }
+        refreshIfStale();
+        CategoryEntry category = snapshot.categories().get(id);
+        return category != null ? Optional.of(category) : categoryRepository.findById(id).map(this::merge);
+    }
+
+    /**
+     * Busca una categoría por nombre sin distinguir mayúsculas
+     *
+     * @param name nombre de la categoría
+     * @return categoría, o vacío si no existe o la instantánea no está cargada
+     */
+    public Optional<CategoryEntry> findCategory(String name) {
+        if (!ready || name == null) {
+            return Optional.empty();
+        }
+        refreshIfStale();
+        CategoryEntry category = snapshot.categoriesByName().get(normalize(name));
+        return category != null ? Optional.of(category)
+                : categoryRepository.findByNameEqualsIgnoreCase(name).map(this::merge);
+    }
+
+    /**
+     * Busca una editorial por id
+     *
+     * @param id id de la editorial
+     * @return editorial, o vacío si no existe o la instantánea no está cargada
+     */
+    public Optional<PublisherEntry> findPublisher(Long id) {
+        if (!ready || id == null) {
+            return Optional.empty();
+        }
+        refreshIfStale();
+        PublisherEntry publisher = snapshot.publishers().get(id);
+        return publisher != null ? Optional.of(publisher) : publisherRepository.findById(id).map(this::merge);
+    }
+
+    /**
+     * Publica una categoría guardada al confirmarse la transacción
+     *
+     * @param category categoría
+     */
+    public void categorySaved(Category category) {
+        if (!enabled || category.getId() == null) {
+            return;
+        }
+        CategoryEntry entry = toEntry(category);
+        AfterCommit.run(() -> applyCategory(entry.id(), entry));
+    }
+
+    /**
+     * Quita una categoría borrada al confirmarse la transacción
+     *
+     * @param id id de la categoría
+     */
+    public void categoryRemoved(UUID id) {
+        if (enabled && id != null) {
+            AfterCommit.run(() -> applyCategory(id, null));
+        }
+    }
+
+    /**
+     * Publica una editorial guardada al confirmarse la transacción
+     *
+     * @param publisher editorial
+     */
+    public void publisherSaved(Publisher publisher) {
+        if (!enabled || publisher.getId() == null) {
+            return;
+        }
+        PublisherEntry entry = toEntry(publisher);
+        AfterCommit.run(() -> applyPublisher(entry.id(), entry));
+    }
+
+    /**
+     * Quita todas las editoriales al confirmarse la transacción
+     */
+    public void publishersCleared() {
+        if (enabled) {
+            AfterCommit.run(() -> {
+                synchronized (this) {
+                    if (changedPublishers != null) {
+                        changedPublishers.addAll(snapshot.publishers().keySet());
+                    }
+                    publish(snapshot.categories(), Map.of());
+                }
+            });
+        }
+    }
+
+    /**
+     * Carga los datos cuando la aplicación está lista
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            build();
+        }
+    }
+
+    /**
+     * Carga todas las categorías y editoriales y sustituye la instantánea. Las que se han guardado o borrado durante
+     * la carga ya están en su versión más reciente y no se sobrescriben. Si ya hay otra carga en curso no hace nada
+     */
+    public void build() {
+        if (!loading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long started = clock.getAsLong();
+            synchronized (this) {
+                if (changedCategories == null) {
+                    changedCategories = new HashSet<>();
+                    changedPublishers = new HashSet<>();
+                }
+            }
+            var loadedCategories = categoryRepository.findAll();
+            var loadedPublishers = publisherRepository.findAll();
+            synchronized (this) {
+                Map<UUID, CategoryEntry> categories = new HashMap<>();
+                loadedCategories.forEach(c -> categories.put(c.getId(), toEntry(c)));
+                keepChanged(categories, snapshot.categories(), changedCategories);
+                Map<Long, PublisherEntry> publishers = new HashMap<>();
+                loadedPublishers.forEach(p -> publishers.put(p.getId(), toEntry(p)));
+                keepChanged(publishers, snapshot.publishers(), changedPublishers);
+                publish(categories, publishers);
+                changedCategories = null;
+                changedPublishers = null;
+                loadedNanos = started;
+                ready = true;
+            }
+            log.info("Datos de referencia cargados con " + snapshot.categories().size() + " categorías y "
+                    + snapshot.publishers().size() + " editoriales");
+        } catch (RuntimeException e) {
+            log.warn("No se pueden cargar los datos de referencia, se consultará la base de datos " + e);
+            synchronized (this) {
+                if (ready) {
+                    changedCategories = null;
+                    changedPublishers = null;
+                    loadedNanos = clock.getAsLong();
+                }
+            }
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    /**
+     * Vuelve a cargar la instantánea si supera la antigüedad máxima
+     */
+    private void refreshIfStale() {
+        if (clock.getAsLong() - loadedNanos >= maxAgeNanos) {
+            build();
+        }
+    }
+
+    /**
+     * Añade a la instantánea una categoría leída de la base de datos que no estaba en ella
+     *
+     * @param category categoría
+     * @return categoría de la instantánea
+     */
+    private CategoryEntry merge(Category category) {
+        CategoryEntry entry = toEntry(category);
+        applyCategory(entry.id(), entry);
+        return entry;
+    }
+
+    /**
+     * Añade a la instantánea una editorial leída de la base de datos que no estaba en ella
+     *
+     * @param publisher editorial
+     * @return editorial de la instantánea
+     */
+    private PublisherEntry merge(Publisher publisher) {
+        PublisherEntry entry = toEntry(publisher);
+        applyPublisher(entry.id(), entry);
+        return entry;
+    }
+
+    /**
+     * Publica una instantánea con el nuevo estado de una categoría
+     *
+     * @param id   id de la categoría
+     * @param next estado nuevo, o null si se ha borrado
+     */
+    private synchronized void applyCategory(UUID id, CategoryEntry next) {
+        Map<UUID, CategoryEntry> categories = new HashMap<>(snapshot.categories());
+        if (next == null) {
+            categories.remove(id);
+        } else {
+            categories.put(id, next);
+        }
+        if (changedCategories != null) {
+            changedCategories.add(id);
+        }
+        publish(categories, snapshot.publishers());
+    }
+
+    /**
+     * Publica una instantánea con el nuevo estado de una editorial
+     *
+     * @param id   id de la editorial
+     * @param next estado nuevo, o null si se ha borrado
+     */
+    private synchronized void applyPublisher(Long id, PublisherEntry next) {
+        Map<Long, PublisherEntry> publishers = new HashMap<>(snapshot.publishers());
+        if (next == null) {
+            publishers.remove(id);
+        } else {
+            publishers.put(id, next);
+        }
+        if (changedPublishers != null) {
+            changedPublishers.add(id);
+        }
+        publish(snapshot.categories(), publishers);
+    }
+
+    /**
+     * Sustituye en los datos cargados las filas cambiadas durante la carga por su estado en la instantánea actual
+     *
+     * @param loaded  filas cargadas por id
+     * @param current filas de la instantánea actual por id
+     * @param changed ids cambiados durante la carga
+     * @param <K>     tipo del id
+     * @param <V>     tipo de la fila
+     */
+    private static <K, V> void keepChanged(Map<K, V> loaded, Map<K, V> current, Set<K> changed) {
+        for (K id : changed) {
+            V entry = current.get(id);
+            if (entry == null) {
+                loaded.remove(id);
+            } else {
+                loaded.put(id, entry);
+            }
+        }
+    }
+
+    /**
+     * Sustituye la instantánea publicada por una nueva con los mapas indicados
+     *
+     * @param categories categorías por id
+     * @param publishers editoriales por id
+     */
+    private void publish(Map<UUID, CategoryEntry> categories, Map<Long, PublisherEntry> publishers) {
+        Map<String, CategoryEntry> byName = new HashMap<>();
+        for (CategoryEntry category : categories.values()) {
+            if (category.name() != null) {
+                byName.put(normalize(category.name()), category);
+            }
+        }
+        snapshot = new Snapshot(snapshot.version() + 1, Map.copyOf(categories), Map.copyOf(byName),
+                Map.copyOf(publishers));
+    }
+
+    private static CategoryEntry toEntry(Category category) {
+        return new CategoryEntry(category.getId(), category.getName(), Boolean.TRUE.equals(category.getIsActive()));
+    }
+
+    private static PublisherEntry toEntry(Publisher publisher) {
+        return new PublisherEntry(publisher.getId(), publisher.getName(), publisher.getImage(),
+                Boolean.TRUE.equals(publisher.getActive()), publisher.getCreatedAt(), publisher.getUpdatedAt());
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
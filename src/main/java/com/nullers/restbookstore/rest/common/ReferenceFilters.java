@@ -0,0 +1,219 @@
+package com.nullers.restbookstore.rest.common;
+
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Filtros de Bloom de las referencias entre entidades
+ * <p>
+ * Guardan los usuarios, clientes y tiendas referenciados por algún pedido y las categorías referenciadas por algún
+ * libro. Las comprobaciones de borrado los consultan antes de la consulta real: un "no" del filtro es definitivo y
+ * evita la consulta, un "puede" pasa a la consulta real. Los filtros se construyen al arrancar y se mantienen
+ * añadiendo cada referencia antes de escribirla. Mientras no están construidos todas las comprobaciones pasan a la
+ * consulta real.
+ */
+@Component
+@Slf4j
+public class ReferenceFilters {
+
+    /**
+     * Referencias filtradas
+     */
+    public enum Reference {
+        ORDER_USER, ORDER_CLIENT, ORDER_SHOP, BOOK_CATEGORY
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final BookRepository bookRepository;
+    private final boolean enabled;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private volatile Map<Reference, BloomFilter> filters;
+    private Map<Reference, BloomFilter> building;
+    private volatile boolean ready;
+    private final AtomicLong skippedQueries = new AtomicLong();
+    private final AtomicLong checkedQueries = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param mongoTemplate     plantilla de MongoDB
+     * @param bookRepository    repositorio de libros
+     * @param enabled           si los filtros se construyen al arrancar
+     * @param expectedEntries   referencias distintas esperadas por filtro
+     * @param falsePositiveRate tasa de falsos positivos deseada
+     */
+    @Autowired
+    public ReferenceFilters(MongoTemplate mongoTemplate, BookRepository bookRepository,
+                            @Value("${references.bloom.enabled:true}") boolean enabled,
+                            @Value("${references.bloom.expected-entries:100000}") long expectedEntries,
+                            @Value("${references.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookRepository = bookRepository;
+        this.enabled = enabled;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filters = newFilters();
+    }
+
+    /**
+     * Indica si una entidad puede estar referenciada
+     *
+     * @param reference referencia
+     * @param id        id de la entidad referenciada
+     * @return false si con certeza no está referenciada, true si hay que comprobarlo con la consulta real
+     */
+    public boolean mightBeReferenced(Reference reference, UUID id) {
+        if (!ready || id == null) {
+            return true;
+        }
+        if (filters.get(reference).mightContain(id)) {
+            checkedQueries.incrementAndGet();
+            return true;
+        }
+        skippedQueries.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Registra las referencias de un pedido. Debe llamarse antes de guardar el pedido
+     *
+     * @param order pedido
+     */
+    public void recordOrder(Order order) {
+        add(Reference.ORDER_USER, order.getUserId());
+        add(Reference.ORDER_CLIENT, order.getClientId());
+        add(Reference.ORDER_SHOP, order.getShopId());
+    }
+
+    /**
+     * Registra la categoría de un libro. Debe llamarse antes de guardar el libro
+     *
+     * @param book libro
+     */
+    public void recordBook(Book book) {
+        if (book.getCategory() != null) {
+            add(Reference.BOOK_CATEGORY, book.getCategory().getId());
+        }
+    }
+
+    /**
+     * Consultas evitadas por los filtros
+     *
+     * @return número de comprobaciones resueltas sin consulta
+     */
+    public long getSkippedQueries() {
+        return skippedQueries.get();
+    }
+
+    /**
+     * Consultas que los filtros no pudieron evitar
+     *
+     * @return número de comprobaciones que pasaron a la consulta real
+     */
+    public long getCheckedQueries() {
+        return checkedQueries.get();
+    }
+
+    /**
+     * Construye los filtros cuando la aplicación está lista
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstruye los filtros a partir de los pedidos y los libros. Las referencias registradas durante la
+     * reconstrucción se añaden también a los filtros nuevos
+     */
+    public void rebuild() {
+        Map<Reference, BloomFilter> next = newFilters();
+        synchronized (this) {
+            building = next;
+        }
+        try {
+            Query query = new Query();
+            query.fields().include("userId", "clientId", "shopId");
+            AtomicLong orders = new AtomicLong();
+            try (Stream<Order> stream = mongoTemplate.stream(query, Order.class)) {
+                stream.forEach(order -> {
+                    put(next, Reference.ORDER_USER, order.getUserId());
+                    put(next, Reference.ORDER_CLIENT, order.getClientId());
+                    put(next, Reference.ORDER_SHOP, order.getShopId());
+                    orders.incrementAndGet();
+                });
+            }
+            bookRepository.findDistinctCategoryIds().forEach(id -> put(next, Reference.BOOK_CATEGORY, id));
+            synchronized (this) {
+                filters = next;
+                building = null;
+                ready = true;
+            }
+            log.info("Filtros de referencias construidos a partir de " + orders + " pedidos");
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                building = null;
+            }
+            log.warn("No se pueden construir los filtros de referencias, se usarán las consultas " + e);
+        }
+    }
+
+    /**
+     * Añade una referencia a los filtros actuales y, si hay una reconstrucción en curso, a los nuevos
+     *
+     * @param reference referencia
+     * @param id        id de la entidad referenciada
+     */
+    private synchronized void add(Reference reference, UUID id) {
+        put(filters, reference, id);
+        if (building != null) {
+            put(building, reference, id);
+        }
+    }
+
+    /**
+     * Añade una referencia a un conjunto de filtros
+     *
+     * @param target    filtros
+     * @param reference referencia
+     * @param id        id de la entidad referenciada
+     */
+    private static void put(Map<Reference, BloomFilter> target, Reference reference, UUID id) {
+        if (id != null) {
+            target.get(reference).put(id);
+        }
+    }
+
+    /**
+     * Crea un conjunto de filtros vacíos
+     *
+     * @return filtros por referencia
+     */
+    private Map<Reference, BloomFilter> newFilters() {
+        Map<Reference, BloomFilter> created = new EnumMap<>(Reference.class);
+        for (Reference reference : Reference.values()) {
+            created.put(reference, new BloomFilter(expectedEntries, falsePositiveRate));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,19 @@
+package com.nullers.restbookstore.rest.common;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Genera el identificador de una entidad con un UUID versión 7, ordenado por tiempo
+ * <p>
+ * Las inserciones consecutivas van al final del índice de la clave primaria en lugar de repartirse por todo él.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
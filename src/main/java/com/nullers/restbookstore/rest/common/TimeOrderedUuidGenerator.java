@@ -0,0 +1,40 @@
+package com.nullers.restbookstore.rest.common;
+
+import com.nullers.restbookstore.util.UuidV7;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * Generador de Hibernate para {@link TimeOrderedUuid}
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    /**
+     * Genera el identificador de una entidad nueva
+     *
+     * @param session      sesión
+     * @param owner        entidad
+     * @param currentValue valor actual del identificador
+     * @param eventType    evento que genera el valor
+     * @return UUID versión 7
+     */
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return UuidV7.randomUuid();
+    }
+
+    /**
+     * Eventos en los que se genera el valor
+     *
+     * @return solo la inserción
+     */
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
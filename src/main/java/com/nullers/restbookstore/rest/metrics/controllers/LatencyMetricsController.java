@@ -0,0 +1,64 @@
+package com.nullers.restbookstore.rest.metrics.controllers;
+
+import com.nullers.restbookstore.rest.metrics.dto.MethodLatency;
+import com.nullers.restbookstore.rest.metrics.services.LatencyMetricsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador de las latencias por método
+ */
+@RestController
+@RequestMapping("/api/metrics/latency")
+@PreAuthorize("hasRole('ADMIN')")
+public class LatencyMetricsController {
+    private final LatencyMetricsService latencyMetricsService;
+
+    /**
+     * Constructor
+     *
+     * @param latencyMetricsService servicio de latencias
+     */
+    @Autowired
+    public LatencyMetricsController(LatencyMetricsService latencyMetricsService) {
+        this.latencyMetricsService = latencyMetricsService;
+    }
+
+    /**
+     * Obtiene las llamadas, los errores y los percentiles de latencia de cada método llamado
+     *
+     * @return latencias en nanosegundos
+     */
+    @Operation(summary = "Obtiene las latencias por método", description = "Llamadas, errores y percentiles de latencia en nanosegundos de controladores, servicios y repositorios")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Latencias por método")
+    })
+    @GetMapping
+    public ResponseEntity<List<MethodLatency>> getLatencies() {
+        return ResponseEntity.ok(latencyMetricsService.getLatencies());
+    }
+
+    /**
+     * Obtiene las latencias por método en el formato de texto de Prometheus
+     *
+     * @return texto con los contadores y los percentiles en segundos
+     */
+    @Operation(summary = "Obtiene las latencias por método en formato Prometheus")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Latencias por método")
+    })
+    @GetMapping(value = "/prometheus", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getExposition() {
+        return ResponseEntity.ok(latencyMetricsService.getExposition());
+    }
+}
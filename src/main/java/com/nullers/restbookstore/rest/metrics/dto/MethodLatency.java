@@ -0,0 +1,58 @@
+package com.nullers.restbookstore.rest.metrics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Latencias de un método instrumentado. Los tiempos están en nanosegundos
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class MethodLatency {
+
+    /**
+     * Capas instrumentadas
+     */
+    public enum Layer {
+        CONTROLLER, SERVICE, REPOSITORY
+    }
+
+    @Schema(description = "Capa del método", example = "SERVICE")
+    private Layer layer;
+
+    @Schema(description = "Clase o repositorio", example = "BookServiceImpl")
+    private String component;
+
+    @Schema(description = "Método", example = "getBookById")
+    private String method;
+
+    @Schema(description = "Llamadas", example = "1200")
+    private long calls;
+
+    @Schema(description = "Llamadas que han terminado con una excepción", example = "3")
+    private long errors;
+
+    @Schema(description = "Llamadas cronometradas según el muestreo", example = "1200")
+    private long sampled;
+
+    @Schema(description = "Latencia media", example = "182000")
+    private long mean;
+
+    @Schema(description = "Percentil 50", example = "150000")
+    private long p50;
+
+    @Schema(description = "Percentil 90", example = "290000")
+    private long p90;
+
+    @Schema(description = "Percentil 99", example = "810000")
+    private long p99;
+
+    @Schema(description = "Percentil 99,9", example = "2400000")
+    private long p999;
+
+    @Schema(description = "Latencia máxima", example = "3100000")
+    private long max;
+}
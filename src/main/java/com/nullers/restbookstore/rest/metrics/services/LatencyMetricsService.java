@@ -0,0 +1,35 @@
+package com.nullers.restbookstore.rest.metrics.services;
+
+import com.nullers.restbookstore.rest.metrics.dto.MethodLatency;
+
+import java.util.List;
+
+/**
+ * Servicio de latencias por método de controladores, servicios y repositorios
+ */
+public interface LatencyMetricsService {
+
+    /**
+     * Devuelve el cronómetro de un método, creándolo si es la primera vez
+     *
+     * @param layer     capa del método
+     * @param component clase o repositorio
+     * @param method    nombre del método
+     * @return cronómetro del método; las sobrecargas comparten el mismo
+     */
+    MethodTimer timer(MethodLatency.Layer layer, String component, String method);
+
+    /**
+     * Latencias de todos los métodos llamados
+     *
+     * @return latencias ordenadas por capa, clase y método
+     */
+    List<MethodLatency> getLatencies();
+
+    /**
+     * Latencias de todos los métodos llamados en el formato de texto de Prometheus
+     *
+     * @return texto con los contadores y los percentiles en segundos
+     */
+    String getExposition();
+}
@@ -0,0 +1,128 @@
+package com.nullers.restbookstore.rest.metrics.services;
+
+import com.nullers.restbookstore.rest.metrics.dto.MethodLatency;
+import com.nullers.restbookstore.util.LatencyHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Servicio de latencias por método
+ * <p>
+ * Guarda un cronómetro por capa, clase y método. Los cronómetros se crean la primera vez que se llama al método y los
+ * interceptores los guardan, así que medir una llamada no pasa por este servicio.
+ */
+@Service
+public class LatencyMetricsServiceImpl implements LatencyMetricsService {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final int sampleRate;
+    private final ConcurrentMap<String, MethodTimer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param sampleRate se mide una de cada tantas llamadas; 1 para medirlas todas
+     */
+    @Autowired
+    public LatencyMetricsServiceImpl(@Value("${metrics.latency.sample-rate:1}") int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    /**
+     * Devuelve el cronómetro de un método, creándolo si es la primera vez
+     *
+     * @param layer     capa del método
+     * @param component clase o repositorio
+     * @param method    nombre del método
+     * @return cronómetro del método
+     */
+    @Override
+    public MethodTimer timer(MethodLatency.Layer layer, String component, String method) {
+        return timers.computeIfAbsent(layer + " " + component + "." + method,
+                key -> new MethodTimer(layer, component, method, sampleRate));
+    }
+
+    /**
+     * Latencias de todos los métodos llamados
+     *
+     * @return latencias ordenadas por capa, clase y método
+     */
+    @Override
+    public List<MethodLatency> getLatencies() {
+        return timers.values().stream()
+                .map(LatencyMetricsServiceImpl::toLatency)
+                .sorted(Comparator.comparing(MethodLatency::getLayer)
+                        .thenComparing(MethodLatency::getComponent)
+                        .thenComparing(MethodLatency::getMethod))
+                .toList();
+    }
+
+    /**
+     * Latencias de todos los métodos llamados en el formato de texto de Prometheus
+     *
+     * @return texto con los contadores y los percentiles en segundos
+     */
+    @Override
+    public String getExposition() {
+        List<MethodTimer> sorted = timers.values().stream()
+                .sorted(Comparator.comparing(MethodTimer::getLayer)
+                        .thenComparing(MethodTimer::getComponent)
+                        .thenComparing(MethodTimer::getMethod))
+                .toList();
+        StringBuilder calls = new StringBuilder()
+                .append("# HELP restbookstore_method_calls_total Llamadas por método\n")
+                .append("# TYPE restbookstore_method_calls_total counter\n");
+        StringBuilder errors = new StringBuilder()
+                .append("# HELP restbookstore_method_errors_total Llamadas terminadas con una excepción\n")
+                .append("# TYPE restbookstore_method_errors_total counter\n");
+        StringBuilder latency = new StringBuilder()
+                .append("# HELP restbookstore_method_latency_seconds Latencia de las llamadas medidas\n")
+                .append("# TYPE restbookstore_method_latency_seconds summary\n");
+        for (MethodTimer timer : sorted) {
+            String labels = "layer=\"" + timer.getLayer().name().toLowerCase(Locale.ROOT) + "\",component=\""
+                    + timer.getComponent() + "\",method=\"" + timer.getMethod() + "\"";
+            calls.append("restbookstore_method_calls_total{").append(labels).append("} ")
+                    .append(timer.getCalls().sum()).append('\n');
+            errors.append("restbookstore_method_errors_total{").append(labels).append("} ")
+                    .append(timer.getErrors().sum()).append('\n');
+            LatencyHistogram.Snapshot snapshot = timer.getHistogram().snapshot();
+            for (double quantile : QUANTILES) {
+                latency.append("restbookstore_method_latency_seconds{").append(labels)
+                        .append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(snapshot.percentile(quantile * 100) / NANOS_PER_SECOND).append('\n');
+            }
+            latency.append("restbookstore_method_latency_seconds_sum{").append(labels).append("} ")
+                    .append(snapshot.sum() / NANOS_PER_SECOND).append('\n');
+            latency.append("restbookstore_method_latency_seconds_count{").append(labels).append("} ")
+                    .append(snapshot.count()).append('\n');
+        }
+        return calls.append(errors).append(latency).toString();
+    }
+
+    private static MethodLatency toLatency(MethodTimer timer) {
+        LatencyHistogram.Snapshot snapshot = timer.getHistogram().snapshot();
+        return MethodLatency.builder()
+                .layer(timer.getLayer())
+                .component(timer.getComponent())
+                .method(timer.getMethod())
+                .calls(timer.getCalls().sum())
+                .errors(timer.getErrors().sum())
+                .sampled(snapshot.count())
+                .mean(Math.round(snapshot.mean()))
+                .p50(snapshot.percentile(50))
+                .p90(snapshot.percentile(90))
+                .p99(snapshot.percentile(99))
+                .p999(snapshot.percentile(99.9))
+                .max(snapshot.max())
+                .build();
+    }
+}
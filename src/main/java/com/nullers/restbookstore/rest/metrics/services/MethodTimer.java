@@ -0,0 +1,65 @@
+package com.nullers.restbookstore.rest.metrics.services;
+
+import com.nullers.restbookstore.rest.metrics.dto.MethodLatency;
+import com.nullers.restbookstore.util.LatencyHistogram;
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores y histograma de latencias de un método
+ * <p>
+ * Las llamadas y los errores se cuentan siempre; la latencia solo se mide en una de cada {@code sampleRate} llamadas.
+ * Registrar una llamada no reserva memoria.
+ */
+@Getter
+public class MethodTimer {
+    private final MethodLatency.Layer layer;
+    private final String component;
+    private final String method;
+    private final int sampleRate;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Constructor
+     *
+     * @param layer      capa del método
+     * @param component  clase o repositorio
+     * @param method     nombre del método
+     * @param sampleRate se mide una de cada tantas llamadas; 1 para medirlas todas
+     */
+    public MethodTimer(MethodLatency.Layer layer, String component, String method, int sampleRate) {
+        this.layer = layer;
+        this.component = component;
+        this.method = method;
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    /**
+     * Decide si se mide la latencia de la llamada que empieza
+     *
+     * @return true si hay que medirla
+     */
+    public boolean sample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Registra una llamada terminada
+     *
+     * @param nanos  latencia en nanosegundos, o un valor negativo si no se ha medido
+     * @param failed si ha terminado con una excepción
+     */
+    public void record(long nanos, boolean failed) {
+        calls.increment();
+        if (failed) {
+            errors.increment();
+        }
+        if (nanos >= 0) {
+            histogram.record(nanos);
+        }
+    }
+}
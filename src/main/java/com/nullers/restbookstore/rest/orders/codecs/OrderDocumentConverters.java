@@ -0,0 +1,271 @@
+package com.nullers.restbookstore.rest.orders.codecs;
+
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Conversiones de pedidos para Spring Data MongoDB
+ * <p>
+ * MappingMongoConverter solo entrega las entidades a un conversor personalizado como Document, así que los
+ * repositorios y MongoTemplate usan estas conversiones escritas a mano en lugar de la reflexión. Los UUID se guardan
+ * como binario estándar (subtipo 4) y se siguen pudiendo leer los guardados con la representación antigua de Java
+ * (subtipo 3). Los importes se guardan en céntimos, las fechas en la zona horaria del sistema y sin alias de tipo.
+ */
+public final class OrderDocumentConverters {
+    public static final String ID = "_id";
+    public static final String USER_ID = "userId";
+    public static final String CLIENT_ID = "clientId";
+    public static final String SHOP_ID = "shopId";
+    public static final String ORDER_LINES = "orderLines";
+    public static final String TOTAL = "total";
+    public static final String TOTAL_BOOKS = "totalBooks";
+    public static final String CREATED_AT = "createdAt";
+    public static final String UPDATED_AT = "updatedAt";
+    public static final String IS_DELETED = "isDeleted";
+    public static final String LINE_QUANTITY = "quantity";
+    public static final String LINE_BOOK_ID = "bookId";
+    public static final String LINE_PRICE = "price";
+    public static final String LINE_TOTAL = "total";
+
+    /**
+     * Constructor privado, solo contiene conversores
+     */
+    private OrderDocumentConverters() {
+    }
+
+    /**
+     * Conversores de pedidos
+     *
+     * @return conversores de escritura y lectura
+     */
+    public static List<Converter<?, ?>> converters() {
+        return List.of(new OrderWritingConverter(), new OrderReadingConverter());
+    }
+
+    /**
+     * Escribe un pedido como documento
+     */
+    @WritingConverter
+    public static class OrderWritingConverter implements Converter<Order, Document> {
+        @Override
+        public Document convert(Order source) {
+            Document document = new Document();
+            putIfNotNull(document, ID, source.getId());
+            putUuid(document, USER_ID, source.getUserId());
+            putUuid(document, CLIENT_ID, source.getClientId());
+            putUuid(document, SHOP_ID, source.getShopId());
+            if (source.getOrderLines() != null) {
+                List<Document> lines = new ArrayList<>(source.getOrderLines().size());
+                for (OrderLine line : source.getOrderLines()) {
+                    lines.add(line == null ? null : toDocument(line));
+                }
+                document.put(ORDER_LINES, lines);
+            }
+            putCents(document, TOTAL, source.getTotal());
+            putIfNotNull(document, TOTAL_BOOKS, source.getTotalBooks());
+            putDate(document, CREATED_AT, source.getCreatedAt());
+            putDate(document, UPDATED_AT, source.getUpdatedAt());
+            putIfNotNull(document, IS_DELETED, source.getIsDeleted());
+            return document;
+        }
+
+        /**
+         * Escribe una línea de pedido como documento
+         *
+         * @param line línea de pedido
+         * @return documento
+         */
+        private static Document toDocument(OrderLine line) {
+            Document document = new Document();
+            putIfNotNull(document, LINE_QUANTITY, line.getQuantity());
+            putIfNotNull(document, LINE_BOOK_ID, line.getBookId());
+            putCents(document, LINE_PRICE, line.getPrice());
+            putCents(document, LINE_TOTAL, line.getTotal());
+            return document;
+        }
+    }
+
+    /**
+     * Lee un pedido de un documento
+     */
+    @ReadingConverter
+    public static class OrderReadingConverter implements Converter<Document, Order> {
+        @Override
+        public Order convert(Document source) {
+            Order.OrderBuilder builder = Order.builder();
+            for (var field : source.entrySet()) {
+                Object value = field.getValue();
+                if (value == null) {
+                    continue;
+                }
+                switch (field.getKey()) {
+                    case ID -> builder.id((ObjectId) value);
+                    case USER_ID -> builder.userId(toUuid(value));
+                    case CLIENT_ID -> builder.clientId(toUuid(value));
+                    case SHOP_ID -> builder.shopId(toUuid(value));
+                    case ORDER_LINES -> builder.orderLines(toLines((List<?>) value));
+                    case TOTAL -> builder.total(toMoney(value));
+                    case TOTAL_BOOKS -> builder.totalBooks(((Number) value).intValue());
+                    case CREATED_AT -> builder.createdAt(toLocalDateTime(value));
+                    case UPDATED_AT -> builder.updatedAt(toLocalDateTime(value));
+                    case IS_DELETED -> builder.isDeleted((Boolean) value);
+                    default -> {
+                        // Campos desconocidos, como el alias de tipo de los documentos antiguos
+                    }
+                }
+            }
+            return builder.build();
+        }
+
+        /**
+         * Lee las líneas de un pedido
+         *
+         * @param values documentos de las líneas
+         * @return líneas de pedido
+         */
+        private static List<OrderLine> toLines(List<?> values) {
+            List<OrderLine> lines = new ArrayList<>(values.size());
+            for (Object value : values) {
+                lines.add(value == null ? null : toLine((Document) value));
+            }
+            return lines;
+        }
+
+        /**
+         * Lee una línea de pedido
+         *
+         * @param source documento de la línea
+         * @return línea de pedido
+         */
+        private static OrderLine toLine(Document source) {
+            OrderLine.OrderLineBuilder builder = OrderLine.builder();
+            for (var field : source.entrySet()) {
+                Object value = field.getValue();
+                if (value == null) {
+                    continue;
+                }
+                switch (field.getKey()) {
+                    case LINE_QUANTITY -> builder.quantity(((Number) value).intValue());
+                    case LINE_BOOK_ID -> builder.bookId(((Number) value).longValue());
+                    case LINE_PRICE -> builder.price(toMoney(value));
+                    case LINE_TOTAL -> builder.total(toMoney(value));
+                    default -> {
+                        // Campos desconocidos
+                    }
+                }
+            }
+            return builder.build();
+        }
+    }
+
+    /**
+     * Añade un campo si su valor no es nulo
+     *
+     * @param document documento
+     * @param name     nombre del campo
+     * @param value    valor
+     */
+    private static void putIfNotNull(Document document, String name, Object value) {
+        if (value != null) {
+            document.put(name, value);
+        }
+    }
+
+    /**
+     * Añade un UUID como binario estándar
+     *
+     * @param document documento
+     * @param name     nombre del campo
+     * @param uuid     UUID
+     */
+    private static void putUuid(Document document, String name, UUID uuid) {
+        if (uuid != null) {
+            document.put(name, new BsonBinary(uuid));
+        }
+    }
+
+    /**
+     * Añade un importe en céntimos
+     *
+     * @param document documento
+     * @param name     nombre del campo
+     * @param money    importe
+     */
+    private static void putCents(Document document, String name, Money money) {
+        if (money != null) {
+            document.put(name, money.cents());
+        }
+    }
+
+    /**
+     * Añade una fecha
+     *
+     * @param document documento
+     * @param name     nombre del campo
+     * @param date     fecha
+     */
+    private static void putDate(Document document, String name, LocalDateTime date) {
+        if (date != null) {
+            document.put(name, Date.from(date.atZone(ZoneId.systemDefault()).toInstant()));
+        }
+    }
+
+    /**
+     * Convierte un valor leído en UUID. Según la representación configurada en el cliente llega ya como UUID o como
+     * binario, y un documento recién escrito por {@link #putUuid} contiene un BsonBinary
+     *
+     * @param value valor
+     * @return UUID
+     */
+    private static UUID toUuid(Object value) {
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        BsonBinary binary = value instanceof BsonBinary bsonBinary ? bsonBinary
+                : new BsonBinary(((Binary) value).getType(), ((Binary) value).getData());
+        if (binary.getType() == BsonBinarySubType.UUID_STANDARD.getValue()) {
+            return binary.asUuid();
+        }
+        return binary.asUuid(UuidRepresentation.JAVA_LEGACY);
+    }
+
+    /**
+     * Convierte un valor leído en importe
+     *
+     * @param value céntimos, o importe decimal en documentos anteriores a la migración
+     * @return importe
+     */
+    private static Money toMoney(Object value) {
+        if (value instanceof Double amount) {
+            return Money.of(amount);
+        }
+        return Money.ofCents(((Number) value).longValue());
+    }
+
+    /**
+     * Convierte un valor leído en fecha
+     *
+     * @param value fecha
+     * @return fecha local
+     */
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,99 @@
+package com.nullers.restbookstore.rest.orders.controllers;
+
+import com.nullers.restbookstore.rest.orders.dto.CartHoldCreateDto;
+import com.nullers.restbookstore.rest.orders.dto.CartHoldResponse;
+import com.nullers.restbookstore.rest.orders.services.CartHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Clase CartHoldController
+ */
+@RestController
+@RequestMapping("/api/orders/holds")
+@PreAuthorize("hasRole('ADMIN')")
+public class CartHoldController {
+
+    private final CartHoldService cartHoldService;
+
+    /**
+     * Constructor
+     *
+     * @param cartHoldService servicio de reservas de carrito
+     */
+    @Autowired
+    public CartHoldController(CartHoldService cartHoldService) {
+        this.cartHoldService = cartHoldService;
+    }
+
+    /**
+     * Método para reservar stock de un carrito
+     *
+     * @param hold libros y unidades a reservar
+     * @return ResponseEntity<CartHoldResponse> con la reserva creada
+     */
+    @Operation(summary = "Reserva stock para un carrito",
+            description = "Retiene las unidades durante un tiempo limitado; el id de la reserva se puede indicar al crear el pedido")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Libros y unidades a reservar", required = true)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva creada"),
+            @ApiResponse(responseCode = "400", description = "Reserva no válida"),
+            @ApiResponse(responseCode = "404", description = "Libro no encontrado o sin stock")
+    })
+    @PostMapping
+    public ResponseEntity<CartHoldResponse> createHold(@Valid @RequestBody CartHoldCreateDto hold) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(cartHoldService.createHold(hold));
+    }
+
+    /**
+     * Método para obtener una reserva activa
+     *
+     * @param id id de la reserva
+     * @return ResponseEntity<CartHoldResponse> con la reserva
+     */
+    @Operation(summary = "Obtiene una reserva de carrito", description = "Obtiene una reserva de carrito activa")
+    @Parameter(name = "id", description = "id de la reserva", example = "770e8400-e29b-41d4-a716-446655440000")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva"),
+            @ApiResponse(responseCode = "404", description = "Reserva no encontrada o caducada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<CartHoldResponse> getHold(@PathVariable UUID id) {
+        return ResponseEntity.ok(cartHoldService.getHold(id));
+    }
+
+    /**
+     * Método para liberar una reserva
+     *
+     * @param id id de la reserva
+     * @return ResponseEntity sin contenido
+     */
+    @Operation(summary = "Libera una reserva de carrito", description = "Devuelve las unidades reservadas al stock disponible")
+    @Parameter(name = "id", description = "id de la reserva", example = "770e8400-e29b-41d4-a716-446655440000")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Reserva liberada"),
+            @ApiResponse(responseCode = "404", description = "Reserva no encontrada o caducada"),
+            @ApiResponse(responseCode = "409", description = "La reserva se está convirtiendo en un pedido")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable UUID id) {
+        cartHoldService.releaseHold(id);
+        return ResponseEntity.noContent().build();
+    }
+}
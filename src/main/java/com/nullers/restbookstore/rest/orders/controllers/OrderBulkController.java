@@ -0,0 +1,124 @@
+package com.nullers.restbookstore.rest.orders.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nullers.restbookstore.rest.orders.dto.BulkOrderResponse;
+import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderBulkTooLargeException;
+import com.nullers.restbookstore.rest.orders.services.OrderBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase OrderBulkController
+ */
+@RestController
+@RequestMapping("/api/orders/bulk")
+@PreAuthorize("hasRole('ADMIN')")
+public class OrderBulkController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final OrderBulkService orderBulkService;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+
+    /**
+     * Constructor
+     *
+     * @param orderBulkService servicio de carga masiva de pedidos
+     * @param objectMapper     mapper de JSON
+     * @param maxSize          pedidos admitidos por carga
+     */
+    @Autowired
+    public OrderBulkController(OrderBulkService orderBulkService, ObjectMapper objectMapper,
+                               @Value("${orders.bulk.max-size:5000}") int maxSize) {
+        this.orderBulkService = orderBulkService;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Método para crear pedidos de forma masiva a partir de un array JSON
+     *
+     * @param orders  pedidos a crear
+     * @param ordered si se detiene la carga en el primer pedido erróneo
+     * @return ResponseEntity<BulkOrderResponse> con el resultado de cada pedido
+     */
+    @Operation(summary = "Crea pedidos de forma masiva", description = "Crea pedidos de forma masiva a partir de un array JSON")
+    @Parameter(name = "ordered", description = "Detener la carga en el primer pedido erróneo", example = "false")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Pedidos a crear", required = true)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado de cada pedido"),
+            @ApiResponse(responseCode = "400", description = "Carga no válida")
+    })
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOrderResponse> createOrders(
+            @RequestBody List<OrderCreateDto> orders,
+            @RequestParam(defaultValue = "false") boolean ordered
+    ) {
+        return ResponseEntity.ok(orderBulkService.createOrders(orders, ordered));
+    }
+
+    /**
+     * Método para crear pedidos de forma masiva a partir de NDJSON (un pedido por línea). La petición se deja de leer
+     * en cuanto supera el máximo de pedidos por carga, y las líneas que no son un pedido válido se rechazan con su
+     * error de lectura
+     *
+     * @param request petición
+     * @param ordered si se detiene la carga en el primer pedido erróneo
+     * @return ResponseEntity<BulkOrderResponse> con el resultado de cada pedido
+     * @throws IOException si no se puede leer la petición
+     */
+    @Operation(summary = "Crea pedidos de forma masiva", description = "Crea pedidos de forma masiva a partir de NDJSON, un pedido por línea")
+    @Parameter(name = "ordered", description = "Detener la carga en el primer pedido erróneo", example = "false")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado de cada pedido"),
+            @ApiResponse(responseCode = "400", description = "Carga no válida")
+    })
+    @PostMapping(consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkOrderResponse> createOrdersNdjson(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean ordered
+    ) throws IOException {
+        List<OrderCreateDto> orders = new ArrayList<>();
+        Map<Integer, String> parseErrors = new HashMap<>();
+        try (BufferedReader reader = request.getReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (orders.size() == maxSize) {
+                    throw new OrderBulkTooLargeException(maxSize);
+                }
+                try {
+                    orders.add(objectMapper.readValue(line, OrderCreateDto.class));
+                } catch (JsonProcessingException e) {
+                    parseErrors.put(orders.size(), e.getOriginalMessage());
+                    orders.add(null);
+                }
+            }
+        }
+        return ResponseEntity.ok(orderBulkService.createOrders(orders, parseErrors, ordered));
+    }
+}
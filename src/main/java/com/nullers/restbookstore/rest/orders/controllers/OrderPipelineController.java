@@ -0,0 +1,79 @@
+package com.nullers.restbookstore.rest.orders.controllers;
+
+import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
+import com.nullers.restbookstore.rest.orders.dto.OrderPipelineResponse;
+import com.nullers.restbookstore.rest.orders.services.OrderPipelineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+/**
+ * Clase OrderPipelineController
+ */
+@RestController
+@RequestMapping("/api/orders/async")
+@PreAuthorize("hasRole('ADMIN')")
+public class OrderPipelineController {
+
+    private final OrderPipelineService orderPipelineService;
+
+    /**
+     * Constructor
+     *
+     * @param orderPipelineService servicio del pipeline asíncrono de pedidos
+     */
+    @Autowired
+    public OrderPipelineController(OrderPipelineService orderPipelineService) {
+        this.orderPipelineService = orderPipelineService;
+    }
+
+    /**
+     * Método para enviar un pedido al pipeline asíncrono
+     *
+     * @param order pedido a crear
+     * @return ResponseEntity<OrderPipelineResponse> con el estado del pedido
+     */
+    @Operation(summary = "Envía un pedido para crearlo de forma asíncrona",
+            description = "Valida el pedido y lo encola; el stock y el pedido se escriben en segundo plano")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Pedido a crear", required = true)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Pedido aceptado"),
+            @ApiResponse(responseCode = "400", description = "Pedido no válido")
+    })
+    @PostMapping
+    public ResponseEntity<OrderPipelineResponse> submitOrder(@Valid @RequestBody OrderCreateDto order) {
+        OrderPipelineResponse response = orderPipelineService.submit(order);
+        return ResponseEntity.accepted().location(URI.create(response.getStatusUrl())).body(response);
+    }
+
+    /**
+     * Método para obtener el estado de un pedido enviado al pipeline asíncrono
+     *
+     * @param id id del pedido
+     * @return ResponseEntity<OrderPipelineResponse> con el estado del pedido
+     */
+    @Operation(summary = "Obtiene el estado de un pedido asíncrono", description = "Obtiene el estado de un pedido asíncrono")
+    @Parameter(name = "id", description = "id del pedido", example = "6536518de9b0d305f193b5ef")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del pedido"),
+            @ApiResponse(responseCode = "404", description = "Pedido no encontrado")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderPipelineResponse> getStatus(@PathVariable ObjectId id) {
+        return ResponseEntity.ok(orderPipelineService.getStatus(id));
+    }
+}
@@ -0,0 +1,28 @@
+package com.nullers.restbookstore.rest.orders.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Respuesta de una carga masiva de pedidos
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BulkOrderResponse {
+    @Schema(description = "Pedidos recibidos", example = "1000")
+    private int received;
+
+    @Schema(description = "Pedidos creados", example = "990")
+    private int created;
+
+    @Schema(description = "Pedidos no creados", example = "10")
+    private int notCreated;
+
+    @Schema(description = "Resultado de cada pedido en el orden de la carga")
+    private List<BulkOrderResult> results;
+}
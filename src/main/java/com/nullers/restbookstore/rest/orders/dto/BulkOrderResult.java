@@ -0,0 +1,38 @@
+package com.nullers.restbookstore.rest.orders.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultado de un pedido de una carga masiva
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BulkOrderResult {
+    /**
+     * Estados de un pedido de una carga masiva
+     */
+    public enum Status {
+        CREATED, REJECTED, FAILED, SKIPPED
+    }
+
+    @Schema(description = "Posición del pedido en la carga", example = "0")
+    private int index;
+
+    @Schema(description = "Estado del pedido", example = "CREATED")
+    private Status status;
+
+    @Schema(description = "ID del pedido creado", example = "6536518de9b0d305f193b5ef")
+    private String orderId;
+
+    @Schema(description = "Total del pedido creado", example = "100.0")
+    private Double total;
+
+    @Schema(description = "Errores del pedido")
+    private List<String> errors;
+}
@@ -0,0 +1,25 @@
+package com.nullers.restbookstore.rest.orders.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Datos para crear una reserva de carrito
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartHoldCreateDto {
+
+    @NotEmpty(message = "La reserva debe tener al menos una línea")
+    @Schema(description = "Libros y unidades a reservar")
+    private List<@Valid CartHoldLine> lines;
+}
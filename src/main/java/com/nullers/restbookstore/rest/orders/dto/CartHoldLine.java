@@ -0,0 +1,28 @@
+package com.nullers.restbookstore.rest.orders.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Línea de una reserva de carrito
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartHoldLine {
+
+    @NotNull(message = "El id del libro no puede ser nulo")
+    @Schema(description = "ID del libro", example = "1")
+    private Long bookId;
+
+    @NotNull(message = "La cantidad no puede ser nula")
+    @Min(value = 1, message = "La cantidad debe ser al menos 1")
+    @Schema(description = "Unidades reservadas", example = "2")
+    private Integer quantity;
+}
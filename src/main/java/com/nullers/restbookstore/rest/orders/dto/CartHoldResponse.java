@@ -0,0 +1,27 @@
+package com.nullers.restbookstore.rest.orders.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reserva de carrito activa
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CartHoldResponse {
+    @Schema(description = "ID de la reserva", example = "770e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    @Schema(description = "Libros y unidades reservadas")
+    private List<CartHoldLine> lines;
+
+    @Schema(description = "Fecha en la que caduca la reserva", example = "2021-03-05T11:26:11")
+    private LocalDateTime expiresAt;
+}
@@ -37,4 +37,8 @@ public class OrderCreateDto {
     @Schema(name = "Línea de pedidos")
     private List<@Valid OrderLine> orderLines;
 
+    @Schema(name = "IDReserva", description = "Reserva de carrito que se convierte en el pedido (opcional, solo en la creación síncrona)",
+            example = "770e8400-e29b-41d4-a716-446655440000")
+    private UUID holdId;
+
 }
@@ -0,0 +1,41 @@
+package com.nullers.restbookstore.rest.orders.dto;
+
+import com.nullers.restbookstore.rest.orders.models.OrderPipelineStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de un pedido enviado al pipeline asíncrono
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class OrderPipelineResponse {
+    @Schema(description = "ID del pedido", example = "6536518de9b0d305f193b5ef")
+    private String id;
+
+    @Schema(description = "Estado del pedido en el pipeline", example = "PENDING")
+    private OrderPipelineStatus status;
+
+    @Schema(description = "Intentos de procesamiento", example = "1")
+    private int attempts;
+
+    @Schema(description = "Último error de procesamiento", example = "No hay stock suficiente")
+    private String lastError;
+
+    @Schema(description = "URL del estado del pedido", example = "/api/orders/async/6536518de9b0d305f193b5ef")
+    private String statusUrl;
+
+    @Schema(description = "URL del pedido, cuando se ha completado", example = "/api/orders/6536518de9b0d305f193b5ef")
+    private String orderUrl;
+
+    @Schema(description = "Fecha de envío", example = "2021-03-05T11:11:11")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Fecha de la última actualización", example = "2021-03-05T11:11:11")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,32 @@
+package com.nullers.restbookstore.rest.orders.dto;
+
+import com.nullers.restbookstore.rest.common.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen de un pedido
+ * <p>
+ * Proyección de solo lectura que carga únicamente el ID, el total, el número de libros y la fecha de creación,
+ * sin las líneas de pedido.
+ *
+ * @param id         id del pedido
+ * @param total      total del pedido
+ * @param totalBooks libros totales del pedido
+ * @param createdAt  fecha de creación del pedido
+ */
+public record OrderSummary(
+        @Schema(name = "ID", example = "6536518de9b0d305f193b5ef")
+        String id,
+
+        @Schema(name = "Total", example = "100.0")
+        Money total,
+
+        @Schema(name = "Libros totales", example = "10")
+        Integer totalBooks,
+
+        @Schema(name = "Fecha de creación", example = "2021-03-05T11:11:11")
+        LocalDateTime createdAt
+) {
+}
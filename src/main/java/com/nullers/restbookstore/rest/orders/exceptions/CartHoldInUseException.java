@@ -0,0 +1,22 @@
+package com.nullers.restbookstore.rest.orders.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionConflict;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+/**
+ * Clase CartHoldInUseException
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CartHoldInUseException extends ResponseExceptionConflict {
+    /**
+     * Constructor CartHoldInUseException
+     *
+     * @param id id de la reserva
+     */
+    public CartHoldInUseException(UUID id) {
+        super("La reserva con id " + id + " se está convirtiendo en un pedido");
+    }
+}
@@ -0,0 +1,22 @@
+package com.nullers.restbookstore.rest.orders.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionNotFound;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+/**
+ * Clase CartHoldNotFoundException
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class CartHoldNotFoundException extends ResponseExceptionNotFound {
+    /**
+     * Constructor CartHoldNotFoundException
+     *
+     * @param id id de la reserva
+     */
+    public CartHoldNotFoundException(UUID id) {
+        super("La reserva con id " + id + " no existe o ha caducado");
+    }
+}
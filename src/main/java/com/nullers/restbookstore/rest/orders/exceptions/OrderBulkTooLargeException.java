@@ -0,0 +1,30 @@
+package com.nullers.restbookstore.rest.orders.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionBadRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Clase OrderBulkTooLargeException
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class OrderBulkTooLargeException extends ResponseExceptionBadRequest {
+    /**
+     * Constructor OrderBulkTooLargeException
+     *
+     * @param size    pedidos recibidos
+     * @param maxSize pedidos admitidos por carga
+     */
+    public OrderBulkTooLargeException(int size, int maxSize) {
+        super("La carga tiene " + size + " pedidos y el máximo es " + maxSize);
+    }
+
+    /**
+     * Constructor OrderBulkTooLargeException para una carga que se deja de leer al superar el máximo
+     *
+     * @param maxSize pedidos admitidos por carga
+     */
+    public OrderBulkTooLargeException(int maxSize) {
+        super("La carga tiene más de " + maxSize + " pedidos, que es el máximo");
+    }
+}
@@ -0,0 +1,22 @@
+package com.nullers.restbookstore.rest.orders.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionBadRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Clase OrderSortNotIndexedException
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class OrderSortNotIndexedException extends ResponseExceptionBadRequest {
+    /**
+     * Constructor OrderSortNotIndexedException
+     *
+     * @param sort      ordenación solicitada
+     * @param supported ordenaciones admitidas
+     */
+    public OrderSortNotIndexedException(String sort, String supported) {
+        super("La ordenación " + sort + " de pedidos no está soportada por ningún índice. Ordenaciones admitidas: "
+                + supported);
+    }
+}
@@ -0,0 +1,40 @@
+package com.nullers.restbookstore.rest.orders.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionBadRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Clase OrderValidationException
+ * <p>
+ * Agrupa todos los errores encontrados al validar un pedido
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class OrderValidationException extends ResponseExceptionBadRequest {
+    private final transient List<RuntimeException> errors;
+
+    /**
+     * Constructor OrderValidationException
+     *
+     * @param id     id del pedido
+     * @param errors errores de validación
+     */
+    public OrderValidationException(String id, List<RuntimeException> errors) {
+        super("El pedido con id " + id + " no es válido: " + errors.stream()
+                .map(RuntimeException::getMessage)
+                .collect(Collectors.joining("; ")));
+        this.errors = List.copyOf(errors);
+    }
+
+    /**
+     * Devuelve los errores de validación
+     *
+     * @return errores de validación
+     */
+    public List<RuntimeException> getErrors() {
+        return errors;
+    }
+}
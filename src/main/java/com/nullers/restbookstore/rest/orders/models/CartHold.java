@@ -0,0 +1,42 @@
+package com.nullers.restbookstore.rest.orders.models;
+
+import com.nullers.restbookstore.util.HashedTimingWheel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reserva temporal de stock de un carrito
+ * <p>
+ * Solo existe en memoria. Mientras está activa sus unidades no se pueden vender a otros pedidos
+ */
+@Getter
+public class CartHold {
+    private final UUID id;
+    private final Map<Long, Integer> quantities;
+    private final LocalDateTime expiresAt;
+    private final long expiresAtNanos;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    @Setter
+    private volatile HashedTimingWheel.Timeout<UUID> timeout;
+
+    /**
+     * Constructor
+     *
+     * @param id             id de la reserva
+     * @param quantities     unidades reservadas por libro
+     * @param expiresAt      fecha de caducidad
+     * @param expiresAtNanos instante de caducidad en nanosegundos (System.nanoTime)
+     */
+    public CartHold(UUID id, Map<Long, Integer> quantities, LocalDateTime expiresAt, long expiresAtNanos) {
+        this.id = id;
+        this.quantities = Map.copyOf(quantities);
+        this.expiresAt = expiresAt;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+}
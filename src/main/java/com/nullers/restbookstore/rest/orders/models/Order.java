@@ -1,6 +1,7 @@
 package com.nullers.restbookstore.rest.orders.models;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nullers.restbookstore.rest.common.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +14,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -28,6 +31,15 @@ import java.util.UUID;
 @Builder
 @Document("orders")
 @TypeAlias("Order")
+@CompoundIndexes({
+        @CompoundIndex(name = "client_created_idx", def = "{'clientId': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "user_created_idx", def = "{'userId': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "shop_created_idx", def = "{'shopId': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "client_id_idx", def = "{'clientId': 1, '_id': 1}"),
+        @CompoundIndex(name = "user_id_idx", def = "{'userId': 1, '_id': 1}"),
+        @CompoundIndex(name = "shop_id_idx", def = "{'shopId': 1, '_id': 1}"),
+        @CompoundIndex(name = "deleted_created_idx", def = "{'isDeleted': 1, 'createdAt': -1}")
+})
 public class Order {
 
     @Id
@@ -52,7 +64,7 @@ public class Order {
 
     @Builder.Default
     @Schema(name = "Total", example = "100.0")
-    private Double total = 0.0;
+    private Money total = Money.ZERO;
 
     @Builder.Default
     @Schema(name = "Libros totales", example = "10")
@@ -87,7 +99,13 @@ public class Order {
      */
     public void calculateLines() {
         this.totalBooks = orderLines != null ? orderLines.size() : 0;
-        this.total = orderLines != null ? orderLines.stream().mapToDouble(OrderLine::getTotal).sum() : 0.0;
+        long cents = 0;
+        if (orderLines != null) {
+            for (OrderLine line : orderLines) {
+                cents = Math.addExact(cents, line.getTotal().cents());
+            }
+        }
+        this.total = Money.ofCents(cents);
     }
 
 }
@@ -1,5 +1,7 @@
 package com.nullers.restbookstore.rest.orders.models;
 
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.common.NonNegativeMoney;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -26,14 +28,14 @@ public class OrderLine {
     @Schema(name = "IDLibro", example = "1")
     private Long bookId;
 
-    @Min(value = 0, message = "El precio del libro no puede ser negativo")
+    @NonNegativeMoney(message = "El precio del libro no puede ser negativo")
     @Builder.Default
     @Schema(name = "Precio", example = "10.0")
-    private Double price = 0.0;
+    private Money price = Money.ZERO;
 
     @Builder.Default
     @Schema(name = "Total", example = "100.0")
-    private Double total = 0.0;
+    private Money total = Money.ZERO;
 
     /**
      * Set de la cantidad
@@ -42,7 +44,7 @@ public class OrderLine {
      */
     public void setQuantity(Integer qty) {
         this.quantity = qty;
-        this.total = this.price * this.quantity;
+        this.total = this.price.times(this.quantity);
     }
 
     /**
@@ -50,9 +52,9 @@ public class OrderLine {
      *
      * @param price Precio del libro
      */
-    public void calculatePrice(Double price) {
+    public void calculatePrice(Money price) {
         this.price = price;
-        this.total = this.price * this.quantity;
+        this.total = this.price.times(this.quantity);
     }
 
     /**
@@ -60,7 +62,7 @@ public class OrderLine {
      *
      * @param total Total
      */
-    public void setTotal(Double total) {
+    public void setTotal(Money total) {
         this.total = total;
     }
 
@@ -0,0 +1,49 @@
+package com.nullers.restbookstore.rest.orders.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del outbox de pedidos
+ * <p>
+ * Guarda un pedido ya validado hasta que los workers del pipeline reservan su stock y lo escriben en la colección de
+ * pedidos. El ID de la entrada es el ID que tendrá el pedido.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document("order_outbox")
+@TypeAlias("OrderOutboxEntry")
+@CompoundIndex(name = "status_next_attempt_idx", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class OrderOutboxEntry {
+    @Id
+    private ObjectId id;
+
+    private Order order;
+
+    @Builder.Default
+    private OrderPipelineStatus status = OrderPipelineStatus.PENDING;
+
+    @Builder.Default
+    private Integer attempts = 0;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime lockedUntil;
+}
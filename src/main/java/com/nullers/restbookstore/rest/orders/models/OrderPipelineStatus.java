@@ -0,0 +1,8 @@
+package com.nullers.restbookstore.rest.orders.models;
+
+/**
+ * Estado de un pedido en el pipeline asíncrono
+ */
+public enum OrderPipelineStatus {
+    PENDING, PROCESSING, COMPLETED, FAILED
+}
@@ -0,0 +1,32 @@
+package com.nullers.restbookstore.rest.orders.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserva de stock de un pedido del pipeline asíncrono
+ * <p>
+ * Se guarda en la misma transacción que descuenta el stock, de modo que un reintento del pipeline sabe si el stock
+ * del pedido ya se descontó.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "order_stock_reservations")
+public class StockReservation {
+    @Id
+    private String orderId;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.nullers.restbookstore.rest.orders.repositories;
+
+import com.nullers.restbookstore.rest.orders.models.OrderOutboxEntry;
+import com.nullers.restbookstore.rest.orders.models.OrderPipelineStatus;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio del outbox de pedidos
+ */
+@Repository
+public interface OrderOutboxRepository extends MongoRepository<OrderOutboxEntry, ObjectId> {
+
+    /**
+     * Cuenta las entradas con un estado
+     *
+     * @param status estado
+     * @return número de entradas
+     */
+    long countByStatus(OrderPipelineStatus status);
+}
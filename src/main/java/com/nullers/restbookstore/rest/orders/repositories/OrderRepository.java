@@ -1,10 +1,12 @@
 package com.nullers.restbookstore.rest.orders.repositories;
 
+import com.nullers.restbookstore.rest.orders.dto.OrderSummary;
 import com.nullers.restbookstore.rest.orders.models.Order;
 import org.bson.types.ObjectId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,13 +27,47 @@ public interface OrderRepository extends MongoRepository<Order, ObjectId> {
     Page<Order> findByClientId(UUID clientId, Pageable pageable);
 
     /**
-     * Método que devuelve los pedidos por el ID del cliente
+     * Método que devuelve los pedidos por el ID del cliente con solo el ID cargado
      *
      * @param clientId id del cliente
-     * @return pedidos por el ID del cliente
+     * @return pedidos por el ID del cliente con solo el ID cargado
      */
+    @Query(value = "{ 'clientId': ?0 }", fields = "{ '_id': 1 }")
     List<Order> findOrderIdsByClientId(UUID clientId);
 
+    /**
+     * Método que devuelve los resúmenes de los pedidos por el ID del cliente
+     *
+     * @param clientId id del cliente
+     * @param pageable paginación
+     * @return resúmenes de los pedidos por el ID del cliente
+     */
+    List<OrderSummary> findSummariesByClientId(UUID clientId, Pageable pageable);
+
+    /**
+     * Método que cuenta los pedidos por el ID del cliente
+     *
+     * @param clientId id del cliente
+     * @return número de pedidos del cliente
+     */
+    long countByClientId(UUID clientId);
+
+    /**
+     * Método que comprueba si existe un pedido por el ID del cliente
+     *
+     * @param clientId id del cliente
+     * @return true si existe, false si no existe
+     */
+    boolean existsByClientId(UUID clientId);
+
+    /**
+     * Método que comprueba si existe un pedido por el ID de la tienda
+     *
+     * @param shopId id de la tienda
+     * @return true si existe, false si no existe
+     */
+    boolean existsByShopId(UUID shopId);
+
     /**
      * Método que devuelve los pedidos por el ID del usuario
      *
@@ -0,0 +1,12 @@
+package com.nullers.restbookstore.rest.orders.repositories;
+
+import com.nullers.restbookstore.rest.orders.models.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de las reservas de stock del pipeline de pedidos
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+}
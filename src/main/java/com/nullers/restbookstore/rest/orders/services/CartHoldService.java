@@ -0,0 +1,65 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.orders.dto.CartHoldCreateDto;
+import com.nullers.restbookstore.rest.orders.dto.CartHoldResponse;
+import com.nullers.restbookstore.rest.orders.models.CartHold;
+
+import java.util.UUID;
+
+/**
+ * Interfaz CartHoldService
+ */
+public interface CartHoldService {
+    /**
+     * Reserva stock de varios libros durante un tiempo limitado
+     *
+     * @param hold libros y unidades a reservar
+     * @return reserva creada
+     */
+    CartHoldResponse createHold(CartHoldCreateDto hold);
+
+    /**
+     * Obtiene una reserva activa
+     *
+     * @param id id de la reserva
+     * @return reserva
+     */
+    CartHoldResponse getHold(UUID id);
+
+    /**
+     * Libera una reserva antes de que caduque
+     *
+     * @param id id de la reserva
+     */
+    void releaseHold(UUID id);
+
+    /**
+     * Unidades de un libro retenidas por las reservas activas
+     *
+     * @param bookId id del libro
+     * @return unidades retenidas
+     */
+    int heldQuantity(Long bookId);
+
+    /**
+     * Marca una reserva como en uso por un pedido, de forma que no se pueda usar en otro
+     *
+     * @param id id de la reserva
+     * @return reserva
+     */
+    CartHold claim(UUID id);
+
+    /**
+     * Devuelve una reserva a su estado normal cuando el pedido que la usaba ha fallado
+     *
+     * @param hold reserva
+     */
+    void unclaim(CartHold hold);
+
+    /**
+     * Libera una reserva convertida en pedido. Si hay una transacción en curso, se libera al confirmarse
+     *
+     * @param hold reserva
+     */
+    void complete(CartHold hold);
+}
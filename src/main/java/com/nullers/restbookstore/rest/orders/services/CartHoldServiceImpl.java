@@ -0,0 +1,350 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.orders.dto.CartHoldCreateDto;
+import com.nullers.restbookstore.rest.orders.dto.CartHoldLine;
+import com.nullers.restbookstore.rest.orders.dto.CartHoldResponse;
+import com.nullers.restbookstore.rest.orders.exceptions.CartHoldInUseException;
+import com.nullers.restbookstore.rest.orders.exceptions.CartHoldNotFoundException;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderNotStockException;
+import com.nullers.restbookstore.rest.orders.models.CartHold;
+import com.nullers.restbookstore.util.HashedTimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Reservas temporales de stock para carritos
+ * <p>
+ * Las reservas viven en memoria. Por cada libro se guarda el total de unidades retenidas, que los pedidos restan
+ * del stock disponible; el stock de la base de datos solo cambia cuando una reserva se convierte en pedido. Las
+ * caducidades se llevan en una rueda de tiempo con hash que un único hilo avanza cada tick, sin recorrer todas las
+ * reservas. Si la aplicación se reinicia las reservas se pierden y su stock vuelve a estar disponible.
+ */
+@Service
+@Slf4j
+public class CartHoldServiceImpl implements CartHoldService {
+    private final BookRepository bookRepository;
+    private final long ttlSeconds;
+    private final long tickMs;
+    private final LongSupplier clock;
+    private final HashedTimingWheel<UUID> wheel;
+    private final Map<UUID, CartHold> holds = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> held = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Constructor
+     *
+     * @param bookRepository repositorio de libros
+     * @param ttlSeconds     segundos que dura una reserva
+     * @param tickMs         milisegundos de cada tick de la rueda
+     * @param wheelSize      casillas de la rueda
+     */
+    @Autowired
+    public CartHoldServiceImpl(BookRepository bookRepository,
+                               @Value("${orders.holds.ttl-seconds:900}") long ttlSeconds,
+                               @Value("${orders.holds.tick-ms:1000}") long tickMs,
+                               @Value("${orders.holds.wheel-size:1024}") int wheelSize) {
+        this(bookRepository, ttlSeconds, tickMs, wheelSize, System::nanoTime);
+    }
+
+    /**
+     * Constructor con reloj configurable
+     *
+     * @param bookRepository repositorio de libros
+     * @param ttlSeconds     segundos que dura una reserva
+     * @param tickMs         milisegundos de cada tick de la rueda
+     * @param wheelSize      casillas de la rueda
+     * @param clock          reloj en nanosegundos
+     */
+    CartHoldServiceImpl(BookRepository bookRepository, long ttlSeconds, long tickMs, int wheelSize,
+                        LongSupplier clock) {
+        this.bookRepository = bookRepository;
+        this.ttlSeconds = Math.max(ttlSeconds, 1);
+        this.tickMs = Math.max(tickMs, 1);
+        this.clock = clock;
+        this.wheel = new HashedTimingWheel<>(this.tickMs, TimeUnit.MILLISECONDS, wheelSize, clock.getAsLong());
+    }
+
+    /**
+     * Arranca el hilo que avanza la rueda de caducidades
+     */
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cart-hold-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expire, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene el hilo de caducidades
+     */
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Reserva stock de varios libros durante un tiempo limitado. Si algún libro no tiene stock disponible no se
+     * reserva ninguno
+     *
+     * @param hold libros y unidades a reservar
+     * @return reserva creada
+     */
+    @Override
+    public CartHoldResponse createHold(CartHoldCreateDto hold) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        hold.getLines().forEach(line -> quantities.merge(line.getBookId(), line.getQuantity(), Integer::sum));
+        Map<Long, Book> books = bookRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        Map<Long, Integer> acquired = new TreeMap<>();
+        try {
+            quantities.forEach((bookId, quantity) -> {
+                Book book = books.get(bookId);
+                if (book == null) {
+                    throw new BookNotFoundException(OrderServiceImpl.BOOK_WITH_ID_STR + bookId
+                            + OrderServiceImpl.NO_EXISTS_MSG);
+                }
+                if (!acquire(book, quantity)) {
+                    throw new OrderNotStockException(bookId);
+                }
+                acquired.put(bookId, quantity);
+            });
+        } catch (RuntimeException e) {
+            acquired.forEach(this::decrementHeld);
+            throw e;
+        }
+
+        long now = clock.getAsLong();
+        CartHold cartHold = new CartHold(UUID.randomUUID(), quantities, LocalDateTime.now().plusSeconds(ttlSeconds),
+                now + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        holds.put(cartHold.getId(), cartHold);
+        cartHold.setTimeout(wheel.schedule(cartHold.getId(), ttlSeconds, TimeUnit.SECONDS, now));
+        return toResponse(cartHold);
+    }
+
+    /**
+     * Obtiene una reserva activa
+     *
+     * @param id id de la reserva
+     * @return reserva
+     */
+    @Override
+    public CartHoldResponse getHold(UUID id) {
+        return toResponse(find(id));
+    }
+
+    /**
+     * Libera una reserva antes de que caduque
+     *
+     * @param id id de la reserva
+     */
+    @Override
+    public void releaseHold(UUID id) {
+        CartHold hold = find(id);
+        if (hold.getClaimed().get()) {
+            throw new CartHoldInUseException(id);
+        }
+        release(id);
+    }
+
+    /**
+     * Unidades de un libro retenidas por las reservas activas
+     *
+     * @param bookId id del libro
+     * @return unidades retenidas
+     */
+    @Override
+    public int heldQuantity(Long bookId) {
+        return held.getOrDefault(bookId, 0);
+    }
+
+    /**
+     * Marca una reserva como en uso por un pedido
+     *
+     * @param id id de la reserva
+     * @return reserva
+     */
+    @Override
+    public CartHold claim(UUID id) {
+        CartHold hold = find(id);
+        if (!hold.getClaimed().compareAndSet(false, true)) {
+            throw new CartHoldInUseException(id);
+        }
+        return hold;
+    }
+
+    /**
+     * Devuelve una reserva a su estado normal. Si caducó mientras estaba en uso, se libera
+     *
+     * @param hold reserva
+     */
+    @Override
+    public void unclaim(CartHold hold) {
+        hold.getClaimed().set(false);
+        if (clock.getAsLong() - hold.getExpiresAtNanos() >= 0) {
+            release(hold.getId());
+        }
+    }
+
+    /**
+     * Libera una reserva convertida en pedido. Si hay una transacción en curso, se libera al confirmarse y se
+     * devuelve a su estado normal si se deshace
+     *
+     * @param hold reserva
+     */
+    @Override
+    public void complete(CartHold hold) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(hold.getId());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    release(hold.getId());
+                } else {
+                    unclaim(hold);
+                }
+            }
+        });
+    }
+
+    /**
+     * Número de reservas activas
+     *
+     * @return reservas activas
+     */
+    public int activeHolds() {
+        return holds.size();
+    }
+
+    /**
+     * Libera las reservas caducadas. Las que se están convirtiendo en pedido se liberan al terminar
+     */
+    void expire() {
+        try {
+            List<UUID> expired = wheel.advance(clock.getAsLong());
+            int released = 0;
+            for (UUID id : expired) {
+                CartHold hold = holds.get(id);
+                if (hold != null && !hold.getClaimed().get() && release(id)) {
+                    released++;
+                }
+            }
+            if (released > 0) {
+                log.debug("Reservas de carrito caducadas: " + released);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Error al liberar las reservas de carrito caducadas " + e);
+        }
+    }
+
+    /**
+     * Busca una reserva activa. Las caducadas que el tick aún no ha liberado se tratan como inexistentes
+     *
+     * @param id id de la reserva
+     * @return reserva
+     */
+    private CartHold find(UUID id) {
+        CartHold hold = holds.get(id);
+        if (hold == null || clock.getAsLong() - hold.getExpiresAtNanos() >= 0) {
+            throw new CartHoldNotFoundException(id);
+        }
+        return hold;
+    }
+
+    /**
+     * Retiene unidades de un libro si su stock lo permite
+     *
+     * @param book     libro
+     * @param quantity unidades
+     * @return true si se han retenido
+     */
+    private boolean acquire(Book book, int quantity) {
+        boolean[] acquired = {false};
+        held.compute(book.getId(), (bookId, current) -> {
+            int units = current == null ? 0 : current;
+            if (book.getStock() - units < quantity) {
+                return current;
+            }
+            acquired[0] = true;
+            return units + quantity;
+        });
+        return acquired[0];
+    }
+
+    /**
+     * Quita unidades retenidas de un libro
+     *
+     * @param bookId   id del libro
+     * @param quantity unidades
+     */
+    private void decrementHeld(Long bookId, int quantity) {
+        held.computeIfPresent(bookId, (id, current) -> current - quantity > 0 ? current - quantity : null);
+    }
+
+    /**
+     * Elimina una reserva y libera sus unidades. Solo la primera llamada para una reserva tiene efecto
+     *
+     * @param id id de la reserva
+     * @return true si la reserva seguía activa
+     */
+    private boolean release(UUID id) {
+        CartHold hold = holds.remove(id);
+        if (hold == null) {
+            return false;
+        }
+        wheel.cancel(hold.getTimeout());
+        hold.getQuantities().forEach(this::decrementHeld);
+        return true;
+    }
+
+    /**
+     * Convierte una reserva en su respuesta
+     *
+     * @param hold reserva
+     * @return respuesta
+     */
+    private CartHoldResponse toResponse(CartHold hold) {
+        List<CartHoldLine> lines = new ArrayList<>();
+        new TreeMap<>(hold.getQuantities()).forEach((bookId, quantity) -> lines.add(CartHoldLine.builder()
+                .bookId(bookId)
+                .quantity(quantity)
+                .build()));
+        return CartHoldResponse.builder()
+                .id(hold.getId())
+                .lines(lines)
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
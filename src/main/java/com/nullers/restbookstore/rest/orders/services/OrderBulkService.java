@@ -0,0 +1,31 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.orders.dto.BulkOrderResponse;
+import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz OrderBulkService
+ */
+public interface OrderBulkService {
+    /**
+     * Crea pedidos de forma masiva
+     *
+     * @param orders  pedidos a crear (un elemento nulo indica un pedido que no se pudo leer)
+     * @param ordered si se detiene la carga en el primer pedido erróneo
+     * @return resultado de cada pedido
+     */
+    BulkOrderResponse createOrders(List<OrderCreateDto> orders, boolean ordered);
+
+    /**
+     * Crea pedidos de forma masiva indicando por qué no se pudieron leer algunos de ellos
+     *
+     * @param orders      pedidos a crear (un elemento nulo indica un pedido que no se pudo leer)
+     * @param parseErrors error de lectura de los pedidos nulos por posición
+     * @param ordered     si se detiene la carga en el primer pedido erróneo
+     * @return resultado de cada pedido
+     */
+    BulkOrderResponse createOrders(List<OrderCreateDto> orders, Map<Integer, String> parseErrors, boolean ordered);
+}
@@ -0,0 +1,353 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.client.exceptions.ClientNotFound;
+import com.nullers.restbookstore.rest.client.repository.ClientRepository;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.dto.BulkOrderResponse;
+import com.nullers.restbookstore.rest.orders.dto.BulkOrderResult;
+import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderBadPriceException;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderBulkTooLargeException;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderNotItemsExceptions;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderNotStockException;
+import com.nullers.restbookstore.rest.orders.mappers.OrderCreateMapper;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import com.nullers.restbookstore.rest.sales.services.SalesRollupService;
+import com.nullers.restbookstore.rest.shop.repository.ShopRepository;
+import com.nullers.restbookstore.rest.user.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de carga masiva de pedidos
+ * <p>
+ * Valida todos los pedidos de la carga con una consulta por tipo de referencia (usuarios, clientes, tiendas y
+ * libros), reserva el stock de forma agregada con una única escritura por libro y guarda los pedidos con una
+ * escritura bulk de MongoDB. La reserva de stock se hace en la transacción JPA, de modo que si la escritura en
+ * MongoDB falla por completo el stock no se modifica.
+ */
+@Service
+@Slf4j
+public class OrderBulkServiceImpl implements OrderBulkService {
+    private static final String INVALID_ORDER_MSG = "El pedido no es un JSON válido";
+    private static final String SKIPPED_MSG = "No procesado: la carga es ordenada y un pedido anterior falló";
+
+    private final MongoTemplate mongoTemplate;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final ClientRepository clientRepository;
+    private final ShopRepository shopRepository;
+    private final SalesRollupService salesRollupService;
+    private final CartHoldService cartHoldService;
+    private final Validator validator;
+    private final int maxSize;
+
+    /**
+     * Constructor
+     *
+     * @param mongoTemplate      plantilla de MongoDB
+     * @param bookRepository     repositorio de libros
+     * @param userRepository     repositorio de usuarios
+     * @param clientRepository   repositorio de clientes
+     * @param shopRepository     repositorio de tiendas
+     * @param salesRollupService servicio de acumulados de ventas
+     * @param cartHoldService    servicio de reservas de carrito
+     * @param validator          validador de los pedidos
+     * @param maxSize            pedidos admitidos por carga
+     */
+    @Autowired
+    public OrderBulkServiceImpl(MongoTemplate mongoTemplate, BookRepository bookRepository,
+                                UserRepository userRepository, ClientRepository clientRepository,
+                                ShopRepository shopRepository, SalesRollupService salesRollupService,
+                                CartHoldService cartHoldService, Validator validator, @Value("${orders.bulk.max-size:5000}") int maxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.clientRepository = clientRepository;
+        this.shopRepository = shopRepository;
+        this.salesRollupService = salesRollupService;
+        this.cartHoldService = cartHoldService;
+        this.validator = validator;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Crea pedidos de forma masiva
+     *
+     * @param dtos    pedidos a crear (un elemento nulo indica un pedido que no se pudo leer)
+     * @param ordered si se detiene la carga en el primer pedido erróneo
+     * @return resultado de cada pedido
+     */
+    @Override
+    @Transactional
+    public BulkOrderResponse createOrders(List<OrderCreateDto> dtos, boolean ordered) {
+        return createOrders(dtos, Map.of(), ordered);
+    }
+
+    /**
+     * Crea pedidos de forma masiva indicando por qué no se pudieron leer algunos de ellos
+     *
+     * @param dtos        pedidos a crear (un elemento nulo indica un pedido que no se pudo leer)
+     * @param parseErrors error de lectura de los pedidos nulos por posición
+     * @param ordered     si se detiene la carga en el primer pedido erróneo
+     * @return resultado de cada pedido
+     */
+    @Override
+    @Transactional
+    public BulkOrderResponse createOrders(List<OrderCreateDto> dtos, Map<Integer, String> parseErrors,
+                                          boolean ordered) {
+        if (dtos.size() > maxSize) {
+            throw new OrderBulkTooLargeException(dtos.size(), maxSize);
+        }
+        log.info("Creando " + dtos.size() + " pedidos de forma masiva");
+        BulkOrderResult[] results = new BulkOrderResult[dtos.size()];
+        Order[] orders = new Order[dtos.size()];
+        for (int i = 0; i < dtos.size(); i++) {
+            List<String> errors = validate(dtos.get(i), parseErrors.get(i));
+            if (errors.isEmpty()) {
+                orders[i] = OrderCreateMapper.toOrder(dtos.get(i));
+                orders[i].setOrderLines(OrderServiceImpl.mergeOrderLines(orders[i].getOrderLines()));
+            } else {
+                results[i] = result(i, BulkOrderResult.Status.REJECTED, errors);
+            }
+        }
+
+        List<Order> candidates = Arrays.stream(orders).filter(Objects::nonNull).toList();
+        Set<UUID> users = existing(candidates, Order::getUserId, userRepository::findExistingIds);
+        Set<UUID> clients = existing(candidates, Order::getClientId, clientRepository::findExistingIds);
+        Set<UUID> shops = existing(candidates, Order::getShopId, shopRepository::findExistingIds);
+        Set<Long> bookIds = candidates.stream().flatMap(order -> order.getOrderLines().stream())
+                .map(OrderLine::getBookId).collect(Collectors.toSet());
+        Map<Long, Book> books = bookIds.isEmpty() ? Map.of() : bookRepository.findAllByIdForUpdate(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        Map<Long, Integer> remainingStock = new HashMap<>();
+        books.values().forEach(book -> remainingStock.put(book.getId(),
+                book.getStock() - cartHoldService.heldQuantity(book.getId())));
+        List<Integer> accepted = new ArrayList<>();
+        boolean stop = false;
+        for (int i = 0; i < orders.length; i++) {
+            if (stop) {
+                results[i] = result(i, BulkOrderResult.Status.SKIPPED, List.of(SKIPPED_MSG));
+                continue;
+            }
+            if (orders[i] != null) {
+                List<String> errors = check(orders[i], users, clients, shops, books, remainingStock);
+                if (errors.isEmpty()) {
+                    orders[i].getOrderLines().forEach(line ->
+                            remainingStock.merge(line.getBookId(), -line.getQuantity(), Integer::sum));
+                    orders[i].getOrderLines().forEach(line -> line.calculatePrice(line.getPrice()));
+                    orders[i].calculateLines();
+                    accepted.add(i);
+                    continue;
+                }
+                results[i] = result(i, BulkOrderResult.Status.REJECTED, errors);
+            }
+            stop = ordered;
+        }
+
+        List<Order> toInsert = accepted.stream().map(i -> orders[i]).toList();
+        reserveStock(toInsert, books, -1);
+        Map<Integer, String> failures = insert(toInsert, ordered);
+        List<Order> created = new ArrayList<>();
+        List<Order> notInserted = new ArrayList<>();
+        for (int position = 0; position < toInsert.size(); position++) {
+            int index = accepted.get(position);
+            Order order = toInsert.get(position);
+            if (failures.containsKey(position)) {
+                String error = failures.get(position);
+                results[index] = result(index, error == null ? BulkOrderResult.Status.SKIPPED
+                        : BulkOrderResult.Status.FAILED, List.of(error == null ? SKIPPED_MSG : error));
+                notInserted.add(order);
+            } else {
+                results[index] = BulkOrderResult.builder()
+                        .index(index)
+                        .status(BulkOrderResult.Status.CREATED)
+                        .orderId(order.getIdStr())
+                        .total(Money.toDouble(order.getTotal()))
+                        .errors(List.of())
+                        .build();
+                created.add(order);
+            }
+        }
+        reserveStock(notInserted, books, 1);
+        salesRollupService.recordCreated(created);
+        log.info("Carga masiva de pedidos terminada: " + created.size() + " de " + dtos.size() + " creados");
+        return BulkOrderResponse.builder()
+                .received(dtos.size())
+                .created(created.size())
+                .notCreated(dtos.size() - created.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Crea el resultado de un pedido que no se ha creado
+     *
+     * @param index  posición del pedido en la carga
+     * @param status estado del pedido
+     * @param errors errores del pedido
+     * @return resultado del pedido
+     */
+    private static BulkOrderResult result(int index, BulkOrderResult.Status status, List<String> errors) {
+        return BulkOrderResult.builder()
+                .index(index)
+                .status(status)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Valida las restricciones de un pedido
+     *
+     * @param dto        pedido
+     * @param parseError error de lectura del pedido, o null
+     * @return errores de validación
+     */
+    private List<String> validate(OrderCreateDto dto, String parseError) {
+        if (dto == null) {
+            return List.of(parseError == null ? INVALID_ORDER_MSG : INVALID_ORDER_MSG + ": " + parseError);
+        }
+        return validator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Comprueba las referencias, el stock y los precios de un pedido
+     *
+     * @param order          pedido
+     * @param users          usuarios existentes
+     * @param clients        clientes existentes
+     * @param shops          tiendas existentes
+     * @param books          libros por ID
+     * @param remainingStock stock disponible por libro tras los pedidos ya aceptados en la carga
+     * @return errores del pedido
+     */
+    private List<String> check(Order order, Set<UUID> users, Set<UUID> clients, Set<UUID> shops,
+                               Map<Long, Book> books, Map<Long, Integer> remainingStock) {
+        List<String> errors = new ArrayList<>();
+        if (!users.contains(order.getUserId())) {
+            errors.add("El usuario con id " + order.getUserId() + OrderServiceImpl.NO_EXISTS_MSG);
+        }
+        if (!clients.contains(order.getClientId())) {
+            errors.add(new ClientNotFound("id", order.getClientId().toString()).getMessage());
+        }
+        if (!shops.contains(order.getShopId())) {
+            errors.add("La tienda con id " + order.getShopId() + OrderServiceImpl.NO_EXISTS_MSG);
+        }
+        if (order.getOrderLines().isEmpty()) {
+            errors.add(new OrderNotItemsExceptions(order.getIdStr()).getMessage());
+        }
+        for (OrderLine line : order.getOrderLines()) {
+            Book book = books.get(line.getBookId());
+            if (book == null) {
+                errors.add(new BookNotFoundException(OrderServiceImpl.BOOK_WITH_ID_STR + line.getBookId()
+                        + OrderServiceImpl.NO_EXISTS_MSG).getMessage());
+                continue;
+            }
+            if (remainingStock.get(book.getId()) < line.getQuantity() && line.getQuantity() > 0) {
+                errors.add(new OrderNotStockException(book.getId()).getMessage());
+            }
+            if (!line.getPrice().equals(book.getPrice())) {
+                errors.add(new OrderBadPriceException(book.getId()).getMessage());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Obtiene con una sola consulta cuáles de las referencias de los pedidos existen
+     *
+     * @param orders    pedidos
+     * @param reference referencia del pedido
+     * @param finder    consulta de IDs existentes
+     * @return IDs existentes
+     */
+    private Set<UUID> existing(List<Order> orders, Function<Order, UUID> reference,
+                               Function<Collection<UUID>, Set<UUID>> finder) {
+        Set<UUID> ids = orders.stream().map(reference).collect(Collectors.toSet());
+        return ids.isEmpty() ? Set.of() : finder.apply(ids);
+    }
+
+    /**
+     * Modifica el stock de los libros de varios pedidos con una única escritura por libro
+     *
+     * @param orders pedidos
+     * @param books  libros por ID
+     * @param sign   -1 para reservar, 1 para devolver
+     */
+    private void reserveStock(List<Order> orders, Map<Long, Book> books, int sign) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        orders.forEach(order -> order.getOrderLines().forEach(line ->
+                quantities.merge(line.getBookId(), line.getQuantity(), Integer::sum)));
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Book> changed = new ArrayList<>();
+        quantities.forEach((bookId, quantity) -> {
+            Book book = books.get(bookId);
+            book.setStock(book.getStock() + sign * quantity);
+            changed.add(book);
+        });
+        bookRepository.saveAll(changed);
+    }
+
+    /**
+     * Inserta los pedidos con una escritura bulk de MongoDB
+     *
+     * @param orders  pedidos
+     * @param ordered si la escritura es ordenada
+     * @return pedidos no insertados por posición, con el error o null si no se llegaron a procesar
+     */
+    private Map<Integer, String> insert(List<Order> orders, boolean ordered) {
+        if (orders.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            mongoTemplate.bulkOps(ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED,
+                    Order.class).insert(orders).execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            log.error("Error en la inserción masiva de pedidos " + e.getMessage());
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            if (ordered && !failures.isEmpty()) {
+                int firstError = failures.keySet().stream().min(Integer::compare).orElseThrow();
+                for (int position = firstError + 1; position < orders.size(); position++) {
+                    failures.putIfAbsent(position, null);
+                }
+            }
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
+import com.nullers.restbookstore.rest.orders.dto.OrderPipelineResponse;
+import org.bson.types.ObjectId;
+
+/**
+ * Interfaz del pipeline asíncrono de pedidos
+ */
+public interface OrderPipelineService {
+
+    /**
+     * Valida un pedido y lo añade al outbox para procesarlo de forma asíncrona
+     *
+     * @param orderCreateDto pedido
+     * @return estado del pedido en el pipeline
+     */
+    OrderPipelineResponse submit(OrderCreateDto orderCreateDto);
+
+    /**
+     * Obtiene el estado de un pedido enviado al pipeline
+     *
+     * @param id id del pedido
+     * @return estado del pedido en el pipeline
+     */
+    OrderPipelineResponse getStatus(ObjectId id);
+}
@@ -0,0 +1,475 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
+import com.nullers.restbookstore.rest.orders.dto.OrderPipelineResponse;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderNotFoundException;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderNotStockException;
+import com.nullers.restbookstore.rest.orders.mappers.OrderCreateMapper;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderOutboxEntry;
+import com.nullers.restbookstore.rest.orders.models.OrderPipelineStatus;
+import com.nullers.restbookstore.rest.orders.models.StockReservation;
+import com.nullers.restbookstore.rest.orders.repositories.OrderOutboxRepository;
+import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
+import com.nullers.restbookstore.rest.orders.repositories.StockReservationRepository;
+import com.nullers.restbookstore.rest.sales.services.SalesRollupService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Pipeline asíncrono de pedidos
+ * <p>
+ * La petición solo valida el pedido y lo añade al outbox (una inserción en MongoDB). Un pool de workers reclama las
+ * entradas pendientes, descuenta el stock en una transacción JPA que también guarda una reserva con el ID del pedido y
+ * escribe el pedido en MongoDB con ese mismo ID, de modo que ambos pasos se pueden repetir sin duplicar efectos. Los
+ * fallos transitorios se reintentan con espera exponencial; al agotar los intentos se compensa eliminando el pedido y
+ * devolviendo el stock reservado. Las entradas reclamadas por un worker que se detuvo se vuelven a reclamar cuando
+ * vence su concesión.
+ */
+@Service
+@Slf4j
+public class OrderPipelineServiceImpl implements OrderPipelineService {
+    public static final String STATUS_PATH = "/api/orders/async/";
+    private static final String ORDER_PATH = "/api/orders/";
+    private static final String STATUS = "status";
+    private static final String ATTEMPTS = "attempts";
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String LOCKED_UNTIL = "lockedUntil";
+    private static final String LAST_ERROR = "lastError";
+    private static final String NEXT_ATTEMPT_AT = "nextAttemptAt";
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderOutboxRepository outboxRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final BookRepository bookRepository;
+    private final SalesRollupService salesRollupService;
+    private final CartHoldService cartHoldService;
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int workers;
+    private final int maxAttempts;
+    private final long pollIntervalMs;
+    private final long leaseMs;
+    private final long retryBackoffMs;
+
+    private final Semaphore permits;
+    private ExecutorService workerPool;
+    private ScheduledExecutorService poller;
+    private volatile boolean running;
+
+    /**
+     * Constructor
+     *
+     * @param orderService               servicio de pedidos
+     * @param orderRepository            repositorio de pedidos
+     * @param outboxRepository           repositorio del outbox de pedidos
+     * @param stockReservationRepository repositorio de reservas de stock
+     * @param bookRepository             repositorio de libros
+     * @param salesRollupService         servicio de acumulados de ventas
+     * @param cartHoldService            servicio de reservas de carrito
+     * @param mongoTemplate              plantilla de MongoDB
+     * @param transactionTemplate        plantilla de transacciones JPA
+     * @param enabled                    si los workers procesan el outbox
+     * @param workers                    número de workers
+     * @param maxAttempts                intentos antes de compensar un pedido
+     * @param pollIntervalMs             milisegundos entre revisiones del outbox
+     * @param leaseMs                    milisegundos que un worker retiene una entrada reclamada
+     * @param retryBackoffMs             espera inicial entre reintentos
+     */
+    @Autowired
+    public OrderPipelineServiceImpl(OrderService orderService, OrderRepository orderRepository,
+                                    OrderOutboxRepository outboxRepository,
+                                    StockReservationRepository stockReservationRepository,
+                                    BookRepository bookRepository, SalesRollupService salesRollupService,
+                                    CartHoldService cartHoldService,
+                                    MongoTemplate mongoTemplate, TransactionTemplate transactionTemplate,
+                                    @Value("${orders.pipeline.enabled:true}") boolean enabled,
+                                    @Value("${orders.pipeline.workers:4}") int workers,
+                                    @Value("${orders.pipeline.max-attempts:5}") int maxAttempts,
+                                    @Value("${orders.pipeline.poll-interval-ms:1000}") long pollIntervalMs,
+                                    @Value("${orders.pipeline.lease-ms:30000}") long leaseMs,
+                                    @Value("${orders.pipeline.retry-backoff-ms:500}") long retryBackoffMs) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.outboxRepository = outboxRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.bookRepository = bookRepository;
+        this.salesRollupService = salesRollupService;
+        this.cartHoldService = cartHoldService;
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.workers = Math.max(workers, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.pollIntervalMs = pollIntervalMs;
+        this.leaseMs = leaseMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.permits = new Semaphore(this.workers);
+    }
+
+    /**
+     * Arranca los workers si el pipeline está habilitado
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Pipeline asíncrono de pedidos deshabilitado");
+            return;
+        }
+        AtomicInteger threads = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "order-pipeline-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "order-pipeline-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        poller.scheduleWithFixedDelay(this::dispatch, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Pipeline asíncrono de pedidos arrancado con " + workers + " workers");
+    }
+
+    /**
+     * Detiene los workers
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Valida un pedido y lo añade al outbox para procesarlo de forma asíncrona
+     *
+     * @param orderCreateDto pedido
+     * @return estado del pedido en el pipeline
+     */
+    @Override
+    public OrderPipelineResponse submit(OrderCreateDto orderCreateDto) {
+        Order order = OrderCreateMapper.toOrder(orderCreateDto);
+        orderService.checkOrder(order);
+        order.getOrderLines().forEach(line -> line.calculatePrice(line.getPrice()));
+        order.calculateLines();
+        LocalDateTime now = LocalDateTime.now();
+        OrderOutboxEntry entry = outboxRepository.insert(OrderOutboxEntry.builder()
+                .id(order.getId())
+                .order(order)
+                .status(OrderPipelineStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .nextAttemptAt(now)
+                .build());
+        dispatch();
+        return toResponse(entry);
+    }
+
+    /**
+     * Obtiene el estado de un pedido enviado al pipeline
+     *
+     * @param id id del pedido
+     * @return estado del pedido en el pipeline
+     */
+    @Override
+    public OrderPipelineResponse getStatus(ObjectId id) {
+        return outboxRepository.findById(id).map(this::toResponse).orElseThrow(() -> new OrderNotFoundException(id));
+    }
+
+    /**
+     * Arranca un worker si hay alguno libre. Cada worker que reclama una entrada arranca otro, de modo que el pool
+     * solo se llena mientras hay trabajo pendiente
+     */
+    void dispatch() {
+        if (!running || !permits.tryAcquire()) {
+            return;
+        }
+        try {
+            workerPool.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Procesa entradas del outbox hasta que no quedan pendientes
+     */
+    private void drain() {
+        try {
+            OrderOutboxEntry entry;
+            while (running && (entry = claim()) != null) {
+                dispatch();
+                process(entry);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error en el pipeline de pedidos " + e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Reclama de forma atómica la siguiente entrada pendiente o con la concesión vencida
+     *
+     * @return entrada reclamada, o null si no hay ninguna
+     */
+    OrderOutboxEntry claim() {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = new Query(new Criteria().orOperator(
+                where(STATUS).is(OrderPipelineStatus.PENDING).and(NEXT_ATTEMPT_AT).lte(now),
+                where(STATUS).is(OrderPipelineStatus.PROCESSING).and(LOCKED_UNTIL).lt(now)))
+                .with(Sort.by(NEXT_ATTEMPT_AT));
+        Update update = new Update()
+                .set(STATUS, OrderPipelineStatus.PROCESSING)
+                .set(LOCKED_UNTIL, now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMs)))
+                .set(UPDATED_AT, now)
+                .inc(ATTEMPTS, 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                OrderOutboxEntry.class);
+    }
+
+    /**
+     * Procesa una entrada reclamada: reserva el stock, escribe el pedido y marca la entrada como completada
+     *
+     * @param entry entrada reclamada
+     */
+    void process(OrderOutboxEntry entry) {
+        if (entry.getAttempts() > maxAttempts) {
+            compensateAndFail(entry, entry.getLastError());
+            return;
+        }
+        try {
+            reserveStock(entry.getOrder());
+            Order saved = orderRepository.save(entry.getOrder());
+            if (complete(entry)) {
+                salesRollupService.recordCreated(saved);
+                log.info("Pedido " + entry.getId() + " procesado por el pipeline");
+            }
+        } catch (OrderNotStockException | BookNotFoundException e) {
+            fail(entry, e.getMessage());
+        } catch (RuntimeException e) {
+            if (entry.getAttempts() >= maxAttempts) {
+                compensateAndFail(entry, e.getMessage());
+            } else {
+                reschedule(entry, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Descuenta el stock del pedido si aún no se descontó
+     *
+     * @param order pedido
+     */
+    private void reserveStock(Order order) {
+        String orderId = order.getIdStr();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (stockReservationRepository.existsById(orderId)) {
+                return;
+            }
+            Map<Long, Integer> quantities = quantities(order);
+            Map<Long, Book> books = lockBooks(quantities);
+            quantities.forEach((bookId, quantity) -> {
+                Book book = books.get(bookId);
+                if (book == null) {
+                    throw new BookNotFoundException(OrderServiceImpl.BOOK_WITH_ID_STR + bookId
+                            + OrderServiceImpl.NO_EXISTS_MSG);
+                }
+                if (book.getStock() - cartHoldService.heldQuantity(bookId) < quantity) {
+                    throw new OrderNotStockException(bookId);
+                }
+                book.setStock(book.getStock() - quantity);
+            });
+            bookRepository.saveAll(books.values());
+            stockReservationRepository.save(StockReservation.builder()
+                    .orderId(orderId)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        });
+    }
+
+    /**
+     * Devuelve el stock del pedido si estaba reservado
+     *
+     * @param order pedido
+     */
+    private void releaseStock(Order order) {
+        String orderId = order.getIdStr();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!stockReservationRepository.existsById(orderId)) {
+                return;
+            }
+            Map<Long, Integer> quantities = quantities(order);
+            Map<Long, Book> books = lockBooks(quantities);
+            quantities.forEach((bookId, quantity) -> {
+                Book book = books.get(bookId);
+                if (book != null) {
+                    book.setStock(book.getStock() + quantity);
+                }
+            });
+            bookRepository.saveAll(books.values());
+            stockReservationRepository.deleteById(orderId);
+        });
+    }
+
+    /**
+     * Compensa un pedido que agotó sus intentos y lo marca como fallido. Si la compensación falla se reintenta
+     *
+     * @param entry entrada
+     * @param error error que provocó la compensación
+     */
+    private void compensateAndFail(OrderOutboxEntry entry, String error) {
+        try {
+            orderRepository.deleteById(entry.getId());
+            releaseStock(entry.getOrder());
+            fail(entry, error);
+        } catch (RuntimeException e) {
+            log.error("No se puede compensar el pedido " + entry.getId() + " " + e);
+            reschedule(entry, error);
+        }
+    }
+
+    /**
+     * Marca una entrada como completada
+     *
+     * @param entry entrada
+     * @return true si la entrada seguía reclamada por este worker
+     */
+    private boolean complete(OrderOutboxEntry entry) {
+        Update update = new Update()
+                .set(STATUS, OrderPipelineStatus.COMPLETED)
+                .set(UPDATED_AT, LocalDateTime.now())
+                .unset(LOCKED_UNTIL)
+                .unset(LAST_ERROR);
+        return mongoTemplate.updateFirst(claimed(entry), update, OrderOutboxEntry.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Marca una entrada como fallida
+     *
+     * @param entry entrada
+     * @param error error
+     */
+    private void fail(OrderOutboxEntry entry, String error) {
+        log.warn("Pedido " + entry.getId() + " rechazado por el pipeline: " + error);
+        Update update = new Update()
+                .set(STATUS, OrderPipelineStatus.FAILED)
+                .set(LAST_ERROR, error)
+                .set(UPDATED_AT, LocalDateTime.now())
+                .unset(LOCKED_UNTIL);
+        mongoTemplate.updateFirst(claimed(entry), update, OrderOutboxEntry.class);
+    }
+
+    /**
+     * Devuelve una entrada a pendiente con espera exponencial
+     *
+     * @param entry entrada
+     * @param error error del intento
+     */
+    private void reschedule(OrderOutboxEntry entry, String error) {
+        long backoffMs = retryBackoffMs << Math.min(entry.getAttempts() - 1, 10);
+        log.warn("Reintentando el pedido " + entry.getId() + " en " + backoffMs + " ms: " + error);
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set(STATUS, OrderPipelineStatus.PENDING)
+                .set(LAST_ERROR, error)
+                .set(UPDATED_AT, now)
+                .set(NEXT_ATTEMPT_AT, now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs)))
+                .unset(LOCKED_UNTIL);
+        mongoTemplate.updateFirst(claimed(entry), update, OrderOutboxEntry.class);
+    }
+
+    /**
+     * Consulta de una entrada mientras sigue reclamada por este intento
+     *
+     * @param entry entrada
+     * @return consulta por ID, estado e intento
+     */
+    private Query claimed(OrderOutboxEntry entry) {
+        return new Query(where("_id").is(entry.getId())
+                .and(STATUS).is(OrderPipelineStatus.PROCESSING)
+                .and(ATTEMPTS).is(entry.getAttempts()));
+    }
+
+    /**
+     * Bloquea los libros de un pedido
+     *
+     * @param quantities cantidades por libro
+     * @return libros por ID
+     */
+    private Map<Long, Book> lockBooks(Map<Long, Integer> quantities) {
+        return bookRepository.findAllByIdForUpdate(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+    }
+
+    /**
+     * Cantidades del pedido por libro
+     *
+     * @param order pedido
+     * @return cantidades por libro, ordenadas por ID
+     */
+    private static Map<Long, Integer> quantities(Order order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        order.getOrderLines().forEach(line -> quantities.merge(line.getBookId(), line.getQuantity(), Integer::sum));
+        return quantities;
+    }
+
+    /**
+     * Convierte una entrada del outbox en la respuesta de estado
+     *
+     * @param entry entrada
+     * @return estado del pedido
+     */
+    private OrderPipelineResponse toResponse(OrderOutboxEntry entry) {
+        String id = entry.getId().toHexString();
+        return OrderPipelineResponse.builder()
+                .id(id)
+                .status(entry.getStatus())
+                .attempts(entry.getAttempts())
+                .lastError(entry.getLastError())
+                .statusUrl(STATUS_PATH + id)
+                .orderUrl(entry.getStatus() == OrderPipelineStatus.COMPLETED ? ORDER_PATH + id : null)
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .build();
+    }
+}
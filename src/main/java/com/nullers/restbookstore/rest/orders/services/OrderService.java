@@ -97,4 +97,11 @@ public interface OrderService {
      * @return pedido eliminada
      */
     Order deleteLogicOrder(ObjectId id);
+
+    /**
+     * Método que comprueba si un pedido es correcto
+     *
+     * @param order pedido
+     */
+    void checkOrder(Order order);
 }
@@ -1,5 +1,7 @@
 package com.nullers.restbookstore.rest.orders.services;
 
+import com.nullers.restbookstore.config.jfr.OrderCreationEvent;
+import com.nullers.restbookstore.config.statements.StatementTracker;
 import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
 import com.nullers.restbookstore.rest.book.model.Book;
 import com.nullers.restbookstore.rest.book.repository.BookRepository;
@@ -10,16 +12,20 @@ import com.nullers.restbookstore.rest.orders.exceptions.OrderBadPriceException;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderNotFoundException;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderNotItemsExceptions;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderNotStockException;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderValidationException;
 import com.nullers.restbookstore.rest.orders.mappers.OrderCreateMapper;
+import com.nullers.restbookstore.rest.orders.models.CartHold;
 import com.nullers.restbookstore.rest.orders.models.Order;
 import com.nullers.restbookstore.rest.orders.models.OrderLine;
 import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
+import com.nullers.restbookstore.rest.sales.services.SalesRollupService;
 import com.nullers.restbookstore.rest.shop.exceptions.ShopNotFoundException;
 import com.nullers.restbookstore.rest.shop.repository.ShopRepository;
 import com.nullers.restbookstore.rest.user.exceptions.UserNotFound;
 import com.nullers.restbookstore.rest.user.repository.UserRepository;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
@@ -27,15 +33,27 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Clase OrderServiceImpl
+ * <p>
+ * Al crear o actualizar un pedido, sus referencias se validan antes de abrir la transacción: las consultas en
+ * paralelo del pool de validación no compiten con una conexión ya retenida por la petición. La transacción solo
+ * envuelve las escrituras, que vuelven a comprobar el stock con los libros bloqueados.
  */
 @Service
 @CacheConfig(cacheNames = "orders")
@@ -53,6 +71,16 @@ public class OrderServiceImpl implements OrderService {
 
     private final ShopRepository shopRepository;
 
+    private final OrderSortGuard orderSortGuard;
+
+    private final SalesRollupService salesRollupService;
+
+    private final Executor validationExecutor;
+
+    private final CartHoldService cartHoldService;
+
+    private final TransactionTemplate transactionTemplate;
+
     /**
      * Constructor para crear una nueva OrderServiceImpl
      *
@@ -61,14 +89,24 @@ public class OrderServiceImpl implements OrderService {
      * @param userRepository   user repository
      * @param clientRepository client repository
      * @param shopRepository   shop repository
+     * @param orderSortGuard     order sort guard
+     * @param salesRollupService sales rollup service
+     * @param validationExecutor pool de validación de pedidos
+     * @param cartHoldService    servicio de reservas de carrito
+     * @param transactionTemplate plantilla de transacciones JPA
      */
     @Autowired
-    public OrderServiceImpl(OrderRepository orderRepository, BookRepository bookRepository, UserRepository userRepository, ClientRepository clientRepository, ShopRepository shopRepository) {
+    public OrderServiceImpl(OrderRepository orderRepository, BookRepository bookRepository, UserRepository userRepository, ClientRepository clientRepository, ShopRepository shopRepository, OrderSortGuard orderSortGuard, SalesRollupService salesRollupService, @Qualifier("orderValidationExecutor") Executor validationExecutor, CartHoldService cartHoldService, TransactionTemplate transactionTemplate) {
         this.orderRepository = orderRepository;
         this.bookRepository = bookRepository;
         this.userRepository = userRepository;
         this.clientRepository = clientRepository;
         this.shopRepository = shopRepository;
+        this.orderSortGuard = orderSortGuard;
+        this.salesRollupService = salesRollupService;
+        this.validationExecutor = validationExecutor;
+        this.cartHoldService = cartHoldService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -79,6 +117,7 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public Page<Order> getAllOrders(Pageable pageable) {
+        orderSortGuard.check(OrderSortGuard.OrderQuery.ALL, pageable);
         return orderRepository.findAll(pageable);
     }
 
@@ -96,6 +135,10 @@ public class OrderServiceImpl implements OrderService {
 
     /**
      * Método que crea un pedido
+     * <p>
+     * El pedido se valida fuera de la transacción, que solo envuelve el descuento del stock y el guardado. Si el
+     * pedido indica una reserva de carrito, las unidades reservadas ya están garantizadas: se descuentan del stock en
+     * un único lote y la reserva se libera al confirmarse la transacción, o vuelve a su estado normal si se deshace
      *
      * @param orderCreateDto pedido
      * @return pedido creado
@@ -103,14 +146,46 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @CachePut(key = "#result.id")
     public Order createOrder(OrderCreateDto orderCreateDto) {
+        OrderCreationEvent event = OrderCreationEvent.start();
         Order order = OrderCreateMapper.toOrder(orderCreateDto);
-        checkOrder(order);
-        order = reserveStockOrder(order);
-        return orderRepository.save(order);
+        Order saved;
+        if (orderCreateDto.getHoldId() == null) {
+            checkOrder(order);
+            saved = transactionTemplate.execute(status -> insertOrder(reserveStockOrder(order)));
+        } else {
+            CartHold hold = cartHoldService.claim(orderCreateDto.getHoldId());
+            try {
+                validateOrder(order, hold.getQuantities());
+            } catch (RuntimeException e) {
+                cartHoldService.unclaim(hold);
+                throw e;
+            }
+            saved = transactionTemplate.execute(status -> {
+                cartHoldService.complete(hold);
+                applyStockDeltas(new TreeMap<>(quantitiesByBook(order)), hold.getQuantities());
+                return insertOrder(calculateTotals(order));
+            });
+        }
+        OrderCreationEvent.finish(event, saved, quantitiesByBook(saved).size(), orderCreateDto.getHoldId() != null);
+        return saved;
+    }
+
+    /**
+     * Guarda un pedido nuevo y lo suma a los acumulados de ventas
+     *
+     * @param order pedido con el stock ya descontado
+     * @return pedido guardado
+     */
+    private Order insertOrder(Order order) {
+        Order saved = orderRepository.save(order);
+        salesRollupService.recordCreated(saved);
+        return saved;
     }
 
     /**
      * Método que actualiza un pedido por el ID
+     * <p>
+     * El pedido se valida fuera de la transacción, que solo envuelve el ajuste del stock y el guardado
      *
      * @param id             id del pedido
      * @param orderCreateDto pedido
@@ -119,18 +194,23 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @CachePut(key = "#id")
     public Order updateOrder(ObjectId id, OrderCreateDto orderCreateDto) {
-        Order orderToUpdate = orderRepository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
+        Order previousOrder = orderRepository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
         Order order = OrderCreateMapper.toOrder(orderCreateDto);
-        checkOrder(order);
-        returnStockOrder(orderToUpdate);
-        ObjectId idOrder = orderToUpdate.getId();
-        orderToUpdate = reserveStockOrder(order);
-        orderToUpdate.setId(idOrder);
-        return orderRepository.save(orderToUpdate);
+        validateOrder(order, quantitiesByBook(previousOrder));
+        return transactionTemplate.execute(status -> {
+            adjustStockOrder(previousOrder, order);
+            Order orderToUpdate = calculateTotals(order);
+            orderToUpdate.setId(previousOrder.getId());
+            Order saved = orderRepository.save(orderToUpdate);
+            salesRollupService.recordUpdated(previousOrder, saved);
+            return saved;
+        });
     }
 
     /**
      * Método que elimina un pedido por el ID
+     * <p>
+     * El stock se devuelve en la misma transacción que el resto de escrituras de stock, con los libros bloqueados
      *
      * @param id id del pedido
      * @throws OrderNotFoundException excepción si no existe el pedido
@@ -139,8 +219,11 @@ public class OrderServiceImpl implements OrderService {
     @CacheEvict(key = "#id")
     public void deleteOrder(ObjectId id) throws OrderNotFoundException {
         Order order = orderRepository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
-        returnStockOrder(order);
-        orderRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            returnStockOrder(order);
+            orderRepository.deleteById(id);
+            salesRollupService.recordDeleted(order);
+        });
     }
 
     /**
@@ -152,6 +235,7 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public Page<Order> getOrdersByUserId(UUID userId, Pageable pageable) {
+        orderSortGuard.check(OrderSortGuard.OrderQuery.USER, pageable);
         return orderRepository.findByUserId(userId, pageable);
     }
 
@@ -164,6 +248,7 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public Page<Order> getOrdersByClientId(UUID clientId, Pageable pageable) {
+        orderSortGuard.check(OrderSortGuard.OrderQuery.CLIENT, pageable);
         return orderRepository.findByClientId(clientId, pageable);
     }
 
@@ -176,6 +261,7 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public Page<Order> getOrdersByShopId(UUID shopId, Pageable pageable) {
+        orderSortGuard.check(OrderSortGuard.OrderQuery.SHOP, pageable);
         return orderRepository.findByShopId(shopId, pageable);
     }
 
@@ -199,37 +285,128 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public Order deleteLogicOrder(ObjectId id) {
         Order order = orderRepository.findById(id).orElseThrow(() -> new OrderNotFoundException(id));
+        salesRollupService.recordDeleted(order);
         order.setIsDeleted(true);
         return orderRepository.save(order);
     }
 
     /**
      * Método que comprueba si un pedido es correcto
+     * <p>
+     * El usuario, el cliente, la tienda y los libros se consultan en paralelo, los libros en una sola consulta. Cada
+     * consulta toma su propia conexión, así que no se debe llamar con una transacción abierta. Si una consulta falla
+     * se propaga el fallo sin esperar a las demás. Si el pedido tiene un solo error se lanza ese error; si tiene
+     * varios se lanzan todos juntos en una OrderValidationException
      *
      * @param order pedido
      */
+    @Override
     public void checkOrder(Order order) {
+        validateOrder(order, Map.of());
+    }
+
+    /**
+     * Comprueba un pedido teniendo en cuenta el stock que ya tiene reservado
+     *
+     * @param order         pedido
+     * @param reservedStock unidades por libro ya reservadas para este pedido (versión anterior o reserva de carrito)
+     */
+    private void validateOrder(Order order, Map<Long, Integer> reservedStock) {
         UUID idUser = order.getUserId();
         UUID idClient = order.getClientId();
         UUID idShop = order.getShopId();
-        var user = userRepository.findById(idUser);
-        if (user.isEmpty()) {
-            throw new UserNotFound("El usuario con id " + idUser + NO_EXISTS_MSG);
+        List<OrderLine> orderLines = order.getOrderLines() == null ? List.of() : mergeOrderLines(order.getOrderLines());
+        order.setOrderLines(orderLines);
+        List<Long> bookIds = orderLines.stream().map(OrderLine::getBookId).toList();
+
+        CompletableFuture<Boolean> user = lookup(() -> userRepository.findById(idUser).isPresent());
+        CompletableFuture<Boolean> client = lookup(() -> clientRepository.findById(idClient).isPresent());
+        CompletableFuture<Boolean> shop = lookup(() -> shopRepository.findById(idShop).isPresent());
+        CompletableFuture<Map<Long, Book>> books = bookIds.isEmpty()
+                ? CompletableFuture.completedFuture(Map.of())
+                : lookup(() -> bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity(), (first, second) -> first)));
+        awaitLookups(user, client, shop, books);
+
+        List<RuntimeException> errors = new ArrayList<>();
+        if (Boolean.FALSE.equals(user.join())) {
+            errors.add(new UserNotFound("El usuario con id " + idUser + NO_EXISTS_MSG));
         }
-        var client = clientRepository.findById(idClient);
-        if (client.isEmpty()) {
-            throw new ClientNotFound("id", idClient.toString());
+        if (Boolean.FALSE.equals(client.join())) {
+            errors.add(new ClientNotFound("id", String.valueOf(idClient)));
         }
-        var shop = shopRepository.findById(idShop);
-        if (shop.isEmpty()) {
-            throw new ShopNotFoundException("La tienda con id " + idShop + NO_EXISTS_MSG);
+        if (Boolean.FALSE.equals(shop.join())) {
+            errors.add(new ShopNotFoundException("La tienda con id " + idShop + NO_EXISTS_MSG));
         }
+        if (orderLines.isEmpty()) {
+            errors.add(new OrderNotItemsExceptions(order.getIdStr()));
+        }
+        Map<Long, Book> foundBooks = books.join();
+        orderLines.forEach(lp -> {
+            Book book = foundBooks.get(lp.getBookId());
+            if (book == null) {
+                errors.add(new BookNotFoundException(BOOK_WITH_ID_STR + lp.getBookId() + NO_EXISTS_MSG));
+            } else if (available(book, reservedStock) < lp.getQuantity() && lp.getQuantity() > 0) {
+                errors.add(new OrderNotStockException(book.getId()));
+            } else if (!lp.getPrice().equals(book.getPrice())) {
+                errors.add(new OrderBadPriceException(book.getId()));
+            }
+        });
 
-        List<OrderLine> orderLines = order.getOrderLines();
+        if (errors.size() == 1) {
+            throw errors.get(0);
+        }
+        if (!errors.isEmpty()) {
+            throw new OrderValidationException(order.getIdStr(), errors);
+        }
+    }
+
+    /**
+     * Lanza una consulta de validación en el pool de validación, contando sus sentencias en la petición que la lanza
+     *
+     * @param query consulta
+     * @param <T>   tipo del resultado
+     * @return resultado futuro de la consulta
+     */
+    private <T> CompletableFuture<T> lookup(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(StatementTracker.propagate(query), validationExecutor);
+    }
+
+    /**
+     * Espera a que terminen todas las consultas o a que falle la primera, y en ese caso propaga el fallo. Las demás
+     * consultas no se interrumpen: terminan en el pool y su resultado se descarta
+     *
+     * @param lookups consultas en curso
+     */
+    private void awaitLookups(CompletableFuture<?>... lookups) {
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> lookup : lookups) {
+            lookup.whenComplete((result, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(lookups), firstFailure).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
+    /**
+     * Método que agrupa las líneas de pedido del mismo libro sumando sus cantidades
+     *
+     * @param orderLines líneas de pedido
+     * @return líneas de pedido agrupadas por libro
+     */
+    public static List<OrderLine> mergeOrderLines(List<OrderLine> orderLines) {
         Map<Long, List<OrderLine>> groupedOrderLines = orderLines.stream()
                 .collect(Collectors.groupingBy(OrderLine::getBookId));
-        List<OrderLine> mergedOrderLines = groupedOrderLines.values().stream()
+        return groupedOrderLines.values().stream()
                 .map(lines -> lines.stream()
                         .reduce((line1, line2) -> {
                             line1.setQuantity(line1.getQuantity() + line2.getQuantity());
@@ -239,28 +416,13 @@ public class OrderServiceImpl implements OrderService {
                         .orElse(null))
                 .filter(Objects::nonNull)
                 .toList();
-
-        order.setOrderLines(mergedOrderLines);
-        orderLines = order.getOrderLines();
-
-        if (orderLines == null || orderLines.isEmpty()) {
-            throw new OrderNotItemsExceptions(order.getIdStr());
-        }
-
-        orderLines.forEach(lp -> {
-            Book book = bookRepository.findById(lp.getBookId()).orElseThrow(() ->
-                    new BookNotFoundException(BOOK_WITH_ID_STR + lp.getBookId() + NO_EXISTS_MSG));
-            if (book.getStock() < lp.getQuantity() && lp.getQuantity() > 0) {
-                throw new OrderNotStockException(book.getId());
-            }
-            if (!lp.getPrice().equals(book.getPrice())) {
-                throw new OrderBadPriceException(book.getId());
-            }
-        });
     }
 
     /**
      * Método que reserva el stock de un pedido
+     * <p>
+     * Los libros se bloquean en orden de ID, se vuelve a comprobar el stock y se guardan juntos en un único lote, igual
+     * que al actualizar un pedido. Debe llamarse dentro de una transacción
      *
      * @param order pedido
      * @return pedido
@@ -271,32 +433,106 @@ public class OrderServiceImpl implements OrderService {
             throw new OrderNotItemsExceptions(order.getIdStr());
         }
 
-        orderLines.forEach(lp -> {
-            Book book = bookRepository.findById(lp.getBookId()).orElseThrow(() ->
-                    new BookNotFoundException(BOOK_WITH_ID_STR + lp.getBookId() + NO_EXISTS_MSG));
-            book.setStock(book.getStock() - lp.getQuantity());
-            bookRepository.save(book);
-            lp.setTotal(lp.getQuantity() * lp.getPrice());
-        });
+        applyStockDeltas(new TreeMap<>(quantitiesByBook(order)), Map.of());
+        return calculateTotals(order);
+    }
 
+    /**
+     * Método que calcula los totales de las líneas y del pedido
+     *
+     * @param order pedido
+     * @return pedido
+     */
+    private Order calculateTotals(Order order) {
+        order.getOrderLines().forEach(lp -> lp.setTotal(lp.getPrice().times(lp.getQuantity())));
         order.calculateLines();
         order.getOrderLines().forEach(line -> line.calculatePrice(line.getPrice()));
         return order;
     }
 
+    /**
+     * Método que ajusta el stock al actualizar un pedido
+     * <p>
+     * Solo se modifican los libros cuya cantidad cambia entre la versión anterior y la nueva, bloqueados en orden de
+     * ID y guardados juntos en un único lote. Si el pedido no cambia no se escribe ningún libro
+     *
+     * @param previousOrder versión anterior del pedido
+     * @param order         versión nueva del pedido
+     */
+    private void adjustStockOrder(Order previousOrder, Order order) {
+        Map<Long, Integer> deltas = new TreeMap<>(quantitiesByBook(order));
+        quantitiesByBook(previousOrder).forEach((bookId, quantity) -> deltas.merge(bookId, -quantity, Integer::sum));
+        deltas.values().removeIf(delta -> delta == 0);
+        applyStockDeltas(deltas, Map.of());
+    }
+
+    /**
+     * Método que aplica variaciones de stock bloqueando los libros en orden de ID y guardándolos en un único lote
+     *
+     * @param deltas        unidades a descontar por libro (negativas para devolver)
+     * @param reservedStock unidades por libro ya reservadas para el pedido
+     */
+    private void applyStockDeltas(Map<Long, Integer> deltas, Map<Long, Integer> reservedStock) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Book> books = bookRepository.findAllByIdForUpdate(deltas.keySet()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        List<Book> changed = new ArrayList<>();
+        deltas.forEach((bookId, delta) -> {
+            Book book = books.get(bookId);
+            if (book == null) {
+                throw new BookNotFoundException(BOOK_WITH_ID_STR + bookId + NO_EXISTS_MSG);
+            }
+            if (delta > 0 && available(book, reservedStock) < delta) {
+                throw new OrderNotStockException(bookId);
+            }
+            book.setStock(book.getStock() - delta);
+            changed.add(book);
+        });
+        bookRepository.saveAll(changed);
+    }
+
+    /**
+     * Método que calcula el stock de un libro disponible para un pedido: el stock menos las unidades retenidas por
+     * reservas de carrito, más las que ya tiene reservadas el propio pedido
+     *
+     * @param book          libro
+     * @param reservedStock unidades por libro ya reservadas para el pedido
+     * @return unidades disponibles
+     */
+    private int available(Book book, Map<Long, Integer> reservedStock) {
+        return book.getStock() - cartHoldService.heldQuantity(book.getId())
+                + reservedStock.getOrDefault(book.getId(), 0);
+    }
+
+    /**
+     * Método que suma las unidades de un pedido por libro
+     *
+     * @param order pedido
+     * @return unidades por libro
+     */
+    private static Map<Long, Integer> quantitiesByBook(Order order) {
+        if (order.getOrderLines() == null) {
+            return Map.of();
+        }
+        return order.getOrderLines().stream()
+                .collect(Collectors.toMap(OrderLine::getBookId, OrderLine::getQuantity, Integer::sum));
+    }
+
     /**
      * Método que devuelve el stock de un pedido
+     * <p>
+     * Los libros se bloquean en orden de ID y se guardan juntos en un único lote, igual que al reservar el stock. Debe
+     * llamarse dentro de una transacción
      *
      * @param order pedido
      */
     public void returnStockOrder(Order order) {
-        if (order.getOrderLines() != null && !order.getOrderLines().isEmpty()) {
-            order.getOrderLines().forEach(lp -> {
-                Book book = bookRepository.findById(lp.getBookId())
-                        .orElseThrow(() -> new BookNotFoundException(BOOK_WITH_ID_STR + lp.getBookId() + NO_EXISTS_MSG));
-                book.setStock(book.getStock() + lp.getQuantity());
-                bookRepository.save(book);
-            });
-        }
+        Map<Long, Integer> deltas = new TreeMap<>();
+        quantitiesByBook(order).forEach((bookId, quantity) -> deltas.put(bookId, -quantity));
+        deltas.values().removeIf(delta -> delta == 0);
+        applyStockDeltas(deltas, Map.of());
     }
 }
@@ -0,0 +1,96 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.orders.exceptions.OrderSortNotIndexedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Comprueba que la ordenación de las consultas de pedidos está soportada por un índice
+ * <p>
+ * Las consultas filtradas por cliente, usuario o tienda usan los índices compuestos (campo, createdAt) y (campo, _id),
+ * por lo que solo pueden ordenarse por createdAt o por id, la ordenación por defecto, sin ordenar en memoria. El
+ * listado completo solo se puede ordenar por id.
+ * Según el modo configurado, una ordenación no soportada se ignora (off), se avisa una vez en el log (warn) o se
+ * rechaza (reject).
+ */
+@Component
+@Slf4j
+public class OrderSortGuard {
+    /**
+     * Consultas de pedidos según el campo por el que filtran
+     */
+    public enum OrderQuery {
+        ALL, CLIENT, USER, SHOP
+    }
+
+    /**
+     * Modos del guardián
+     */
+    public enum Mode {
+        OFF, WARN, REJECT
+    }
+
+    private static final Map<OrderQuery, List<String>> SUPPORTED_SORTS = Map.of(
+            OrderQuery.ALL, List.of("id", "_id"),
+            OrderQuery.CLIENT, List.of("id", "_id", "createdAt"),
+            OrderQuery.USER, List.of("id", "_id", "createdAt"),
+            OrderQuery.SHOP, List.of("id", "_id", "createdAt")
+    );
+
+    private final Mode mode;
+    private final Set<String> warned = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor
+     *
+     * @param mode modo del guardián
+     */
+    public OrderSortGuard(@Value("${orders.sort-guard.mode:warn}") String mode) {
+        this.mode = Mode.valueOf(mode.toUpperCase());
+    }
+
+    /**
+     * Comprueba la ordenación de una consulta de pedidos
+     *
+     * @param query    consulta de pedidos
+     * @param pageable paginación
+     * @throws OrderSortNotIndexedException si la ordenación no está soportada y el modo es reject
+     */
+    public void check(OrderQuery query, Pageable pageable) {
+        if (mode == Mode.OFF || isSupported(query, pageable.getSort())) {
+            return;
+        }
+        String sort = pageable.getSort().toString();
+        String supported = String.join(", ", SUPPORTED_SORTS.get(query));
+        if (mode == Mode.REJECT) {
+            throw new OrderSortNotIndexedException(sort, supported);
+        }
+        if (warned.add(query + ":" + sort)) {
+            log.warn("Consulta de pedidos " + query + " ordenada por " + sort
+                    + " sin índice que la soporte, se ordenará en memoria. Ordenaciones admitidas: " + supported);
+        }
+    }
+
+    /**
+     * Indica si una ordenación está soportada por un índice
+     *
+     * @param query consulta de pedidos
+     * @param sort  ordenación
+     * @return true si está soportada
+     */
+    public boolean isSupported(OrderQuery query, Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && SUPPORTED_SORTS.get(query).contains(orders.get(0).getProperty());
+    }
+}
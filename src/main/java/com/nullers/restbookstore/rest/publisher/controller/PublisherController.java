@@ -2,6 +2,7 @@ package com.nullers.restbookstore.rest.publisher.controller;
 
 import com.nullers.restbookstore.pagination.models.PageResponse;
 import com.nullers.restbookstore.pagination.util.PaginationLinksUtils;
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
 import com.nullers.restbookstore.rest.common.PageableRequest;
 import com.nullers.restbookstore.rest.common.PageableUtil;
 import com.nullers.restbookstore.rest.publisher.dto.CreatePublisherDto;
@@ -102,6 +103,37 @@ public class PublisherController {
         return ResponseEntity.ok(publisherService.findById(id));
     }
 
+    /**
+     * Método que obtiene una página de los libros de una editorial
+     *
+     * @param id              id de la editorial
+     * @param pageableRequest paginación
+     * @return ResponseEntity<PageResponse<GetBookDTO>> con los libros
+     */
+    @Operation(summary = "Obtiene los libros de una editorial", description = "Obtiene una página de los libros de una editorial")
+    @Parameter(name = "id", description = "id de la editorial", example = "1")
+    @Parameter(name = "page", description = "número de la pagina", example = "0")
+    @Parameter(name = "size", description = "tamaño de la pagina", example = "10")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "página de libros de la editorial"),
+            @ApiResponse(responseCode = "404", description = "Publisher no encontrado")
+    })
+    @GetMapping("/{id}/books")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<PageResponse<GetBookDTO>> getBooks(
+            @PathVariable Long id,
+            @Valid PageableRequest pageableRequest,
+            HttpServletRequest request
+    ) {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(request.getRequestURL().toString());
+        Page<GetBookDTO> pageRes = publisherService.findBooks(id, PageRequest.of(pageableRequest.getPage(),
+                pageableRequest.getSize(), PageableUtil.getSort(pageableRequest)));
+
+        return ResponseEntity.ok()
+                .header("link", paginationLinksUtils.createLinkHeader(pageRes, uriBuilder))
+                .body(PageResponse.of(pageRes, pageableRequest.getOrderBy(), pageableRequest.getOrder()));
+    }
+
     /**
      * Método que crea un publisher
      *
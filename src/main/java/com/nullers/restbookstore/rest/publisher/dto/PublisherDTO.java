@@ -1,7 +1,6 @@
 package com.nullers.restbookstore.rest.publisher.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.nullers.restbookstore.rest.book.model.Book;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +8,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.Set;
 
 /**
  * Clase PublisherDto
@@ -28,8 +26,8 @@ public class PublisherDTO {
     private String name;
     @Schema(name = "Imagen", example = "https://proassetspdlcom.cdnstatics2.com/usuaris/editorial/logo/d8253153-6647-454f-884e-b923429307f3-planeta.svg")
     private String image;
-    @Schema(name = "Libros")
-    private Set<Book> books;
+    @Schema(name = "Número de libros", example = "10")
+    private long bookCount;
     @Schema(name = "Fecha de creación", example = "2021-03-05T11:11:11")
     private LocalDateTime createdAt;
     @Schema(name = "Fecha de actualización", example = "2021-03-05T11:11:11")
@@ -1,5 +1,6 @@
 package com.nullers.restbookstore.rest.publisher.mappers;
 
+import com.nullers.restbookstore.rest.common.ReferenceData;
 import com.nullers.restbookstore.rest.publisher.dto.CreatePublisherDto;
 import com.nullers.restbookstore.rest.publisher.dto.PublisherDTO;
 import com.nullers.restbookstore.rest.publisher.dto.PublisherData;
@@ -33,7 +34,6 @@ public class PublisherMapper {
                 .id(dto.getId())
                 .name(dto.getName())
                 .image(dto.getImage())
-                .books(dto.getBooks())
                 .active(true)
                 .build();
     }
@@ -49,7 +49,7 @@ public class PublisherMapper {
                 .id(publisher.getId())
                 .name(publisher.getName())
                 .image(publisher.getImage())
-                .books(publisher.getBooks())
+                .bookCount(publisher.getBookCount())
                 .createdAt(publisher.getCreatedAt())
                 .updatedAt(publisher.getUpdatedAt())
                 .active(publisher.getActive())
@@ -89,4 +89,20 @@ public class PublisherMapper {
                 .updatedAt(publisher.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * mapea una editorial de los datos de referencia a PublisherData
+     *
+     * @param publisher editorial de los datos de referencia
+     * @return PublisherData mapeado
+     */
+    public PublisherData toPublisherDataFromReference(ReferenceData.PublisherEntry publisher) {
+        return PublisherData.builder()
+                .id(publisher.id())
+                .name(publisher.name())
+                .image(publisher.image())
+                .createdAt(publisher.createdAt())
+                .updatedAt(publisher.updatedAt())
+                .build();
+    }
 }
@@ -1,10 +1,12 @@
 package com.nullers.restbookstore.rest.publisher.model;
 
+import com.nullers.restbookstore.rest.autocomplete.services.PublisherAutocompleteListener;
 import com.nullers.restbookstore.rest.book.model.Book;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Formula;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -23,6 +25,7 @@ import java.util.Set;
 @Setter
 @Builder
 @Entity
+@EntityListeners(PublisherAutocompleteListener.class)
 public class Publisher {
     public static final String DEFAULT_IMAGE = "https://books.madirex.com/favicon.ico";
 
@@ -44,6 +47,10 @@ public class Publisher {
     @Schema(name = "Libros")
     private Set<Book> books = new HashSet<>();
 
+    @Formula("(SELECT COUNT(*) FROM book b WHERE b.publisher_id = id)")
+    @Schema(name = "Número de libros", example = "10")
+    private long bookCount;
+
     @Builder.Default
     @Schema(name = "Editorial activa", example = "true")
     private Boolean active = true;
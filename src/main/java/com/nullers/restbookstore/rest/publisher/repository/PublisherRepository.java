@@ -1,10 +1,15 @@
 package com.nullers.restbookstore.rest.publisher.repository;
 
 import com.nullers.restbookstore.rest.publisher.model.Publisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Interface PublisherRepository
  *
@@ -13,4 +18,39 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface PublisherRepository extends JpaRepository<Publisher, Long>, JpaSpecificationExecutor<Publisher> {
 
+    /**
+     * Obtiene por bloques las imágenes referenciadas por las editoriales
+     *
+     * @param pageable bloque a obtener
+     * @return bloque de imágenes
+     */
+    @Query("SELECT p.image FROM Publisher p WHERE p.image IS NOT NULL")
+    Slice<String> findAllImages(Pageable pageable);
+
+    /**
+     * Comprueba si alguna editorial referencia una imagen
+     *
+     * @param filename nombre del fichero
+     * @return true si alguna imagen termina con ese nombre
+     */
+    boolean existsByImageEndingWith(String filename);
+
+    /**
+     * Obtiene los campos de todas las editoriales que alimentan el autocompletado
+     *
+     * @return campos de las editoriales
+     */
+    @Query("SELECT p.id AS id, p.name AS name, p.active AS active FROM Publisher p")
+    List<AutocompleteFields> findAutocompleteFields();
+
+    /**
+     * Campos de una editorial usados por el autocompletado
+     */
+    interface AutocompleteFields {
+        Long getId();
+
+        String getName();
+
+        Boolean getActive();
+    }
 }
@@ -1,13 +1,16 @@
 package com.nullers.restbookstore.rest.publisher.services;
 
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
 import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
 import com.nullers.restbookstore.rest.publisher.dto.CreatePublisherDto;
 import com.nullers.restbookstore.rest.publisher.dto.PatchPublisherDto;
 import com.nullers.restbookstore.rest.publisher.dto.PublisherDTO;
 import com.nullers.restbookstore.rest.publisher.exceptions.PublisherIDNotValid;
 import com.nullers.restbookstore.rest.publisher.exceptions.PublisherNotFound;
+import com.nullers.restbookstore.rest.publisher.model.Publisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -36,6 +39,26 @@ public interface PublisherService {
      */
     PublisherDTO findById(Long id);
 
+    /**
+     * Método que devuelve la editorial de un ID para asignarla a un libro, sin cargar sus libros
+     *
+     * @param id id del editor
+     * @return editor por el ID
+     * @throws PublisherNotFound   si no existe el editor
+     * @throws PublisherIDNotValid si el ID del editor no es válido
+     */
+    Publisher getReference(Long id) throws PublisherNotFound, PublisherIDNotValid;
+
+    /**
+     * Método que devuelve una página de los libros de un editor
+     *
+     * @param id       id del editor
+     * @param pageable paginación
+     * @return página de libros del editor
+     * @throws PublisherNotFound si no existe el editor
+     */
+    Page<GetBookDTO> findBooks(Long id, Pageable pageable) throws PublisherNotFound;
+
     /**
      * Método que crea un editor
      *
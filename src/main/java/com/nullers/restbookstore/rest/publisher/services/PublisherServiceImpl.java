@@ -1,7 +1,11 @@
 package com.nullers.restbookstore.rest.publisher.services;
 
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
 import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
+import com.nullers.restbookstore.rest.book.mappers.BookMapperImpl;
 import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.common.ReferenceData;
 import com.nullers.restbookstore.rest.publisher.dto.CreatePublisherDto;
 import com.nullers.restbookstore.rest.publisher.dto.PatchPublisherDto;
 import com.nullers.restbookstore.rest.publisher.dto.PublisherDTO;
@@ -22,6 +26,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -46,6 +51,9 @@ public class PublisherServiceImpl implements PublisherService {
     private final PublisherMapper publisherMapper;
     private final CreatePublisherMapper createPublisherMapper;
     private final StorageService storageService;
+    private final BookRepository bookRepository;
+    private final BookMapperImpl bookMapper;
+    private final ReferenceData referenceData;
 
     /**
      * Constructor de PublisherServiceImpl
@@ -54,15 +62,22 @@ public class PublisherServiceImpl implements PublisherService {
      * @param publisherMapper       mapper de publisher
      * @param createPublisherMapper mapper de createPublisher
      * @param storageService        servicio de storage
+     * @param bookRepository        repositorio de libros
+     * @param bookMapper            mapper de libros
+     * @param referenceData         datos de referencia en memoria
      */
     @Autowired
     public PublisherServiceImpl(PublisherRepository publisherRepository,
                                 PublisherMapper publisherMapper, CreatePublisherMapper createPublisherMapper,
-                                StorageService storageService) {
+                                StorageService storageService, BookRepository bookRepository,
+                                BookMapperImpl bookMapper, ReferenceData referenceData) {
         this.publisherRepository = publisherRepository;
         this.publisherMapper = publisherMapper;
         this.createPublisherMapper = createPublisherMapper;
         this.storageService = storageService;
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.referenceData = referenceData;
     }
 
     /**
@@ -106,6 +121,48 @@ public class PublisherServiceImpl implements PublisherService {
                 .orElseThrow(() -> new PublisherNotFound("id " + id));
     }
 
+    /**
+     * Encuentra la editorial de un ID para asignarla a un libro. Si los datos de referencia están cargados, comprueba
+     * que existe en ellos y devuelve una referencia sin consultar la base de datos; si no, carga solo la fila de la
+     * editorial
+     *
+     * @param id id de la editorial
+     * @return Publisher
+     * @throws PublisherNotFound   si no existe la editorial
+     * @throws PublisherIDNotValid si el ID no es válido
+     */
+    @Override
+    public Publisher getReference(Long id) throws PublisherNotFound, PublisherIDNotValid {
+        if (id == null) {
+            throw new PublisherIDNotValid("El ID del Publisher no es válido");
+        }
+        if (referenceData.isReady()) {
+            if (referenceData.findPublisher(id).isEmpty()) {
+                throw new PublisherNotFound("id " + id);
+            }
+            return publisherRepository.getReferenceById(id);
+        }
+        return publisherRepository.findById(id)
+                .orElseThrow(() -> new PublisherNotFound("id " + id));
+    }
+
+    /**
+     * Encuentra una página de los libros de una editorial
+     *
+     * @param id       id de la editorial
+     * @param pageable paginación
+     * @return página de libros
+     * @throws PublisherNotFound si no existe la editorial
+     */
+    @Override
+    public Page<GetBookDTO> findBooks(Long id, Pageable pageable) throws PublisherNotFound {
+        var publisherData = referenceData.findPublisher(id)
+                .map(publisherMapper::toPublisherDataFromReference)
+                .orElseGet(() -> publisherMapper.toPublisherData(getReference(id)));
+        return bookRepository.findByPublisher_Id(id, pageable)
+                .map(book -> bookMapper.toGetBookDTO(book, publisherData));
+    }
+
     /**
      * crea un publisher
      *
@@ -115,7 +172,9 @@ public class PublisherServiceImpl implements PublisherService {
     @CachePut(key = "#result.id")
     @Override
     public PublisherDTO save(CreatePublisherDto publisher) {
-        return publisherMapper.toDto(publisherRepository.save(createPublisherMapper.toPublisher(publisher)));
+        Publisher saved = publisherRepository.save(createPublisherMapper.toPublisher(publisher));
+        referenceData.publisherSaved(saved);
+        return publisherMapper.toDto(saved);
     }
 
     /**
@@ -131,7 +190,9 @@ public class PublisherServiceImpl implements PublisherService {
         Publisher publisher = publisherRepository.findById(id).orElseThrow(() -> new PublisherNotFound(PUBLISHER_WITH_ID_STR + id + NO_EXISTS_STR));
         var publisherUpdate = publisherMapper.toDto(publisher);
         Publisher updatedPublisher = publisherMapper.toPublisherModification(publisherDTO, publisherUpdate);
-        return publisherMapper.toDto(publisherRepository.save(updatedPublisher));
+        Publisher saved = publisherRepository.save(updatedPublisher);
+        referenceData.publisherSaved(saved);
+        return publisherMapper.toDto(saved);
     }
 
     /**
@@ -173,6 +234,7 @@ public class PublisherServiceImpl implements PublisherService {
             opt.get().setId(id);
             opt.get().setUpdatedAt(LocalDateTime.now());
             Publisher modified = publisherRepository.save(opt.get());
+            referenceData.publisherSaved(modified);
             publisherMapper.toDto(modified);
         } catch (IllegalArgumentException e) {
             throw new PublisherIDNotValid("El ID no es válido");
@@ -185,6 +247,7 @@ public class PublisherServiceImpl implements PublisherService {
     @Override
     public void deleteAll() {
         publisherRepository.deleteAll();
+        referenceData.publishersCleared();
     }
 
     /**
@@ -0,0 +1,132 @@
+package com.nullers.restbookstore.rest.sales.controllers;
+
+import com.nullers.restbookstore.rest.sales.dto.SalesBackfillResult;
+import com.nullers.restbookstore.rest.sales.dto.SalesReportDto;
+import com.nullers.restbookstore.rest.sales.models.RollupDimension;
+import com.nullers.restbookstore.rest.sales.services.SalesRollupService;
+import com.nullers.restbookstore.rest.sales.services.SalesRollupServiceImpl;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Clase SalesRollupController
+ */
+@RestController
+@RequestMapping("/api/sales")
+@PreAuthorize("hasRole('ADMIN')")
+public class SalesRollupController {
+    private final SalesRollupService salesRollupService;
+
+    /**
+     * Constructor
+     *
+     * @param salesRollupService servicio de acumulados de ventas
+     */
+    @Autowired
+    public SalesRollupController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    /**
+     * Método para obtener las ventas totales por día
+     *
+     * @param from día inicial
+     * @param to   día final
+     * @return ResponseEntity<SalesReportDto> con las ventas
+     */
+    @Operation(summary = "Obtiene las ventas totales por día", description = "Obtiene las ventas totales por día en un rango de días")
+    @Parameter(name = "from", description = "Día inicial", example = "2023-11-01")
+    @Parameter(name = "to", description = "Día final", example = "2023-11-30")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ventas"),
+            @ApiResponse(responseCode = "400", description = "Rango de días no válido")
+    })
+    @GetMapping("/daily")
+    public ResponseEntity<SalesReportDto> getDailySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(salesRollupService.getReport(RollupDimension.DAY, SalesRollupServiceImpl.ALL_KEY,
+                from, to));
+    }
+
+    /**
+     * Método para obtener las ventas de una tienda por día
+     *
+     * @param id   id de la tienda
+     * @param from día inicial
+     * @param to   día final
+     * @return ResponseEntity<SalesReportDto> con las ventas
+     */
+    @Operation(summary = "Obtiene las ventas de una tienda por día", description = "Obtiene las ventas de una tienda por día en un rango de días")
+    @Parameter(name = "id", description = "id de la tienda", example = "770e8400-e29b-41d4-a716-446655440000")
+    @Parameter(name = "from", description = "Día inicial", example = "2023-11-01")
+    @Parameter(name = "to", description = "Día final", example = "2023-11-30")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ventas"),
+            @ApiResponse(responseCode = "400", description = "Rango de días no válido")
+    })
+    @GetMapping("/shop/{id}")
+    public ResponseEntity<SalesReportDto> getShopSales(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(salesRollupService.getReport(RollupDimension.SHOP, id.toString(), from, to));
+    }
+
+    /**
+     * Método para obtener las ventas de un libro por día
+     *
+     * @param id   id del libro
+     * @param from día inicial
+     * @param to   día final
+     * @return ResponseEntity<SalesReportDto> con las ventas
+     */
+    @Operation(summary = "Obtiene las ventas de un libro por día", description = "Obtiene las ventas de un libro por día en un rango de días")
+    @Parameter(name = "id", description = "id del libro", example = "1")
+    @Parameter(name = "from", description = "Día inicial", example = "2023-11-01")
+    @Parameter(name = "to", description = "Día final", example = "2023-11-30")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ventas"),
+            @ApiResponse(responseCode = "400", description = "Rango de días no válido")
+    })
+    @GetMapping("/book/{id}")
+    public ResponseEntity<SalesReportDto> getBookSales(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(salesRollupService.getReport(RollupDimension.BOOK, id.toString(), from, to));
+    }
+
+    /**
+     * Método para reconstruir los acumulados de ventas a partir de los pedidos
+     *
+     * @return ResponseEntity<SalesBackfillResult> con el resultado de la reconstrucción
+     */
+    @Operation(summary = "Reconstruye los acumulados de ventas", description = "Reconstruye los acumulados de ventas a partir de los pedidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Acumulados reconstruidos"),
+            @ApiResponse(responseCode = "409", description = "Reconstrucción en curso")
+    })
+    @PostMapping("/backfill")
+    public ResponseEntity<SalesBackfillResult> backfill() {
+        return ResponseEntity.ok(salesRollupService.backfill());
+    }
+}
@@ -0,0 +1,31 @@
+package com.nullers.restbookstore.rest.sales.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de la reconstrucción de los acumulados de ventas
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SalesBackfillResult {
+    @Schema(description = "Acumulados diarios", example = "365")
+    private long dayRollups;
+
+    @Schema(description = "Acumulados por tienda", example = "1460")
+    private long shopRollups;
+
+    @Schema(description = "Acumulados por libro", example = "25000")
+    private long bookRollups;
+
+    @Schema(description = "Duración en milisegundos", example = "5230")
+    private long durationMs;
+
+    @Schema(description = "Fecha de finalización", example = "2023-11-20T11:11:11")
+    private LocalDateTime finishedAt;
+}
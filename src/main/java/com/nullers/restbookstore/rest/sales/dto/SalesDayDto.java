@@ -0,0 +1,28 @@
+package com.nullers.restbookstore.rest.sales.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Ventas de un día
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SalesDayDto {
+    @Schema(description = "Día", example = "2023-11-20")
+    private LocalDate day;
+
+    @Schema(description = "Unidades vendidas", example = "42")
+    private long units;
+
+    @Schema(description = "Ingresos", example = "512.5")
+    private double revenue;
+
+    @Schema(description = "Pedidos", example = "17")
+    private long orders;
+}
@@ -0,0 +1,42 @@
+package com.nullers.restbookstore.rest.sales.dto;
+
+import com.nullers.restbookstore.rest.sales.models.RollupDimension;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Informe de ventas de una dimensión en un rango de días
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SalesReportDto {
+    @Schema(description = "Dimensión", example = "SHOP")
+    private RollupDimension dimension;
+
+    @Schema(description = "Clave de la dimensión", example = "770e8400-e29b-41d4-a716-446655440000")
+    private String key;
+
+    @Schema(description = "Día inicial", example = "2023-11-01")
+    private LocalDate from;
+
+    @Schema(description = "Día final", example = "2023-11-30")
+    private LocalDate to;
+
+    @Schema(description = "Unidades vendidas", example = "1250")
+    private long units;
+
+    @Schema(description = "Ingresos", example = "15200.75")
+    private double revenue;
+
+    @Schema(description = "Pedidos", example = "480")
+    private long orders;
+
+    @Schema(description = "Ventas por día")
+    private List<SalesDayDto> days;
+}
@@ -0,0 +1,18 @@
+package com.nullers.restbookstore.rest.sales.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionConflict;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Clase SalesBackfillInProgressException
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SalesBackfillInProgressException extends ResponseExceptionConflict {
+    /**
+     * Constructor SalesBackfillInProgressException
+     */
+    public SalesBackfillInProgressException() {
+        super("Ya hay una reconstrucción de los acumulados de ventas en curso");
+    }
+}
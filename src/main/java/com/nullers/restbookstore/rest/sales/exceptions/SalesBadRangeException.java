@@ -0,0 +1,23 @@
+package com.nullers.restbookstore.rest.sales.exceptions;
+
+import com.nullers.restbookstore.manager.error.exceptions.ResponseExceptionBadRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Clase SalesBadRangeException
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class SalesBadRangeException extends ResponseExceptionBadRequest {
+    /**
+     * Constructor SalesBadRangeException
+     *
+     * @param from día inicial
+     * @param to   día final
+     */
+    public SalesBadRangeException(LocalDate from, LocalDate to) {
+        super("El rango de días " + from + " - " + to + " no es válido");
+    }
+}
@@ -0,0 +1,8 @@
+package com.nullers.restbookstore.rest.sales.models;
+
+/**
+ * Dimensiones de los acumulados de ventas
+ */
+public enum RollupDimension {
+    DAY, SHOP, BOOK
+}
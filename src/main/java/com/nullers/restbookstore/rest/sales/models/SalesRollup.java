@@ -0,0 +1,56 @@
+package com.nullers.restbookstore.rest.sales.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+/**
+ * Acumulado diario de ventas de una dimensión (día, tienda o libro)
+ * <p>
+ * Los ingresos se guardan en céntimos, como los importes de los pedidos, para sumarlos sin errores de redondeo.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document("sales_rollups")
+@TypeAlias("SalesRollup")
+@CompoundIndex(name = "dimension_key_day_idx", def = "{'dimension': 1, 'key': 1, 'day': 1}")
+public class SalesRollup {
+    @Id
+    private String id;
+
+    private RollupDimension dimension;
+
+    private String key;
+
+    private LocalDate day;
+
+    @Builder.Default
+    private Long units = 0L;
+
+    @Builder.Default
+    private Long revenueCents = 0L;
+
+    @Builder.Default
+    private Long orders = 0L;
+
+    /**
+     * Método que devuelve el ID de un acumulado
+     *
+     * @param dimension dimensión
+     * @param key       clave de la dimensión
+     * @param day       día
+     * @return id del acumulado
+     */
+    public static String idOf(RollupDimension dimension, String key, LocalDate day) {
+        return dimension + ":" + key + ":" + day;
+    }
+}
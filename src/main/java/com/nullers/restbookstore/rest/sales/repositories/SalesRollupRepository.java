@@ -0,0 +1,28 @@
+package com.nullers.restbookstore.rest.sales.repositories;
+
+import com.nullers.restbookstore.rest.sales.models.RollupDimension;
+import com.nullers.restbookstore.rest.sales.models.SalesRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interfaz de SalesRollupRepository
+ */
+@Repository
+public interface SalesRollupRepository extends MongoRepository<SalesRollup, String> {
+    /**
+     * Método que devuelve los acumulados de una dimensión y clave entre dos días (ambos incluidos)
+     *
+     * @param dimension dimensión
+     * @param key       clave de la dimensión
+     * @param from      día inicial
+     * @param to        día final
+     * @return acumulados ordenados por día
+     */
+    @Query(value = "{ 'dimension': ?0, 'key': ?1, 'day': { $gte: ?2, $lte: ?3 } }", sort = "{ 'day': 1 }")
+    List<SalesRollup> findRange(RollupDimension dimension, String key, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,61 @@
+package com.nullers.restbookstore.rest.sales.services;
+
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.sales.dto.SalesBackfillResult;
+import com.nullers.restbookstore.rest.sales.dto.SalesReportDto;
+import com.nullers.restbookstore.rest.sales.models.RollupDimension;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Interfaz SalesRollupService
+ */
+public interface SalesRollupService {
+    /**
+     * Suma un pedido creado a los acumulados
+     *
+     * @param order pedido creado
+     */
+    void recordCreated(Order order);
+
+    /**
+     * Suma varios pedidos creados a los acumulados en una única escritura
+     *
+     * @param orders pedidos creados
+     */
+    void recordCreated(Collection<Order> orders);
+
+    /**
+     * Sustituye en los acumulados un pedido por su versión actualizada
+     *
+     * @param before pedido antes de actualizarlo
+     * @param after  pedido actualizado
+     */
+    void recordUpdated(Order before, Order after);
+
+    /**
+     * Resta un pedido eliminado de los acumulados
+     *
+     * @param order pedido tal y como estaba antes de eliminarlo
+     */
+    void recordDeleted(Order order);
+
+    /**
+     * Obtiene el informe de ventas de una dimensión en un rango de días
+     *
+     * @param dimension dimensión
+     * @param key       clave de la dimensión
+     * @param from      día inicial
+     * @param to        día final
+     * @return informe de ventas
+     */
+    SalesReportDto getReport(RollupDimension dimension, String key, LocalDate from, LocalDate to);
+
+    /**
+     * Reconstruye todos los acumulados a partir de los pedidos
+     *
+     * @return resultado de la reconstrucción
+     */
+    SalesBackfillResult backfill();
+}
@@ -0,0 +1,348 @@
+package com.nullers.restbookstore.rest.sales.services;
+
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import com.nullers.restbookstore.rest.sales.dto.SalesBackfillResult;
+import com.nullers.restbookstore.rest.sales.dto.SalesDayDto;
+import com.nullers.restbookstore.rest.sales.dto.SalesReportDto;
+import com.nullers.restbookstore.rest.sales.exceptions.SalesBackfillInProgressException;
+import com.nullers.restbookstore.rest.sales.exceptions.SalesBadRangeException;
+import com.nullers.restbookstore.rest.sales.models.RollupDimension;
+import com.nullers.restbookstore.rest.sales.models.SalesRollup;
+import com.nullers.restbookstore.rest.sales.repositories.SalesRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Servicio de acumulados de ventas
+ * <p>
+ * Mantiene en la colección sales_rollups, por día, tienda y libro, las unidades, los ingresos en céntimos y el número
+ * de pedidos distintos. Cada cambio de un pedido se aplica como incrementos en una única operación bulk. Los pedidos borrados
+ * lógicamente no cuentan. Si un incremento falla, el pedido no se ve afectado y los acumulados se pueden
+ * reconstruir con el backfill.
+ */
+@Service
+@Slf4j
+public class SalesRollupServiceImpl implements SalesRollupService {
+    public static final String ALL_KEY = "all";
+    private static final String ORDERS_COLLECTION = "orders";
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final SalesRollupRepository salesRollupRepository;
+    private final ReentrantLock backfillLock = new ReentrantLock();
+
+    /**
+     * Constructor
+     *
+     * @param mongoTemplate         plantilla de MongoDB
+     * @param salesRollupRepository repositorio de acumulados
+     */
+    @Autowired
+    public SalesRollupServiceImpl(MongoTemplate mongoTemplate, SalesRollupRepository salesRollupRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.salesRollupRepository = salesRollupRepository;
+    }
+
+    /**
+     * Suma un pedido creado a los acumulados
+     *
+     * @param order pedido creado
+     */
+    @Override
+    public void recordCreated(Order order) {
+        Map<String, SalesRollup> deltas = new LinkedHashMap<>();
+        collect(deltas, order, 1);
+        apply(deltas);
+    }
+
+    /**
+     * Suma varios pedidos creados a los acumulados en una única escritura
+     *
+     * @param orders pedidos creados
+     */
+    @Override
+    public void recordCreated(Collection<Order> orders) {
+        Map<String, SalesRollup> deltas = new LinkedHashMap<>();
+        orders.forEach(order -> collect(deltas, order, 1));
+        apply(deltas);
+    }
+
+    /**
+     * Sustituye en los acumulados un pedido por su versión actualizada
+     *
+     * @param before pedido antes de actualizarlo
+     * @param after  pedido actualizado
+     */
+    @Override
+    public void recordUpdated(Order before, Order after) {
+        Map<String, SalesRollup> deltas = new LinkedHashMap<>();
+        collect(deltas, before, -1);
+        collect(deltas, after, 1);
+        apply(deltas);
+    }
+
+    /**
+     * Resta un pedido eliminado de los acumulados
+     *
+     * @param order pedido tal y como estaba antes de eliminarlo
+     */
+    @Override
+    public void recordDeleted(Order order) {
+        Map<String, SalesRollup> deltas = new LinkedHashMap<>();
+        collect(deltas, order, -1);
+        apply(deltas);
+    }
+
+    /**
+     * Obtiene el informe de ventas de una dimensión en un rango de días
+     *
+     * @param dimension dimensión
+     * @param key       clave de la dimensión
+     * @param from      día inicial
+     * @param to        día final
+     * @return informe de ventas
+     */
+    @Override
+    public SalesReportDto getReport(RollupDimension dimension, String key, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new SalesBadRangeException(from, to);
+        }
+        log.info("Obteniendo ventas de " + dimension + " " + key + " entre " + from + " y " + to);
+        List<SalesRollup> rollups = salesRollupRepository.findRange(dimension, key, from, to).stream()
+                .filter(rollup -> rollup.getOrders() > 0)
+                .toList();
+        List<SalesDayDto> days = rollups.stream()
+                .map(rollup -> SalesDayDto.builder()
+                        .day(rollup.getDay())
+                        .units(rollup.getUnits())
+                        .revenue(Money.ofCents(rollup.getRevenueCents()).doubleValue())
+                        .orders(rollup.getOrders())
+                        .build())
+                .toList();
+        return SalesReportDto.builder()
+                .dimension(dimension)
+                .key(key)
+                .from(from)
+                .to(to)
+                .units(days.stream().mapToLong(SalesDayDto::getUnits).sum())
+                .revenue(Money.ofCents(rollups.stream().mapToLong(SalesRollup::getRevenueCents).sum()).doubleValue())
+                .orders(days.stream().mapToLong(SalesDayDto::getOrders).sum())
+                .days(days)
+                .build();
+    }
+
+    /**
+     * Reconstruye todos los acumulados a partir de los pedidos con pipelines de agregación
+     *
+     * @return resultado de la reconstrucción
+     */
+    @Override
+    public SalesBackfillResult backfill() {
+        if (!backfillLock.tryLock()) {
+            throw new SalesBackfillInProgressException();
+        }
+        try {
+            log.info("Reconstruyendo acumulados de ventas");
+            long start = System.nanoTime();
+            List<SalesRollup> dayRollups = aggregate(RollupDimension.DAY, null, false);
+            List<SalesRollup> shopRollups = aggregate(RollupDimension.SHOP, "shopId", false);
+            List<SalesRollup> bookRollups = aggregate(RollupDimension.BOOK, "orderLines.bookId", true);
+            mongoTemplate.remove(new Query(), SalesRollup.class);
+            insert(dayRollups);
+            insert(shopRollups);
+            insert(bookRollups);
+            return SalesBackfillResult.builder()
+                    .dayRollups(dayRollups.size())
+                    .shopRollups(shopRollups.size())
+                    .bookRollups(bookRollups.size())
+                    .durationMs((System.nanoTime() - start) / 1_000_000)
+                    .finishedAt(LocalDateTime.now())
+                    .build();
+        } finally {
+            backfillLock.unlock();
+        }
+    }
+
+    /**
+     * Añade a los incrementos la contribución de un pedido
+     *
+     * @param deltas incrementos por ID de acumulado
+     * @param order  pedido
+     * @param sign   1 para sumar, -1 para restar
+     */
+    private void collect(Map<String, SalesRollup> deltas, Order order, int sign) {
+        if (order == null || Boolean.TRUE.equals(order.getIsDeleted()) || order.getOrderLines() == null) {
+            return;
+        }
+        LocalDate day = order.getCreatedAt().toLocalDate();
+        long units = order.getOrderLines().stream().mapToLong(OrderLine::getQuantity).sum();
+        add(deltas, RollupDimension.DAY, ALL_KEY, day, sign * units, sign * order.getTotal().cents(), sign);
+        add(deltas, RollupDimension.SHOP, String.valueOf(order.getShopId()), day, sign * units,
+                sign * order.getTotal().cents(), sign);
+        Map<String, long[]> books = new LinkedHashMap<>();
+        for (OrderLine line : order.getOrderLines()) {
+            long[] book = books.computeIfAbsent(String.valueOf(line.getBookId()), k -> new long[2]);
+            book[0] += line.getQuantity();
+            book[1] += line.getTotal().cents();
+        }
+        books.forEach((book, totals) -> add(deltas, RollupDimension.BOOK, book, day, sign * totals[0],
+                sign * totals[1], sign));
+    }
+
+    /**
+     * Acumula un incremento
+     *
+     * @param deltas    incrementos por ID de acumulado
+     * @param dimension dimensión
+     * @param key       clave de la dimensión
+     * @param day       día
+     * @param units        unidades
+     * @param revenueCents ingresos en céntimos
+     * @param orders       pedidos
+     */
+    private void add(Map<String, SalesRollup> deltas, RollupDimension dimension, String key, LocalDate day,
+                     long units, long revenueCents, long orders) {
+        String id = SalesRollup.idOf(dimension, key, day);
+        SalesRollup delta = deltas.computeIfAbsent(id, k -> SalesRollup.builder()
+                .id(k).dimension(dimension).key(key).day(day).build());
+        delta.setUnits(delta.getUnits() + units);
+        delta.setRevenueCents(delta.getRevenueCents() + revenueCents);
+        delta.setOrders(delta.getOrders() + orders);
+    }
+
+    /**
+     * Aplica los incrementos con upserts en una única operación bulk
+     *
+     * @param deltas incrementos por ID de acumulado
+     */
+    private void apply(Map<String, SalesRollup> deltas) {
+        List<SalesRollup> changes = deltas.values().stream()
+                .filter(delta -> delta.getUnits() != 0 || delta.getRevenueCents() != 0 || delta.getOrders() != 0)
+                .toList();
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class);
+            for (SalesRollup delta : changes) {
+                bulk.upsert(new Query(where("_id").is(delta.getId())), new Update()
+                        .setOnInsert("dimension", delta.getDimension())
+                        .setOnInsert("key", delta.getKey())
+                        .setOnInsert("day", delta.getDay())
+                        .inc("units", delta.getUnits())
+                        .inc("revenueCents", delta.getRevenueCents())
+                        .inc("orders", delta.getOrders()));
+            }
+            bulk.execute();
+        } catch (RuntimeException e) {
+            log.error("No se pueden actualizar los acumulados de ventas, ejecute el backfill " + e);
+        }
+    }
+
+    /**
+     * Calcula los acumulados de una dimensión con un pipeline de agregación sobre los pedidos
+     *
+     * @param dimension dimensión
+     * @param keyField  campo del pedido que da la clave, o null para el total diario
+     * @param perLine   si la dimensión se calcula por línea de pedido; los pedidos se cuentan sin repetir
+     * @return acumulados calculados
+     */
+    private List<SalesRollup> aggregate(RollupDimension dimension, String keyField, boolean perLine) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(Aggregation.match(where("isDeleted").ne(true)));
+        operations.add(Aggregation.addFields()
+                .addField("day").withValueOf(DateOperators.DateToString.dateOf("createdAt").toString("%Y-%m-%d")
+                        .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId())))
+                .addField("units").withValueOf(AccumulatorOperators.Sum.sumOf("orderLines.quantity"))
+                .build());
+        String unitsField = "units";
+        String revenueField = "total";
+        if (perLine) {
+            operations.add(Aggregation.unwind("orderLines"));
+            unitsField = "orderLines.quantity";
+            revenueField = "orderLines.total";
+        }
+        Fields groupFields = keyField == null
+                ? Fields.from(Fields.field("day"))
+                : Fields.from(Fields.field("key", keyField), Fields.field("day"));
+        if (perLine) {
+            operations.add(Aggregation.group(groupFields)
+                    .sum(unitsField).as("units")
+                    .sum(revenueField).as("revenue")
+                    .addToSet(Fields.UNDERSCORE_ID).as("orderIds"));
+            operations.add(Aggregation.project("units", "revenue")
+                    .and(ArrayOperators.Size.lengthOfArray("orderIds")).as("orders"));
+        } else {
+            operations.add(Aggregation.group(groupFields)
+                    .sum(unitsField).as("units")
+                    .sum(revenueField).as("revenue")
+                    .count().as("orders"));
+        }
+        return mongoTemplate.aggregate(Aggregation.newAggregation(operations), ORDERS_COLLECTION, Document.class)
+                .getMappedResults().stream()
+                .map(result -> toRollup(dimension, result))
+                .toList();
+    }
+
+    /**
+     * Convierte un resultado de agregación en un acumulado
+     *
+     * @param dimension dimensión
+     * @param result    resultado de la agregación
+     * @return acumulado
+     */
+    private SalesRollup toRollup(RollupDimension dimension, Document result) {
+        Object id = result.get("_id");
+        Document group = id instanceof Document document ? document : result;
+        Object dayValue = id instanceof Document ? group.get("day") : id;
+        String key = dimension == RollupDimension.DAY ? ALL_KEY : String.valueOf(group.get("key"));
+        LocalDate day = LocalDate.parse(String.valueOf(dayValue));
+        return SalesRollup.builder()
+                .id(SalesRollup.idOf(dimension, key, day))
+                .dimension(dimension)
+                .key(key)
+                .day(day)
+                .units(((Number) result.get("units")).longValue())
+                .revenueCents(((Number) result.get("revenue")).longValue())
+                .orders(((Number) result.get("orders")).longValue())
+                .build();
+    }
+
+    /**
+     * Inserta acumulados por lotes
+     *
+     * @param rollups acumulados
+     */
+    private void insert(List<SalesRollup> rollups) {
+        for (int from = 0; from < rollups.size(); from += INSERT_BATCH_SIZE) {
+            mongoTemplate.insert(rollups.subList(from, Math.min(from + INSERT_BATCH_SIZE, rollups.size())),
+                    SalesRollup.class);
+        }
+    }
+}
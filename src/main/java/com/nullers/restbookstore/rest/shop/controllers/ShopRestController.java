@@ -1,9 +1,14 @@
 package com.nullers.restbookstore.rest.shop.controllers;
 
+import com.nullers.restbookstore.pagination.models.PageResponse;
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
+import com.nullers.restbookstore.rest.client.dto.ClientDto;
+import com.nullers.restbookstore.rest.common.PageableRequest;
 import com.nullers.restbookstore.rest.shop.dto.CreateShopDto;
 import com.nullers.restbookstore.rest.shop.dto.GetShopDto;
 import com.nullers.restbookstore.rest.shop.dto.UpdateShopDto;
 import com.nullers.restbookstore.rest.shop.exceptions.ShopNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -57,6 +62,28 @@ public interface ShopRestController {
      */
     ResponseEntity<String> deleteShop(@Valid @PathVariable UUID id);
 
+    /**
+     * Obtiene una página de los libros de una tienda
+     *
+     * @param id              Identificador de la tienda
+     * @param pageableRequest Parámetros de paginación
+     * @param request         Petición HTTP para los enlaces de paginación
+     * @return ResponseEntity con la página de libros
+     */
+    ResponseEntity<PageResponse<GetBookDTO>> getShopBooks(@PathVariable UUID id, @Valid PageableRequest pageableRequest,
+                                                          HttpServletRequest request);
+
+    /**
+     * Obtiene una página de los clientes de una tienda
+     *
+     * @param id              Identificador de la tienda
+     * @param pageableRequest Parámetros de paginación
+     * @param request         Petición HTTP para los enlaces de paginación
+     * @return ResponseEntity con la página de clientes
+     */
+    ResponseEntity<PageResponse<ClientDto>> getShopClients(@PathVariable UUID id, @Valid PageableRequest pageableRequest,
+                                                           HttpServletRequest request);
+
     /**
      * Añade un libro a una tienda
      *
@@ -2,6 +2,8 @@ package com.nullers.restbookstore.rest.shop.controllers;
 
 import com.nullers.restbookstore.pagination.models.PageResponse;
 import com.nullers.restbookstore.pagination.util.PaginationLinksUtils;
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
+import com.nullers.restbookstore.rest.client.dto.ClientDto;
 import com.nullers.restbookstore.rest.common.PageableRequest;
 import com.nullers.restbookstore.rest.common.PageableUtil;
 import com.nullers.restbookstore.rest.shop.dto.CreateShopDto;
@@ -162,6 +164,66 @@ public class ShopRestControllerImpl implements ShopRestController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Obtiene una página de los libros de una tienda.
+     *
+     * @param id              Id de la tienda.
+     * @param pageableRequest Parámetros de paginación.
+     * @param request         Petición HTTP para los enlaces de paginación.
+     * @return ResponseEntity con la página de libros de la tienda.
+     */
+    @Operation(summary = "Obtiene los libros de una tienda", description = "Obtiene una página de los libros de una tienda específica por su ID.")
+    @Parameter(name = "id", description = "Identificador de la tienda", required = true)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Libros de la tienda obtenidos con éxito"),
+            @ApiResponse(responseCode = "404", description = "Tienda no encontrada")
+    })
+    @GetMapping("/{id}/books")
+    @Override
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<PageResponse<GetBookDTO>> getShopBooks(
+            @PathVariable UUID id,
+            @Parameter(description = "Parámetros de paginación") @Valid PageableRequest pageableRequest,
+            HttpServletRequest request
+    ) {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(request.getRequestURL().toString());
+        var pageResult = shopService.getShopBooks(id, PageRequest.of(pageableRequest.getPage(),
+                pageableRequest.getSize(), PageableUtil.getSort(pageableRequest)));
+        return ResponseEntity.ok()
+                .header("link", paginationLinksUtils.createLinkHeader(pageResult, uriBuilder))
+                .body(PageResponse.of(pageResult, pageableRequest.getOrderBy(), pageableRequest.getOrder()));
+    }
+
+    /**
+     * Obtiene una página de los clientes de una tienda.
+     *
+     * @param id              Id de la tienda.
+     * @param pageableRequest Parámetros de paginación.
+     * @param request         Petición HTTP para los enlaces de paginación.
+     * @return ResponseEntity con la página de clientes de la tienda.
+     */
+    @Operation(summary = "Obtiene los clientes de una tienda", description = "Obtiene una página de los clientes de una tienda específica por su ID.")
+    @Parameter(name = "id", description = "Identificador de la tienda", required = true)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Clientes de la tienda obtenidos con éxito"),
+            @ApiResponse(responseCode = "404", description = "Tienda no encontrada")
+    })
+    @GetMapping("/{id}/clients")
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageResponse<ClientDto>> getShopClients(
+            @PathVariable UUID id,
+            @Parameter(description = "Parámetros de paginación") @Valid PageableRequest pageableRequest,
+            HttpServletRequest request
+    ) {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(request.getRequestURL().toString());
+        var pageResult = shopService.getShopClients(id, PageRequest.of(pageableRequest.getPage(),
+                pageableRequest.getSize(), PageableUtil.getSort(pageableRequest)));
+        return ResponseEntity.ok()
+                .header("link", paginationLinksUtils.createLinkHeader(pageResult, uriBuilder))
+                .body(PageResponse.of(pageResult, pageableRequest.getOrderBy(), pageableRequest.getOrder()));
+    }
+
     /**
      * Añade un libro a una tienda específica.
      *
@@ -9,7 +9,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -33,11 +32,11 @@ public class GetShopDto {
     @NotNull(message = "La ubicación no puede estar vacía")
     private Address location;
 
-    @Schema(description = "IDs de libros asociados a la tienda")
-    private Set<Long> booksId;
+    @Schema(description = "Número de libros asociados a la tienda", example = "10")
+    private long booksCount;
 
-    @Schema(description = "IDs de clientes asociados a la tienda")
-    private Set<UUID> clientsId;
+    @Schema(description = "Número de clientes asociados a la tienda", example = "10")
+    private long clientsCount;
 
     @Schema(description = "Fecha de creación", example = "2021-08-01T00:00:00.000Z")
     private LocalDateTime createdAt;
@@ -1,18 +1,15 @@
 package com.nullers.restbookstore.rest.shop.mappers;
 
 
-import com.nullers.restbookstore.rest.book.model.Book;
-import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.shop.dto.CreateShopDto;
 import com.nullers.restbookstore.rest.shop.dto.GetShopDto;
 import com.nullers.restbookstore.rest.shop.dto.UpdateShopDto;
 import com.nullers.restbookstore.rest.shop.model.Shop;
+import com.nullers.restbookstore.util.UuidV7;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Clase ShopMapperImpl
@@ -31,7 +28,7 @@ public class ShopMapperImpl implements ShopMapper {
      */
     public Shop toShop(CreateShopDto dto) {
         return Shop.builder()
-                .id(UUID.randomUUID())
+                .id(UuidV7.randomUuid())
                 .name(dto.getName())
                 .location(dto.getLocation())
                 .createdAt(LocalDateTime.now())
@@ -66,8 +63,8 @@ public class ShopMapperImpl implements ShopMapper {
                 .location(shop.getLocation())
                 .createdAt(shop.getCreatedAt())
                 .updatedAt(shop.getUpdatedAt())
-                .booksId(shop.getBooks().stream().map(Book::getId).collect(Collectors.toSet()))
-                .clientsId(shop.getClients().stream().map(Client::getId).collect(Collectors.toSet()))
+                .booksCount(shop.getBooksCount())
+                .clientsCount(shop.getClientsCount())
                 .build();
     }
 
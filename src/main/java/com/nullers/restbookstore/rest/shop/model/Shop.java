@@ -4,12 +4,14 @@ package com.nullers.restbookstore.rest.shop.model;
 import com.nullers.restbookstore.rest.book.model.Book;
 import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.TimeOrderedUuid;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Formula;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -32,7 +34,7 @@ import java.util.UUID;
 public class Shop {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Schema(description = "ID", example = "1")
     private UUID id;
 
@@ -68,4 +70,12 @@ public class Shop {
     @Builder.Default()
     private Set<Client> clients = Set.of();
 
+    @Formula("(SELECT COUNT(*) FROM book b WHERE b.book_id = id)")
+    @Schema(description = "Número de libros de la tienda", example = "10")
+    private long booksCount;
+
+    @Formula("(SELECT COUNT(*) FROM clients c WHERE c.client_id = id)")
+    @Schema(description = "Número de clientes de la tienda", example = "10")
+    private long clientsCount;
+
 }
@@ -1,11 +1,20 @@
 package com.nullers.restbookstore.rest.shop.repository;
 
 
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.shop.model.Shop;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -15,5 +24,82 @@ import java.util.UUID;
  */
 @Repository
 public interface ShopRepository extends JpaRepository<Shop, UUID>, JpaSpecificationExecutor<Shop> {
+    /**
+     * Devuelve cuáles de los IDs indicados existen
+     *
+     * @param ids IDs a comprobar
+     * @return IDs existentes
+     */
+    @Query("SELECT s.id FROM Shop s WHERE s.id IN :ids")
+    Set<UUID> findExistingIds(Collection<UUID> ids);
 
+    /**
+     * Devuelve una página de los libros de una tienda
+     *
+     * @param id       ID de la tienda
+     * @param pageable paginación y orden, por los campos del libro
+     * @return página de libros
+     */
+    @Query(value = "SELECT b FROM Book b WHERE b.id IN (SELECT sb.id FROM Shop s JOIN s.books sb WHERE s.id = :id)",
+            countQuery = "SELECT COUNT(sb) FROM Shop s JOIN s.books sb WHERE s.id = :id")
+    Page<Book> findBooksByShopId(UUID id, Pageable pageable);
+
+    /**
+     * Devuelve una página de los clientes de una tienda
+     *
+     * @param id       ID de la tienda
+     * @param pageable paginación y orden, por los campos del cliente
+     * @return página de clientes
+     */
+    @Query(value = "SELECT c FROM Client c WHERE c.id IN (SELECT sc.id FROM Shop s JOIN s.clients sc WHERE s.id = :id)",
+            countQuery = "SELECT COUNT(sc) FROM Shop s JOIN s.clients sc WHERE s.id = :id")
+    Page<Client> findClientsByShopId(UUID id, Pageable pageable);
+
+    /**
+     * Asigna un libro a una tienda actualizando solo la fila del libro
+     *
+     * @param shopId ID de la tienda
+     * @param bookId ID del libro
+     * @return filas actualizadas; 0 si el libro no existe
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE book SET book_id = :shopId WHERE id = :bookId", nativeQuery = true)
+    int addBook(UUID shopId, Long bookId);
+
+    /**
+     * Quita un libro de una tienda si pertenece a ella
+     *
+     * @param shopId ID de la tienda
+     * @param bookId ID del libro
+     * @return filas actualizadas; 0 si el libro no está en la tienda
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE book SET book_id = NULL WHERE id = :bookId AND book_id = :shopId", nativeQuery = true)
+    int removeBook(UUID shopId, Long bookId);
+
+    /**
+     * Asigna un cliente a una tienda actualizando solo la fila del cliente
+     *
+     * @param shopId   ID de la tienda
+     * @param clientId ID del cliente
+     * @return filas actualizadas; 0 si el cliente no existe
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE clients SET client_id = :shopId WHERE id = :clientId", nativeQuery = true)
+    int addClient(UUID shopId, UUID clientId);
+
+    /**
+     * Quita un cliente de una tienda si pertenece a ella
+     *
+     * @param shopId   ID de la tienda
+     * @param clientId ID del cliente
+     * @return filas actualizadas; 0 si el cliente no está en la tienda
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE clients SET client_id = NULL WHERE id = :clientId AND client_id = :shopId", nativeQuery = true)
+    int removeClient(UUID shopId, UUID clientId);
 }
\ No newline at end of file
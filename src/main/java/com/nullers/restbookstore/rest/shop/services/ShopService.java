@@ -1,9 +1,13 @@
 package com.nullers.restbookstore.rest.shop.services;
 
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
+import com.nullers.restbookstore.rest.client.dto.ClientDto;
 import com.nullers.restbookstore.rest.shop.dto.CreateShopDto;
 import com.nullers.restbookstore.rest.shop.dto.GetShopDto;
 import com.nullers.restbookstore.rest.shop.dto.UpdateShopDto;
 import com.nullers.restbookstore.rest.shop.exceptions.ShopNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.UUID;
 
@@ -49,6 +53,26 @@ public interface ShopService {
      */
     void deleteShop(UUID id) throws ShopNotFoundException;
 
+    /**
+     * Obtiene una página de los libros de la tienda
+     *
+     * @param id       Shop id
+     * @param pageable Paginación y orden de los libros
+     * @return Página de GetBookDTO
+     * @throws ShopNotFoundException Si la tienda no se encuentra.
+     */
+    Page<GetBookDTO> getShopBooks(UUID id, Pageable pageable);
+
+    /**
+     * Obtiene una página de los clientes de la tienda
+     *
+     * @param id       Shop id
+     * @param pageable Paginación y orden de los clientes
+     * @return Página de ClientDto
+     * @throws ShopNotFoundException Si la tienda no se encuentra.
+     */
+    Page<ClientDto> getShopClients(UUID id, Pageable pageable);
+
     /**
      * Añade un libro a la tienda
      *
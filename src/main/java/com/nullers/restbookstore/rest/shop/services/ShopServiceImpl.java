@@ -1,13 +1,16 @@
 package com.nullers.restbookstore.rest.shop.services;
 
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
 import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
-import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.mappers.BookMapperImpl;
 import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.client.dto.ClientDto;
 import com.nullers.restbookstore.rest.client.exceptions.ClientNotFound;
-import com.nullers.restbookstore.rest.client.model.Client;
+import com.nullers.restbookstore.rest.client.mappers.ClientMapper;
 import com.nullers.restbookstore.rest.client.repository.ClientRepository;
-import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
+import com.nullers.restbookstore.rest.publisher.mappers.PublisherMapper;
 import com.nullers.restbookstore.rest.shop.dto.CreateShopDto;
 import com.nullers.restbookstore.rest.shop.dto.GetShopDto;
 import com.nullers.restbookstore.rest.shop.dto.UpdateShopDto;
@@ -22,11 +25,13 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Servicio que implementa las operaciones de negocio para la entidad Shop.
@@ -47,6 +52,12 @@ public class ShopServiceImpl implements ShopService {
 
     private final OrderRepository orderRepository;
 
+    private final ReferenceFilters referenceFilters;
+
+    private final BookMapperImpl bookMapper;
+
+    private final PublisherMapper publisherMapper;
+
     /**
      * Constructor que inyecta el repositorio de tiendas y el mapper.
      *
@@ -55,14 +66,20 @@ public class ShopServiceImpl implements ShopService {
      * @param bookRepository   Repositorio para las operaciones de base de datos de Book.
      * @param clientRepository Repositorio para las operaciones de base de datos de Client.
      * @param orderRepository  Repositorio para las operaciones de base de datos de Order.
+     * @param referenceFilters Filtros de referencias para evitar consultas de pedidos innecesarias.
+     * @param bookMapper       Mapper para convertir los libros de la tienda a DTO.
+     * @param publisherMapper  Mapper para convertir las editoriales de los libros.
      */
     @Autowired
-    public ShopServiceImpl(ShopRepository shopRepository, ShopMapperImpl shopMapper, BookRepository bookRepository, ClientRepository clientRepository, OrderRepository orderRepository) {
+    public ShopServiceImpl(ShopRepository shopRepository, ShopMapperImpl shopMapper, BookRepository bookRepository, ClientRepository clientRepository, OrderRepository orderRepository, ReferenceFilters referenceFilters, BookMapperImpl bookMapper, PublisherMapper publisherMapper) {
         this.shopRepository = shopRepository;
         this.shopMapper = shopMapper;
         this.bookRepository = bookRepository;
         this.clientRepository = clientRepository;
         this.orderRepository = orderRepository;
+        this.referenceFilters = referenceFilters;
+        this.bookMapper = bookMapper;
+        this.publisherMapper = publisherMapper;
     }
 
     /**
@@ -152,8 +169,8 @@ public class ShopServiceImpl implements ShopService {
     public void deleteShop(UUID id) {
         Shop shop = shopRepository.findById(id)
                 .orElseThrow(() -> new ShopNotFoundException(SHOP_NOT_FOUND_WITH_ID_MSG + id));
-        Page<Order> order = orderRepository.findByShopId(id, PageRequest.of(0, 1));
-        if (order.getTotalElements() > 0) {
+        if (referenceFilters.mightBeReferenced(ReferenceFilters.Reference.ORDER_SHOP, id)
+                && orderRepository.existsByShopId(id)) {
             throw new ShopHasOrders("La tienda no se puede eliminar porque tiene pedidos asociados");
         }
 
@@ -161,87 +178,112 @@ public class ShopServiceImpl implements ShopService {
     }
 
     /**
-     * Añade un libro a la tienda
+     * Obtiene una página de los libros de la tienda
+     *
+     * @param id       Shop id
+     * @param pageable Paginación y orden de los libros
+     * @return Página de GetBookDTO
+     * @throws ShopNotFoundException Si la tienda no se encuentra.
+     */
+    @Override
+    public Page<GetBookDTO> getShopBooks(UUID id, Pageable pageable) {
+        checkShopExists(id);
+        return shopRepository.findBooksByShopId(id, pageable)
+                .map(b -> bookMapper.toGetBookDTO(b, publisherMapper.toPublisherData(b.getPublisher())));
+    }
+
+    /**
+     * Obtiene una página de los clientes de la tienda
+     *
+     * @param id       Shop id
+     * @param pageable Paginación y orden de los clientes
+     * @return Página de ClientDto
+     * @throws ShopNotFoundException Si la tienda no se encuentra.
+     */
+    @Override
+    public Page<ClientDto> getShopClients(UUID id, Pageable pageable) {
+        checkShopExists(id);
+        return shopRepository.findClientsByShopId(id, pageable).map(ClientMapper::toDto);
+    }
+
+    /**
+     * Añade un libro a la tienda actualizando solo la fila del libro
      *
      * @param id     Shop id
      * @param bookId Book id
      * @return GetShopDto
      */
+    @CacheEvict(value = "shops", allEntries = true)
     @Override
     public GetShopDto addBookToShop(UUID id, Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId.toString()));
-        Shop shop = shopRepository.findById(id)
-                .orElseThrow(() -> new ShopNotFoundException(id.toString()));
-        Set<Book> books = new HashSet<>(shop.getBooks());
-
-        books.add(book);
-        shop.setBooks(books);
-        return shopMapper.toGetShopDto(shopRepository.save(shop));
+        checkShopExists(id);
+        if (shopRepository.addBook(id, bookId) == 0) {
+            throw new BookNotFoundException(bookId.toString());
+        }
+        return getShopById(id);
     }
 
     /**
-     * Elimina un libro de la tienda
+     * Elimina un libro de la tienda actualizando solo la fila del libro
      *
      * @param id     Shop id
      * @param bookId Book id
      * @return GetShopDto
      */
+    @CacheEvict(value = "shops", allEntries = true)
     @Override
     public GetShopDto removeBookFromShop(UUID id, Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(bookId.toString()));
-        Shop shop = shopRepository.findById(id)
-                .orElseThrow(() -> new ShopNotFoundException(id.toString()));
-
-        Set<Book> books = shop.getBooks()
-                .stream()
-                .filter(b -> !b.equals(book))
-                .collect(Collectors.toSet());
-        shop.setBooks(books);
-        return shopMapper.toGetShopDto(shopRepository.save(shop));
+        checkShopExists(id);
+        if (shopRepository.removeBook(id, bookId) == 0 && !bookRepository.existsById(bookId)) {
+            throw new BookNotFoundException(bookId.toString());
+        }
+        return getShopById(id);
     }
 
     /**
-     * Añade un cliente a la tienda
+     * Añade un cliente a la tienda actualizando solo la fila del cliente
      *
      * @param id       Shop id
      * @param clientId Client id
      * @return GetShopDto
      */
+    @CacheEvict(value = "shops", allEntries = true)
     @Override
     public GetShopDto addClientToShop(UUID id, UUID clientId) {
-        Client client = clientRepository.findById(clientId)
-                .orElseThrow(() -> new ClientNotFound("id", clientId.toString()));
-        Shop shop = shopRepository.findById(id)
-                .orElseThrow(() -> new ShopNotFoundException(id.toString()));
-
-        Set<Client> clients = new HashSet<>(shop.getClients());
-        clients.add(client);
-        shop.setClients(clients);
-        return shopMapper.toGetShopDto(shopRepository.save(shop));
+        checkShopExists(id);
+        if (shopRepository.addClient(id, clientId) == 0) {
+            throw new ClientNotFound("id", clientId.toString());
+        }
+        return getShopById(id);
     }
 
     /**
-     * Elimina un cliente de la tienda
+     * Elimina un cliente de la tienda actualizando solo la fila del cliente
      *
      * @param id       Shop id
      * @param clientId Client id
      * @return GetShopDto
      */
+    @CacheEvict(value = "shops", allEntries = true)
     @Override
     public GetShopDto removeClientFromShop(UUID id, UUID clientId) {
-        Client client = clientRepository.findById(clientId)
-                .orElseThrow(() -> new ClientNotFound("id", clientId.toString()));
-        Shop shop = shopRepository.findById(id)
-                .orElseThrow(() -> new ShopNotFoundException(id.toString()));
-
-        Set<Client> clients = shop.getClients()
-                .stream()
-                .filter(c -> !c.equals(client))
-                .collect(Collectors.toSet());
-        shop.setClients(clients);
-        return shopMapper.toGetShopDto(shopRepository.save(shop));
+        checkShopExists(id);
+        if (shopRepository.removeClient(id, clientId) == 0 && !clientRepository.existsById(clientId)) {
+            throw new ClientNotFound("id", clientId.toString());
+        }
+        return getShopById(id);
+    }
+
+    /**
+     * Comprueba que la tienda existe sin cargarla
+     *
+     * @param id Shop id
+     * @throws ShopNotFoundException Si la tienda no se encuentra.
+     */
+    private void checkShopExists(UUID id) {
+        if (!shopRepository.existsById(id)) {
+            throw new ShopNotFoundException(id.toString());
+        }
     }
 
 }
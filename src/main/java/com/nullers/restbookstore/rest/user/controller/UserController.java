@@ -8,6 +8,7 @@ import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
 import com.nullers.restbookstore.rest.orders.models.Order;
 import com.nullers.restbookstore.rest.orders.services.OrderService;
 import com.nullers.restbookstore.rest.user.dto.UserInfoResponse;
+import com.nullers.restbookstore.rest.user.dto.UserProfileResponse;
 import com.nullers.restbookstore.rest.user.dto.UserRequest;
 import com.nullers.restbookstore.rest.user.dto.UserResponse;
 import com.nullers.restbookstore.rest.user.models.User;
@@ -226,6 +227,24 @@ public class UserController {
         return ResponseEntity.ok(usersService.findById(user.getId()));
     }
 
+    /**
+     * Obtiene el resumen del usuario autenticado: el número de pedidos y los más recientes
+     *
+     * @param user Usuario autenticado
+     * @return Resumen del usuario autenticado
+     */
+    @Operation(summary = "Consulta el resumen del perfil que ha iniciado sesión", description = "Número de pedidos y resumen de los pedidos más recientes del perfil que ha iniciado sesión")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumen del usuario"),
+            @ApiResponse(responseCode = "403", description = "Usuario no autorizado")
+    })
+    @GetMapping("/me/summary")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<UserProfileResponse> meSummary(@AuthenticationPrincipal User user) {
+        log.info("Obteniendo resumen del usuario");
+        return ResponseEntity.ok(usersService.findProfileById(user.getId()));
+    }
+
     /**
      * Obtiene los pedidos del usuario autenticado
      *
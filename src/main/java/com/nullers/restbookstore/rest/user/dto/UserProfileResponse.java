@@ -0,0 +1,41 @@
+package com.nullers.restbookstore.rest.user.dto;
+
+import com.nullers.restbookstore.rest.orders.dto.OrderSummary;
+import com.nullers.restbookstore.rest.user.models.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Respuesta del perfil de usuario con el resumen de sus pedidos
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class UserProfileResponse {
+    @Schema(name = "ID", example = "660e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+    @Schema(name = "Nombre", example = "Pedro")
+    private String name;
+    @Schema(name = "Apellido", example = "Gómez")
+    private String surname;
+    @Schema(name = "Nombre de usuario", example = "usuario1")
+    private String username;
+    @Schema(name = "Email", example = "ejemplo@gmail.com")
+    private String email;
+    @Builder.Default
+    @Schema(name = "Roles")
+    private Set<Role> roles = Set.of(Role.USER);
+    @Schema(name = "Número de pedidos", example = "25")
+    private long orderCount;
+    @Schema(name = "Pedidos recientes")
+    private List<OrderSummary> recentOrders;
+    @Builder.Default
+    @Schema(name = "Usuario borrado", example = "true")
+    private Boolean isDeleted = false;
+}
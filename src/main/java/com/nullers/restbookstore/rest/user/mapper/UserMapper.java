@@ -1,6 +1,8 @@
 package com.nullers.restbookstore.rest.user.mapper;
 
+import com.nullers.restbookstore.rest.orders.dto.OrderSummary;
 import com.nullers.restbookstore.rest.user.dto.UserInfoResponse;
+import com.nullers.restbookstore.rest.user.dto.UserProfileResponse;
 import com.nullers.restbookstore.rest.user.dto.UserRequest;
 import com.nullers.restbookstore.rest.user.dto.UserResponse;
 import com.nullers.restbookstore.rest.user.models.User;
@@ -90,4 +92,26 @@ public class UserMapper {
                 .isDeleted(user.getIsDeleted())
                 .build();
     }
+
+    /**
+     * Mapea un usuario al perfil con el resumen de sus pedidos
+     *
+     * @param user         usuario
+     * @param orderCount   número de pedidos del usuario
+     * @param recentOrders resúmenes de los pedidos más recientes
+     * @return perfil del usuario
+     */
+    public UserProfileResponse toUserProfileResponse(User user, long orderCount, List<OrderSummary> recentOrders) {
+        return UserProfileResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .surname(user.getSurname())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .roles(user.getRoles())
+                .orderCount(orderCount)
+                .recentOrders(recentOrders)
+                .isDeleted(user.getIsDeleted())
+                .build();
+    }
 }
@@ -1,5 +1,13 @@
 package com.nullers.restbookstore.rest.user.models;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Clase enumerada para los roles de usuario
  *
@@ -7,5 +15,46 @@ package com.nullers.restbookstore.rest.user.models;
  */
 public enum Role {
     USER,
-    ADMIN
+    ADMIN;
+
+    /**
+     * Conjuntos de autoridades de cada combinación de roles, indexados por la máscara de bits de sus ordinales
+     */
+    private static final List<Set<GrantedAuthority>> AUTHORITIES;
+
+    static {
+        Role[] roles = values();
+        List<GrantedAuthority> single = new ArrayList<>(roles.length);
+        for (Role role : roles) {
+            single.add(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        }
+        List<Set<GrantedAuthority>> combinations = new ArrayList<>(1 << roles.length);
+        for (int mask = 0; mask < 1 << roles.length; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (Role role : roles) {
+                if ((mask & 1 << role.ordinal()) != 0) {
+                    authorities.add(single.get(role.ordinal()));
+                }
+            }
+            combinations.add(Set.copyOf(authorities));
+        }
+        AUTHORITIES = List.copyOf(combinations);
+    }
+
+    /**
+     * Devuelve las autoridades de un conjunto de roles. El conjunto es inmutable y el mismo objeto para todos los
+     * usuarios con los mismos roles, así que no se crea nada en cada llamada
+     *
+     * @param roles roles del usuario, puede ser null
+     * @return autoridades ROLE_ de los roles
+     */
+    public static Set<GrantedAuthority> authorities(Collection<Role> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (Role role : roles) {
+                mask |= 1 << role.ordinal();
+            }
+        }
+        return AUTHORITIES.get(mask);
+    }
 }
@@ -1,5 +1,7 @@
 package com.nullers.restbookstore.rest.user.models;
 
+import com.nullers.restbookstore.rest.common.TimeOrderedUuid;
+import com.nullers.restbookstore.rest.user.services.UserSearchListener;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -9,14 +11,12 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Entidad User
@@ -31,9 +31,10 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "bookstore_user")
+@EntityListeners(UserSearchListener.class)
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Schema(name = "ID", example = "660e8400-e29b-41d4-a716-446655440000")
     private UUID id;
     @NotBlank(message = "El nombre no puede estar vacío")
@@ -68,6 +69,8 @@ public class User implements UserDetails {
     @Builder.Default
     @Schema(name = "Usuario borrado", example = "true")
     private Boolean isDeleted = false;
+    @Schema(name = "Versión mínima válida de sus tokens", example = "0")
+    private Integer tokenVersion;
     @ElementCollection(fetch = FetchType.EAGER)
     @Enumerated(EnumType.STRING)
     @Schema(name = "Roles")
@@ -80,9 +83,7 @@ public class User implements UserDetails {
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
-                .collect(Collectors.toSet());
+        return Role.authorities(roles);
     }
 
     /**
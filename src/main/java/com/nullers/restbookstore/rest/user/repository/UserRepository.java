@@ -1,6 +1,7 @@
 package com.nullers.restbookstore.rest.user.repository;
 
 import com.nullers.restbookstore.rest.user.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -8,8 +9,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -69,4 +72,62 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
     @Modifying
     @Query("UPDATE User u SET u.isDeleted = true WHERE u.id = :id")
     void updateIsDeletedToTrueById(UUID id);
+
+    /**
+     * Devuelve cuáles de los IDs indicados existen
+     *
+     * @param ids IDs a comprobar
+     * @return IDs existentes
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<UUID> findExistingIds(Collection<UUID> ids);
+
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersion> findTokenVersions();
+
+    /**
+     * Devuelve la versión de los tokens de un usuario
+     *
+     * @param id ID del usuario
+     * @return versión, vacía si el usuario no existe
+     */
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.id = :id")
+    Optional<TokenVersion> findTokenVersionById(UUID id);
+
+    /**
+     * Versión mínima válida de los tokens de un usuario
+     */
+    interface TokenVersion {
+        UUID getId();
+
+        Integer getTokenVersion();
+    }
+
+    /**
+     * Devuelve el primer bloque de campos buscables de los usuarios ordenados por id
+     *
+     * @param pageable tamaño del bloque
+     * @return campos buscables
+     */
+    List<SearchFields> findAllByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Devuelve el siguiente bloque de campos buscables de los usuarios ordenados por id
+     *
+     * @param id       último id del bloque anterior
+     * @param pageable tamaño del bloque
+     * @return campos buscables
+     */
+    List<SearchFields> findByIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable);
+
+    /**
+     * Campos de un usuario indexados para las búsquedas
+     */
+    interface SearchFields {
+        UUID getId();
+
+        String getUsername();
+
+        String getEmail();
+    }
 }
@@ -0,0 +1,68 @@
+package com.nullers.restbookstore.rest.user.services;
+
+import com.nullers.restbookstore.rest.common.EntitySearchIndex;
+import com.nullers.restbookstore.rest.user.models.User;
+import com.nullers.restbookstore.rest.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Índice de trigramas del nombre de usuario y el email de los usuarios
+ */
+@Component
+public class UserSearchIndex extends EntitySearchIndex {
+    private final UserRepository userRepository;
+
+    /**
+     * Constructor
+     *
+     * @param userRepository repositorio de usuarios
+     * @param enabled        si el índice se construye al arrancar
+     * @param batchSize      usuarios leídos por consulta durante la construcción
+     * @param maxCandidates  candidatos a partir de los cuales se recorre la tabla
+     */
+    @Autowired
+    public UserSearchIndex(UserRepository userRepository,
+                           @Value("${search.index.enabled:true}") boolean enabled,
+                           @Value("${search.index.batch-size:1000}") int batchSize,
+                           @Value("${search.index.max-candidates:5000}") int maxCandidates) {
+        super("usuarios", 2, enabled, batchSize, maxCandidates);
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Busca los usuarios que pueden cumplir los filtros
+     *
+     * @param username nombre de usuario
+     * @param email    email
+     * @return ids candidatos, o vacío si hay que recorrer la tabla
+     */
+    public Optional<List<UUID>> candidates(Optional<String> username, Optional<String> email) {
+        return candidates(username.orElse(null), email.orElse(null));
+    }
+
+    /**
+     * Indexa un usuario guardado
+     *
+     * @param user usuario
+     */
+    public void index(User user) {
+        index(user.getId(), user.getUsername(), user.getEmail());
+    }
+
+    @Override
+    protected List<Entry> loadAfter(UUID after, int batchSize) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        var fields = after == null ? userRepository.findAllByOrderByIdAsc(page)
+                : userRepository.findByIdGreaterThanOrderByIdAsc(after, page);
+        return fields.stream()
+                .map(u -> entry(u.getId(), u.getUsername(), u.getEmail()))
+                .toList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.nullers.restbookstore.rest.user.services;
+
+import com.nullers.restbookstore.rest.user.models.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Mantiene el índice de búsqueda de usuarios con los usuarios guardados y borrados
+ */
+public class UserSearchListener {
+    private final ObjectProvider<UserSearchIndex> searchIndex;
+
+    /**
+     * Constructor
+     *
+     * @param searchIndex índice de búsqueda de usuarios, si existe en el contexto
+     */
+    @Autowired
+    public UserSearchListener(ObjectProvider<UserSearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Indexa el usuario guardado
+     *
+     * @param user usuario
+     */
+    @PostPersist
+    @PostUpdate
+    public void saved(User user) {
+        searchIndex.ifAvailable(index -> index.index(user));
+    }
+
+    /**
+     * Quita del índice el usuario borrado
+     *
+     * @param user usuario
+     */
+    @PostRemove
+    public void removed(User user) {
+        searchIndex.ifAvailable(index -> index.remove(user.getId()));
+    }
+}
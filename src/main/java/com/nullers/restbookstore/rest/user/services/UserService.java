@@ -1,6 +1,7 @@
 package com.nullers.restbookstore.rest.user.services;
 
 import com.nullers.restbookstore.rest.user.dto.UserInfoResponse;
+import com.nullers.restbookstore.rest.user.dto.UserProfileResponse;
 import com.nullers.restbookstore.rest.user.dto.UserRequest;
 import com.nullers.restbookstore.rest.user.dto.UserResponse;
 import org.springframework.data.domain.Page;
@@ -35,6 +36,14 @@ public interface UserService {
      */
     UserInfoResponse findById(UUID id);
 
+    /**
+     * Busca el perfil de un usuario por ID con el resumen de sus pedidos más recientes
+     *
+     * @param id id del usuario
+     * @return perfil del usuario
+     */
+    UserProfileResponse findProfileById(UUID id);
+
     /**
      * Guarda un usuario
      *
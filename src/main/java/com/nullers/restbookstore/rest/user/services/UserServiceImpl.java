@@ -1,7 +1,10 @@
 package com.nullers.restbookstore.rest.user.services;
 
+import com.nullers.restbookstore.rest.auth.services.jwt.TokenVersionRegistry;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
 import com.nullers.restbookstore.rest.user.dto.UserInfoResponse;
+import com.nullers.restbookstore.rest.user.dto.UserProfileResponse;
 import com.nullers.restbookstore.rest.user.dto.UserRequest;
 import com.nullers.restbookstore.rest.user.dto.UserResponse;
 import com.nullers.restbookstore.rest.user.exceptions.UserNameOrEmailExists;
@@ -15,12 +18,16 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,10 +41,14 @@ import java.util.UUID;
 @CacheConfig(cacheNames = {"users"})
 public class UserServiceImpl implements UserService {
     public static final String USER_NOT_FOUND_MSG = "Usuario no encontrado";
+    public static final int PROFILE_RECENT_ORDERS = 10;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncode;
+    private final ReferenceFilters referenceFilters;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserSearchIndex userSearchIndex;
 
     /**
      * Constructor de la clase
@@ -46,12 +57,18 @@ public class UserServiceImpl implements UserService {
      * @param orderRepository repositorio Order
      * @param userMapper      mapper de usuarios
      * @param passwordEncode  encoder de contraseñas
+     * @param referenceFilters filtros de referencias de pedidos
+     * @param tokenVersionRegistry versiones mínimas válidas de los tokens
+     * @param userSearchIndex índice de búsqueda de usuarios
      */
-    public UserServiceImpl(UserRepository userRepository, OrderRepository orderRepository, UserMapper userMapper, PasswordEncoder passwordEncode) {
+    public UserServiceImpl(UserRepository userRepository, OrderRepository orderRepository, UserMapper userMapper, PasswordEncoder passwordEncode, ReferenceFilters referenceFilters, TokenVersionRegistry tokenVersionRegistry, UserSearchIndex userSearchIndex) {
         this.userRepository = userRepository;
         this.orderRepository = orderRepository;
         this.userMapper = userMapper;
         this.passwordEncode = passwordEncode;
+        this.referenceFilters = referenceFilters;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.userSearchIndex = userSearchIndex;
     }
 
     /**
@@ -87,6 +104,15 @@ public class UserServiceImpl implements UserService {
                 .and(specEmailUser)
                 .and(specIsDeleted);
 
+        // Si el índice de trigramas resuelve la búsqueda, la consulta se limita a los candidatos por clave primaria
+        Optional<List<UUID>> candidates = userSearchIndex.candidates(username, email);
+        if (candidates.isPresent()) {
+            if (candidates.get().isEmpty()) {
+                return new PageImpl<>(List.of(), pageable, 0);
+            }
+            criterio = criterio.and((root, query, criteriaBuilder) -> root.get("id").in(candidates.get()));
+        }
+
         // Debe devolver un Page, por eso usamos el findAll de JPA
         return userRepository.findAll(criterio, pageable).map(userMapper::toUserResponse);
     }
@@ -107,6 +133,21 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserInfoResponse(user, order);
     }
 
+    /**
+     * Busca el perfil de un usuario por ID con el número de pedidos y el resumen de los más recientes
+     *
+     * @param id id del usuario
+     * @return perfil del usuario
+     */
+    @Override
+    public UserProfileResponse findProfileById(UUID id) {
+        log.info("Buscando perfil de usuario por id: " + id);
+        var user = userRepository.findById(id).orElseThrow(() -> new UserNotFound(USER_NOT_FOUND_MSG));
+        var recentOrders = orderRepository.findSummariesByClientId(id,
+                PageRequest.of(0, PROFILE_RECENT_ORDERS, Sort.by(Sort.Direction.DESC, "createdAt")));
+        return userMapper.toUserProfileResponse(user, orderRepository.countByClientId(id), recentOrders);
+    }
+
     /**
      * Guarda un usuario en la base de datos
      *
@@ -145,7 +186,7 @@ public class UserServiceImpl implements UserService {
                     });
         }
         userRequest.setPassword(passwordEncode.encode(userRequest.getPassword()));
-        return userMapper.toUserResponse(userRepository.save(userMapper.toUser(userRequest, id)));
+        return saveAndRevokeTokens(userMapper.toUser(userRequest, id), actualUser);
     }
 
     /**
@@ -164,7 +205,22 @@ public class UserServiceImpl implements UserService {
         if (userRequest.getPassword() != null) {
             userRequest.setPassword(passwordEncode.encode(userRequest.getPassword()));
         }
-        return userMapper.toUserResponse(userRepository.save(userMapper.toUser(userRequest, id)));
+        return saveAndRevokeTokens(userMapper.toUser(userRequest, id), user.get());
+    }
+
+    /**
+     * Guarda un usuario modificado y revoca los tokens emitidos antes del cambio
+     *
+     * @param user       usuario modificado
+     * @param storedUser usuario antes del cambio
+     * @return usuario guardado
+     */
+    private UserResponse saveAndRevokeTokens(User user, User storedUser) {
+        int tokenVersion = TokenVersionRegistry.nextVersion(storedUser);
+        user.setTokenVersion(tokenVersion);
+        UserResponse response = userMapper.toUserResponse(userRepository.save(user));
+        tokenVersionRegistry.revoke(user.getId(), tokenVersion);
+        return response;
     }
 
     /**
@@ -178,10 +234,14 @@ public class UserServiceImpl implements UserService {
     public void deleteById(UUID id) {
         log.info("Borrando usuario por id: " + id);
         User user = userRepository.findById(id).orElseThrow(() -> new UserNotFound(USER_NOT_FOUND_MSG));
-        if (orderRepository.existsByUserId(id)) {
+        int tokenVersion = TokenVersionRegistry.nextVersion(user);
+        if (referenceFilters.mightBeReferenced(ReferenceFilters.Reference.ORDER_USER, id)
+                && orderRepository.existsByUserId(id)) {
+            user.setTokenVersion(tokenVersion);
             userRepository.updateIsDeletedToTrueById(id);
         } else {
             userRepository.delete(user);
         }
+        tokenVersionRegistry.revoke(id, tokenVersion);
     }
 }
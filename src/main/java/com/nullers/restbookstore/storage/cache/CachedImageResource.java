@@ -0,0 +1,156 @@
+package com.nullers.restbookstore.storage.cache;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.lang.NonNull;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Recurso servido desde la caché de imágenes fuera del heap
+ * <p>
+ * El contenido se lee directamente del ByteBuffer directo compartido (mediante un duplicado de solo lectura),
+ * sin copiar el fichero completo al heap.
+ */
+public class CachedImageResource extends AbstractResource {
+    private final String filename;
+    private final Path path;
+    private final ByteBuffer content;
+    private final long lastModified;
+
+    /**
+     * Constructor
+     *
+     * @param filename     nombre del fichero
+     * @param path         ruta del fichero en el almacenamiento
+     * @param content      contenido del fichero
+     * @param lastModified fecha de modificación del fichero
+     */
+    CachedImageResource(String filename, Path path, ByteBuffer content, long lastModified) {
+        this.filename = filename;
+        this.path = path;
+        this.content = content;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Descripción del recurso
+     *
+     * @return descripción
+     */
+    @Override
+    @NonNull
+    public String getDescription() {
+        return "Cached image [" + filename + "]";
+    }
+
+    /**
+     * Nombre del fichero
+     *
+     * @return nombre del fichero
+     */
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Fichero del almacenamiento del que procede el recurso
+     *
+     * @return fichero
+     */
+    @Override
+    @NonNull
+    public File getFile() {
+        return path.toFile();
+    }
+
+    /**
+     * El recurso siempre existe mientras está en caché
+     *
+     * @return true
+     */
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    /**
+     * Tamaño del contenido
+     *
+     * @return bytes del contenido
+     */
+    @Override
+    public long contentLength() {
+        return content.remaining();
+    }
+
+    /**
+     * Fecha de modificación del fichero cacheado
+     *
+     * @return fecha de modificación
+     */
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Stream de lectura sobre el contenido fuera del heap
+     *
+     * @return stream de lectura
+     */
+    @Override
+    @NonNull
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(content.duplicate());
+    }
+
+    /**
+     * InputStream que lee de un ByteBuffer
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructor
+         *
+         * @param buffer buffer a leer
+         */
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@NonNull byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.min(Math.max(n, 0), buffer.remaining());
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+    }
+}
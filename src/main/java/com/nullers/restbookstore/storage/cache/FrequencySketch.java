@@ -0,0 +1,87 @@
+package com.nullers.restbookstore.storage.cache;
+
+/**
+ * Contador aproximado de frecuencias de acceso (count-min sketch con envejecimiento)
+ * <p>
+ * Cada clave incrementa un contador en cada una de las cuatro filas. La frecuencia estimada es el mínimo de los
+ * cuatro contadores. Cuando el número de incrementos llega al tamaño de muestra todos los contadores se dividen entre
+ * dos, de forma que las imágenes que dejaron de pedirse pierden peso. No es seguro para hilos: el llamante sincroniza.
+ */
+class FrequencySketch {
+    private static final int ROWS = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int[] SEEDS = {0x97cb3127, 0x9e3779b9, 0x85ebca6b, 0xc2b2ae35};
+
+    private final int[] table;
+    private final int rowMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Constructor
+     *
+     * @param expectedEntries número aproximado de claves distintas a contar
+     */
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(expectedEntries, 16) - 1) << 1;
+        this.table = new int[width * ROWS];
+        this.rowMask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    /**
+     * Registra un acceso
+     *
+     * @param key clave accedida
+     */
+    void increment(String key) {
+        int hash = key.hashCode();
+        for (int row = 0; row < ROWS; row++) {
+            int index = indexOf(hash, row);
+            if (table[index] < MAX_COUNT) {
+                table[index]++;
+            }
+        }
+        if (++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Estima la frecuencia de una clave
+     *
+     * @param key clave
+     * @return frecuencia estimada
+     */
+    int frequency(String key) {
+        int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < ROWS; row++) {
+            frequency = Math.min(frequency, table[indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+
+    /**
+     * Calcula la posición del contador de una fila
+     *
+     * @param hash hash de la clave
+     * @param row  fila
+     * @return posición en la tabla
+     */
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+        h ^= h >>> 16;
+        return row * (rowMask + 1) + (h & rowMask);
+    }
+
+    /**
+     * Envejece los contadores dividiéndolos entre dos
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions >>>= 1;
+    }
+}
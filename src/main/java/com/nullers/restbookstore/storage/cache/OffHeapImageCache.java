@@ -0,0 +1,269 @@
+package com.nullers.restbookstore.storage.cache;
+
+import com.nullers.restbookstore.storage.dto.ImageCacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché de imágenes pequeñas fuera del heap
+ * <p>
+ * Las imágenes se guardan en ByteBuffers directos. Una imagen solo se admite cuando su frecuencia de peticiones
+ * alcanza el umbral y, si la caché está llena, supera a la de todas las imágenes que habría que expulsar (en orden
+ * LRU) para hacerle sitio. La memoria de las imágenes expulsadas se libera cuando el GC recoge sus buffers, por lo
+ * que -XX:MaxDirectMemorySize debe dejar margen sobre la capacidad configurada.
+ */
+@Component
+@Slf4j
+public class OffHeapImageCache {
+    private final long capacityBytes;
+    private final long maxEntryBytes;
+    private final int admissionThreshold;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private long usedBytes;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param capacityKb         capacidad total de la caché en KB (0 la deshabilita)
+     * @param maxEntryKb         tamaño máximo en KB de una imagen cacheable
+     * @param admissionThreshold peticiones necesarias para admitir una imagen
+     */
+    @Autowired
+    public OffHeapImageCache(@Value("${upload.cache.capacity-kb:65536}") long capacityKb,
+                             @Value("${upload.cache.max-entry-kb:256}") long maxEntryKb,
+                             @Value("${upload.cache.admission-threshold:2}") int admissionThreshold) {
+        this.capacityBytes = Math.max(capacityKb, 0) * 1024;
+        this.maxEntryBytes = Math.min(Math.max(maxEntryKb, 0) * 1024, Integer.MAX_VALUE);
+        this.admissionThreshold = Math.max(admissionThreshold, 1);
+        long expectedEntries = this.maxEntryBytes == 0 ? 16 : this.capacityBytes / Math.max(this.maxEntryBytes / 4, 1);
+        this.sketch = new FrequencySketch((int) Math.min(Math.max(expectedEntries, 16), 1 << 20));
+    }
+
+    /**
+     * Crea una caché deshabilitada
+     *
+     * @return caché que nunca almacena imágenes
+     */
+    public static OffHeapImageCache disabled() {
+        return new OffHeapImageCache(0, 0, 1);
+    }
+
+    /**
+     * Indica si la caché está habilitada
+     *
+     * @return true si la caché puede almacenar imágenes
+     */
+    public boolean isEnabled() {
+        return capacityBytes > 0 && maxEntryBytes > 0;
+    }
+
+    /**
+     * Busca una imagen en la caché. Si no está, registra la petición y la admite cuando es lo bastante frecuente
+     *
+     * @param filename nombre del fichero
+     * @param file     ruta del fichero en el almacenamiento
+     * @return recurso servido desde la caché, o vacío si hay que leerlo del disco
+     */
+    public Optional<Resource> get(String filename, Path file) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Entry entry;
+        int frequency;
+        long currentGeneration;
+        lock.lock();
+        try {
+            sketch.increment(filename);
+            entry = entries.get(filename);
+            frequency = sketch.frequency(filename);
+            currentGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+        if (entry != null) {
+            hits.incrementAndGet();
+            bytesServed.addAndGet(entry.size());
+            return Optional.of(new CachedImageResource(filename, file, entry.content(), entry.lastModified()));
+        }
+        misses.incrementAndGet();
+        if (frequency >= admissionThreshold) {
+            admit(filename, file, frequency, currentGeneration);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Elimina una imagen de la caché
+     *
+     * @param filename nombre del fichero
+     */
+    public void invalidate(String filename) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            generation++;
+            Entry removed = entries.remove(filename);
+            if (removed != null) {
+                usedBytes -= removed.size();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vacía la caché
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+            usedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene las métricas de la caché
+     *
+     * @return métricas de la caché
+     */
+    public ImageCacheStats getStats() {
+        long entryCount;
+        long used;
+        lock.lock();
+        try {
+            entryCount = entries.size();
+            used = usedBytes;
+        } finally {
+            lock.unlock();
+        }
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        return ImageCacheStats.builder()
+                .enabled(isEnabled())
+                .entries(entryCount)
+                .usedBytes(used)
+                .capacityBytes(capacityBytes)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRatio(requests == 0 ? 0 : (double) hitCount / requests)
+                .bytesServed(bytesServed.get())
+                .evictions(evictions.get())
+                .rejections(rejections.get())
+                .build();
+    }
+
+    /**
+     * Lee una imagen del disco a un buffer directo y la almacena si gana la comparación de frecuencias
+     *
+     * @param filename   nombre del fichero
+     * @param file       ruta del fichero
+     * @param frequency  frecuencia estimada de la imagen
+     * @param generation generación de invalidaciones vista antes de leer el fichero
+     */
+    private void admit(String filename, Path file, int frequency, long generation) {
+        ByteBuffer content;
+        long lastModified;
+        try {
+            long size = Files.size(file);
+            if (size == 0 || size > maxEntryBytes || size > capacityBytes) {
+                return;
+            }
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+            content = ByteBuffer.allocateDirect((int) size);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (content.hasRemaining() && channel.read(content) >= 0) {
+                    // Lectura directa del canal al buffer fuera del heap
+                }
+            }
+            content.flip();
+        } catch (IOException e) {
+            log.debug("No se puede cachear el fichero " + filename + " " + e);
+            return;
+        }
+        store(filename, content.asReadOnlyBuffer(), lastModified, frequency, generation);
+    }
+
+    /**
+     * Almacena una imagen expulsando las menos recientes si hace falta
+     *
+     * @param filename     nombre del fichero
+     * @param content      contenido del fichero
+     * @param lastModified fecha de modificación del fichero
+     * @param frequency    frecuencia estimada de la imagen
+     * @param generation   generación de invalidaciones vista antes de leer el fichero
+     */
+    private void store(String filename, ByteBuffer content, long lastModified, int frequency, long generation) {
+        long size = content.remaining();
+        lock.lock();
+        try {
+            if (this.generation != generation || entries.containsKey(filename)) {
+                return;
+            }
+            List<String> victims = new ArrayList<>();
+            long freed = 0;
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (usedBytes - freed + size > capacityBytes && iterator.hasNext()) {
+                Map.Entry<String, Entry> victim = iterator.next();
+                if (sketch.frequency(victim.getKey()) >= frequency) {
+                    rejections.incrementAndGet();
+                    return;
+                }
+                victims.add(victim.getKey());
+                freed += victim.getValue().size();
+            }
+            for (String victim : victims) {
+                entries.remove(victim);
+                evictions.incrementAndGet();
+            }
+            usedBytes += size - freed;
+            entries.put(filename, new Entry(content, size, lastModified));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Imagen almacenada en la caché
+     *
+     * @param content      contenido de solo lectura fuera del heap
+     * @param size         tamaño en bytes
+     * @param lastModified fecha de modificación del fichero
+     */
+    private record Entry(ByteBuffer content, long size, long lastModified) {
+    }
+}
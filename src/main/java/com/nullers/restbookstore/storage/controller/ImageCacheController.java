@@ -0,0 +1,63 @@
+package com.nullers.restbookstore.storage.controller;
+
+import com.nullers.restbookstore.storage.cache.OffHeapImageCache;
+import com.nullers.restbookstore.storage.dto.ImageCacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * ImageCacheController
+ */
+@RestController
+@RequestMapping("/api/storage/cache")
+@PreAuthorize("hasRole('ADMIN')")
+public class ImageCacheController {
+    private final OffHeapImageCache imageCache;
+
+    /**
+     * ImageCacheController
+     *
+     * @param imageCache Caché de imágenes fuera del heap
+     */
+    @Autowired
+    public ImageCacheController(OffHeapImageCache imageCache) {
+        this.imageCache = imageCache;
+    }
+
+    /**
+     * Obtiene las métricas de la caché de imágenes
+     *
+     * @return Métricas de la caché
+     */
+    @Operation(summary = "Obtiene las métricas de la caché de imágenes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Métricas de la caché")
+    })
+    @GetMapping
+    public ResponseEntity<ImageCacheStats> getStats() {
+        return ResponseEntity.ok(imageCache.getStats());
+    }
+
+    /**
+     * Vacía la caché de imágenes
+     *
+     * @return Métricas de la caché tras vaciarla
+     */
+    @Operation(summary = "Vacía la caché de imágenes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Métricas de la caché tras vaciarla")
+    })
+    @DeleteMapping
+    public ResponseEntity<ImageCacheStats> clear() {
+        imageCache.clear();
+        return ResponseEntity.ok(imageCache.getStats());
+    }
+}
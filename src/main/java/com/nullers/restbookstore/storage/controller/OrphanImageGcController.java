@@ -0,0 +1,63 @@
+package com.nullers.restbookstore.storage.controller;
+
+import com.nullers.restbookstore.storage.dto.OrphanImageGcStatus;
+import com.nullers.restbookstore.storage.services.OrphanImageGarbageCollector;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * OrphanImageGcController
+ */
+@RestController
+@RequestMapping("/api/storage/gc")
+@PreAuthorize("hasRole('ADMIN')")
+public class OrphanImageGcController {
+    private final OrphanImageGarbageCollector garbageCollector;
+
+    /**
+     * OrphanImageGcController
+     *
+     * @param garbageCollector Recolector de imágenes huérfanas
+     */
+    @Autowired
+    public OrphanImageGcController(OrphanImageGarbageCollector garbageCollector) {
+        this.garbageCollector = garbageCollector;
+    }
+
+    /**
+     * Obtiene el progreso del recolector de imágenes huérfanas
+     *
+     * @return Estado del recolector
+     */
+    @Operation(summary = "Obtiene el progreso del recolector de imágenes huérfanas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del recolector")
+    })
+    @GetMapping
+    public ResponseEntity<OrphanImageGcStatus> getStatus() {
+        return ResponseEntity.ok(garbageCollector.getStatus());
+    }
+
+    /**
+     * Ejecuta un incremento del recolector de imágenes huérfanas
+     *
+     * @return Estado del recolector tras la ejecución
+     */
+    @Operation(summary = "Ejecuta un incremento del recolector de imágenes huérfanas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del recolector tras la ejecución")
+    })
+    @PostMapping
+    public ResponseEntity<OrphanImageGcStatus> runIncrement() {
+        garbageCollector.runIncrement();
+        return ResponseEntity.ok(garbageCollector.getStatus());
+    }
+}
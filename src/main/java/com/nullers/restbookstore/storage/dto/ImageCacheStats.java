@@ -0,0 +1,44 @@
+package com.nullers.restbookstore.storage.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Métricas de la caché de imágenes fuera del heap
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ImageCacheStats {
+    @Schema(description = "Caché habilitada", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Imágenes en caché", example = "2500")
+    private long entries;
+
+    @Schema(description = "Bytes ocupados", example = "52428800")
+    private long usedBytes;
+
+    @Schema(description = "Capacidad en bytes", example = "67108864")
+    private long capacityBytes;
+
+    @Schema(description = "Aciertos", example = "98000")
+    private long hits;
+
+    @Schema(description = "Fallos", example = "2000")
+    private long misses;
+
+    @Schema(description = "Tasa de aciertos", example = "0.98")
+    private double hitRatio;
+
+    @Schema(description = "Bytes servidos desde la caché", example = "1073741824")
+    private long bytesServed;
+
+    @Schema(description = "Imágenes expulsadas", example = "120")
+    private long evictions;
+
+    @Schema(description = "Admisiones rechazadas por frecuencia", example = "300")
+    private long rejections;
+}
@@ -0,0 +1,49 @@
+package com.nullers.restbookstore.storage.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado y progreso del recolector de imágenes huérfanas
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class OrphanImageGcStatus {
+    @Schema(description = "Recolector habilitado", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Ciclo en curso (marcado realizado y barrido pendiente)", example = "true")
+    private boolean cycleInProgress;
+
+    @Schema(description = "Último fichero revisado en el ciclo actual, por orden de nombre", example = "1693395867215_book.png")
+    private String cursor;
+
+    @Schema(description = "Imágenes referenciadas en el último marcado", example = "1200")
+    private long referencedImages;
+
+    @Schema(description = "Ciclos completados", example = "3")
+    private long completedCycles;
+
+    @Schema(description = "Ficheros revisados en total", example = "4000")
+    private long filesScanned;
+
+    @Schema(description = "Ficheros huérfanos eliminados en total", example = "25")
+    private long filesDeleted;
+
+    @Schema(description = "Bytes liberados en total", example = "1048576")
+    private long bytesReclaimed;
+
+    @Schema(description = "Errores producidos en total", example = "0")
+    private long errors;
+
+    @Schema(description = "Inicio del último ciclo", example = "2021-03-05T11:11:11")
+    private LocalDateTime lastCycleStartedAt;
+
+    @Schema(description = "Fin del último ciclo completado", example = "2021-03-05T11:11:11")
+    private LocalDateTime lastCycleFinishedAt;
+}
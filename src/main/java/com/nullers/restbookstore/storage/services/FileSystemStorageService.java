@@ -1,11 +1,14 @@
 package com.nullers.restbookstore.storage.services;
 
+import com.nullers.restbookstore.config.jfr.FileStoreEvent;
+import com.nullers.restbookstore.storage.cache.OffHeapImageCache;
 import com.nullers.restbookstore.storage.controller.StorageController;
 import com.nullers.restbookstore.storage.exceptions.StorageBadRequest;
 import com.nullers.restbookstore.storage.exceptions.StorageInternal;
 import com.nullers.restbookstore.storage.exceptions.StorageNotFound;
 import com.nullers.restbookstore.util.Util;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -26,6 +29,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -35,15 +39,28 @@ import java.util.stream.Stream;
 @Slf4j
 public class FileSystemStorageService implements StorageService {
     private final Path rootLocation;
+    private final OffHeapImageCache imageCache;
     private final List<String> currentImageTypesAllowed = List.of("png", "jpeg", "jpg");
 
     /**
-     * Constructor
+     * Constructor without image cache
      *
      * @param path Path
      */
-    public FileSystemStorageService(@Value("${upload.root-location}") String path) {
+    public FileSystemStorageService(String path) {
+        this(path, OffHeapImageCache.disabled());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param path       Path
+     * @param imageCache Off-heap cache of the most requested images
+     */
+    @Autowired
+    public FileSystemStorageService(@Value("${upload.root-location}") String path, OffHeapImageCache imageCache) {
         this.rootLocation = Paths.get(path);
+        this.imageCache = imageCache;
     }
 
     /**
@@ -57,6 +74,26 @@ public class FileSystemStorageService implements StorageService {
      */
     @Override
     public String store(MultipartFile file, List<String> fileTypes, String name) throws IOException {
+        FileStoreEvent event = FileStoreEvent.start();
+        String stored = null;
+        try {
+            stored = storeFile(file, fileTypes, name);
+            return stored;
+        } finally {
+            FileStoreEvent.finish(event, file, stored);
+        }
+    }
+
+    /**
+     * Validate and copy the file to the root location
+     *
+     * @param file      File
+     * @param fileTypes File types
+     * @param name      Name
+     * @return Filename
+     * @throws IOException IOException
+     */
+    private String storeFile(MultipartFile file, List<String> fileTypes, String name) throws IOException {
         String filename = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
         String extension = StringUtils.getFilenameExtension(filename);
         String storedFilename = name + "." + extension;
@@ -70,29 +107,44 @@ public class FileSystemStorageService implements StorageService {
                             + filename);
         }
         if (fileTypes != null && !fileTypes.isEmpty() && (!fileTypes.contains(extension) ||
-                !fileTypes.contains(Util.detectFileType(file.getBytes())))) {
+                !fileTypes.contains(Util.detectFileType(readHeader(file))))) {
             throw new StorageBadRequest("Tipo de fichero no permitido " + filename);
         }
         try (InputStream inputStream = file.getInputStream()) {
             log.info("Almacenando fichero " + filename + " como " + storedFilename);
             Files.copy(inputStream, this.rootLocation.resolve(storedFilename),
                     StandardCopyOption.REPLACE_EXISTING);
+            imageCache.invalidate(storedFilename);
             return storedFilename;
         }
     }
 
+    /**
+     * Read only the first bytes of the file, enough to detect its type, without loading it on the heap
+     *
+     * @param file File
+     * @return Header bytes
+     * @throws IOException IOException
+     */
+    private static byte[] readHeader(MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return inputStream.readNBytes(Util.FILE_TYPE_HEADER_BYTES);
+        }
+    }
+
     /**
      * Load all files
+     * The stream is lazy and keeps the directory open, so every caller must close it (try-with-resources)
      *
      * @return Stream of paths
      */
     @Override
     public Stream<Path> loadAll() {
         log.info("Cargando todos los ficheros almacenados");
-        try (Stream<Path> pathStream = Files.walk(this.rootLocation, 1)
-                .filter(path -> !path.equals(this.rootLocation))
-                .map(this.rootLocation::relativize)) {
-            return pathStream.toList().stream();
+        try {
+            return Files.walk(this.rootLocation, 1)
+                    .filter(path -> !path.equals(this.rootLocation))
+                    .map(this.rootLocation::relativize);
         } catch (IOException e) {
             throw new StorageInternal("Fallo al leer ficheros almacenados " + e);
         }
@@ -112,6 +164,7 @@ public class FileSystemStorageService implements StorageService {
 
     /**
      * Load file as resource
+     * Frequently requested small images are served from the off-heap cache
      *
      * @param filename Filename
      * @return Resource
@@ -121,6 +174,10 @@ public class FileSystemStorageService implements StorageService {
         log.info("Cargando fichero " + filename);
         try {
             Path file = load(filename);
+            Optional<Resource> cached = imageCache.get(filename, file);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
             Resource resource = new UrlResource(file.toUri());
             if (resource.exists() || resource.isReadable()) {
                 return resource;
@@ -139,6 +196,7 @@ public class FileSystemStorageService implements StorageService {
     public void deleteAll() {
         log.info("Eliminando todos los ficheros almacenados");
         FileSystemUtils.deleteRecursively(rootLocation.toFile());
+        imageCache.clear();
     }
 
     /**
@@ -166,6 +224,7 @@ public class FileSystemStorageService implements StorageService {
             log.info("Eliminando fichero " + filename);
             Path file = load(justFilename);
             Files.deleteIfExists(file);
+            imageCache.invalidate(justFilename);
         } catch (IOException e) {
             throw new StorageInternal("No se puede eliminar el fichero " + filename + " " + e);
         }
@@ -0,0 +1,317 @@
+package com.nullers.restbookstore.storage.services;
+
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.client.repository.ClientRepository;
+import com.nullers.restbookstore.rest.publisher.repository.PublisherRepository;
+import com.nullers.restbookstore.storage.dto.OrphanImageGcStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Recolector incremental de imágenes huérfanas (marcado y barrido)
+ * <p>
+ * En el marcado se obtienen por bloques los nombres de imagen referenciados por libros, editoriales y clientes.
+ * En el barrido se recorre el directorio de almacenamiento en orden de nombre, como mucho batch-size ficheros por
+ * ejecución, y se eliminan los ficheros no referenciados más antiguos que el periodo de gracia. El ciclo se
+ * reanuda en la siguiente ejecución con los ficheros cuyo nombre va después del último revisado, de modo que los
+ * borrados no desplazan el punto de reanudación.
+ */
+@Service
+@Slf4j
+public class OrphanImageGarbageCollector {
+    private final StorageService storageService;
+    private final BookRepository bookRepository;
+    private final PublisherRepository publisherRepository;
+    private final ClientRepository clientRepository;
+
+    private final boolean enabled;
+    private final long intervalMs;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final int chunkSize;
+    private final long nanosPerDelete;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+    private ScheduledExecutorService scheduler;
+    private Set<String> referenced;
+    private long nextDeleteAt;
+
+    private volatile boolean cycleInProgress;
+    private volatile String cursor;
+    private volatile long referencedImages;
+    private volatile LocalDateTime lastCycleStartedAt;
+    private volatile LocalDateTime lastCycleFinishedAt;
+    private final AtomicLong completedCycles = new AtomicLong();
+    private final AtomicLong filesScanned = new AtomicLong();
+    private final AtomicLong filesDeleted = new AtomicLong();
+    private final AtomicLong bytesReclaimed = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param storageService       servicio de almacenamiento
+     * @param bookRepository       repositorio de libros
+     * @param publisherRepository  repositorio de editoriales
+     * @param clientRepository     repositorio de clientes
+     * @param enabled              si el recolector se ejecuta en segundo plano
+     * @param intervalMs           milisegundos entre ejecuciones
+     * @param gracePeriodMinutes   antigüedad mínima de un fichero para poder eliminarlo
+     * @param batchSize            ficheros revisados como máximo por ejecución
+     * @param chunkSize            tamaño de los bloques de lectura de imágenes referenciadas
+     * @param maxDeletesPerSecond  borrados por segundo como máximo (0 sin límite)
+     */
+    @Autowired
+    public OrphanImageGarbageCollector(StorageService storageService, BookRepository bookRepository,
+                                       PublisherRepository publisherRepository, ClientRepository clientRepository,
+                                       @Value("${upload.gc.enabled:false}") boolean enabled,
+                                       @Value("${upload.gc.interval-ms:300000}") long intervalMs,
+                                       @Value("${upload.gc.grace-period-minutes:1440}") long gracePeriodMinutes,
+                                       @Value("${upload.gc.batch-size:500}") int batchSize,
+                                       @Value("${upload.gc.chunk-size:1000}") int chunkSize,
+                                       @Value("${upload.gc.max-deletes-per-second:20}") int maxDeletesPerSecond) {
+        this.storageService = storageService;
+        this.bookRepository = bookRepository;
+        this.publisherRepository = publisherRepository;
+        this.clientRepository = clientRepository;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.gracePeriod = Duration.ofMinutes(gracePeriodMinutes);
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.nanosPerDelete = maxDeletesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxDeletesPerSecond : 0;
+        this.nextDeleteAt = System.nanoTime();
+    }
+
+    /**
+     * Arranca la ejecución periódica si está habilitada
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Recolector de imágenes huérfanas deshabilitado");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "orphan-image-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runIncrement, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Recolector de imágenes huérfanas programado cada " + intervalMs + " ms");
+    }
+
+    /**
+     * Detiene la ejecución periódica
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Ejecuta un incremento del ciclo: marca si es necesario y barre como mucho batch-size ficheros
+     *
+     * @return true si el ciclo se ha completado en esta ejecución
+     */
+    public boolean runIncrement() {
+        if (!runLock.tryLock()) {
+            log.info("Ya hay una ejecución del recolector de imágenes huérfanas en curso");
+            return false;
+        }
+        try {
+            if (referenced == null) {
+                lastCycleStartedAt = LocalDateTime.now();
+                referenced = markReferencedImages();
+                referencedImages = referenced.size();
+                cursor = null;
+                cycleInProgress = true;
+                log.info("Marcado de imágenes completado: " + referencedImages + " imágenes referenciadas");
+            }
+            boolean finished = sweep();
+            if (finished) {
+                referenced = null;
+                cursor = null;
+                cycleInProgress = false;
+                completedCycles.incrementAndGet();
+                lastCycleFinishedAt = LocalDateTime.now();
+                log.info("Ciclo de recolección de imágenes completado: " + filesDeleted.get() + " eliminadas en total");
+            }
+            return finished;
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+            log.error("Error en el recolector de imágenes huérfanas", e);
+            return false;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el estado y el progreso del recolector
+     *
+     * @return estado del recolector
+     */
+    public OrphanImageGcStatus getStatus() {
+        return OrphanImageGcStatus.builder()
+                .enabled(enabled)
+                .cycleInProgress(cycleInProgress)
+                .cursor(cursor)
+                .referencedImages(referencedImages)
+                .completedCycles(completedCycles.get())
+                .filesScanned(filesScanned.get())
+                .filesDeleted(filesDeleted.get())
+                .bytesReclaimed(bytesReclaimed.get())
+                .errors(errors.get())
+                .lastCycleStartedAt(lastCycleStartedAt)
+                .lastCycleFinishedAt(lastCycleFinishedAt)
+                .build();
+    }
+
+    /**
+     * Obtiene los nombres de fichero referenciados por libros, editoriales y clientes
+     *
+     * @return nombres de fichero referenciados
+     */
+    private Set<String> markReferencedImages() {
+        Set<String> names = new HashSet<>();
+        markChunks(bookRepository::findAllImages, names);
+        markChunks(publisherRepository::findAllImages, names);
+        markChunks(clientRepository::findAllImages, names);
+        return names;
+    }
+
+    /**
+     * Recorre por bloques una consulta de imágenes añadiendo sus nombres de fichero
+     *
+     * @param query consulta paginada de imágenes
+     * @param names nombres de fichero referenciados
+     */
+    private void markChunks(Function<Pageable, Slice<String>> query, Set<String> names) {
+        Pageable pageable = PageRequest.of(0, chunkSize, Sort.by("id"));
+        Slice<String> slice;
+        do {
+            slice = query.apply(pageable);
+            slice.forEach(image -> names.add(StringUtils.getFilename(image)));
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+    }
+
+    /**
+     * Barre el siguiente bloque de ficheros del directorio de almacenamiento: los batch-size primeros, en orden de
+     * nombre, de los que van después del último revisado
+     *
+     * @return true si se ha llegado al final del directorio
+     */
+    private boolean sweep() {
+        Instant threshold = Instant.now().minus(gracePeriod);
+        String lastScanned = cursor;
+        TreeSet<String> batch = new TreeSet<>();
+        long pending = 0;
+        try (Stream<Path> files = storageService.loadAll()) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                String filename = iterator.next().getFileName().toString();
+                if (lastScanned != null && filename.compareTo(lastScanned) <= 0) {
+                    continue;
+                }
+                pending++;
+                batch.add(filename);
+                if (batch.size() > batchSize) {
+                    batch.pollLast();
+                }
+            }
+        }
+        for (String filename : batch) {
+            collect(filename, threshold);
+            cursor = filename;
+        }
+        filesScanned.addAndGet(batch.size());
+        return pending <= batchSize;
+    }
+
+    /**
+     * Elimina un fichero si no está referenciado y es más antiguo que el periodo de gracia
+     *
+     * @param filename  nombre del fichero
+     * @param threshold instante a partir del cual los ficheros se consideran recientes
+     */
+    private void collect(String filename, Instant threshold) {
+        if (referenced.contains(filename)) {
+            return;
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(storageService.load(filename), BasicFileAttributes.class);
+            if (!attributes.isRegularFile() || attributes.lastModifiedTime().toInstant().isAfter(threshold)
+                    || isStillReferenced(filename)) {
+                return;
+            }
+            throttle();
+            log.info("Eliminando imagen huérfana " + filename);
+            storageService.delete(filename);
+            filesDeleted.incrementAndGet();
+            bytesReclaimed.addAndGet(attributes.size());
+        } catch (IOException | RuntimeException e) {
+            errors.incrementAndGet();
+            log.warn("No se ha podido recolectar el fichero " + filename + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Comprueba contra la base de datos que el fichero no se ha referenciado después del marcado
+     *
+     * @param filename nombre del fichero
+     * @return true si alguna entidad lo referencia
+     */
+    private boolean isStillReferenced(String filename) {
+        return bookRepository.existsByImageEndingWith(filename)
+                || publisherRepository.existsByImageEndingWith(filename)
+                || clientRepository.existsByImageEndingWith(filename);
+    }
+
+    /**
+     * Espera lo necesario para no superar el número máximo de borrados por segundo
+     */
+    private void throttle() {
+        if (nanosPerDelete <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = nextDeleteAt - now;
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+        nextDeleteAt = Math.max(now, nextDeleteAt) + nanosPerDelete;
+    }
+}
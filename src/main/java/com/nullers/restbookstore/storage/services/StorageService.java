@@ -29,7 +29,7 @@ public interface StorageService {
     String store(MultipartFile file, List<String> fileTypes, String name) throws IOException;
 
     /**
-     * Obtiene todos los ficheros
+     * Obtiene todos los ficheros de forma perezosa (el Stream debe cerrarse tras usarlo)
      *
      * @return Ficheros
      */
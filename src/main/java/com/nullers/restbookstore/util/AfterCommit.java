@@ -0,0 +1,36 @@
+package com.nullers.restbookstore.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ejecuta acciones cuando se confirma la transacción en curso
+ */
+public class AfterCommit {
+
+    /**
+     * Constructor privado para evitar instancias
+     */
+    private AfterCommit() {
+        // Constructor privado para evitar instancias
+    }
+
+    /**
+     * Ejecuta una acción al confirmarse la transacción en curso, o en el momento si no hay ninguna. Si la transacción
+     * se deshace, la acción no se ejecuta
+     *
+     * @param action acción
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.nullers.restbookstore.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de UUIDs seguro para hilos
+ * <p>
+ * Responde "no está" con certeza y "puede estar" con una tasa de falsos positivos acotada por la configuración. Solo
+ * admite inserciones: los elementos eliminados siguen dando "puede estar" hasta que el filtro se reconstruye.
+ */
+public class BloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitMask;
+    private final int hashes;
+
+    /**
+     * Constructor
+     *
+     * @param expectedEntries   número de elementos esperados
+     * @param falsePositiveRate tasa de falsos positivos deseada con ese número de elementos
+     */
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        long entries = Math.max(expectedEntries, 1);
+        double rate = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(rate) / (LN2 * LN2));
+        long size = Long.highestOneBit(Math.max(optimalBits, 64) - 1) << 1;
+        this.bits = new AtomicLongArray(Math.toIntExact(size >>> 6));
+        this.bitMask = size - 1;
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) size / entries * LN2)));
+    }
+
+    /**
+     * Añade un elemento
+     *
+     * @param id elemento
+     */
+    public void put(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+        long h2 = mix(id.getLeastSignificantBits() + 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits.get(word) & mask) == 0) {
+                bits.accumulateAndGet(word, mask, (current, value) -> current | value);
+            }
+        }
+    }
+
+    /**
+     * Indica si un elemento puede estar en el filtro
+     *
+     * @param id elemento
+     * @return false si el elemento no se añadió nunca, true si puede haberse añadido
+     */
+    public boolean mightContain(UUID id) {
+        long h1 = mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+        long h2 = mix(id.getLeastSignificantBits() + 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tamaño del filtro
+     *
+     * @return número de bits
+     */
+    public long bitSize() {
+        return bitMask + 1;
+    }
+
+    /**
+     * Mezcla los bits de un valor (finalizador de SplitMix64)
+     *
+     * @param value valor
+     * @return valor mezclado
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
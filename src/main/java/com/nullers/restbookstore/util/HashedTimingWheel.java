@@ -0,0 +1,161 @@
+package com.nullers.restbookstore.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rueda de tiempo con hash
+ * <p>
+ * Cada elemento se guarda en la casilla del tick en que vence junto con las vueltas completas que le faltan.
+ * Programar y cancelar son O(1) y cada tick solo recorre su casilla, nunca todos los elementos. La rueda no tiene
+ * hilo propio: quien la usa llama a {@link #advance(long)} periódicamente con la hora actual.
+ *
+ * @param <T> tipo de los elementos
+ */
+public class HashedTimingWheel<T> {
+    private final long tickNanos;
+    private final long startNanos;
+    private final Timeout<T>[] buckets;
+    private final int mask;
+    private long nextTick;
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param tickDuration  duración de un tick
+     * @param unit          unidad de la duración
+     * @param ticksPerWheel casillas de la rueda (se redondea a potencia de dos)
+     * @param startNanos    hora de inicio en nanosegundos (System.nanoTime)
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int ticksPerWheel, long startNanos) {
+        this.tickNanos = Math.max(unit.toNanos(tickDuration), 1);
+        this.startNanos = startNanos;
+        int length = Integer.highestOneBit(Math.max(ticksPerWheel, 2) - 1) << 1;
+        this.buckets = (Timeout<T>[]) new Timeout<?>[length];
+        for (int i = 0; i < length; i++) {
+            buckets[i] = new Timeout<>(null);
+            buckets[i].prev = buckets[i];
+            buckets[i].next = buckets[i];
+        }
+        this.mask = length - 1;
+    }
+
+    /**
+     * Programa el vencimiento de un elemento
+     *
+     * @param item      elemento
+     * @param delay     tiempo hasta el vencimiento
+     * @param unit      unidad del tiempo
+     * @param nowNanos  hora actual en nanosegundos
+     * @return vencimiento programado, para poder cancelarlo
+     */
+    public synchronized Timeout<T> schedule(T item, long delay, TimeUnit unit, long nowNanos) {
+        long elapsed = nowNanos - startNanos + Math.max(unit.toNanos(delay), 0);
+        long deadlineTick = Math.max((elapsed + tickNanos - 1) / tickNanos, nextTick);
+        Timeout<T> timeout = new Timeout<>(item);
+        timeout.rounds = (deadlineTick - nextTick) / buckets.length;
+        Timeout<T> head = buckets[(int) (deadlineTick & mask)];
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancela un vencimiento programado
+     *
+     * @param timeout vencimiento
+     * @return true si estaba programado
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.next == null) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Avanza la rueda hasta la hora indicada
+     *
+     * @param nowNanos hora actual en nanosegundos
+     * @return elementos vencidos, en orden de tick
+     */
+    public synchronized List<T> advance(long nowNanos) {
+        long currentTick = (nowNanos - startNanos) / tickNanos;
+        List<T> expired = new ArrayList<>();
+        while (nextTick <= currentTick) {
+            Timeout<T> head = buckets[(int) (nextTick & mask)];
+            Timeout<T> timeout = head.next;
+            while (timeout != head) {
+                Timeout<T> next = timeout.next;
+                if (timeout.rounds <= 0) {
+                    unlink(timeout);
+                    expired.add(timeout.item);
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+            nextTick++;
+        }
+        return expired;
+    }
+
+    /**
+     * Número de vencimientos programados
+     *
+     * @return vencimientos programados
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Quita un vencimiento de su casilla
+     *
+     * @param timeout vencimiento
+     */
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        size--;
+    }
+
+    /**
+     * Vencimiento programado en la rueda
+     *
+     * @param <T> tipo del elemento
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private long rounds;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        /**
+         * Constructor
+         *
+         * @param item elemento
+         */
+        private Timeout(T item) {
+            this.item = item;
+        }
+
+        /**
+         * Devuelve el elemento
+         *
+         * @return elemento
+         */
+        public T getItem() {
+            return item;
+        }
+    }
+}
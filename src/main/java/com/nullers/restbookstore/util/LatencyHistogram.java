@@ -0,0 +1,141 @@
+package com.nullers.restbookstore.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubos logarítmico-lineales, al estilo de HdrHistogram
+ * <p>
+ * Cada potencia de dos se divide en {@value #HALF} cubos iguales, así que el error relativo de un percentil es como
+ * mucho de un 3 %. Los cubos son un array fijo de contadores atómicos y el índice de un valor se calcula con
+ * desplazamientos de bits, de modo que registrar un valor no reserva memoria ni toma bloqueos. Los valores por encima
+ * de {@link #MAX_VALUE} se cuentan en el último cubo.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int HALF = 1 << (SUB_BUCKET_BITS - 1);
+
+    /**
+     * Mayor valor que se distingue, unos 68 segundos en nanosegundos
+     */
+    public static final long MAX_VALUE = (1L << 36) - 1;
+
+    private static final int BUCKETS = indexOf(MAX_VALUE) + 1;
+
+    /**
+     * Estado de un histograma en un momento dado
+     *
+     * @param count  valores registrados
+     * @param sum    suma de los valores
+     * @param max    mayor valor registrado
+     * @param counts valores de cada cubo
+     */
+    public record Snapshot(long count, long sum, long max, long[] counts) {
+
+        /**
+         * Valor por debajo del cual queda el percentil indicado de los valores registrados
+         *
+         * @param percentile percentil, entre 0 y 100
+         * @return mayor valor equivalente del cubo del percentil, sin pasar del máximo; el máximo si cae en el último
+         * cubo, y 0 si no hay valores
+         */
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return i == counts.length - 1 ? max : Math.min(highestEquivalentValue(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Media de los valores registrados
+         *
+         * @return media, o 0 si no hay valores
+         */
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Registra un valor
+     *
+     * @param value valor; los negativos se cuentan como 0
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(Math.min(v, MAX_VALUE)));
+        sum.add(v);
+        long current = max.get();
+        while (v > current && !max.compareAndSet(current, v)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Copia el estado actual. Los valores que se registran durante la copia pueden quedar fuera de ella
+     *
+     * @return estado del histograma
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(count, sum.sum(), max.get(), copy);
+    }
+
+    /**
+     * Cubo de un valor: los valores menores que {@code 2 * HALF} tienen un cubo propio, y los demás se agrupan por su
+     * bit más alto y los {@code SUB_BUCKET_BITS} bits más altos
+     *
+     * @param value valor no negativo
+     * @return índice del cubo
+     */
+    static int indexOf(long value) {
+        if (value < 2 * HALF) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Menor valor de un cubo
+     *
+     * @param index índice del cubo
+     * @return menor valor que cae en el cubo
+     */
+    static long lowestEquivalentValue(int index) {
+        if (index < 2 * HALF) {
+            return index;
+        }
+        int shift = index / HALF - 1;
+        return (long) (index % HALF + HALF) << shift;
+    }
+
+    /**
+     * Mayor valor de un cubo
+     *
+     * @param index índice del cubo
+     * @return mayor valor que cae en el cubo
+     */
+    static long highestEquivalentValue(int index) {
+        return lowestEquivalentValue(index + 1) - 1;
+    }
+}
@@ -0,0 +1,387 @@
+package com.nullers.restbookstore.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Árbol radix (trie compacto) para autocompletar textos por prefijo con las mejores sugerencias precalculadas
+ * <p>
+ * Cada texto se indexa por su comienzo y por el comienzo de cada una de sus palabras, en minúsculas y sin tildes. Las
+ * aristas guardan cadenas en lugar de caracteres sueltos, y cada nodo guarda las {@code topK} entradas de mayor peso
+ * de su subárbol, de modo que una consulta solo recorre el prefijo y devuelve la lista ya calculada. Al añadir, quitar
+ * o cambiar el peso de una entrada se recalculan las listas de los nodos de sus caminos, de abajo arriba.
+ *
+ * @param <K> tipo del identificador de las entradas
+ */
+public class RadixTrie<K> {
+
+    /**
+     * Sugerencia de autocompletado
+     *
+     * @param id     identificador de la entrada
+     * @param text   texto original
+     * @param weight peso
+     * @param <K>    tipo del identificador
+     */
+    public record Completion<K>(K id, String text, long weight) {
+    }
+
+    private static final Comparator<Completion<?>> BY_WEIGHT = Comparator
+            .comparingLong((Completion<?> c) -> c.weight()).reversed()
+            .thenComparing(Completion::text);
+
+    private final int topK;
+    private final Node<K> root = new Node<>(new char[0]);
+    private final Map<K, Completion<K>> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor
+     *
+     * @param topK sugerencias precalculadas por nodo
+     */
+    public RadixTrie(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("El número de sugerencias debe ser positivo");
+        }
+        this.topK = topK;
+    }
+
+    /**
+     * Añade una entrada o sustituye su texto y su peso
+     *
+     * @param id     identificador de la entrada
+     * @param text   texto a autocompletar
+     * @param weight peso; las entradas de más peso se sugieren antes
+     */
+    public void put(K id, String text, long weight) {
+        lock.writeLock().lock();
+        try {
+            Completion<K> previous = entries.get(id);
+            if (previous != null) {
+                if (previous.text().equals(text) && previous.weight() == weight) {
+                    return;
+                }
+                delete(previous);
+            }
+            Completion<K> entry = new Completion<>(id, text, weight);
+            entries.put(id, entry);
+            for (String key : keys(text)) {
+                insert(key, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita una entrada
+     *
+     * @param id identificador de la entrada
+     */
+    public void remove(K id) {
+        lock.writeLock().lock();
+        try {
+            Completion<K> previous = entries.get(id);
+            if (previous != null) {
+                delete(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve las entradas de más peso con algún texto o palabra que empieza por el prefijo
+     *
+     * @param prefix prefijo, sin distinguir mayúsculas ni tildes
+     * @param limit  sugerencias máximas; no pasa de {@code topK}
+     * @return sugerencias ordenadas por peso descendente
+     */
+    public List<Completion<K>> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node<K> node = root;
+            int pos = 0;
+            while (pos < key.length()) {
+                Node<K> child = node.child(key.charAt(pos));
+                if (child == null) {
+                    return List.of();
+                }
+                for (int i = 0; i < child.label.length; i++) {
+                    if (pos + i == key.length()) {
+                        break;
+                    }
+                    if (child.label[i] != key.charAt(pos + i)) {
+                        return List.of();
+                    }
+                }
+                pos += child.label.length;
+                node = child;
+            }
+            return List.copyOf(Arrays.asList(node.top).subList(0, Math.min(Math.max(limit, 0), node.topSize)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de entradas
+     *
+     * @return entradas indexadas
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pasa un texto a minúsculas, sin tildes y con los espacios compactados
+     *
+     * @param text texto
+     * @return texto normalizado
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+                continue;
+            }
+            if (space) {
+                normalized.append(' ');
+                space = false;
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Claves por las que se indexa un texto: desde el comienzo de cada palabra hasta el final
+     *
+     * @param text texto
+     * @return claves normalizadas sin repetir
+     */
+    static Set<String> keys(String text) {
+        String normalized = normalize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = Character.isLetterOrDigit(normalized.charAt(i))
+                    && (i == 0 || !Character.isLetterOrDigit(normalized.charAt(i - 1)));
+            if (i == 0 || wordStart) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private void insert(String key, Completion<K> entry) {
+        List<Node<K>> path = new ArrayList<>();
+        Node<K> node = root;
+        int pos = 0;
+        path.add(node);
+        while (pos < key.length()) {
+            Node<K> child = node.child(key.charAt(pos));
+            if (child == null) {
+                child = new Node<>(key.substring(pos).toCharArray());
+                node.addChild(child);
+                pos = key.length();
+            } else {
+                int common = 0;
+                while (common < child.label.length && pos + common < key.length()
+                        && child.label[common] == key.charAt(pos + common)) {
+                    common++;
+                }
+                if (common < child.label.length) {
+                    Node<K> middle = new Node<>(Arrays.copyOf(child.label, common));
+                    node.replaceChild(child, middle);
+                    child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                    middle.addChild(child);
+                    middle.recomputeTop(topK);
+                    child = middle;
+                }
+                pos += common;
+            }
+            path.add(child);
+            node = child;
+        }
+        node.addTerminal(entry);
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recomputeTop(topK);
+        }
+    }
+
+    private void delete(Completion<K> entry) {
+        entries.remove(entry.id());
+        for (String key : keys(entry.text())) {
+            List<Node<K>> path = new ArrayList<>();
+            Node<K> node = root;
+            int pos = 0;
+            path.add(node);
+            while (node != null && pos < key.length()) {
+                node = node.child(key.charAt(pos));
+                if (node != null) {
+                    pos += node.label.length;
+                    path.add(node);
+                }
+            }
+            if (node == null || pos != key.length()) {
+                continue;
+            }
+            node.removeTerminal(entry.id());
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node<K> current = path.get(i);
+                if (i > 0 && current.terminals == null && current.childCount <= 1) {
+                    Node<K> parent = path.get(i - 1);
+                    if (current.childCount == 0) {
+                        parent.removeChild(current);
+                    } else {
+                        Node<K> only = current.children[0];
+                        char[] merged = Arrays.copyOf(current.label, current.label.length + only.label.length);
+                        System.arraycopy(only.label, 0, merged, current.label.length, only.label.length);
+                        only.label = merged;
+                        parent.replaceChild(current, only);
+                    }
+                    continue;
+                }
+                current.recomputeTop(topK);
+            }
+        }
+    }
+
+    /**
+     * Nodo del árbol: la arista que llega a él, sus hijos ordenados por primer carácter, las entradas cuya clave
+     * termina en él y las mejores entradas de su subárbol
+     */
+    private static final class Node<K> {
+        private char[] label;
+        private Node<K>[] children;
+        private int childCount;
+        private List<Completion<K>> terminals;
+        private Completion<K>[] top;
+        private int topSize;
+
+        @SuppressWarnings("unchecked")
+        Node(char[] label) {
+            this.label = label;
+            this.top = (Completion<K>[]) new Completion<?>[0];
+        }
+
+        Node<K> child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        void addChild(Node<K> child) {
+            if (children == null) {
+                children = (Node<K>[]) new Node<?>[2];
+            } else if (childCount == children.length) {
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+            int index = -indexOf(child.label[0]) - 1;
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            children[index] = child;
+            childCount++;
+        }
+
+        void replaceChild(Node<K> previous, Node<K> replacement) {
+            children[indexOf(previous.label[0])] = replacement;
+        }
+
+        void removeChild(Node<K> child) {
+            int index = indexOf(child.label[0]);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            children[--childCount] = null;
+        }
+
+        void addTerminal(Completion<K> entry) {
+            if (terminals == null) {
+                terminals = new ArrayList<>(1);
+            }
+            terminals.add(entry);
+        }
+
+        void removeTerminal(Object id) {
+            if (terminals != null) {
+                terminals.removeIf(entry -> entry.id().equals(id));
+                if (terminals.isEmpty()) {
+                    terminals = null;
+                }
+            }
+        }
+
+        /**
+         * Recalcula las mejores entradas del subárbol a partir de las propias y las de los hijos
+         *
+         * @param topK entradas a guardar
+         */
+        @SuppressWarnings("unchecked")
+        void recomputeTop(int topK) {
+            List<Completion<K>> candidates = new ArrayList<>();
+            if (terminals != null) {
+                candidates.addAll(terminals);
+            }
+            for (int i = 0; i < childCount; i++) {
+                candidates.addAll(Arrays.asList(children[i].top).subList(0, children[i].topSize));
+            }
+            candidates.sort(BY_WEIGHT);
+            Completion<K>[] best = (Completion<K>[]) new Completion<?>[Math.min(topK, candidates.size())];
+            int size = 0;
+            for (Completion<K> candidate : candidates) {
+                if (size == best.length) {
+                    break;
+                }
+                boolean repeated = false;
+                for (int i = 0; i < size && !repeated; i++) {
+                    repeated = best[i].id().equals(candidate.id());
+                }
+                if (!repeated) {
+                    best[size++] = candidate;
+                }
+            }
+            top = best;
+            topSize = size;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label[0];
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.nullers.restbookstore.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cubo de fichas seguro para hilos
+ * <p>
+ * Empieza lleno con {@code capacity} fichas y se rellena de forma continua a razón de {@code refillTokens} por
+ * periodo, sin superar nunca la capacidad. El instante se recibe como parámetro en nanosegundos para que quien lo usa
+ * decida el reloj.
+ */
+public class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Constructor
+     *
+     * @param capacity     fichas máximas
+     * @param refillTokens fichas que se recuperan por periodo
+     * @param period       duración del periodo
+     * @param unit         unidad del periodo
+     * @param nowNanos     instante actual en nanosegundos
+     */
+    public TokenBucket(long capacity, long refillTokens, long period, TimeUnit unit, long nowNanos) {
+        if (capacity < 1 || refillTokens < 1 || period < 1) {
+            throw new IllegalArgumentException("La capacidad, el relleno y el periodo deben ser positivos");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / unit.toNanos(period);
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Consume una ficha si hay alguna disponible
+     *
+     * @param nowNanos instante actual en nanosegundos
+     * @return true si se ha consumido
+     */
+    public synchronized boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Indica si el cubo está lleno, es decir, si olvidarlo no cambia el resultado de los siguientes consumos
+     *
+     * @param nowNanos instante actual en nanosegundos
+     * @return true si está lleno
+     */
+    public synchronized boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    /**
+     * Nanosegundos hasta que haya una ficha disponible
+     *
+     * @param nowNanos instante actual en nanosegundos
+     * @return nanosegundos de espera, 0 si ya hay una ficha
+     */
+    public synchronized long nanosUntilNextToken(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
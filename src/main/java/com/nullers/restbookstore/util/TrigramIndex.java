@@ -0,0 +1,425 @@
+package com.nullers.restbookstore.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de trigramas en memoria para búsquedas por subcadena sin distinguir mayúsculas
+ * <p>
+ * Cada documento tiene un id UUID y un número fijo de campos de texto. Internamente recibe un número de documento
+ * consecutivo, y cada trigrama de cada campo guarda la lista ordenada de documentos que lo contienen en un array de
+ * int. Una subcadena de al menos tres caracteres solo puede estar en los documentos que contienen todos sus
+ * trigramas, así que la intersección de esas listas da un superconjunto exacto de los resultados: puede incluir
+ * documentos que no la contienen (los trigramas aparecen en otro orden), pero nunca deja fuera uno que sí. Quien lo
+ * usa debe comprobar los candidatos.
+ * <p>
+ * Modificar un documento lo da de baja y le asigna un número nuevo, de modo que las listas siguen ordenadas sin
+ * reordenarlas. Cuando hay más documentos dados de baja que vivos, se compactan las listas y se renumeran.
+ */
+public class TrigramIndex {
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private final int fields;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final UuidIntMap docsById = new UuidIntMap();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private UUID[] ids = new UUID[16];
+    private int nextDoc;
+
+    /**
+     * Constructor
+     *
+     * @param fields número de campos de cada documento
+     */
+    public TrigramIndex(int fields) {
+        if (fields < 1 || fields > 0xFFFF) {
+            throw new IllegalArgumentException("El número de campos debe estar entre 1 y 65535");
+        }
+        this.fields = fields;
+    }
+
+    /**
+     * Indexa un documento, sustituyendo la versión anterior si existe
+     *
+     * @param id     id del documento
+     * @param values valores de los campos, en orden; los null no se indexan
+     */
+    public void put(UUID id, String... values) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            insert(id, values);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa un documento solo si no está ya indexado
+     *
+     * @param id     id del documento
+     * @param values valores de los campos, en orden; los null no se indexan
+     * @return true si se ha indexado
+     */
+    public boolean putIfAbsent(UUID id, String... values) {
+        lock.writeLock().lock();
+        try {
+            if (docsById.get(id) >= 0) {
+                return false;
+            }
+            insert(id, values);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un documento del índice
+     *
+     * @param id id del documento
+     */
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Número de documentos indexados
+     *
+     * @return documentos vivos
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los documentos que pueden contener todas las subcadenas indicadas, cada una en su campo
+     * <p>
+     * Las subcadenas de menos de tres caracteres o con comodines de LIKE ({@code %}, {@code _}, {@code \}) no se
+     * pueden resolver con trigramas y no restringen el resultado.
+     *
+     * @param limit   candidatos máximos
+     * @param queries subcadena de cada campo, en orden; null si el campo no se filtra
+     * @return candidatos, o vacío si ninguna subcadena restringe el resultado o hay más de {@code limit} candidatos
+     */
+    public Optional<List<UUID>> candidates(int limit, String... queries) {
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (int field = 0; field < Math.min(queries.length, fields); field++) {
+                String query = queries[field];
+                if (!isIndexable(query)) {
+                    continue;
+                }
+                String lower = lowerCase(query);
+                for (int i = 0; i + 3 <= lower.length(); i++) {
+                    Postings list = postings.get(key(field, lower, i));
+                    if (list == null) {
+                        return Optional.of(List.of());
+                    }
+                    if (!lists.contains(list)) {
+                        lists.add(list);
+                    }
+                }
+            }
+            if (lists.isEmpty()) {
+                return Optional.empty();
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            int[] docs = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+            int size = docs.length;
+            for (int i = 1; i < lists.size() && size > 0; i++) {
+                size = lists.get(i).retainIn(docs, size);
+            }
+            List<UUID> result = new ArrayList<>(Math.min(size, limit));
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    if (result.size() == limit) {
+                        return Optional.empty();
+                    }
+                    result.add(ids[docs[i]]);
+                }
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si una subcadena se puede resolver con trigramas
+     *
+     * @param query subcadena
+     * @return true si tiene al menos tres caracteres y ningún comodín de LIKE
+     */
+    static boolean isIndexable(String query) {
+        if (query == null || query.length() < 3) {
+            return false;
+        }
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(UUID id, String[] values) {
+        int doc = nextDoc++;
+        if (doc == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[doc] = id;
+        live.set(doc);
+        docsById.put(id, doc);
+        for (int field = 0; field < Math.min(values.length, fields); field++) {
+            if (values[field] == null) {
+                continue;
+            }
+            String lower = lowerCase(values[field]);
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                postings.computeIfAbsent(key(field, lower, i), k -> new Postings()).add(doc);
+            }
+        }
+    }
+
+    private void delete(UUID id) {
+        int doc = docsById.remove(id);
+        if (doc >= 0) {
+            live.clear(doc);
+            ids[doc] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int alive = docsById.size();
+        int dead = nextDoc - alive;
+        if (dead < MIN_DEAD_TO_COMPACT || dead <= alive) {
+            return;
+        }
+        int[] remap = new int[nextDoc];
+        int next = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            remap[doc] = next;
+            ids[next] = ids[doc];
+            docsById.put(ids[next], next);
+            next++;
+        }
+        Iterator<Postings> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            Postings list = iterator.next();
+            if (list.compact(live, remap) == 0) {
+                iterator.remove();
+            }
+        }
+        Arrays.fill(ids, next, nextDoc, null);
+        live.clear();
+        live.set(0, next);
+        nextDoc = next;
+    }
+
+    private static String lowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static long key(int field, String lower, int offset) {
+        return (long) field << 48 | (long) lower.charAt(offset) << 32 | (long) lower.charAt(offset + 1) << 16
+                | lower.charAt(offset + 2);
+    }
+
+    /**
+     * Lista ordenada de documentos que contienen un trigrama
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1));
+            }
+            docs[size++] = doc;
+        }
+
+        /**
+         * Deja en {@code candidates} solo los documentos que también están en esta lista
+         *
+         * @param candidates documentos ordenados
+         * @param length     documentos válidos en candidates
+         * @return documentos que quedan
+         */
+        int retainIn(int[] candidates, int length) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < length && from < size; i++) {
+                int found = Arrays.binarySearch(docs, from, size, candidates[i]);
+                if (found >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+
+        int compact(BitSet live, int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    docs[kept++] = remap[docs[i]];
+                }
+            }
+            size = kept;
+            if (docs.length > Math.max(4, kept * 2)) {
+                docs = Arrays.copyOf(docs, Math.max(4, kept));
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Mapa de UUID a número de documento con direccionamiento abierto sobre arrays primitivos
+     */
+    private static final class UuidIntMap {
+        private static final int EMPTY = -1;
+
+        private long[] most = new long[16];
+        private long[] least = new long[16];
+        private int[] values = emptyValues(16);
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(UUID id) {
+            int slot = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return slot < 0 ? EMPTY : values[slot];
+        }
+
+        void put(UUID id, int value) {
+            long msb = id.getMostSignificantBits();
+            long lsb = id.getLeastSignificantBits();
+            int slot = find(msb, lsb);
+            if (slot >= 0) {
+                values[slot] = value;
+                return;
+            }
+            if ((size + 1) * 2 > values.length) {
+                resize(values.length * 2);
+            }
+            int mask = values.length - 1;
+            int i = hash(msb, lsb) & mask;
+            while (values[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            most[i] = msb;
+            least[i] = lsb;
+            values[i] = value;
+            size++;
+        }
+
+        int remove(UUID id) {
+            int i = find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (i < 0) {
+                return EMPTY;
+            }
+            int removed = values[i];
+            int mask = values.length - 1;
+            int j = i;
+            while (true) {
+                j = (j + 1) & mask;
+                if (values[j] == EMPTY) {
+                    break;
+                }
+                int home = hash(most[j], least[j]) & mask;
+                boolean movable = j > i ? (home <= i || home > j) : (home <= i && home > j);
+                if (movable) {
+                    most[i] = most[j];
+                    least[i] = least[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            values[i] = EMPTY;
+            size--;
+            return removed;
+        }
+
+        private int find(long msb, long lsb) {
+            int mask = values.length - 1;
+            for (int i = hash(msb, lsb) & mask; values[i] != EMPTY; i = (i + 1) & mask) {
+                if (most[i] == msb && least[i] == lsb) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void resize(int capacity) {
+            long[] oldMost = most;
+            long[] oldLeast = least;
+            int[] oldValues = values;
+            most = new long[capacity];
+            least = new long[capacity];
+            values = emptyValues(capacity);
+            int mask = capacity - 1;
+            for (int slot = 0; slot < oldValues.length; slot++) {
+                if (oldValues[slot] != EMPTY) {
+                    int i = hash(oldMost[slot], oldLeast[slot]) & mask;
+                    while (values[i] != EMPTY) {
+                        i = (i + 1) & mask;
+                    }
+                    most[i] = oldMost[slot];
+                    least[i] = oldLeast[slot];
+                    values[i] = oldValues[slot];
+                }
+            }
+        }
+
+        private static int hash(long msb, long lsb) {
+            long h = msb ^ lsb * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+
+        private static int[] emptyValues(int capacity) {
+            int[] created = new int[capacity];
+            Arrays.fill(created, EMPTY);
+            return created;
+        }
+    }
+}
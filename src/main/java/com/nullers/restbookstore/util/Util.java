@@ -10,6 +10,11 @@ import java.util.Set;
  * Clase Util
  */
 public class Util {
+    /**
+     * Bytes de la cabecera de un fichero necesarios para detectar su tipo
+     */
+    public static final int FILE_TYPE_HEADER_BYTES = 8;
+
     /**
      * Constructor privado para evitar instancias
      */
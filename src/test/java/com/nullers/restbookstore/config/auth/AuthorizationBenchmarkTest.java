@@ -0,0 +1,82 @@
+package com.nullers.restbookstore.config.auth;
+
+import com.nullers.restbookstore.rest.user.models.Role;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mide el coste de autorización por petición: crear la autenticación con las autoridades del usuario y comprobar un
+ * {@code @PreAuthorize("hasRole('ADMIN')")}, con SpEL y autoridades nuevas en cada llamada frente al atajo de roles y
+ * las autoridades compartidas. Solo se ejecuta con BENCHMARKS=true
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARKS", matches = "true")
+class AuthorizationBenchmarkTest {
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final Set<Role> ROLES = EnumSet.of(Role.USER, Role.ADMIN);
+
+    static class Controller {
+        @PreAuthorize("hasRole('ADMIN')")
+        public void handle() {
+        }
+    }
+
+    private static Collection<GrantedAuthority> streamedAuthorities(Set<Role> roles) {
+        return roles.stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
+                .collect(Collectors.toSet());
+    }
+
+    private static double nanosPerRequest(Function<Set<Role>, Collection<? extends GrantedAuthority>> authorities,
+                                          AuthorizationManager<MethodInvocation> manager,
+                                          MethodInvocation invocation) {
+        for (int i = 0; i < WARMUP; i++) {
+            request(authorities, manager, invocation);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request(authorities, manager, invocation);
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    private static void request(Function<Set<Role>, Collection<? extends GrantedAuthority>> authorities,
+                                AuthorizationManager<MethodInvocation> manager, MethodInvocation invocation) {
+        var authentication = new UsernamePasswordAuthenticationToken("admin", null, authorities.apply(ROLES));
+        if (!manager.check(() -> authentication, invocation).isGranted()) {
+            throw new IllegalStateException("Acceso denegado");
+        }
+    }
+
+    @Test
+    void authorizationOverheadPerRequest() throws NoSuchMethodException {
+        MethodInvocation invocation = new SimpleMethodInvocation(new Controller(),
+                Controller.class.getMethod("handle"));
+        PreAuthorizeAuthorizationManager spel = new PreAuthorizeAuthorizationManager();
+        RoleFastPathAuthorizationManager fastPath = new RoleFastPathAuthorizationManager(spel);
+
+        double before = nanosPerRequest(AuthorizationBenchmarkTest::streamedAuthorities, spel, invocation);
+        double after = nanosPerRequest(Role::authorities, fastPath, invocation);
+
+        assertTrue(before > 0 && after > 0);
+        System.out.printf("Autorización por petición (ns): SpEL y autoridades nuevas %.0f, atajo de roles y "
+                + "autoridades compartidas %.0f%n", before, after);
+    }
+}
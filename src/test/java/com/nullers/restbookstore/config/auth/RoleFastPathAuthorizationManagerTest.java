@@ -0,0 +1,100 @@
+package com.nullers.restbookstore.config.auth;
+
+import com.nullers.restbookstore.rest.user.models.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleFastPathAuthorizationManagerTest {
+    private final RoleFastPathAuthorizationManager manager =
+            new RoleFastPathAuthorizationManager(new PreAuthorizeAuthorizationManager());
+
+    private final Authentication user = new UsernamePasswordAuthenticationToken("pepe", null,
+            Role.authorities(Set.of(Role.USER)));
+
+    static class Sample {
+        @PreAuthorize("hasRole('ADMIN')")
+        public void admin() {
+        }
+
+        @PreAuthorize("hasAnyRole('USER','ADMIN')")
+        public void any() {
+        }
+
+        @PreAuthorize("authentication.name == 'pepe'")
+        public void expression() {
+        }
+
+        public void open() {
+        }
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    static class AnnotatedSample {
+        public void inherited() {
+        }
+    }
+
+    private AuthorizationDecision check(Object target, String method) throws NoSuchMethodException {
+        return manager.check(() -> user, new SimpleMethodInvocation(target, target.getClass().getMethod(method)));
+    }
+
+    @Test
+    void parsesRoleExpressions() {
+        assertAll(
+                () -> assertEquals(List.of("ADMIN"), RoleFastPathAuthorizationManager.roles("hasRole('ADMIN')")),
+                () -> assertEquals(List.of("USER", "ADMIN"),
+                        RoleFastPathAuthorizationManager.roles("hasAnyRole('USER', 'ADMIN')")),
+                () -> assertEquals(List.of(),
+                        RoleFastPathAuthorizationManager.roles("hasRole('ADMIN') and isAuthenticated()")),
+                () -> assertEquals(List.of(), RoleFastPathAuthorizationManager.roles("hasRole('ROLE_ADMIN')")),
+                () -> assertEquals(List.of(), RoleFastPathAuthorizationManager.roles("hasAuthority('ADMIN')"))
+        );
+    }
+
+    @Test
+    void rolesAreCheckedWithoutExpressions() throws NoSuchMethodException {
+        Sample sample = new Sample();
+
+        assertAll(
+                () -> assertFalse(check(sample, "admin").isGranted()),
+                () -> assertTrue(check(sample, "any").isGranted()),
+                () -> assertTrue(check(new AnnotatedSample(), "inherited").isGranted())
+        );
+    }
+
+    @Test
+    void otherExpressionsAreDelegated() throws NoSuchMethodException {
+        Sample sample = new Sample();
+
+        assertAll(
+                () -> assertTrue(check(sample, "expression").isGranted()),
+                () -> assertNull(check(sample, "open"))
+        );
+    }
+
+    @Test
+    void authoritySetsAreSharedPerRoleCombination() {
+        assertAll(
+                () -> assertSame(Role.authorities(Set.of(Role.USER, Role.ADMIN)),
+                        Role.authorities(EnumSet.of(Role.ADMIN, Role.USER))),
+                () -> assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), Role.authorities(EnumSet.allOf(Role.class))
+                        .stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet())),
+                () -> assertTrue(Role.authorities(null).isEmpty()),
+                () -> assertThrows(UnsupportedOperationException.class, () -> Role.authorities(Set.of(Role.USER))
+                        .clear())
+        );
+    }
+}
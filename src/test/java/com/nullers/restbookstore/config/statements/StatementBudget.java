@@ -0,0 +1,104 @@
+package com.nullers.restbookstore.config.statements;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Utilidades para comprobar en los tests el número de sentencias que ejecuta un endpoint o un bloque de código
+ * <p>
+ * Con MockMvc se leen las cabeceras de {@link StatementTrackingFilter}:
+ * <pre>{@code
+ * mockMvc.perform(get("/api/books"))
+ *         .andExpect(StatementBudget.sqlStatementsAtMost(3))
+ *         .andExpect(StatementBudget.noNPlusOne());
+ * }</pre>
+ * Fuera de una petición, {@link #measure(Runnable)} cuenta las sentencias del bloque en el hilo actual.
+ */
+public final class StatementBudget {
+
+    /**
+     * Constructor privado para evitar instancias
+     */
+    private StatementBudget() {
+        // Constructor privado para evitar instancias
+    }
+
+    /**
+     * Comprueba que la petición no ha ejecutado más sentencias SQL de las indicadas
+     *
+     * @param max número máximo de sentencias
+     * @return comprobación de la respuesta
+     */
+    public static ResultMatcher sqlStatementsAtMost(long max) {
+        return result -> {
+            String value = result.getResponse().getHeader(StatementTrackingFilter.SQL_STATEMENTS_HEADER);
+            assertNotNull(value, "La respuesta no tiene la cabecera " + StatementTrackingFilter.SQL_STATEMENTS_HEADER);
+            long count = Long.parseLong(value);
+            assertTrue(count <= max, "Se esperaban como mucho " + max + " sentencias SQL y se han ejecutado " + count);
+        };
+    }
+
+    /**
+     * Comprueba que la petición no ha enviado más comandos a MongoDB de los indicados
+     *
+     * @param max número máximo de comandos
+     * @return comprobación de la respuesta
+     */
+    public static ResultMatcher mongoCommandsAtMost(long max) {
+        return result -> {
+            String value = result.getResponse().getHeader(StatementTrackingFilter.MONGO_COMMANDS_HEADER);
+            assertNotNull(value, "La respuesta no tiene la cabecera " + StatementTrackingFilter.MONGO_COMMANDS_HEADER);
+            long count = Long.parseLong(value);
+            assertTrue(count <= max, "Se esperaban como mucho " + max + " comandos MongoDB y se han enviado " + count);
+        };
+    }
+
+    /**
+     * Comprueba que la petición no ha repetido ninguna forma de sentencia tantas veces como para considerarse N+1
+     *
+     * @return comprobación de la respuesta
+     */
+    public static ResultMatcher noNPlusOne() {
+        return result -> assertNull(result.getResponse().getHeader(StatementTrackingFilter.N_PLUS_ONE_HEADER),
+                "La petición repite formas de sentencia: posible N+1");
+    }
+
+    /**
+     * Cuenta las sentencias que ejecuta un bloque en el hilo actual
+     *
+     * @param block bloque de código
+     * @return sentencias ejecutadas
+     */
+    public static RequestStatements measure(Runnable block) {
+        RequestStatements statements = StatementTracker.start();
+        try {
+            block.run();
+        } finally {
+            StatementTracker.stop();
+        }
+        return statements;
+    }
+
+    /**
+     * Comprueba que un bloque no ejecuta más sentencias SQL de las indicadas ni repite ninguna forma de sentencia
+     * el número de veces indicado
+     *
+     * @param maxSql    número máximo de sentencias SQL
+     * @param threshold repeticiones de una misma forma a partir de las cuales se considera N+1
+     * @param block     bloque de código
+     * @return sentencias ejecutadas
+     */
+    public static RequestStatements assertAtMost(long maxSql, int threshold, Runnable block) {
+        RequestStatements statements = measure(block);
+        assertTrue(statements.getSqlCount() <= maxSql, "Se esperaban como mucho " + maxSql
+                + " sentencias SQL y se han ejecutado " + statements.getSqlCount());
+        Map<String, Integer> repeated = statements.repeatedShapes(threshold);
+        assertTrue(repeated.isEmpty(), "Posible N+1: " + repeated);
+        return statements;
+    }
+}
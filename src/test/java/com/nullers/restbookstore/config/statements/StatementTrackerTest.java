@@ -0,0 +1,134 @@
+package com.nullers.restbookstore.config.statements;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementTrackerTest {
+
+    @AfterEach
+    void tearDown() {
+        StatementTracker.stop();
+    }
+
+    @Test
+    void sqlShapeIgnoresLiteralsAndParameterLists() {
+        assertAll(
+                () -> assertEquals("select * from books b where b.id=? and b.name=?",
+                        StatementTracker.sqlShape("select *  from books b\n where b.id=12 and b.name='O''Reilly'")),
+                () -> assertEquals("select * from books where id in (?)",
+                        StatementTracker.sqlShape("select * from books where id in (?, ?, ?)")),
+                () -> assertEquals(StatementTracker.sqlShape("select * from shops where id=1"),
+                        StatementTracker.sqlShape("select * from shops where id=2"))
+        );
+    }
+
+    @Test
+    void outsideRequestNothingIsRecorded() {
+        StatementTracker.recordSql("select 1");
+        assertNull(StatementTracker.current());
+    }
+
+    @Test
+    void repeatedShapesAreFlaggedAsNPlusOne() {
+        RequestStatements statements = StatementBudget.measure(() -> {
+            StatementTracker.recordSql("select * from books where id in (?, ?)");
+            for (int i = 0; i < 6; i++) {
+                StatementTracker.recordSql("select * from publishers where id=" + i);
+            }
+            StatementTracker.recordMongo("mongo find test.orders [idClient]");
+            StatementTracker.recordSqlTime(1_000);
+            StatementTracker.recordMongoTime(2_000);
+        });
+
+        Map<String, Integer> repeated = statements.repeatedShapes(5);
+        assertAll(
+                () -> assertEquals(7, statements.getSqlCount()),
+                () -> assertEquals(1, statements.getMongoCount()),
+                () -> assertEquals(1_000, statements.getSqlNanos()),
+                () -> assertEquals(2_000, statements.getMongoNanos()),
+                () -> assertEquals(Map.of("select * from publishers where id=?", 6), repeated),
+                () -> assertNull(StatementTracker.current())
+        );
+    }
+
+    @Test
+    void propagatedTaskRecordsInTheCallingRequest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RequestStatements statements = StatementTracker.start();
+            CompletableFuture.supplyAsync(StatementTracker.propagate(() -> {
+                StatementTracker.recordSql("select * from users where id=1");
+                return true;
+            }), executor).get();
+            CompletableFuture<Boolean> untracked = CompletableFuture.supplyAsync(
+                    () -> StatementTracker.current() == null, executor);
+
+            assertAll(
+                    () -> assertEquals(1, statements.getSqlCount()),
+                    () -> assertTrue(untracked.get())
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void assertAtMostFailsOverBudget() {
+        Runnable block = () -> {
+            StatementTracker.recordSql("select * from clients where id=1");
+            StatementTracker.recordSql("select * from shops where id=1");
+        };
+
+        assertAll(
+                () -> assertDoesNotThrow(() -> StatementBudget.assertAtMost(2, 5, block)),
+                () -> assertThrows(AssertionError.class, () -> StatementBudget.assertAtMost(1, 5, block)),
+                () -> assertThrows(AssertionError.class, () -> StatementBudget.assertAtMost(2, 1, block))
+        );
+    }
+
+    @Test
+    void filterAddsHeadersBeforeTheBody() throws Exception {
+        StatementTrackingFilter filter = new StatementTrackingFilter(true, 2);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            StatementTracker.recordSql("select * from categories where id=1");
+            StatementTracker.recordSql("select * from categories where id=2");
+            res.getWriter().write("[]");
+            res.flushBuffer();
+            StatementTracker.recordSql("select * from categories where id=3");
+        });
+
+        assertAll(
+                () -> assertEquals("2", response.getHeader(StatementTrackingFilter.SQL_STATEMENTS_HEADER)),
+                () -> assertEquals("0", response.getHeader(StatementTrackingFilter.MONGO_COMMANDS_HEADER)),
+                () -> assertEquals("1", response.getHeader(StatementTrackingFilter.N_PLUS_ONE_HEADER)),
+                () -> assertEquals("[]", response.getContentAsString()),
+                () -> assertNull(StatementTracker.current())
+        );
+    }
+
+    @Test
+    void filterAddsHeadersToResponsesWithoutBody() throws Exception {
+        StatementTrackingFilter filter = new StatementTrackingFilter(true, 5);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/books/1"), response,
+                (req, res) -> StatementTracker.recordSql("delete from books where id=1"));
+
+        assertAll(
+                () -> assertEquals("1", response.getHeader(StatementTrackingFilter.SQL_STATEMENTS_HEADER)),
+                () -> assertNull(response.getHeader(StatementTrackingFilter.N_PLUS_ONE_HEADER))
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package com.nullers.restbookstore.rest.auth.services.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.nullers.restbookstore.rest.user.models.Role;
+import com.nullers.restbookstore.rest.user.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceImplTest {
+    private static final String SECRET = "secreto-de-pruebas";
+
+    private final JwtServiceImpl jwtService = new JwtServiceImpl();
+
+    private final User user = User.builder()
+            .id(UUID.fromString("6c8aeebf-8e5a-4381-805f-a2494262d6d7"))
+            .username("admin")
+            .password("hash")
+            .roles(Set.of(Role.USER, Role.ADMIN))
+            .tokenVersion(3)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtService, "jwtSecretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600L);
+        jwtService.init();
+    }
+
+    @Test
+    void principalIsRebuiltFromClaims() {
+        User principal = jwtService.extractPrincipal(jwtService.generateToken(user)).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(user.getId(), principal.getId()),
+                () -> assertEquals("admin", principal.getUsername()),
+                () -> assertEquals(user.getRoles(), principal.getRoles()),
+                () -> assertEquals(3, principal.getTokenVersion()),
+                () -> assertEquals(user.getAuthorities(), principal.getAuthorities()),
+                () -> assertTrue(principal.isEnabled()),
+                () -> assertNull(principal.getPassword())
+        );
+    }
+
+    @Test
+    void tokensWithoutClaimsHaveNoPrincipal() {
+        String token = JWT.create()
+                .withSubject("admin")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC512(Base64.getEncoder().encode(SECRET.getBytes())));
+
+        assertAll(
+                () -> assertEquals(Optional.empty(), jwtService.extractPrincipal(token)),
+                () -> assertEquals("admin", jwtService.extractUserName(token))
+        );
+    }
+
+    @Test
+    void forgedTokensAreRejected() {
+        String forged = JWT.create()
+                .withSubject("admin")
+                .withClaim(JwtServiceImpl.USER_ID_CLAIM, user.getId().toString())
+                .sign(Algorithm.HMAC512("otro-secreto"));
+
+        assertAll(
+                () -> assertThrows(JWTVerificationException.class, () -> jwtService.extractPrincipal(forged)),
+                () -> assertThrows(JWTVerificationException.class, () -> jwtService.extractUserName(forged))
+        );
+    }
+}
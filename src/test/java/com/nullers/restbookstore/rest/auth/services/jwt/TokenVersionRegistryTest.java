@@ -0,0 +1,117 @@
+package com.nullers.restbookstore.rest.auth.services.jwt;
+
+import com.nullers.restbookstore.rest.user.models.User;
+import com.nullers.restbookstore.rest.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+    private static final UUID USER_ID = UUID.fromString("6c8aeebf-8e5a-4381-805f-a2494262d6d7");
+    private static final long MAX_AGE = TimeUnit.SECONDS.toNanos(30);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenVersionRegistry(userRepository, MAX_AGE, now::get);
+    }
+
+    private static Optional<UserRepository.TokenVersion> stored(UUID id, Integer tokenVersion) {
+        return Optional.of(new UserRepository.TokenVersion() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getTokenVersion() {
+                return tokenVersion;
+            }
+        });
+    }
+
+    @Test
+    void usersWithoutRevocationsAcceptEveryVersion() {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(stored(USER_ID, null));
+
+        assertAll(
+                () -> assertTrue(registry.isValid(USER_ID, null)),
+                () -> assertTrue(registry.isValid(USER_ID, 0))
+        );
+        verify(userRepository, times(1)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    void removedUsersRejectEveryVersion() {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.empty());
+
+        assertFalse(registry.isValid(USER_ID, 7));
+    }
+
+    @Test
+    void revokeRejectsOlderVersionsAndNeverGoesBack() {
+        registry.revoke(USER_ID, 2);
+        registry.revoke(USER_ID, 1);
+
+        assertAll(
+                () -> assertFalse(registry.isValid(USER_ID, 1)),
+                () -> assertTrue(registry.isValid(USER_ID, 2))
+        );
+        verify(userRepository, never()).findTokenVersionById(any());
+    }
+
+    @Test
+    void revocationsFromOtherInstancesAreReadOnceExpired() {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(stored(USER_ID, 0), stored(USER_ID, 3));
+
+        assertTrue(registry.isValid(USER_ID, 0));
+        now.addAndGet(MAX_AGE - 1);
+        assertTrue(registry.isValid(USER_ID, 0));
+        now.addAndGet(1);
+
+        assertAll(
+                () -> assertFalse(registry.isValid(USER_ID, 2)),
+                () -> assertTrue(registry.isValid(USER_ID, 3))
+        );
+        verify(userRepository, times(2)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    void loadsStoredVersions() {
+        when(userRepository.findTokenVersions()).thenReturn(List.of(stored(USER_ID, 4).orElseThrow()));
+
+        registry.load();
+
+        assertAll(
+                () -> assertFalse(registry.isValid(USER_ID, 3)),
+                () -> assertTrue(registry.isValid(USER_ID, 4))
+        );
+        verify(userRepository, never()).findTokenVersionById(any());
+    }
+
+    @Test
+    void nextVersion() {
+        assertAll(
+                () -> assertEquals(1, TokenVersionRegistry.nextVersion(new User())),
+                () -> assertEquals(5, TokenVersionRegistry.nextVersion(User.builder().tokenVersion(4).build()))
+        );
+    }
+}
@@ -0,0 +1,112 @@
+package com.nullers.restbookstore.rest.auth.services.password;
+
+import com.nullers.restbookstore.rest.auth.dto.PasswordHashingStats;
+import com.nullers.restbookstore.rest.auth.exceptions.PasswordHashingUnavailable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlledPasswordEncoderTest {
+    private ThreadPoolExecutor executor;
+
+    private AdmissionControlledPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1),
+                new ThreadPoolExecutor.AbortPolicy());
+        encoder = new AdmissionControlledPasswordEncoder(executor, 4, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        String hash = encoder.encode("secreto");
+        PasswordHashingStats stats = encoder.getStats();
+
+        assertAll(
+                () -> assertTrue(hash.startsWith("$2a$04$")),
+                () -> assertTrue(encoder.matches("secreto", hash)),
+                () -> assertFalse(encoder.matches("otro", hash)),
+                () -> assertEquals(1, stats.getHashes()),
+                () -> assertEquals(1, stats.getThreads()),
+                () -> assertEquals(1, stats.getQueueCapacity())
+        );
+    }
+
+    @Test
+    void rejectsWhenSaturated() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        executor.execute(() -> {
+        });
+
+        try {
+            PasswordHashingUnavailable ex = assertThrows(PasswordHashingUnavailable.class,
+                    () -> encoder.encode("secreto"));
+            assertAll(
+                    () -> assertEquals(1, ex.getRetryAfterSeconds()),
+                    () -> assertEquals(1, encoder.getStats().getRejections()),
+                    () -> assertEquals(1, encoder.getStats().getQueueDepth())
+            );
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void givesUpAfterMaxWait() throws InterruptedException {
+        AdmissionControlledPasswordEncoder impatient = new AdmissionControlledPasswordEncoder(executor, 4, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            assertThrows(PasswordHashingUnavailable.class, () -> impatient.encode("secreto"));
+            assertEquals(1, impatient.getStats().getTimeouts());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void upgradesHashesWithAnotherCost() {
+        String sameCost = new BCryptPasswordEncoder(4).encode("secreto");
+        String otherCost = new BCryptPasswordEncoder(5).encode("secreto");
+
+        assertAll(
+                () -> assertFalse(encoder.upgradeEncoding(sameCost)),
+                () -> assertTrue(encoder.upgradeEncoding(otherCost)),
+                () -> assertTrue(encoder.matches("secreto", otherCost)),
+                () -> assertFalse(encoder.upgradeEncoding(null)),
+                () -> assertFalse(encoder.upgradeEncoding("texto")),
+                () -> assertEquals(1, encoder.getStats().getRehashes())
+        );
+    }
+}
@@ -0,0 +1,77 @@
+package com.nullers.restbookstore.rest.auth.services.throttle;
+
+import com.nullers.restbookstore.rest.auth.exceptions.AuthThrottled;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle(new LoginThrottle.Limit(2, 60), new LoginThrottle.Limit(3, 60), 100, now::get);
+    }
+
+    @Test
+    void limitsPerUsernameIgnoringCase() {
+        throttle.acquire("Pepe", "10.0.0.1");
+        throttle.acquire("pepe", "10.0.0.2");
+
+        AuthThrottled ex = assertThrows(AuthThrottled.class, () -> throttle.acquire("PEPE", "10.0.0.3"));
+        assertAll(
+                () -> assertEquals(2, ex.getRetryAfterSeconds()),
+                () -> assertEquals(1, throttle.getThrottled())
+        );
+        assertDoesNotThrow(() -> throttle.acquire("otro", "10.0.0.3"));
+    }
+
+    @Test
+    void limitsPerAddress() {
+        throttle.acquire("a", "10.0.0.1");
+        throttle.acquire("b", "10.0.0.1");
+        throttle.acquire(null, "10.0.0.1");
+
+        assertThrows(AuthThrottled.class, () -> throttle.acquire("c", "10.0.0.1"));
+    }
+
+    @Test
+    void recoversAfterRefill() {
+        throttle.acquire("pepe", "10.0.0.1");
+        throttle.acquire("pepe", "10.0.0.1");
+        assertThrows(AuthThrottled.class, () -> throttle.acquire("pepe", "10.0.0.1"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertDoesNotThrow(() -> throttle.acquire("pepe", "10.0.0.1"));
+    }
+
+    @Test
+    void oldestBucketsAreEvictedWhenEntriesRunOut() {
+        throttle = new LoginThrottle(new LoginThrottle.Limit(2, 60), new LoginThrottle.Limit(3, 60), 2, now::get);
+        throttle.acquire("a", "10.0.0.1");
+        throttle.acquire("a", "10.0.0.1");
+        assertThrows(AuthThrottled.class, () -> throttle.acquire("a", "10.0.0.1"));
+
+        assertDoesNotThrow(() -> throttle.acquire("b", "10.0.0.2"));
+        assertDoesNotThrow(() -> throttle.acquire("c", "10.0.0.3"));
+        assertDoesNotThrow(() -> throttle.acquire("a", "10.0.0.1"));
+    }
+
+    @Test
+    void recentlyUsedBucketsAreKeptWhenEntriesRunOut() {
+        throttle = new LoginThrottle(new LoginThrottle.Limit(2, 60), new LoginThrottle.Limit(3, 60), 2, now::get);
+        throttle.acquire("a", "10.0.0.1");
+        throttle.acquire("b", "10.0.0.2");
+        throttle.acquire("a", "10.0.0.1");
+        throttle.acquire("c", "10.0.0.3");
+
+        assertThrows(AuthThrottled.class, () -> throttle.acquire("a", "10.0.0.4"));
+    }
+}
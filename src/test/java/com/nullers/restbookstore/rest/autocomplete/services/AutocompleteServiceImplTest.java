@@ -0,0 +1,138 @@
+package com.nullers.restbookstore.rest.autocomplete.services;
+
+import com.nullers.restbookstore.rest.autocomplete.dto.AutocompleteSuggestion;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.publisher.model.Publisher;
+import com.nullers.restbookstore.rest.publisher.repository.PublisherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PublisherRepository publisherRepository;
+
+    private AutocompleteServiceImpl service;
+
+    private static BookRepository.AutocompleteFields book(long id, String name, String author, int stock,
+                                                          boolean active, Long publisherId) {
+        return new BookRepository.AutocompleteFields() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public String getAuthor() {
+                return author;
+            }
+
+            public Integer getStock() {
+                return stock;
+            }
+
+            public Boolean getActive() {
+                return active;
+            }
+
+            public Long getPublisherId() {
+                return publisherId;
+            }
+        };
+    }
+
+    private static PublisherRepository.AutocompleteFields publisher(long id, String name, boolean active) {
+        return new PublisherRepository.AutocompleteFields() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public Boolean getActive() {
+                return active;
+            }
+        };
+    }
+
+    private List<String> texts(String query, AutocompleteSuggestion.Type type) {
+        return service.suggest(query, Optional.of(type), 10).stream().map(AutocompleteSuggestion::getText).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new AutocompleteServiceImpl(bookRepository, publisherRepository, true, 5);
+        when(publisherRepository.findAutocompleteFields()).thenReturn(List.of(
+                publisher(1L, "Planeta", true),
+                publisher(2L, "Penguin", false)));
+        when(bookRepository.findAutocompleteFields()).thenReturn(List.of(
+                book(1L, "El asesino sigue aquí", "Madirex", 3, true, 1L),
+                book(2L, "El misterio", "Madirex", 4, true, 1L),
+                book(3L, "Eliminado", "Otro", 10, false, 1L),
+                book(4L, "Pingüinos", "Pablo", 2, true, 2L)));
+        service.build();
+    }
+
+    @Test
+    void suggestsActiveBooksAuthorsAndPublishers() {
+        List<AutocompleteSuggestion> authors = service.suggest("mad", Optional.of(AutocompleteSuggestion.Type.AUTHOR), 10);
+
+        assertAll(
+                () -> assertEquals(List.of("El misterio", "El asesino sigue aquí"), texts("el", AutocompleteSuggestion.Type.TITLE)),
+                () -> assertEquals(1, authors.size()),
+                () -> assertEquals(7, authors.get(0).getWeight()),
+                () -> assertNull(authors.get(0).getId()),
+                () -> assertEquals(List.of("Planeta"), texts("p", AutocompleteSuggestion.Type.PUBLISHER)),
+                () -> assertEquals(List.of(), texts("otro", AutocompleteSuggestion.Type.AUTHOR))
+        );
+    }
+
+    @Test
+    void savedBooksUpdateWeights() {
+        Publisher planeta = Publisher.builder().id(1L).name("Planeta").active(true).build();
+        service.bookSaved(Book.builder().id(1L).name("El asesino sigue aquí").author("Madirex").stock(20)
+                .active(true).publisher(planeta).build());
+        service.bookSaved(Book.builder().id(2L).name("El misterio").author("Madirex").stock(4)
+                .active(false).publisher(planeta).build());
+
+        List<AutocompleteSuggestion> all = service.suggest("pla", Optional.empty(), 10);
+
+        assertAll(
+                () -> assertEquals(List.of("El asesino sigue aquí"), texts("el", AutocompleteSuggestion.Type.TITLE)),
+                () -> assertEquals(20, service.suggest("madi", Optional.of(AutocompleteSuggestion.Type.AUTHOR), 10).get(0).getWeight()),
+                () -> assertEquals(1, all.size()),
+                () -> assertEquals(20, all.get(0).getWeight())
+        );
+    }
+
+    @Test
+    void publishersFollowTheirState() {
+        service.publisherSaved(Publisher.builder().id(2L).name("Penguin Random House").active(true).build());
+        service.publisherRemoved(1L);
+
+        assertEquals(List.of("Penguin Random House"), texts("p", AutocompleteSuggestion.Type.PUBLISHER));
+    }
+
+    @Test
+    void blankQueriesReturnNothing() {
+        assertTrue(service.suggest(" ", Optional.empty(), 10).isEmpty());
+    }
+}
@@ -7,6 +7,7 @@ import com.nullers.restbookstore.rest.book.mappers.BookMapperImpl;
 import com.nullers.restbookstore.rest.book.mappers.BookNotificationMapper;
 import com.nullers.restbookstore.rest.book.model.Book;
 import com.nullers.restbookstore.rest.category.model.Category;
+import com.nullers.restbookstore.rest.common.Money;
 import com.nullers.restbookstore.rest.publisher.dto.PublisherData;
 import com.nullers.restbookstore.rest.publisher.model.Publisher;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,7 +55,7 @@ class BookMapperImplTest {
                 () -> assertEquals(book.getName(), mapped.getName(), "El nombre debe coincidir"),
                 () -> assertEquals(book.getPublisherId(), mapped.getPublisher().getId(),
                         "El Publisher debe coincidir"),
-                () -> assertEquals(book.getPrice(), mapped.getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(book.getPrice(), Money.toDouble(mapped.getPrice()), "El precio debe coincidir"),
                 () -> assertEquals(book.getImage(), mapped.getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(book.getDescription(), mapped.getDescription(), "La descripción debe coincidir")
         );
@@ -69,7 +70,7 @@ class BookMapperImplTest {
                 .id(1L)
                 .name("nombre")
                 .publisher(Publisher.builder().id(1L).build())
-                .price(2.2)
+                .price(Money.of(2.2))
                 .image("imagen")
                 .description("descripción")
                 .createdAt(LocalDateTime.now())
@@ -88,7 +89,7 @@ class BookMapperImplTest {
                 () -> assertNotNull(mapped.getId(), "El ID no debe ser nulo"),
                 () -> assertEquals(book.getName(), mapped.getName(), "El nombre debe coincidir"),
                 () -> assertEquals(book.getPublisherId(), mapped.getPublisher().getId(), "El Publisher debe coincidir"),
-                () -> assertEquals(book.getPrice(), mapped.getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(book.getPrice(), Money.toDouble(mapped.getPrice()), "El precio debe coincidir"),
                 () -> assertEquals(book.getImage(), mapped.getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(book.getDescription(), mapped.getDescription(), "La descripción debe coincidir")
         );
@@ -103,7 +104,7 @@ class BookMapperImplTest {
                 .id(1L)
                 .name("nombre")
                 .publisher(Publisher.builder().id(1L).build())
-                .price(2.2)
+                .price(Money.of(2.2))
                 .image("imagen")
                 .description("descripción")
                 .createdAt(LocalDateTime.now())
@@ -116,7 +117,7 @@ class BookMapperImplTest {
                 () -> assertNotNull(mapped.getId(), "El ID no debe ser nulo"),
                 () -> assertEquals(book.getName(), mapped.getName(), "El nombre debe coincidir"),
                 () -> assertEquals(book.getPublisher().getId(), mapped.getPublisher().getId(), "El Publisher debe coincidir"),
-                () -> assertEquals(book.getPrice(), mapped.getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(Money.toDouble(book.getPrice()), mapped.getPrice(), "El precio debe coincidir"),
                 () -> assertEquals(book.getImage(), mapped.getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(book.getDescription(), mapped.getDescription(), "La descripción debe coincidir"));
     }
@@ -130,7 +131,7 @@ class BookMapperImplTest {
                 .id(1L)
                 .name("nombre")
                 .publisher(Publisher.builder().id(1L).build())
-                .price(2.2)
+                .price(Money.of(2.2))
                 .image("imagen")
                 .description("descripción")
                 .createdAt(LocalDateTime.now())
@@ -141,7 +142,7 @@ class BookMapperImplTest {
         var mapped = bookMapperImpl.toGetBookDTO(book);
         assertAll("Book properties",
                 () -> assertEquals(book.getName(), mapped.getName(), "El nombre debe coincidir"),
-                () -> assertEquals(book.getPrice(), mapped.getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(Money.toDouble(book.getPrice()), mapped.getPrice(), "El precio debe coincidir"),
                 () -> assertEquals(book.getImage(), mapped.getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(book.getDescription(), mapped.getDescription(), "La descripción debe coincidir"));
     }
@@ -155,7 +156,7 @@ class BookMapperImplTest {
                 .id(1L)
                 .name("nombre")
                 .publisher(Publisher.builder().id(1L).build())
-                .price(2.2)
+                .price(Money.of(2.2))
                 .image("imagen")
                 .description("descripción")
                 .createdAt(LocalDateTime.now())
@@ -197,7 +198,7 @@ class BookMapperImplTest {
         var mapped = bookMapperImpl.toBook(book, Publisher.builder().id(1L).build(), Category.builder().build());
         assertAll("Book properties",
                 () -> assertEquals(book.getName(), mapped.getName(), "El nombre debe coincidir"),
-                () -> assertEquals(book.getPrice(), mapped.getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(book.getPrice(), Money.toDouble(mapped.getPrice()), "El precio debe coincidir"),
                 () -> assertEquals(book.getImage(), mapped.getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(book.getDescription(), mapped.getDescription(), "La descripción debe coincidir"));
     }
@@ -218,7 +219,7 @@ class BookMapperImplTest {
         var mapped = bookMapperImpl.toBook(book);
         assertAll("Book properties",
                 () -> assertEquals(book.getName(), mapped.getName(), "El nombre debe coincidir"),
-                () -> assertEquals(book.getPrice(), mapped.getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(book.getPrice(), Money.toDouble(mapped.getPrice()), "El precio debe coincidir"),
                 () -> assertEquals(book.getImage(), mapped.getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(book.getDescription(), mapped.getDescription(), "La descripción debe coincidir"));
     }
@@ -233,7 +234,7 @@ class BookMapperImplTest {
                 .id(1L)
                 .name("nombre")
                 .publisher(Publisher.builder().id(1L).build())
-                .price(2.2)
+                .price(Money.of(2.2))
                 .image("imagen")
                 .description("descripción")
                 .category(Category.builder().name("test").build())
@@ -248,7 +249,7 @@ class BookMapperImplTest {
                 () -> assertEquals(list.get(0).getName(), mapped.get(0).getName(), "El nombre debe coincidir"),
                 () -> assertEquals(list.get(0).getPublisher().getId(), mapped.get(0).getPublisher().getId(),
                         "El Publisher debe coincidir"),
-                () -> assertEquals(list.get(0).getPrice(), mapped.get(0).getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(Money.toDouble(list.get(0).getPrice()), mapped.get(0).getPrice(), "El precio debe coincidir"),
                 () -> assertEquals(list.get(0).getImage(), mapped.get(0).getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(list.get(0).getDescription(), mapped.get(0).getDescription(),
                         "La descripción debe coincidir"));
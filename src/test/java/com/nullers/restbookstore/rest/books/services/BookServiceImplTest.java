@@ -19,7 +19,9 @@ import com.nullers.restbookstore.rest.category.exceptions.CategoryNotFoundExcept
 import com.nullers.restbookstore.rest.category.model.Category;
 import com.nullers.restbookstore.rest.category.repository.CategoryRepositoryJpa;
 import com.nullers.restbookstore.rest.category.services.CategoryServiceJpa;
-import com.nullers.restbookstore.rest.publisher.dto.PublisherDTO;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.common.ReferenceData;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import com.nullers.restbookstore.rest.publisher.dto.PublisherData;
 import com.nullers.restbookstore.rest.publisher.mappers.PublisherMapper;
 import com.nullers.restbookstore.rest.publisher.model.Publisher;
@@ -85,6 +87,12 @@ class BookServiceImplTest {
     @Mock
     private CategoryServiceJpa categoryService;
 
+    @Mock
+    private ReferenceFilters referenceFilters;
+
+    @Mock
+    private ReferenceData referenceData;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -99,7 +107,7 @@ class BookServiceImplTest {
                 .id(1L)
                 .name("nombre")
                 .publisher(Publisher.builder().id(1L).build())
-                .price(2.2)
+                .price(Money.of(2.2))
                 .image("imagen")
                 .description("descripción")
                 .createdAt(LocalDateTime.now())
@@ -110,7 +118,7 @@ class BookServiceImplTest {
                 .id(2L)
                 .name("nombre2")
                 .publisher(Publisher.builder().id(2L).build())
-                .price(22.22)
+                .price(Money.of(22.22))
                 .image("imagen2")
                 .description("descripción2")
                 .createdAt(LocalDateTime.now())
@@ -161,7 +169,7 @@ class BookServiceImplTest {
                 () -> assertEquals(2, list.size(), "La lista debe contener 2 elementos"),
                 () -> assertEquals(2, list3.size(), "La lista debe contener 2 elementos"),
                 () -> assertEquals(list.get(0).getName(), list3.get(0).getName(), "El nombre debe coincidir"),
-                () -> assertEquals(list.get(0).getPrice(), list3.get(0).getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(Money.toDouble(list.get(0).getPrice()), list3.get(0).getPrice(), "El precio debe coincidir"),
                 () -> assertEquals(list.get(0).getImage(), list3.get(0).getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(list.get(0).getDescription(), list3.get(0).getDescription(),
                         "La descripción debe coincidir")
@@ -195,7 +203,7 @@ class BookServiceImplTest {
         var book = bookService.getBookById(list.get(0).getId());
         assertAll("Book properties",
                 () -> assertEquals(list.get(0).getName(), book.getName(), "El nombre debe coincidir"),
-                () -> assertEquals(list.get(0).getPrice(), book.getPrice(), "El precio debe coincidir"),
+                () -> assertEquals(Money.toDouble(list.get(0).getPrice()), book.getPrice(), "El precio debe coincidir"),
                 () -> assertEquals(list.get(0).getImage(), book.getImage(), "La imagen debe coincidir"),
                 () -> assertEquals(list.get(0).getDescription(), book.getDescription(),
                         "La descripción debe coincidir")
@@ -224,15 +232,13 @@ class BookServiceImplTest {
                 .name("nombre").price(2.2).image("imagen").publisherId(1L).build();
         var publisher = Publisher.builder().id(1L).createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now()).build();
-        var publisherDTO = PublisherDTO.builder().id(1L).build();
         var category = Category.builder().isActive(true).name("category").build();
-        var inserted = Book.builder().id(1L).name("nombre").price(2.2).image("imagen")
+        var inserted = Book.builder().id(1L).name("nombre").price(Money.of(2.2)).image("imagen")
                 .publisher(publisher).description("descripción")
                 .category(category)
                 .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).active(true).build();
         var publisherData = PublisherData.builder().id(1L).build();
-        when(publisherService.findById(1L)).thenReturn(any());
-        when(publisherMapper.toPublisher(publisherDTO)).thenReturn(publisher);
+        when(publisherService.getReference(1L)).thenReturn(publisher);
         when(bookRepository.save(inserted)).thenReturn(inserted);
         when(categoryRepositoryJpa.findByNameEqualsIgnoreCase(any()))
                 .thenReturn(Optional.of(category));
@@ -262,9 +268,7 @@ class BookServiceImplTest {
                 .category(UUID.randomUUID().toString()).build();
         var publisher = Publisher.builder().id(1L).createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now()).build();
-        var publisherDTO = PublisherDTO.builder().id(1L).build();
-        when(publisherService.findById(1L)).thenReturn(any());
-        when(publisherMapper.toPublisher(publisherDTO)).thenReturn(publisher);
+        when(publisherService.getReference(1L)).thenReturn(publisher);
         when(categoryRepositoryJpa.findByNameEqualsIgnoreCase(any())).thenReturn(Optional.empty());
         assertThrows(CategoryNotFoundException.class, () -> bookService.postBook(insert));
     }
@@ -287,14 +291,12 @@ class BookServiceImplTest {
         var publisher = Publisher.builder().id(1L).createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now()).build();
         var category = Category.builder().isActive(true).name("category").build();
-        var publisherDTO = PublisherDTO.builder().id(1L).build();
         var publisherData = PublisherData.builder().id(1L).build();
-        var inserted = Book.builder().id(1L).name("nombre").price(2.2).image("imagen")
+        var inserted = Book.builder().id(1L).name("nombre").price(Money.of(2.2)).image("imagen")
                 .publisher(publisher).description("descripción")
                 .category(category)
                 .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).active(true).build();
-        when(publisherService.findById(1L)).thenReturn(any());
-        when(publisherMapper.toPublisher(publisherDTO)).thenReturn(publisher);
+        when(publisherService.getReference(1L)).thenReturn(publisher);
         when(bookRepository.save(inserted)).thenReturn(inserted);
         when(categoryRepositoryJpa.findByNameEqualsIgnoreCase(any()))
                 .thenReturn(Optional.of(category));
@@ -344,14 +346,12 @@ class BookServiceImplTest {
                 .build();
         var publisher = Publisher.builder().id(1L).createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now()).build();
-        var publisherDTO = PublisherDTO.builder().id(1L).build();
         var publisherData = PublisherData.builder().id(1L).build();
-        var inserted = Book.builder().id(1L).name("nombre").price(2.2).image("imagen")
+        var inserted = Book.builder().id(1L).name("nombre").price(Money.of(2.2)).image("imagen")
                 .publisher(publisher).description("descripción")
                 .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).active(true).build();
-        when(publisherService.findById(1L)).thenReturn(any());
+        when(publisherService.getReference(1L)).thenReturn(publisher);
         when(categoryService.getCategoryById(categoryId)).thenReturn(any());
-        when(publisherMapper.toPublisher(publisherDTO)).thenReturn(publisher);
         when(bookRepository.save(inserted)).thenReturn(inserted);
         when(bookRepository.findById(inserted.getId())).thenReturn(Optional.of(inserted));
         when(publisherMapper.toPublisherData(any())).thenReturn(publisherData);
@@ -401,13 +401,11 @@ class BookServiceImplTest {
                 .build();
         var publisher = Publisher.builder().id(1L).createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now()).build();
-        var publisherDTO = PublisherDTO.builder().id(1L).build();
         var publisherData = PublisherData.builder().id(1L).build();
-        var inserted = Book.builder().id(1L).name("nombre").price(2.2).image("imagen")
+        var inserted = Book.builder().id(1L).name("nombre").price(Money.of(2.2)).image("imagen")
                 .publisher(publisher).description("descripción")
                 .createdAt(LocalDateTime.now()).updatedAt(LocalDateTime.now()).active(true).build();
-        when(publisherService.findById(1L)).thenReturn(any());
-        when(publisherMapper.toPublisher(publisherDTO)).thenReturn(publisher);
+        when(publisherService.getReference(1L)).thenReturn(publisher);
         when(bookRepository.save(inserted)).thenReturn(inserted);
         when(bookRepository.findById(inserted.getId())).thenReturn(Optional.of(inserted));
         when(publisherMapper.toPublisherData(any())).thenReturn(publisherData);
@@ -467,7 +465,7 @@ class BookServiceImplTest {
                 .id(1L)
                 .name("nombre")
                 .publisher(Publisher.builder().id(1L).build())
-                .price(2.2)
+                .price(Money.of(2.2))
                 .image("imagen")
                 .description("descripción")
                 .createdAt(LocalDateTime.now())
@@ -8,6 +8,8 @@ import com.nullers.restbookstore.rest.category.exceptions.CategoryNotFoundExcept
 import com.nullers.restbookstore.rest.category.mappers.CategoryCreateMapper;
 import com.nullers.restbookstore.rest.category.model.Category;
 import com.nullers.restbookstore.rest.category.repository.CategoryRepositoryJpa;
+import com.nullers.restbookstore.rest.common.ReferenceData;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -23,6 +25,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +38,12 @@ public class CategoryServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private ReferenceFilters referenceFilters;
+
+    @Mock
+    private ReferenceData referenceData;
+
     @InjectMocks
     private CategoryServiceJpaImpl service;
 
@@ -246,6 +255,7 @@ public class CategoryServiceTest {
     @Test
     void deleteCategoryWithBooks() {
         when(repository.findById(UUID.fromString("3930e05a-7ebf-4aa1-8aa8-5d7466fa9734"))).thenReturn(Optional.of(category1));
+        when(referenceFilters.mightBeReferenced(eq(ReferenceFilters.Reference.BOOK_CATEGORY), any(UUID.class))).thenReturn(true);
         when(bookRepository.findByCategory_Name(any())).thenReturn(new ArrayList<>());
         doThrow(new CategoryConflictException("No se puede eliminar la categoría porque tiene libros asociados")).when(repository).deleteById(UUID.fromString("3930e05a-7ebf-4aa1-8aa8-5d7466fa9734"));
 
@@ -267,6 +277,7 @@ public class CategoryServiceTest {
         List<GetBookDTO> expectedbooks = List.of();
 
         when(repository.findById(UUID.fromString("3930e05a-7ebf-4aa1-8aa8-5d7466fa9734"))).thenReturn(Optional.of(category1));
+        when(referenceFilters.mightBeReferenced(eq(ReferenceFilters.Reference.BOOK_CATEGORY), any(UUID.class))).thenReturn(true);
         when(bookRepository.findByCategory_Name(any())).thenReturn(new ArrayList<>());
 
         service.deleteById(UUID.fromString("3930e05a-7ebf-4aa1-8aa8-5d7466fa9734"));
@@ -17,6 +17,8 @@ import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.client.notifications.mapper.ClientNotificationMapper;
 import com.nullers.restbookstore.rest.client.repository.ClientRepository;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import com.nullers.restbookstore.rest.orders.models.Order;
 import com.nullers.restbookstore.rest.orders.models.OrderLine;
 import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
@@ -41,6 +43,7 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -69,19 +72,25 @@ class ClientServiceTest {
     @Mock
     private ClientNotificationMapper clientNotificationMapper;
 
+    @Mock
+    private ReferenceFilters referenceFilters;
+
+    @Mock
+    private ClientSearchIndex clientSearchIndex;
+
     @InjectMocks
     private ClientServiceImpl clientService;
 
     OrderLine orderLine = OrderLine.builder()
             .bookId(1L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
     OrderLine orderLine2 = OrderLine.builder()
             .bookId(2L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
 
@@ -102,7 +111,7 @@ class ClientServiceTest {
             .publisher(publisher)
             .image("image.jpg")
             .stock(10)
-            .price(1.0)
+            .price(Money.of(1.0))
             .description("description")
             .active(true)
             .category(category)
@@ -147,7 +156,7 @@ class ClientServiceTest {
             .orderLines(List.of(orderLine, orderLine2))
             .updatedAt(LocalDateTime.now())
             .createdAt(LocalDateTime.now())
-            .total(2.0)
+            .total(Money.of(2.0))
             .totalBooks(2)
             .build();
 
@@ -327,6 +336,35 @@ class ClientServiceTest {
         verify(clientRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
     }
 
+    @Test
+    void findAll_shouldUseSearchIndexCandidates() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+        when(clientSearchIndex.candidates(Optional.of("Dani"), Optional.empty(), Optional.empty(), Optional.empty()))
+                .thenReturn(Optional.of(List.of(clientTest.getId())));
+        when(clientRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(clientTest)));
+
+        Page<ClientDto> result = clientService.findAll(Optional.of("Dani"), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), pageable);
+
+        assertAll(
+                () -> assertEquals(1, result.getTotalElements()),
+                () -> assertEquals(clientTest.getName(), result.getContent().get(0).getName())
+        );
+
+        verify(clientRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void findAll_shouldSkipQueryWithoutSearchIndexCandidates() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+        when(clientSearchIndex.candidates(Optional.of("Zzz"), Optional.empty(), Optional.empty(), Optional.empty()))
+                .thenReturn(Optional.of(List.of()));
+
+        Page<ClientDto> result = clientService.findAll(Optional.of("Zzz"), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), pageable);
+
+        assertTrue(result.isEmpty());
+        verify(clientRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void findAll_shouldReturnAllClientsWithAllParams() {
         List<Client> clientExpected = List.of(clientTest);
@@ -1063,7 +1101,8 @@ class ClientServiceTest {
 
     @Test
     void delete() throws IOException, InterruptedException {
-        when(orderRepository.findByClientId(any(UUID.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(referenceFilters.mightBeReferenced(eq(ReferenceFilters.Reference.ORDER_CLIENT), any(UUID.class))).thenReturn(true);
+        when(orderRepository.existsByClientId(any(UUID.class))).thenReturn(false);
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(
                 Client.builder()
                         .id(UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0"))
@@ -1079,7 +1118,7 @@ class ClientServiceTest {
 
         clientService.deleteById(UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0"));
 
-        verify(orderRepository, times(1)).findByClientId(any(UUID.class), any(Pageable.class));
+        verify(orderRepository, times(1)).existsByClientId(any(UUID.class));
         verify(clientRepository, times(1)).deleteById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
         Thread.sleep(1000);
@@ -1090,7 +1129,8 @@ class ClientServiceTest {
 
     @Test
     void delete_ShouldThrowExceptionClientInOrder() {
-        when(orderRepository.findByClientId(any(UUID.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(Order.builder().build())));
+        when(referenceFilters.mightBeReferenced(eq(ReferenceFilters.Reference.ORDER_CLIENT), any(UUID.class))).thenReturn(true);
+        when(orderRepository.existsByClientId(any(UUID.class))).thenReturn(true);
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         var res = assertThrows(ClientInOrderException.class, () -> clientService.deleteById(UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0")));
 
@@ -1099,7 +1139,7 @@ class ClientServiceTest {
                 () -> assertEquals("El cliente con id " + clientTest.getId() + " tiene pedidos asociados", res.getMessage())
         );
 
-        verify(orderRepository, times(1)).findByClientId(any(UUID.class), any(Pageable.class));
+        verify(orderRepository, times(1)).existsByClientId(any(UUID.class));
         verify(clientRepository, times(0)).deleteById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
@@ -0,0 +1,79 @@
+package com.nullers.restbookstore.rest.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void ofRoundsToCents() {
+        assertAll(
+                () -> assertEquals(1299, Money.of(12.99).cents()),
+                () -> assertEquals(29, Money.of(0.29).cents()),
+                () -> assertEquals(13, Money.of(new BigDecimal("0.125")).cents()),
+                () -> assertNull(Money.of((Double) null)),
+                () -> assertSame(Money.ZERO, Money.of(0.0))
+        );
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        Money sum = Money.of(0.1).plus(Money.of(0.2));
+
+        assertAll(
+                () -> assertEquals(Money.of(0.3), sum),
+                () -> assertEquals(0.3, sum.doubleValue()),
+                () -> assertEquals(Money.of(38.97), Money.of(12.99).times(3)),
+                () -> assertEquals("38.97", Money.of(12.99).times(3).toString())
+        );
+    }
+
+    @Test
+    void jsonKeepsDecimalRepresentation() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertAll(
+                () -> assertEquals("12.99", mapper.writeValueAsString(Money.of(12.99))),
+                () -> assertEquals(Money.of(12.99), mapper.readValue("12.99", Money.class)),
+                () -> assertEquals(Money.of(10.0), mapper.readValue("10", Money.class))
+        );
+    }
+
+    @Test
+    void orderTotalOfManyLinesIsExact() {
+        List<OrderLine> lines = new ArrayList<>();
+        for (long i = 0; i < 500; i++) {
+            OrderLine line = OrderLine.builder().bookId(i).price(Money.of(0.1)).build();
+            line.setQuantity(3);
+            lines.add(line);
+        }
+        Order order = Order.builder().orderLines(lines).build();
+
+        order.calculateLines();
+
+        assertAll(
+                () -> assertEquals(500, order.getTotalBooks()),
+                () -> assertEquals(Money.of(150.0), order.getTotal()),
+                () -> assertEquals(150.0, order.getTotal().doubleValue())
+        );
+    }
+
+    @Test
+    void nonNegativeValidator() {
+        NonNegativeMoneyValidator validator = new NonNegativeMoneyValidator();
+
+        assertAll(
+                () -> assertTrue(validator.isValid(null, null)),
+                () -> assertTrue(validator.isValid(Money.ZERO, null)),
+                () -> assertFalse(validator.isValid(Money.ofCents(-1), null))
+        );
+    }
+}
@@ -0,0 +1,136 @@
+package com.nullers.restbookstore.rest.common;
+
+import com.nullers.restbookstore.rest.category.model.Category;
+import com.nullers.restbookstore.rest.category.repository.CategoryRepositoryJpa;
+import com.nullers.restbookstore.rest.publisher.model.Publisher;
+import com.nullers.restbookstore.rest.publisher.repository.PublisherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataTest {
+
+    @Mock
+    private CategoryRepositoryJpa categoryRepository;
+
+    @Mock
+    private PublisherRepository publisherRepository;
+
+    private ReferenceData referenceData;
+
+    private final UUID terror = UUID.randomUUID();
+
+    private final long maxAge = TimeUnit.SECONDS.toNanos(60);
+
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        referenceData = new ReferenceData(categoryRepository, publisherRepository, true, maxAge, () -> now);
+    }
+
+    private void build() {
+        when(categoryRepository.findAll()).thenReturn(List.of(
+                Category.builder().id(terror).name("Terror").isActive(true).build()));
+        when(publisherRepository.findAll()).thenReturn(List.of(
+                Publisher.builder().id(1L).name("Planeta").active(true).build()));
+        referenceData.build();
+    }
+
+    @Test
+    void emptyUntilBuilt() {
+        assertAll(
+                () -> assertFalse(referenceData.isReady()),
+                () -> assertEquals(Optional.empty(), referenceData.findCategory("Terror")),
+                () -> assertEquals(Optional.empty(), referenceData.findPublisher(1L))
+        );
+    }
+
+    @Test
+    void findsByIdAndNameIgnoringCase() {
+        build();
+
+        assertAll(
+                () -> assertTrue(referenceData.isReady()),
+                () -> assertEquals("Terror", referenceData.findCategory("TERROR").orElseThrow().name()),
+                () -> assertEquals(terror, referenceData.findCategory(terror).orElseThrow().id()),
+                () -> assertEquals("Planeta", referenceData.findPublisher(1L).orElseThrow().name()),
+                () -> assertEquals(Optional.empty(), referenceData.findPublisher(2L))
+        );
+    }
+
+    @Test
+    void writesPublishNewVersion() {
+        build();
+        long version = referenceData.getVersion();
+
+        referenceData.categorySaved(Category.builder().id(terror).name("Miedo").isActive(false).build());
+        referenceData.publisherSaved(Publisher.builder().id(1L).name("Planeta").active(false).build());
+
+        assertAll(
+                () -> assertEquals(version + 2, referenceData.getVersion()),
+                () -> assertEquals(Optional.empty(), referenceData.findCategory("Terror")),
+                () -> assertFalse(referenceData.findCategory("miedo").orElseThrow().active()),
+                () -> assertFalse(referenceData.findPublisher(1L).orElseThrow().active())
+        );
+    }
+
+    @Test
+    void missLoadsFromRepository() {
+        build();
+        when(publisherRepository.findById(2L)).thenReturn(Optional.of(
+                Publisher.builder().id(2L).name("Anagrama").active(true).build()));
+
+        assertAll(
+                () -> assertEquals("Anagrama", referenceData.findPublisher(2L).orElseThrow().name()),
+                () -> assertEquals("Anagrama", referenceData.findPublisher(2L).orElseThrow().name())
+        );
+        verify(publisherRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void reloadsAfterMaxAge() {
+        build();
+        now += maxAge;
+        when(categoryRepository.findAll()).thenReturn(List.of());
+        when(publisherRepository.findAll()).thenReturn(List.of(
+                Publisher.builder().id(1L).name("Planeta Nueva").active(true).build()));
+
+        assertAll(
+                () -> assertEquals("Planeta Nueva", referenceData.findPublisher(1L).orElseThrow().name()),
+                () -> assertEquals(Optional.empty(), referenceData.findCategory(terror))
+        );
+        verify(publisherRepository, times(2)).findAll();
+    }
+
+    @Test
+    void changesDuringBuildAreKept() {
+        UUID removed = UUID.randomUUID();
+        referenceData.categoryRemoved(removed);
+        referenceData.publisherSaved(Publisher.builder().id(1L).name("Planeta Nueva").active(true).build());
+        when(categoryRepository.findAll()).thenReturn(List.of(
+                Category.builder().id(removed).name("Borrada").isActive(true).build()));
+        when(publisherRepository.findAll()).thenReturn(List.of(
+                Publisher.builder().id(1L).name("Planeta").active(true).build()));
+
+        referenceData.build();
+
+        assertAll(
+                () -> assertEquals(Optional.empty(), referenceData.findCategory(removed)),
+                () -> assertEquals("Planeta Nueva", referenceData.findPublisher(1L).orElseThrow().name())
+        );
+    }
+}
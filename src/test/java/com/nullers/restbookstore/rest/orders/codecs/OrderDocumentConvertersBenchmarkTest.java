@@ -0,0 +1,125 @@
+package com.nullers.restbookstore.rest.orders.codecs;
+
+import com.mongodb.MongoClientSettings;
+import com.nullers.restbookstore.config.mongo.MongoMoneyConfig;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara el rendimiento de pedido a BSON y de vuelta con la reflexión de Spring Data, con las conversiones escritas
+ * a mano. Solo se ejecuta con BENCHMARKS=true
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARKS", matches = "true")
+class OrderDocumentConvertersBenchmarkTest {
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final CodecRegistry registry = CodecRegistries.withUuidRepresentation(
+            MongoClientSettings.getDefaultCodecRegistry(), UuidRepresentation.STANDARD);
+
+    private static Order sampleOrder() {
+        List<OrderLine> lines = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            OrderLine line = OrderLine.builder().bookId(i).quantity((int) i).price(Money.of(9.99 + i)).build();
+            line.calculatePrice(line.getPrice());
+            lines.add(line);
+        }
+        Order order = Order.builder()
+                .id(new ObjectId())
+                .userId(UUID.randomUUID())
+                .clientId(UUID.randomUUID())
+                .shopId(UUID.randomUUID())
+                .orderLines(lines)
+                .createdAt(LocalDateTime.of(2023, 10, 23, 12, 30, 15))
+                .updatedAt(LocalDateTime.of(2023, 10, 24, 9, 0, 0))
+                .isDeleted(false)
+                .build();
+        order.calculateLines();
+        return order;
+    }
+
+    private static MappingMongoConverter converter(List<Converter<?, ?>> converters) {
+        MongoCustomConversions conversions = new MongoCustomConversions(converters);
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        context.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private <T> UnaryOperator<Order> viaBytes(Codec<T> codec, Function<Order, T> write,
+                                               Function<T, Order> read) {
+        return order -> {
+            BasicOutputBuffer buffer = new BasicOutputBuffer();
+            codec.encode(new BsonBinaryWriter(buffer), write.apply(order), EncoderContext.builder().build());
+            T decoded = codec.decode(new BsonBinaryReader(ByteBuffer.wrap(buffer.toByteArray())),
+                    DecoderContext.builder().build());
+            return read.apply(decoded);
+        };
+    }
+
+    private UnaryOperator<Order> viaDocument(MappingMongoConverter converter) {
+        return viaBytes(registry.get(Document.class), order -> {
+            Document document = new Document();
+            converter.write(order, document);
+            return document;
+        }, document -> converter.read(Order.class, document));
+    }
+
+    private static double opsPerSecond(UnaryOperator<Order> roundTrip, Order order) {
+        for (int i = 0; i < WARMUP; i++) {
+            roundTrip.apply(order);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            roundTrip.apply(order);
+        }
+        return ITERATIONS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    @Test
+    void roundTripThroughput() {
+        Order order = sampleOrder();
+        List<Converter<?, ?>> handWritten = new ArrayList<>(MongoMoneyConfig.moneyConverters());
+        handWritten.addAll(OrderDocumentConverters.converters());
+        UnaryOperator<Order> reflection = viaDocument(converter(MongoMoneyConfig.moneyConverters()));
+        UnaryOperator<Order> converters = viaDocument(converter(handWritten));
+
+        assertEquals(order, reflection.apply(order));
+        assertEquals(order, converters.apply(order));
+
+        System.out.printf("Pedido -> BSON -> pedido (operaciones/s): reflexión %.0f, conversiones %.0f%n",
+                opsPerSecond(reflection, order), opsPerSecond(converters, order));
+    }
+}
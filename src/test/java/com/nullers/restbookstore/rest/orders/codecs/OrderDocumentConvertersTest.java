@@ -0,0 +1,101 @@
+package com.nullers.restbookstore.rest.orders.codecs;
+
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderDocumentConvertersTest {
+
+    private final OrderDocumentConverters.OrderWritingConverter writer =
+            new OrderDocumentConverters.OrderWritingConverter();
+
+    private final OrderDocumentConverters.OrderReadingConverter reader =
+            new OrderDocumentConverters.OrderReadingConverter();
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        OrderLine line = OrderLine.builder().bookId(1L).quantity(2).price(Money.of(12.99)).build();
+        line.calculatePrice(line.getPrice());
+        OrderLine line2 = OrderLine.builder().bookId(2L).quantity(1).price(Money.of(5.0)).build();
+        line2.calculatePrice(line2.getPrice());
+        order = Order.builder()
+                .id(new ObjectId())
+                .userId(UUID.randomUUID())
+                .clientId(UUID.randomUUID())
+                .shopId(UUID.randomUUID())
+                .orderLines(List.of(line, line2))
+                .createdAt(LocalDateTime.of(2023, 10, 23, 12, 30, 15))
+                .updatedAt(LocalDateTime.of(2023, 10, 24, 9, 0, 0))
+                .isDeleted(false)
+                .build();
+        order.calculateLines();
+    }
+
+    @Test
+    void roundTrip() {
+        assertEquals(order, reader.convert(writer.convert(order)));
+    }
+
+    @Test
+    void writesStandardUuidsAndCents() {
+        Document document = writer.convert(order);
+
+        assertAll(
+                () -> assertEquals(BsonBinarySubType.UUID_STANDARD.getValue(),
+                        ((BsonBinary) document.get(OrderDocumentConverters.USER_ID)).getType()),
+                () -> assertEquals(3098L, document.get(OrderDocumentConverters.TOTAL)),
+                () -> assertEquals(1299L, document.getList(OrderDocumentConverters.ORDER_LINES, Document.class).get(0)
+                        .get(OrderDocumentConverters.LINE_PRICE)),
+                () -> assertFalse(document.containsKey("_class"))
+        );
+    }
+
+    @Test
+    void legacyDocumentsAreRead() {
+        BsonBinary legacyUser = new BsonBinary(order.getUserId(), UuidRepresentation.JAVA_LEGACY);
+        Document legacy = new Document("_id", order.getId())
+                .append(OrderDocumentConverters.USER_ID, new Binary(BsonBinarySubType.UUID_LEGACY, legacyUser.getData()))
+                .append(OrderDocumentConverters.TOTAL, 22.98)
+                .append(OrderDocumentConverters.CREATED_AT,
+                        Date.from(order.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()))
+                .append("_class", "Order");
+
+        Order fromDocument = reader.convert(legacy);
+
+        assertAll(
+                () -> assertEquals(order.getUserId(), fromDocument.getUserId()),
+                () -> assertEquals(Money.ofCents(2298), fromDocument.getTotal()),
+                () -> assertEquals(order.getCreatedAt(), fromDocument.getCreatedAt())
+        );
+    }
+
+    @Test
+    void missingFieldsKeepDefaults() {
+        Order decoded = reader.convert(new Document("_id", order.getId()));
+
+        assertAll(
+                () -> assertEquals(order.getId(), decoded.getId()),
+                () -> assertEquals(Money.ZERO, decoded.getTotal()),
+                () -> assertEquals(0, decoded.getTotalBooks()),
+                () -> assertNull(decoded.getOrderLines())
+        );
+    }
+}
@@ -0,0 +1,69 @@
+package com.nullers.restbookstore.rest.orders.controllers;
+
+import com.nullers.restbookstore.rest.orders.dto.BulkOrderResponse;
+import com.nullers.restbookstore.rest.orders.services.OrderBulkService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@AutoConfigureMockMvc
+@ExtendWith(MockitoExtension.class)
+@SpringBootTest(properties = {"spring.config.name=application-test", "orders.bulk.max-size=2"})
+@WithMockUser(username = "admin", password = "admin", roles = {"ADMIN"})
+class OrderBulkControllerTest {
+
+    private final String endpoint = "/api/orders/bulk";
+
+    @MockBean
+    OrderBulkService orderBulkService;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void createOrdersNdjson_ShouldRejectMalformedLines() throws Exception {
+        when(orderBulkService.createOrders(anyList(), anyMap(), eq(false)))
+                .thenReturn(BulkOrderResponse.builder().received(2).results(List.of()).build());
+
+        MockHttpServletResponse response = mockMvc.perform(post(endpoint)
+                .contentType(OrderBulkController.APPLICATION_NDJSON_VALUE)
+                .content("{}\n\n{no es json\n")).andReturn().getResponse();
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        verify(orderBulkService, times(1)).createOrders(
+                argThat(orders -> orders.size() == 2 && orders.get(0) != null && orders.get(1) == null),
+                argThat((Map<Integer, String> errors) -> errors.keySet().equals(Set.of(1))
+                        && !errors.get(1).isBlank()),
+                eq(false));
+    }
+
+    @Test
+    void createOrdersNdjson_ShouldReturnBadRequestOverMaxSize() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(post(endpoint)
+                .contentType(OrderBulkController.APPLICATION_NDJSON_VALUE)
+                .content("{}\n{}\n\n{}\n")).andReturn().getResponse();
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+        verifyNoInteractions(orderBulkService);
+    }
+}
@@ -9,6 +9,7 @@ import com.nullers.restbookstore.rest.category.model.Category;
 import com.nullers.restbookstore.rest.client.exceptions.ClientNotFound;
 import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.Money;
 import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderBadPriceException;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderNotFoundException;
@@ -68,13 +69,13 @@ public class OrderControllerTest {
     OrderLine orderLine = OrderLine.builder()
             .bookId(1L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
     OrderLine orderLine2 = OrderLine.builder()
             .bookId(2L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
 
@@ -95,7 +96,7 @@ public class OrderControllerTest {
             .publisher(publisher)
             .image("image.jpg")
             .stock(10)
-            .price(1.0)
+            .price(Money.of(1.0))
             .description("description")
             .active(true)
             .category(category)
@@ -150,7 +151,7 @@ public class OrderControllerTest {
             .orderLines(List.of(orderLine, orderLine2))
             .updatedAt(LocalDateTime.now())
             .createdAt(LocalDateTime.now())
-            .total(2.0)
+            .total(Money.of(2.0))
             .totalBooks(2)
             .build();
 
@@ -618,11 +619,11 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(2)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .updatedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
-                .total(3.0)
+                .total(Money.of(3.0))
                 .totalBooks(2)
                 .build();
         when(orderService.createOrder(any(OrderCreateDto.class))).thenReturn(order);
@@ -763,7 +764,7 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(null)
                         .quantity(2)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .shopId(shop.getId())
                 .build();
@@ -791,7 +792,7 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(0)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .shopId(shop.getId())
                 .build();
@@ -819,7 +820,7 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(1)
-                        .price(-1.0)
+                        .price(Money.of(-1.0))
                         .build(), orderLine2))
                 .shopId(shop.getId())
                 .build();
@@ -1029,11 +1030,11 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(2)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .updatedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
-                .total(3.0)
+                .total(Money.of(3.0))
                 .totalBooks(2)
                 .build();
         when(orderService.updateOrder(any(ObjectId.class), any(OrderCreateDto.class))).thenReturn(order);
@@ -1175,7 +1176,7 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(null)
                         .quantity(2)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .shopId(shop.getId())
                 .build();
@@ -1203,7 +1204,7 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(0)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .shopId(shop.getId())
                 .build();
@@ -1231,7 +1232,7 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(1)
-                        .price(-1.0)
+                        .price(Money.of(-1.0))
                         .build(), orderLine2))
                 .shopId(shop.getId())
                 .build();
@@ -1546,11 +1547,11 @@ public class OrderControllerTest {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(2)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .updatedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
-                .total(3.0)
+                .total(Money.of(3.0))
                 .totalBooks(2)
                 .build();
         when(orderService.deleteLogicOrder(any(ObjectId.class))).thenReturn(order);
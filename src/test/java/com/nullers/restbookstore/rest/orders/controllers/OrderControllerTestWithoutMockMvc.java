@@ -7,6 +7,7 @@ import com.nullers.restbookstore.rest.category.model.Category;
 import com.nullers.restbookstore.rest.client.exceptions.ClientNotFound;
 import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.Money;
 import com.nullers.restbookstore.rest.common.PageableRequest;
 import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderBadPriceException;
@@ -58,13 +59,13 @@ class OrderControllerTestWithoutMockMvc {
     OrderLine orderLine = OrderLine.builder()
             .bookId(1L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
     OrderLine orderLine2 = OrderLine.builder()
             .bookId(2L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
 
@@ -85,7 +86,7 @@ class OrderControllerTestWithoutMockMvc {
             .publisher(publisher)
             .image("image.jpg")
             .stock(10)
-            .price(1.0)
+            .price(Money.of(1.0))
             .description("description")
             .active(true)
             .category(category)
@@ -140,7 +141,7 @@ class OrderControllerTestWithoutMockMvc {
             .orderLines(List.of(orderLine, orderLine2))
             .updatedAt(LocalDateTime.now())
             .createdAt(LocalDateTime.now())
-            .total(2.0)
+            .total(Money.of(2.0))
             .totalBooks(2)
             .build();
 
@@ -380,11 +381,11 @@ class OrderControllerTestWithoutMockMvc {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(2)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .updatedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
-                .total(3.0)
+                .total(Money.of(3.0))
                 .totalBooks(2)
                 .build();
 
@@ -564,11 +565,11 @@ class OrderControllerTestWithoutMockMvc {
                 .orderLines(List.of(OrderLine.builder()
                         .bookId(1L)
                         .quantity(2)
-                        .price(1.0)
+                        .price(Money.of(1.0))
                         .build(), orderLine2))
                 .updatedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
-                .total(3.0)
+                .total(Money.of(3.0))
                 .totalBooks(2)
                 .build();
 
@@ -654,7 +655,7 @@ class OrderControllerTestWithoutMockMvc {
                 .orderLines(List.of(orderLine, orderLine2))
                 .updatedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
-                .total(2.0)
+                .total(Money.of(2.0))
                 .totalBooks(2)
                 .build();
 
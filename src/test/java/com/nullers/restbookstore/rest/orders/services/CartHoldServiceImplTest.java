@@ -0,0 +1,179 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.dto.CartHoldCreateDto;
+import com.nullers.restbookstore.rest.orders.dto.CartHoldLine;
+import com.nullers.restbookstore.rest.orders.dto.CartHoldResponse;
+import com.nullers.restbookstore.rest.orders.exceptions.CartHoldInUseException;
+import com.nullers.restbookstore.rest.orders.exceptions.CartHoldNotFoundException;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderNotStockException;
+import com.nullers.restbookstore.rest.orders.models.CartHold;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CartHoldServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CartHoldServiceImpl cartHoldService;
+
+    private Book book;
+
+    private Book book2;
+
+    @BeforeEach
+    void setUp() {
+        cartHoldService = new CartHoldServiceImpl(bookRepository, 60, 1000, 16, clock::get);
+        book = Book.builder().id(1L).name("name").price(Money.of(1.0)).stock(5).active(true).build();
+        book2 = Book.builder().id(2L).name("name2").price(Money.of(1.0)).stock(1).active(true).build();
+    }
+
+    private CartHoldCreateDto holdOf(long bookId, int quantity) {
+        return CartHoldCreateDto.builder()
+                .lines(List.of(CartHoldLine.builder().bookId(bookId).quantity(quantity).build()))
+                .build();
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void createHoldRetainsStock() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+
+        CartHoldResponse response = cartHoldService.createHold(CartHoldCreateDto.builder()
+                .lines(List.of(
+                        CartHoldLine.builder().bookId(1L).quantity(2).build(),
+                        CartHoldLine.builder().bookId(1L).quantity(1).build()))
+                .build());
+
+        assertAll(
+                () -> assertEquals(1, response.getLines().size()),
+                () -> assertEquals(3, response.getLines().get(0).getQuantity()),
+                () -> assertEquals(3, cartHoldService.heldQuantity(1L)),
+                () -> assertEquals(5, book.getStock())
+        );
+    }
+
+    @Test
+    void createHoldWithoutStockRetainsNothing() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
+
+        assertThrows(OrderNotStockException.class, () -> cartHoldService.createHold(CartHoldCreateDto.builder()
+                .lines(List.of(
+                        CartHoldLine.builder().bookId(1L).quantity(2).build(),
+                        CartHoldLine.builder().bookId(2L).quantity(2).build()))
+                .build()));
+
+        assertAll(
+                () -> assertEquals(0, cartHoldService.heldQuantity(1L)),
+                () -> assertEquals(0, cartHoldService.heldQuantity(2L)),
+                () -> assertEquals(0, cartHoldService.activeHolds())
+        );
+    }
+
+    @Test
+    void createHoldOfUnknownBookFails() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of());
+
+        assertThrows(BookNotFoundException.class, () -> cartHoldService.createHold(holdOf(1L, 1)));
+    }
+
+    @Test
+    void holdsCountAgainstEachOther() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+        cartHoldService.createHold(holdOf(1L, 4));
+
+        assertThrows(OrderNotStockException.class, () -> cartHoldService.createHold(holdOf(1L, 2)));
+        assertEquals(4, cartHoldService.heldQuantity(1L));
+    }
+
+    @Test
+    void expiredHoldsAreReleased() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+        CartHoldResponse response = cartHoldService.createHold(holdOf(1L, 2));
+
+        advanceSeconds(59);
+        cartHoldService.expire();
+        assertEquals(2, cartHoldService.heldQuantity(1L));
+
+        advanceSeconds(1);
+        cartHoldService.expire();
+        assertAll(
+                () -> assertEquals(0, cartHoldService.heldQuantity(1L)),
+                () -> assertEquals(0, cartHoldService.activeHolds()),
+                () -> assertThrows(CartHoldNotFoundException.class, () -> cartHoldService.getHold(response.getId()))
+        );
+    }
+
+    @Test
+    void claimedHoldsAreNotExpiredUntilUnclaimed() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+        CartHoldResponse response = cartHoldService.createHold(holdOf(1L, 2));
+        CartHold hold = cartHoldService.claim(response.getId());
+
+        advanceSeconds(60);
+        cartHoldService.expire();
+        assertEquals(2, cartHoldService.heldQuantity(1L));
+
+        cartHoldService.unclaim(hold);
+        assertEquals(0, cartHoldService.heldQuantity(1L));
+    }
+
+    @Test
+    void claimTwiceFails() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+        CartHoldResponse response = cartHoldService.createHold(holdOf(1L, 2));
+        cartHoldService.claim(response.getId());
+
+        assertAll(
+                () -> assertThrows(CartHoldInUseException.class, () -> cartHoldService.claim(response.getId())),
+                () -> assertThrows(CartHoldInUseException.class, () -> cartHoldService.releaseHold(response.getId()))
+        );
+    }
+
+    @Test
+    void completeReleasesHold() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+        CartHoldResponse response = cartHoldService.createHold(holdOf(1L, 2));
+
+        cartHoldService.complete(cartHoldService.claim(response.getId()));
+
+        assertAll(
+                () -> assertEquals(0, cartHoldService.heldQuantity(1L)),
+                () -> assertThrows(CartHoldNotFoundException.class, () -> cartHoldService.claim(response.getId()))
+        );
+    }
+
+    @Test
+    void releaseHoldFreesStock() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
+        CartHoldResponse response = cartHoldService.createHold(holdOf(1L, 2));
+
+        cartHoldService.releaseHold(response.getId());
+
+        assertAll(
+                () -> assertEquals(0, cartHoldService.heldQuantity(1L)),
+                () -> assertThrows(CartHoldNotFoundException.class, () -> cartHoldService.releaseHold(response.getId()))
+        );
+    }
+}
@@ -0,0 +1,214 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.client.repository.ClientRepository;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.dto.BulkOrderResponse;
+import com.nullers.restbookstore.rest.orders.dto.BulkOrderResult;
+import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderBulkTooLargeException;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import com.nullers.restbookstore.rest.sales.services.SalesRollupService;
+import com.nullers.restbookstore.rest.shop.repository.ShopRepository;
+import com.nullers.restbookstore.rest.user.repository.UserRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBulkServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private ShopRepository shopRepository;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private CartHoldService cartHoldService;
+
+    @Mock
+    private Validator validator;
+
+    private OrderBulkServiceImpl orderBulkService;
+
+    private final UUID userId = UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0");
+    private final UUID clientId = UUID.fromString("a712c5f2-eb95-449a-9ec4-1aa55cdac9bc");
+    private final UUID shopId = UUID.fromString("770e8400-e29b-41d4-a716-446655440000");
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        orderBulkService = new OrderBulkServiceImpl(mongoTemplate, bookRepository, userRepository,
+                clientRepository, shopRepository, salesRollupService, cartHoldService, validator, 3);
+        book = Book.builder()
+                .id(1L)
+                .name("name")
+                .stock(10)
+                .price(Money.of(1.0))
+                .active(true)
+                .build();
+    }
+
+    private OrderCreateDto dto(UUID user, int quantity) {
+        return OrderCreateDto.builder()
+                .userId(user)
+                .clientId(clientId)
+                .shopId(shopId)
+                .orderLines(List.of(OrderLine.builder().bookId(1L).quantity(quantity).price(Money.of(1.0)).build()))
+                .build();
+    }
+
+    private void mockReferences() {
+        when(userRepository.findExistingIds(any())).thenReturn(Set.of(userId));
+        when(clientRepository.findExistingIds(any())).thenReturn(Set.of(clientId));
+        when(shopRepository.findExistingIds(any())).thenReturn(Set.of(shopId));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+    }
+
+    @Test
+    void createOrdersReservesAggregatedStock() {
+        mockReferences();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        BulkOrderResponse response = orderBulkService.createOrders(List.of(dto(userId, 6), dto(userId, 6),
+                dto(userId, 4)), false);
+
+        assertAll(
+                () -> assertEquals(3, response.getReceived()),
+                () -> assertEquals(2, response.getCreated()),
+                () -> assertEquals(BulkOrderResult.Status.CREATED, response.getResults().get(0).getStatus()),
+                () -> assertEquals(BulkOrderResult.Status.REJECTED, response.getResults().get(1).getStatus()),
+                () -> assertEquals(BulkOrderResult.Status.CREATED, response.getResults().get(2).getStatus()),
+                () -> assertEquals(6.0, response.getResults().get(0).getTotal()),
+                () -> assertEquals(0, book.getStock())
+        );
+        verify(bookRepository, times(1)).saveAll(List.of(book));
+        verify(bulkOperations, times(1)).insert(argThat((List<?> orders) -> orders.size() == 2));
+        verify(salesRollupService, times(1)).recordCreated(argThat((List<Order> orders) -> orders.size() == 2));
+    }
+
+    @Test
+    void createOrdersRejectsMissingReferences() {
+        mockReferences();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        BulkOrderResponse response = orderBulkService.createOrders(List.of(dto(UUID.randomUUID(), 1),
+                dto(userId, 1)), false);
+
+        assertAll(
+                () -> assertEquals(1, response.getCreated()),
+                () -> assertEquals(1, response.getNotCreated()),
+                () -> assertEquals(BulkOrderResult.Status.REJECTED, response.getResults().get(0).getStatus()),
+                () -> assertEquals(1, response.getResults().get(0).getErrors().size()),
+                () -> assertEquals(BulkOrderResult.Status.CREATED, response.getResults().get(1).getStatus()),
+                () -> assertEquals(9, book.getStock())
+        );
+    }
+
+    @Test
+    void createOrdersOrderedSkipsAfterFirstFailure() {
+        mockReferences();
+
+        BulkOrderResponse response = orderBulkService.createOrders(Arrays.asList(null,
+                dto(userId, 1)), true);
+
+        assertAll(
+                () -> assertEquals(0, response.getCreated()),
+                () -> assertEquals(BulkOrderResult.Status.REJECTED, response.getResults().get(0).getStatus()),
+                () -> assertEquals(BulkOrderResult.Status.SKIPPED, response.getResults().get(1).getStatus()),
+                () -> assertEquals(10, book.getStock())
+        );
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Order.class));
+        verify(bookRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createOrdersOrderedSkipsAfterRejectedStock() {
+        mockReferences();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        BulkOrderResponse response = orderBulkService.createOrders(List.of(dto(userId, 6), dto(userId, 6),
+                dto(userId, 1)), true);
+
+        assertAll(
+                () -> assertEquals(1, response.getCreated()),
+                () -> assertEquals(2, response.getNotCreated()),
+                () -> assertEquals(BulkOrderResult.Status.CREATED, response.getResults().get(0).getStatus()),
+                () -> assertEquals(BulkOrderResult.Status.REJECTED, response.getResults().get(1).getStatus()),
+                () -> assertEquals(1, response.getResults().get(1).getIndex()),
+                () -> assertEquals(1, response.getResults().get(1).getErrors().size()),
+                () -> assertNull(response.getResults().get(1).getOrderId()),
+                () -> assertEquals(BulkOrderResult.Status.SKIPPED, response.getResults().get(2).getStatus()),
+                () -> assertEquals(2, response.getResults().get(2).getIndex()),
+                () -> assertEquals(1, response.getResults().get(2).getErrors().size()),
+                () -> assertEquals(4, book.getStock())
+        );
+        verify(bulkOperations, times(1)).insert(argThat((List<?> orders) -> orders.size() == 1));
+    }
+
+    @Test
+    void createOrdersRejectsUnreadableOrdersWithParseError() {
+        mockReferences();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        BulkOrderResponse response = orderBulkService.createOrders(Arrays.asList(dto(userId, 1), null),
+                Map.of(1, "Unexpected character"), false);
+
+        assertAll(
+                () -> assertEquals(1, response.getCreated()),
+                () -> assertEquals(BulkOrderResult.Status.REJECTED, response.getResults().get(1).getStatus()),
+                () -> assertTrue(response.getResults().get(1).getErrors().get(0).endsWith("Unexpected character"))
+        );
+    }
+
+    @Test
+    void createOrdersTooLarge() {
+        List<OrderCreateDto> orders = List.of(dto(userId, 1), dto(userId, 1), dto(userId, 1), dto(userId, 1));
+
+        var res = assertThrows(OrderBulkTooLargeException.class, () -> orderBulkService.createOrders(orders, false));
+
+        assertNotNull(res.getMessage());
+        verifyNoInteractions(mongoTemplate, bookRepository);
+    }
+}
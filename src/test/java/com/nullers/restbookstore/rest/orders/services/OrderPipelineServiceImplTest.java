@@ -0,0 +1,246 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
+import com.nullers.restbookstore.rest.orders.dto.OrderPipelineResponse;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import com.nullers.restbookstore.rest.orders.models.OrderOutboxEntry;
+import com.nullers.restbookstore.rest.orders.models.OrderPipelineStatus;
+import com.nullers.restbookstore.rest.orders.models.StockReservation;
+import com.nullers.restbookstore.rest.orders.repositories.OrderOutboxRepository;
+import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
+import com.nullers.restbookstore.rest.orders.repositories.StockReservationRepository;
+import com.nullers.restbookstore.rest.sales.services.SalesRollupService;
+import com.nullers.restbookstore.rest.user.exceptions.UserNotFound;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPipelineServiceImplTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderOutboxRepository outboxRepository;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private CartHoldService cartHoldService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OrderPipelineServiceImpl orderPipelineService;
+
+    private Book book;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        orderPipelineService = new OrderPipelineServiceImpl(orderService, orderRepository, outboxRepository,
+                stockReservationRepository, bookRepository, salesRollupService, cartHoldService, mongoTemplate,
+                transactionTemplate,
+                false, 2, 3, 1000, 30000, 500);
+        book = Book.builder().id(1L).name("name").price(Money.of(1.0)).stock(10).active(true).build();
+        order = Order.builder()
+                .userId(UUID.randomUUID())
+                .clientId(UUID.randomUUID())
+                .shopId(UUID.randomUUID())
+                .orderLines(List.of(OrderLine.builder().bookId(1L).quantity(2).price(Money.of(1.0)).build()))
+                .build();
+    }
+
+    private OrderOutboxEntry claimedEntry(int attempts) {
+        return OrderOutboxEntry.builder()
+                .id(order.getId())
+                .order(order)
+                .status(OrderPipelineStatus.PROCESSING)
+                .attempts(attempts)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactions() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private Object lastStatus() {
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeastOnce()).updateFirst(any(Query.class), captor.capture(), eq(OrderOutboxEntry.class));
+        return ((Document) captor.getValue().getUpdateObject().get("$set")).get("status");
+    }
+
+    @Test
+    void submitValidatesAndAppends() {
+        when(outboxRepository.insert(any(OrderOutboxEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        OrderCreateDto dto = OrderCreateDto.builder()
+                .userId(order.getUserId())
+                .clientId(order.getClientId())
+                .shopId(order.getShopId())
+                .orderLines(List.of(OrderLine.builder().bookId(1L).quantity(2).price(Money.of(1.0)).build()))
+                .build();
+
+        OrderPipelineResponse response = orderPipelineService.submit(dto);
+
+        assertAll(
+                () -> assertEquals(OrderPipelineStatus.PENDING, response.getStatus()),
+                () -> assertEquals(OrderPipelineServiceImpl.STATUS_PATH + response.getId(), response.getStatusUrl()),
+                () -> assertNull(response.getOrderUrl())
+        );
+        verify(orderService, times(1)).checkOrder(any(Order.class));
+        verify(outboxRepository, times(1)).insert(any(OrderOutboxEntry.class));
+        verifyNoInteractions(bookRepository, orderRepository);
+    }
+
+    @Test
+    void submitInvalidOrderIsNotAppended() {
+        doThrow(new UserNotFound("El usuario no existe")).when(orderService).checkOrder(any(Order.class));
+        OrderCreateDto dto = OrderCreateDto.builder()
+                .userId(order.getUserId())
+                .clientId(order.getClientId())
+                .shopId(order.getShopId())
+                .orderLines(List.of(OrderLine.builder().bookId(1L).quantity(2).price(Money.of(1.0)).build()))
+                .build();
+
+        assertThrows(UserNotFound.class, () -> orderPipelineService.submit(dto));
+
+        verify(outboxRepository, never()).insert(any(OrderOutboxEntry.class));
+    }
+
+    @Test
+    void processReservesStockAndCompletes() {
+        runTransactions();
+        when(stockReservationRepository.existsById(order.getIdStr())).thenReturn(false);
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+        when(orderRepository.save(order)).thenReturn(order);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(OrderOutboxEntry.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        orderPipelineService.process(claimedEntry(1));
+
+        assertAll(
+                () -> assertEquals(8, book.getStock()),
+                () -> assertEquals(OrderPipelineStatus.COMPLETED, lastStatus())
+        );
+        verify(stockReservationRepository, times(1)).save(any(StockReservation.class));
+        verify(salesRollupService, times(1)).recordCreated(order);
+    }
+
+    @Test
+    void processRetryDoesNotReserveStockTwice() {
+        runTransactions();
+        when(stockReservationRepository.existsById(order.getIdStr())).thenReturn(true);
+        when(orderRepository.save(order)).thenReturn(order);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(OrderOutboxEntry.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        orderPipelineService.process(claimedEntry(2));
+
+        assertEquals(10, book.getStock());
+        verify(bookRepository, never()).findAllByIdForUpdate(any());
+        verify(orderRepository, times(1)).save(order);
+    }
+
+    @Test
+    void processWithoutStockFails() {
+        runTransactions();
+        book.setStock(1);
+        when(stockReservationRepository.existsById(order.getIdStr())).thenReturn(false);
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+
+        orderPipelineService.process(claimedEntry(1));
+
+        assertEquals(OrderPipelineStatus.FAILED, lastStatus());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+    }
+
+    @Test
+    void processCountsCartHolds() {
+        runTransactions();
+        when(stockReservationRepository.existsById(order.getIdStr())).thenReturn(false);
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+        when(cartHoldService.heldQuantity(1L)).thenReturn(9);
+
+        orderPipelineService.process(claimedEntry(1));
+
+        assertAll(
+                () -> assertEquals(10, book.getStock()),
+                () -> assertEquals(OrderPipelineStatus.FAILED, lastStatus())
+        );
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void processTransientErrorIsRetried() {
+        runTransactions();
+        when(stockReservationRepository.existsById(order.getIdStr())).thenReturn(false);
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+        when(orderRepository.save(order)).thenThrow(new IllegalStateException("MongoDB no disponible"));
+
+        orderPipelineService.process(claimedEntry(1));
+
+        assertEquals(OrderPipelineStatus.PENDING, lastStatus());
+        verify(orderRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void processCompensatesAfterLastAttempt() {
+        runTransactions();
+        when(stockReservationRepository.existsById(order.getIdStr())).thenReturn(true);
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+        when(orderRepository.save(order)).thenThrow(new IllegalStateException("MongoDB no disponible"));
+
+        orderPipelineService.process(claimedEntry(3));
+
+        assertAll(
+                () -> assertEquals(12, book.getStock()),
+                () -> assertEquals(OrderPipelineStatus.FAILED, lastStatus())
+        );
+        verify(orderRepository, times(1)).deleteById(order.getId());
+        verify(stockReservationRepository, times(1)).deleteById(order.getIdStr());
+        verify(salesRollupService, never()).recordCreated(any(Order.class));
+    }
+}
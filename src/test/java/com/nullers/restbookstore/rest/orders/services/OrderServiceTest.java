@@ -8,15 +8,19 @@ import com.nullers.restbookstore.rest.client.exceptions.ClientNotFound;
 import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.client.repository.ClientRepository;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.Money;
 import com.nullers.restbookstore.rest.orders.dto.OrderCreateDto;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderBadPriceException;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderNotFoundException;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderNotItemsExceptions;
 import com.nullers.restbookstore.rest.orders.exceptions.OrderNotStockException;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderValidationException;
+import com.nullers.restbookstore.rest.orders.models.CartHold;
 import com.nullers.restbookstore.rest.orders.models.Order;
 import com.nullers.restbookstore.rest.orders.models.OrderLine;
 import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
 import com.nullers.restbookstore.rest.publisher.model.Publisher;
+import com.nullers.restbookstore.rest.sales.services.SalesRollupService;
 import com.nullers.restbookstore.rest.shop.exceptions.ShopNotFoundException;
 import com.nullers.restbookstore.rest.shop.model.Shop;
 import com.nullers.restbookstore.rest.shop.repository.ShopRepository;
@@ -25,15 +29,18 @@ import com.nullers.restbookstore.rest.user.models.User;
 import com.nullers.restbookstore.rest.user.models.Role;
 import com.nullers.restbookstore.rest.user.repository.UserRepository;
 import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -60,19 +67,30 @@ public class OrderServiceTest {
     @Mock
     private ClientRepository clientRepository;
 
-    @InjectMocks
+    @Mock
+    private OrderSortGuard orderSortGuard;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private CartHoldService cartHoldService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private OrderServiceImpl orderService;
 
     OrderLine orderLine = OrderLine.builder()
             .bookId(1L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
     OrderLine orderLine2 = OrderLine.builder()
             .bookId(2L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
 
@@ -93,7 +111,19 @@ public class OrderServiceTest {
             .publisher(publisher)
             .image("image.jpg")
             .stock(10)
-            .price(1.0)
+            .price(Money.of(1.0))
+            .description("description")
+            .active(true)
+            .category(category)
+            .build();
+
+    Book book2 = Book.builder()
+            .id(2L)
+            .name("name2")
+            .publisher(publisher)
+            .image("image.jpg")
+            .stock(10)
+            .price(Money.of(1.0))
             .description("description")
             .active(true)
             .category(category)
@@ -147,7 +177,7 @@ public class OrderServiceTest {
             .orderLines(List.of(orderLine, orderLine2))
             .updatedAt(LocalDateTime.now())
             .createdAt(LocalDateTime.now())
-            .total(2.0)
+            .total(Money.of(2.0))
             .totalBooks(2)
             .build();
 
@@ -159,6 +189,13 @@ public class OrderServiceTest {
             .shopId(shop.getId())
             .build();
 
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderServiceImpl(orderRepository, bookRepository, userRepository, clientRepository,
+                shopRepository, orderSortGuard, salesRollupService, Runnable::run, cartHoldService,
+                new TransactionTemplate(transactionManager));
+    }
+
     @Test
     void getAllOrdersTest_ShouldReturnAllOrders() {
         List<Order> orders = List.of(order);
@@ -237,7 +274,8 @@ public class OrderServiceTest {
     @Test
     void createOrder_ShouldReturnOrder_Created() {
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book, book2));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
@@ -256,15 +294,21 @@ public class OrderServiceTest {
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(bookRepository, times(4)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
+        verify(bookRepository, times(1)).findAllByIdForUpdate(Set.of(book.getId(), book2.getId()));
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(2)).save(any(Book.class));
+        verify(bookRepository, times(1)).saveAll(List.of(book, book2));
+        verify(bookRepository, never()).findById(any(Long.class));
+        verify(salesRollupService, times(1)).recordCreated(order);
     }
 
     @Test
     void createOrder_ShouldThrowUserNotFoundException() {
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
 
         var res = assertThrows(UserNotFound.class, () -> orderService.createOrder(orderCreateDto));
 
@@ -275,7 +319,7 @@ public class OrderServiceTest {
         verify(orderRepository, times(0)).save(any(Order.class));
         verify(bookRepository, times(0)).findById(any(Long.class));
         verify(userRepository, times(1)).findById(any(UUID.class));
-        verify(clientRepository, times(0)).findById(any(UUID.class));
+        verify(clientRepository, times(1)).findById(any(UUID.class));
     }
 
 
@@ -283,6 +327,8 @@ public class OrderServiceTest {
     void createOrder_ShouldThrowClientNotFoundException() {
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
 
         var res = assertThrows(ClientNotFound.class, () -> orderService.createOrder(orderCreateDto));
 
@@ -337,7 +383,7 @@ public class OrderServiceTest {
 
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
 
         var res = assertThrows(OrderNotStockException.class, () -> orderService.createOrder(orderCreateDto));
@@ -349,7 +395,7 @@ public class OrderServiceTest {
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
         verify(orderRepository, times(0)).save(any(Order.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
@@ -362,13 +408,13 @@ public class OrderServiceTest {
                 .shopId(shop.getId())
                 .orderLines(List.of(
                         OrderLine.builder()
-                                .bookId(book.getId()).price(2.0).quantity(1).build()
+                                .bookId(book.getId()).price(Money.of(2.0)).quantity(1).build()
                         , orderLine2)
                 ).build();
 
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
 
         var res = assertThrows(OrderBadPriceException.class, () -> orderService.createOrder(orderCreateDto));
@@ -380,7 +426,7 @@ public class OrderServiceTest {
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
         verify(orderRepository, times(0)).save(any(Order.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
@@ -390,6 +436,7 @@ public class OrderServiceTest {
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
 
         var res = assertThrows(ShopNotFoundException.class, () -> orderService.createOrder(orderCreateDto));
 
@@ -411,6 +458,7 @@ public class OrderServiceTest {
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
 
         var res = assertThrows(ShopNotFoundException.class, () -> orderService.updateOrder(order.getId(), orderCreateDto));
 
@@ -430,7 +478,7 @@ public class OrderServiceTest {
     void updateOrder_ReturnOrder_Updated() {
         when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
@@ -451,10 +499,139 @@ public class OrderServiceTest {
         verify(shopRepository, times(1)).findById(any(UUID.class));
         verify(orderRepository, times(1)).findById(any(ObjectId.class));
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(bookRepository, times(6)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
+        verify(bookRepository, never()).findById(any(Long.class));
+        verify(bookRepository, never()).findAllByIdForUpdate(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(4)).save(any(Book.class));
+        verify(bookRepository, never()).save(any(Book.class));
+        verify(bookRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createOrder_FromHold_ShouldUseHeldStock() {
+        book.setStock(1);
+        CartHold hold = new CartHold(UUID.randomUUID(), Map.of(book.getId(), 1, book2.getId(), 1),
+                LocalDateTime.now().plusMinutes(15), System.nanoTime());
+        OrderCreateDto holdOrder = OrderCreateDto.builder()
+                .userId(userTest.getId())
+                .clientId(clientTest.getId())
+                .shopId(shop.getId())
+                .orderLines(List.of(orderLine, orderLine2))
+                .holdId(hold.getId())
+                .build();
+
+        when(cartHoldService.claim(hold.getId())).thenReturn(hold);
+        when(cartHoldService.heldQuantity(any())).thenAnswer(invocation ->
+                hold.getQuantities().get(invocation.<Long>getArgument(0)));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
+        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book, book2));
+
+        Order result = orderService.createOrder(holdOrder);
+
+        assertAll(
+                () -> assertEquals(0, book.getStock()),
+                () -> assertEquals(9, book2.getStock()),
+                () -> assertEquals(Money.of(2.0), result.getTotal())
+        );
+
+        verify(bookRepository, times(1)).saveAll(List.of(book, book2));
+        verify(bookRepository, never()).findById(any(Long.class));
+        verify(cartHoldService, times(1)).complete(hold);
+        verify(cartHoldService, never()).unclaim(any(CartHold.class));
+    }
+
+    @Test
+    void createOrder_FromHold_WithBadPrice_ShouldUnclaimHold() {
+        CartHold hold = new CartHold(UUID.randomUUID(), Map.of(book.getId(), 1, book2.getId(), 1),
+                LocalDateTime.now().plusMinutes(15), System.nanoTime());
+        OrderCreateDto holdOrder = OrderCreateDto.builder()
+                .userId(userTest.getId())
+                .clientId(clientTest.getId())
+                .shopId(shop.getId())
+                .orderLines(List.of(
+                        OrderLine.builder().bookId(book.getId()).price(Money.of(2.0)).quantity(1).build()
+                        , orderLine2))
+                .holdId(hold.getId())
+                .build();
+
+        when(cartHoldService.claim(hold.getId())).thenReturn(hold);
+        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
+        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
+
+        assertThrows(OrderBadPriceException.class, () -> orderService.createOrder(holdOrder));
+
+        verify(cartHoldService, times(1)).unclaim(hold);
+        verify(cartHoldService, never()).complete(any(CartHold.class));
+        verify(bookRepository, never()).saveAll(any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void updateOrder_ShouldOnlyAdjustChangedBooks() {
+        OrderCreateDto orderCreateDto = OrderCreateDto.builder()
+                .userId(userTest.getId())
+                .clientId(clientTest.getId())
+                .shopId(shop.getId())
+                .orderLines(List.of(
+                        OrderLine.builder()
+                                .bookId(book.getId()).price(book.getPrice()).quantity(4).build()
+                        , orderLine2)
+                ).build();
+
+        when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
+        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+
+        Order result = orderService.updateOrder(order.getId(), orderCreateDto);
+
+        assertAll(
+                () -> assertEquals(7, book.getStock()),
+                () -> assertEquals(10, book2.getStock()),
+                () -> assertEquals(2, result.getTotalBooks()),
+                () -> assertEquals(Money.of(5.0), result.getTotal())
+        );
+
+        verify(bookRepository, times(1)).findAllByIdForUpdate(Set.of(book.getId()));
+        verify(bookRepository, times(1)).saveAll(List.of(book));
+        verify(bookRepository, never()).findById(any(Long.class));
+    }
+
+    @Test
+    void updateOrder_ShouldCountStockAlreadyReserved() {
+        book.setStock(2);
+        OrderCreateDto orderCreateDto = OrderCreateDto.builder()
+                .userId(userTest.getId())
+                .clientId(clientTest.getId())
+                .shopId(shop.getId())
+                .orderLines(List.of(
+                        OrderLine.builder()
+                                .bookId(book.getId()).price(book.getPrice()).quantity(3).build()
+                        , orderLine2)
+                ).build();
+
+        when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
+        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+
+        orderService.updateOrder(order.getId(), orderCreateDto);
+
+        assertEquals(0, book.getStock());
+        verify(bookRepository, times(1)).saveAll(List.of(book));
     }
 
     @Test
@@ -478,6 +655,9 @@ public class OrderServiceTest {
     void updateOrder_ShouldThrowUserNotFoundException() {
         when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
 
         var res = assertThrows(UserNotFound.class, () -> orderService.updateOrder(order.getId(), orderCreateDto));
 
@@ -489,7 +669,7 @@ public class OrderServiceTest {
         verify(orderRepository, times(0)).save(any(Order.class));
         verify(bookRepository, times(0)).findById(any(Long.class));
         verify(userRepository, times(1)).findById(any(UUID.class));
-        verify(clientRepository, times(0)).findById(any(UUID.class));
+        verify(clientRepository, times(1)).findById(any(UUID.class));
     }
 
     @Test
@@ -497,6 +677,8 @@ public class OrderServiceTest {
         when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
 
         var res = assertThrows(ClientNotFound.class, () -> orderService.updateOrder(order.getId(), orderCreateDto));
 
@@ -555,7 +737,7 @@ public class OrderServiceTest {
         when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
 
         var res = assertThrows(OrderNotStockException.class, () -> orderService.updateOrder(order.getId(), orderCreateDto));
@@ -568,7 +750,7 @@ public class OrderServiceTest {
         verify(shopRepository, times(1)).findById(any(UUID.class));
         verify(orderRepository, times(1)).findById(any(ObjectId.class));
         verify(orderRepository, times(0)).save(any(Order.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
@@ -581,14 +763,14 @@ public class OrderServiceTest {
                 .shopId(shop.getId())
                 .orderLines(List.of(
                         OrderLine.builder()
-                                .bookId(book.getId()).price(2.0).quantity(1).build()
+                                .bookId(book.getId()).price(Money.of(2.0)).quantity(1).build()
                         , orderLine2)
                 ).build();
 
         when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
 
         var res = assertThrows(OrderBadPriceException.class, () -> orderService.updateOrder(order.getId(), orderCreateDto));
@@ -601,7 +783,7 @@ public class OrderServiceTest {
         verify(shopRepository, times(1)).findById(any(UUID.class));
         verify(orderRepository, times(1)).findById(any(ObjectId.class));
         verify(orderRepository, times(0)).save(any(Order.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
@@ -609,12 +791,20 @@ public class OrderServiceTest {
     @Test
     void deleteOrder_ShouldDeleteOrder() {
         when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book, book2));
         orderService.deleteOrder(order.getId());
 
+        assertAll(
+                () -> assertEquals(11, book.getStock()),
+                () -> assertEquals(11, book2.getStock())
+        );
+
         verify(orderRepository, times(1)).findById(any(ObjectId.class));
         verify(orderRepository, times(1)).deleteById(any(ObjectId.class));
-        verify(bookRepository, times(2)).save(any(Book.class));
+        verify(bookRepository, times(1)).findAllByIdForUpdate(Set.of(book.getId(), book2.getId()));
+        verify(bookRepository, times(1)).saveAll(List.of(book, book2));
+        verify(transactionManager, times(1)).commit(any());
+        verify(salesRollupService, times(1)).recordDeleted(order);
     }
 
     @Test
@@ -633,7 +823,7 @@ public class OrderServiceTest {
     @Test
     void deleteOrder_ShouldReturnBookNotFound() {
         when(orderRepository.findById(any(ObjectId.class))).thenReturn(Optional.of(order));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of());
 
         var res = assertThrows(BookNotFoundException.class, () -> orderService.deleteOrder(order.getId()));
 
@@ -643,7 +833,8 @@ public class OrderServiceTest {
 
         verify(orderRepository, times(1)).findById(any(ObjectId.class));
         verify(orderRepository, times(0)).deleteById(any(ObjectId.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, never()).saveAll(any());
+        verify(transactionManager, times(1)).rollback(any());
     }
 
     @Test
@@ -831,14 +1022,14 @@ public class OrderServiceTest {
 
     @Test
     void checkOrder_ShoudOkChecked() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
         orderService.checkOrder(order);
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(2)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
@@ -846,6 +1037,9 @@ public class OrderServiceTest {
     @Test
     void checkOrder_ShouldReturnUserNotFoundException() {
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
 
         var res = assertThrows(UserNotFound.class, () -> orderService.checkOrder(order));
 
@@ -855,13 +1049,15 @@ public class OrderServiceTest {
 
         verify(bookRepository, times(0)).findById(any(Long.class));
         verify(userRepository, times(1)).findById(any(UUID.class));
-        verify(clientRepository, times(0)).findById(any(UUID.class));
+        verify(clientRepository, times(1)).findById(any(UUID.class));
     }
 
     @Test
     void checkOrder_ShouldReturnClientNotFoundException() {
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
 
         var res = assertThrows(ClientNotFound.class, () -> orderService.checkOrder(order));
 
@@ -877,7 +1073,7 @@ public class OrderServiceTest {
 
     @Test
     void checkOrder_ShouldReturnBookNotFoundException() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book2));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
@@ -889,14 +1085,14 @@ public class OrderServiceTest {
         );
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
 
     @Test
     void checkOrder_ShouldReturnOrderNotStockException() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book, book2));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
@@ -924,15 +1120,15 @@ public class OrderServiceTest {
         );
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
 
     @Test
     void checkOrder_ShouldReturnOrderBadPriceException() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(Book.builder()
-                .id(book.getId()).price(2.0).stock(11).category(category).description("desc").publisher(publisher).name(book.getName()).active(true).build()));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(Book.builder()
+                .id(book.getId()).price(Money.of(2.0)).stock(11).category(category).description("desc").publisher(publisher).name(book.getName()).active(true).build(), book2));
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
@@ -944,7 +1140,7 @@ public class OrderServiceTest {
         );
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
@@ -977,9 +1173,40 @@ public class OrderServiceTest {
         verify(clientRepository, times(1)).findById(any(UUID.class));
     }
 
+    @Test
+    void checkOrder_ShouldReturnAllValidationErrors() {
+        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book2));
+
+        var res = assertThrows(OrderValidationException.class, () -> orderService.checkOrder(order));
+
+        assertAll(
+                () -> assertEquals(3, res.getErrors().size()),
+                () -> assertInstanceOf(UserNotFound.class, res.getErrors().get(0)),
+                () -> assertInstanceOf(ShopNotFoundException.class, res.getErrors().get(1)),
+                () -> assertInstanceOf(BookNotFoundException.class, res.getErrors().get(2))
+        );
+
+        verify(userRepository, times(1)).findById(any(UUID.class));
+        verify(clientRepository, times(1)).findById(any(UUID.class));
+        verify(shopRepository, times(1)).findById(any(UUID.class));
+        verify(bookRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void checkOrder_ShouldPropagateLookupFailure() {
+        when(userRepository.findById(any(UUID.class))).thenThrow(new IllegalStateException("Base de datos no disponible"));
+
+        var res = assertThrows(IllegalStateException.class, () -> orderService.checkOrder(order));
+
+        assertEquals("Base de datos no disponible", res.getMessage());
+    }
+
     @Test
     void reserverStockOrder_ShouldReturnOrder() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book, book2));
 
 
         Order result = orderService.reserveStockOrder(order);
@@ -995,13 +1222,19 @@ public class OrderServiceTest {
                 () -> assertEquals(order.getUpdatedAt(), result.getUpdatedAt())
         );
 
-        verify(bookRepository, times(2)).findById(any(Long.class));
-        verify(bookRepository, times(2)).save(any(Book.class));
+        assertAll(
+                () -> assertEquals(9, book.getStock()),
+                () -> assertEquals(9, book2.getStock())
+        );
+
+        verify(bookRepository, times(1)).findAllByIdForUpdate(Set.of(book.getId(), book2.getId()));
+        verify(bookRepository, times(1)).saveAll(List.of(book, book2));
+        verify(bookRepository, never()).findById(any(Long.class));
     }
 
     @Test
     void reserverStockOrder_ShouldReturnBookNotFoundException() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book2));
 
         var res = assertThrows(BookNotFoundException.class, () -> orderService.reserveStockOrder(order));
 
@@ -1009,8 +1242,19 @@ public class OrderServiceTest {
                 () -> assertEquals("Libro no encontrado - El libro con id " + orderLine.getBookId() + " no existe", res.getMessage())
         );
 
-        verify(bookRepository, times(1)).findById(any(Long.class));
-        verify(bookRepository, times(0)).save(any(Book.class));
+        verify(bookRepository, times(1)).findAllByIdForUpdate(any());
+        verify(bookRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void reserverStockOrder_ShouldCheckStockUnderLock() {
+        book.setStock(0);
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book, book2));
+
+        var res = assertThrows(OrderNotStockException.class, () -> orderService.reserveStockOrder(order));
+
+        assertNotNull(res.getMessage());
+        verify(bookRepository, never()).saveAll(any());
     }
 
     @Test
@@ -1032,23 +1276,23 @@ public class OrderServiceTest {
                 () -> assertEquals("El pedido con id " + order.getId() + " no tiene items", res.getMessage())
         );
 
-        verify(bookRepository, times(0)).findById(any(Long.class));
-        verify(bookRepository, times(0)).save(any(Book.class));
+        verify(bookRepository, never()).findAllByIdForUpdate(any());
+        verify(bookRepository, never()).saveAll(any());
     }
 
     @Test
     void returnStokOrder_ShouldOk() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book, book2));
 
         orderService.returnStockOrder(order);
 
-        verify(bookRepository, times(2)).findById(any(Long.class));
-        verify(bookRepository, times(2)).save(any(Book.class));
+        verify(bookRepository, times(1)).findAllByIdForUpdate(Set.of(book.getId(), book2.getId()));
+        verify(bookRepository, times(1)).saveAll(List.of(book, book2));
     }
 
     @Test
     void returnStokOrder_ShouldThrowBookNotFoundException() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of());
 
         var res = assertThrows(BookNotFoundException.class, () -> orderService.returnStockOrder(order));
 
@@ -1056,8 +1300,8 @@ public class OrderServiceTest {
                 () -> assertEquals("Libro no encontrado - El libro con id " + orderLine.getBookId() + " no existe", res.getMessage())
         );
 
-        verify(bookRepository, times(1)).findById(any(Long.class));
-        verify(bookRepository, times(0)).save(any(Book.class));
+        verify(bookRepository, times(1)).findAllByIdForUpdate(any());
+        verify(bookRepository, never()).saveAll(any());
     }
 
     @Test
@@ -1076,8 +1320,8 @@ public class OrderServiceTest {
                 .build());
 
 
-        verify(bookRepository, times(0)).findById(any(Long.class));
-        verify(bookRepository, times(0)).save(any(Book.class));
+        verify(bookRepository, never()).findAllByIdForUpdate(any());
+        verify(bookRepository, never()).saveAll(any());
     }
 
 
@@ -1094,16 +1338,16 @@ public class OrderServiceTest {
                                 .bookId(book.getId()).price(book.getPrice()).quantity(10).build()))
                 .updatedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
-                .total(10.0)
+                .total(Money.of(10.0))
                 .totalBooks(1)
                 .build();
 
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllByIdForUpdate(any())).thenReturn(List.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
         Order result = orderService.createOrder(OrderCreateDto.builder()
                 .userId(userTest.getId())
                 .shopId(shop.getId())
@@ -1121,7 +1365,7 @@ public class OrderServiceTest {
                 () -> assertEquals(order.getClientId(), result.getClientId()),
                 () -> assertEquals(order.getOrderLines().size(), result.getOrderLines().size()),
                 () -> assertEquals(order.getOrderLines().get(0).getQuantity(), 10),
-                () -> assertEquals(order.getOrderLines().get(0).getPrice(), 1.0),
+                () -> assertEquals(order.getOrderLines().get(0).getPrice(), Money.of(1.0)),
                 () -> assertEquals(order.getOrderLines().get(0).getBookId(), result.getOrderLines().get(0).getBookId()),
                 () -> assertEquals(order.getTotal(), result.getTotal()),
                 () -> assertEquals(order.getTotalBooks(), result.getTotalBooks()),
@@ -1131,10 +1375,11 @@ public class OrderServiceTest {
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(bookRepository, times(2)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
+        verify(bookRepository, times(1)).findAllByIdForUpdate(Set.of(book.getId()));
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookRepository, times(1)).saveAll(List.of(book));
     }
 
     @Test
@@ -1150,7 +1395,7 @@ public class OrderServiceTest {
                                 .bookId(book.getId()).price(book.getPrice()).quantity(10).build()))
                 .updatedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
-                .total(10.0)
+                .total(Money.of(10.0))
                 .totalBooks(1)
                 .build();
 
@@ -1158,9 +1403,8 @@ public class OrderServiceTest {
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(userTest));
         when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
         Order result = orderService.updateOrder(order.getId(), OrderCreateDto.builder()
                 .userId(userTest.getId())
                 .shopId(shop.getId())
@@ -1178,7 +1422,7 @@ public class OrderServiceTest {
                 () -> assertEquals(order.getClientId(), result.getClientId()),
                 () -> assertEquals(order.getOrderLines().size(), result.getOrderLines().size()),
                 () -> assertEquals(order.getOrderLines().get(0).getQuantity(), 10),
-                () -> assertEquals(order.getOrderLines().get(0).getPrice(), 1.0),
+                () -> assertEquals(order.getOrderLines().get(0).getPrice(), Money.of(1.0)),
                 () -> assertEquals(order.getOrderLines().get(0).getBookId(), result.getOrderLines().get(0).getBookId()),
                 () -> assertEquals(order.getTotal(), result.getTotal()),
                 () -> assertEquals(order.getTotalBooks(), result.getTotalBooks()),
@@ -1189,10 +1433,11 @@ public class OrderServiceTest {
         verify(shopRepository, times(1)).findById(any(UUID.class));
         verify(orderRepository, times(1)).findById(any(ObjectId.class));
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(bookRepository, times(3)).findById(any(Long.class));
+        verify(bookRepository, times(1)).findAllById(any());
+        verify(bookRepository, never()).findById(any(Long.class));
         verify(userRepository, times(1)).findById(any(UUID.class));
         verify(clientRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(2)).save(any(Book.class));
+        verify(bookRepository, never()).saveAll(any());
     }
 
 
@@ -0,0 +1,58 @@
+package com.nullers.restbookstore.rest.orders.services;
+
+import com.nullers.restbookstore.rest.common.PageableRequest;
+import com.nullers.restbookstore.rest.orders.exceptions.OrderSortNotIndexedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderSortGuardTest {
+
+    @Test
+    void isSupportedByIndex() {
+        OrderSortGuard guard = new OrderSortGuard("reject");
+
+        assertAll(
+                () -> assertTrue(guard.isSupported(OrderSortGuard.OrderQuery.CLIENT, Sort.by("createdAt").descending())),
+                () -> assertTrue(guard.isSupported(OrderSortGuard.OrderQuery.USER, Sort.unsorted())),
+                () -> assertTrue(guard.isSupported(OrderSortGuard.OrderQuery.ALL, Sort.by("id"))),
+                () -> assertFalse(guard.isSupported(OrderSortGuard.OrderQuery.SHOP, Sort.by("total"))),
+                () -> assertFalse(guard.isSupported(OrderSortGuard.OrderQuery.CLIENT, Sort.by("createdAt", "total")))
+        );
+    }
+
+    @Test
+    void checkRejectModeThrows() {
+        OrderSortGuard guard = new OrderSortGuard("reject");
+        var pageable = PageRequest.of(0, 10, Sort.by("total"));
+
+        var exception = assertThrows(OrderSortNotIndexedException.class,
+                () -> guard.check(OrderSortGuard.OrderQuery.USER, pageable));
+
+        assertTrue(exception.getMessage().contains("createdAt"));
+    }
+
+    @Test
+    void checkRejectModeAcceptsDefaultPaging() {
+        OrderSortGuard guard = new OrderSortGuard("reject");
+        PageableRequest defaults = PageableRequest.builder().build();
+        var pageable = PageRequest.of(defaults.getPage(), defaults.getSize(), Sort.by(defaults.getOrderBy()).ascending());
+
+        assertAll(
+                () -> assertDoesNotThrow(() -> guard.check(OrderSortGuard.OrderQuery.ALL, pageable)),
+                () -> assertDoesNotThrow(() -> guard.check(OrderSortGuard.OrderQuery.CLIENT, pageable)),
+                () -> assertDoesNotThrow(() -> guard.check(OrderSortGuard.OrderQuery.USER, pageable)),
+                () -> assertDoesNotThrow(() -> guard.check(OrderSortGuard.OrderQuery.SHOP, pageable))
+        );
+    }
+
+    @Test
+    void checkWarnModeDoesNotThrow() {
+        OrderSortGuard guard = new OrderSortGuard("warn");
+        var pageable = PageRequest.of(0, 10, Sort.by("total"));
+
+        assertDoesNotThrow(() -> guard.check(OrderSortGuard.OrderQuery.USER, pageable));
+    }
+}
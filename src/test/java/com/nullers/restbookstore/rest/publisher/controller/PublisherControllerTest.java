@@ -0,0 +1,104 @@
+package com.nullers.restbookstore.rest.publisher.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nullers.restbookstore.pagination.models.PageResponse;
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
+import com.nullers.restbookstore.rest.publisher.dto.PublisherData;
+import com.nullers.restbookstore.rest.publisher.exceptions.PublisherNotFound;
+import com.nullers.restbookstore.rest.publisher.services.PublisherServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@AutoConfigureMockMvc
+@ExtendWith(MockitoExtension.class)
+@SpringBootTest(properties = "spring.config.name=application-test")
+@WithMockUser(username = "user", password = "user", roles = {"USER"})
+class PublisherControllerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final String endPoint = "/api/publishers";
+
+    @MockBean
+    PublisherServiceImpl service;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    private final PublisherData publisherData = PublisherData.builder()
+            .id(1L)
+            .name("Planeta")
+            .build();
+
+    private final GetBookDTO book = GetBookDTO.builder()
+            .id(3L)
+            .name("El Quijote")
+            .publisher(publisherData)
+            .build();
+
+    @Test
+    void getBooks_ShouldReturnRequestedPage() throws Exception {
+        when(service.findBooks(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(book), PageRequest.of(1, 2), 3));
+
+        MockHttpServletResponse response = mockMvc.perform(get(endPoint + "/1/books")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        PageResponse<GetBookDTO> pageResponse = mapper.readValue(response.getContentAsString(StandardCharsets.UTF_8),
+                mapper.getTypeFactory().constructParametricType(PageResponse.class, GetBookDTO.class));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(service, times(1)).findBooks(eq(1L), pageable.capture());
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK.value(), response.getStatus()),
+                () -> assertEquals(1, pageable.getValue().getPageNumber()),
+                () -> assertEquals(2, pageable.getValue().getPageSize()),
+                () -> assertEquals(Sort.by("id").ascending(), pageable.getValue().getSort()),
+                () -> assertEquals(3, pageResponse.totalElements()),
+                () -> assertEquals(2, pageResponse.totalPages()),
+                () -> assertEquals(1, pageResponse.pageNumber()),
+                () -> assertEquals(1, pageResponse.content().size()),
+                () -> assertEquals(book.getId(), pageResponse.content().get(0).getId()),
+                () -> assertEquals(publisherData.getName(), pageResponse.content().get(0).getPublisher().getName())
+        );
+    }
+
+    @Test
+    void getBooks_ShouldReturnNotFound() throws Exception {
+        when(service.findBooks(eq(1L), any(Pageable.class))).thenThrow(new PublisherNotFound("id 1"));
+
+        MockHttpServletResponse response = mockMvc.perform(get(endPoint + "/1/books")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+    }
+}
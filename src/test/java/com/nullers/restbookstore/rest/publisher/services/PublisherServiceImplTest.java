@@ -0,0 +1,165 @@
+package com.nullers.restbookstore.rest.publisher.services;
+
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
+import com.nullers.restbookstore.rest.book.mappers.BookMapperImpl;
+import com.nullers.restbookstore.rest.book.model.Book;
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.common.ReferenceData;
+import com.nullers.restbookstore.rest.publisher.dto.PublisherData;
+import com.nullers.restbookstore.rest.publisher.exceptions.PublisherIDNotValid;
+import com.nullers.restbookstore.rest.publisher.exceptions.PublisherNotFound;
+import com.nullers.restbookstore.rest.publisher.mappers.CreatePublisherMapper;
+import com.nullers.restbookstore.rest.publisher.mappers.PublisherMapper;
+import com.nullers.restbookstore.rest.publisher.model.Publisher;
+import com.nullers.restbookstore.rest.publisher.repository.PublisherRepository;
+import com.nullers.restbookstore.storage.services.StorageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublisherServiceImplTest {
+
+    @Mock
+    private PublisherRepository publisherRepository;
+
+    @Mock
+    private PublisherMapper publisherMapper;
+
+    @Mock
+    private CreatePublisherMapper createPublisherMapper;
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookMapperImpl bookMapper;
+
+    @Mock
+    private ReferenceData referenceData;
+
+    @InjectMocks
+    private PublisherServiceImpl publisherService;
+
+    private final Publisher publisher = Publisher.builder()
+            .id(1L)
+            .name("Planeta")
+            .image("planeta.png")
+            .build();
+
+    private final ReferenceData.PublisherEntry publisherEntry = new ReferenceData.PublisherEntry(1L, "Planeta",
+            "planeta.png", true, LocalDateTime.now(), LocalDateTime.now());
+
+    private final PublisherData publisherData = PublisherData.builder()
+            .id(1L)
+            .name("Planeta")
+            .build();
+
+    private final Book book = Book.builder()
+            .id(1L)
+            .name("El Quijote")
+            .publisher(publisher)
+            .build();
+
+    @Test
+    void getReference_WithReferenceData_ShouldNotLoadPublisher() {
+        when(referenceData.isReady()).thenReturn(true);
+        when(referenceData.findPublisher(1L)).thenReturn(Optional.of(publisherEntry));
+        when(publisherRepository.getReferenceById(1L)).thenReturn(publisher);
+
+        Publisher result = publisherService.getReference(1L);
+
+        assertSame(publisher, result);
+        verify(publisherRepository, times(1)).getReferenceById(1L);
+        verify(publisherRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getReference_WithReferenceData_ShouldThrowPublisherNotFound() {
+        when(referenceData.isReady()).thenReturn(true);
+        when(referenceData.findPublisher(1L)).thenReturn(Optional.empty());
+
+        var res = assertThrows(PublisherNotFound.class, () -> publisherService.getReference(1L));
+
+        assertEquals("Editorial no encontrada: id 1", res.getMessage());
+        verify(publisherRepository, never()).getReferenceById(anyLong());
+        verify(publisherRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getReference_WithoutReferenceData_ShouldLoadPublisher() {
+        when(referenceData.isReady()).thenReturn(false);
+        when(publisherRepository.findById(1L)).thenReturn(Optional.of(publisher));
+
+        Publisher result = publisherService.getReference(1L);
+
+        assertSame(publisher, result);
+        verify(referenceData, never()).findPublisher(anyLong());
+        verify(publisherRepository, never()).getReferenceById(anyLong());
+    }
+
+    @Test
+    void getReference_WithoutReferenceData_ShouldThrowPublisherNotFound() {
+        when(referenceData.isReady()).thenReturn(false);
+        when(publisherRepository.findById(1L)).thenReturn(Optional.empty());
+
+        var res = assertThrows(PublisherNotFound.class, () -> publisherService.getReference(1L));
+
+        assertEquals("Editorial no encontrada: id 1", res.getMessage());
+    }
+
+    @Test
+    void getReference_WithNullId_ShouldThrowPublisherIDNotValid() {
+        assertThrows(PublisherIDNotValid.class, () -> publisherService.getReference(null));
+
+        verifyNoInteractions(referenceData, publisherRepository);
+    }
+
+    @Test
+    void findBooks_ShouldReturnPageOfBooks() {
+        Pageable pageable = PageRequest.of(0, 10);
+        GetBookDTO bookDTO = GetBookDTO.builder().id(1L).name("El Quijote").publisher(publisherData).build();
+        when(referenceData.findPublisher(1L)).thenReturn(Optional.of(publisherEntry));
+        when(publisherMapper.toPublisherDataFromReference(publisherEntry)).thenReturn(publisherData);
+        when(bookRepository.findByPublisher_Id(1L, pageable)).thenReturn(new PageImpl<>(List.of(book), pageable, 1));
+        when(bookMapper.toGetBookDTO(book, publisherData)).thenReturn(bookDTO);
+
+        Page<GetBookDTO> result = publisherService.findBooks(1L, pageable);
+
+        assertAll(
+                () -> assertEquals(1, result.getTotalElements()),
+                () -> assertEquals(List.of(bookDTO), result.getContent())
+        );
+        verify(publisherRepository, never()).findById(anyLong());
+        verify(publisherRepository, never()).getReferenceById(anyLong());
+    }
+
+    @Test
+    void findBooks_ShouldThrowPublisherNotFound() {
+        when(referenceData.findPublisher(1L)).thenReturn(Optional.empty());
+        when(referenceData.isReady()).thenReturn(true);
+
+        var res = assertThrows(PublisherNotFound.class, () -> publisherService.findBooks(1L, PageRequest.of(0, 10)));
+
+        assertEquals("Editorial no encontrada: id 1", res.getMessage());
+        verify(bookRepository, never()).findByPublisher_Id(anyLong(), any(Pageable.class));
+    }
+}
@@ -0,0 +1,145 @@
+package com.nullers.restbookstore.rest.sales.services;
+
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.orders.models.Order;
+import com.nullers.restbookstore.rest.orders.models.OrderLine;
+import com.nullers.restbookstore.rest.sales.exceptions.SalesBadRangeException;
+import com.nullers.restbookstore.rest.sales.models.RollupDimension;
+import com.nullers.restbookstore.rest.sales.models.SalesRollup;
+import com.nullers.restbookstore.rest.sales.repositories.SalesRollupRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private SalesRollupServiceImpl salesRollupService;
+
+    private final UUID shopId = UUID.fromString("770e8400-e29b-41d4-a716-446655440000");
+
+    private Order order() {
+        Order order = Order.builder()
+                .shopId(shopId)
+                .createdAt(LocalDateTime.of(2023, 11, 20, 10, 0))
+                .orderLines(List.of(
+                        OrderLine.builder().bookId(1L).quantity(2).price(Money.of(5.0)).total(Money.of(10.0)).build(),
+                        OrderLine.builder().bookId(2L).quantity(1).price(Money.of(7.5)).total(Money.of(7.5)).build()))
+                .build();
+        order.calculateLines();
+        return order;
+    }
+
+    @Test
+    void recordCreatedUpsertsDayShopAndBookRollupsInOneBulk() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class)).thenReturn(bulkOperations);
+
+        salesRollupService.recordCreated(order());
+
+        verify(bulkOperations, times(4)).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    void recordCreatedCountsABookOncePerOrder() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class)).thenReturn(bulkOperations);
+        Order order = Order.builder()
+                .shopId(shopId)
+                .createdAt(LocalDateTime.of(2023, 11, 20, 10, 0))
+                .orderLines(List.of(
+                        OrderLine.builder().bookId(1L).quantity(2).price(Money.of(5.0)).total(Money.of(10.0)).build(),
+                        OrderLine.builder().bookId(1L).quantity(1).price(Money.of(5.0)).total(Money.of(5.0)).build()))
+                .build();
+        order.calculateLines();
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+
+        salesRollupService.recordCreated(order);
+
+        verify(bulkOperations, times(3)).upsert(queries.capture(), updates.capture());
+        int book = 0;
+        while (!queries.getAllValues().get(book).getQueryObject().get("_id").toString().startsWith("BOOK")) {
+            book++;
+        }
+        Document inc = (Document) updates.getAllValues().get(book).getUpdateObject().get("$inc");
+        assertAll(
+                () -> assertEquals(3L, inc.get("units")),
+                () -> assertEquals(1500L, inc.get("revenueCents")),
+                () -> assertEquals(1L, inc.get("orders"))
+        );
+    }
+
+    @Test
+    void recordUpdatedWithoutChangesDoesNotWrite() {
+        Order order = order();
+
+        salesRollupService.recordUpdated(order, order);
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+    }
+
+    @Test
+    void recordCreatedIgnoresDeletedOrders() {
+        Order order = order();
+        order.setIsDeleted(true);
+
+        salesRollupService.recordCreated(order);
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+    }
+
+    @Test
+    void getReportSumsDays() {
+        LocalDate from = LocalDate.of(2023, 11, 1);
+        LocalDate to = LocalDate.of(2023, 11, 30);
+        when(salesRollupRepository.findRange(RollupDimension.SHOP, shopId.toString(), from, to)).thenReturn(List.of(
+                SalesRollup.builder().day(from).units(3L).revenueCents(1750L).orders(1L).build(),
+                SalesRollup.builder().day(from.plusDays(1)).units(0L).revenueCents(0L).orders(0L).build(),
+                SalesRollup.builder().day(to).units(2L).revenueCents(1000L).orders(2L).build()));
+
+        var report = salesRollupService.getReport(RollupDimension.SHOP, shopId.toString(), from, to);
+
+        assertAll(
+                () -> assertEquals(5, report.getUnits()),
+                () -> assertEquals(27.5, report.getRevenue()),
+                () -> assertEquals(3, report.getOrders()),
+                () -> assertEquals(2, report.getDays().size())
+        );
+    }
+
+    @Test
+    void getReportWithBadRangeThrows() {
+        LocalDate from = LocalDate.of(2023, 11, 30);
+        LocalDate to = LocalDate.of(2023, 11, 1);
+
+        assertThrows(SalesBadRangeException.class,
+                () -> salesRollupService.getReport(RollupDimension.DAY, SalesRollupServiceImpl.ALL_KEY, from, to));
+    }
+}
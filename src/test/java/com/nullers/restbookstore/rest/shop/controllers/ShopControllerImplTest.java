@@ -4,12 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.nullers.restbookstore.pagination.models.ErrorResponse;
 import com.nullers.restbookstore.pagination.models.PageResponse;
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
 import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
 import com.nullers.restbookstore.rest.book.model.Book;
 import com.nullers.restbookstore.rest.category.model.Category;
 import com.nullers.restbookstore.rest.client.exceptions.ClientNotFound;
 import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.Money;
 import com.nullers.restbookstore.rest.publisher.model.Publisher;
 import com.nullers.restbookstore.rest.shop.dto.CreateShopDto;
 import com.nullers.restbookstore.rest.shop.dto.GetShopDto;
@@ -35,7 +37,6 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -80,7 +81,7 @@ class ShopControllerImplTest {
             .publisher(publisher)
             .image("image.jpg")
             .stock(10)
-            .price(1.0)
+            .price(Money.of(1.0))
             .description("description")
             .active(true)
             .category(category)
@@ -126,8 +127,8 @@ class ShopControllerImplTest {
     GetShopDto getShopDto = GetShopDto.builder()
             .id(shop.getId())
             .name(shop.getName())
-            .booksId(shop.getBooks().stream().map(Book::getId).collect(Collectors.toSet()))
-            .clientsId(shop.getClients().stream().map(Client::getId).collect(Collectors.toSet()))
+            .booksCount(shop.getBooks().size())
+            .clientsCount(shop.getClients().size())
             .location(shop.getLocation())
             .build();
     String endpoint = "/api/shops";
@@ -296,8 +297,8 @@ class ShopControllerImplTest {
                 GetShopDto.builder()
                         .id(shop.getId())
                         .name(shop.getName())
-                        .booksId(shop.getBooks().stream().map(Book::getId).collect(Collectors.toSet()))
-                        .clientsId(shop.getClients().stream().map(Client::getId).collect(Collectors.toSet()))
+                        .booksCount(shop.getBooks().size())
+                        .clientsCount(shop.getClients().size())
                         .location(shop.getLocation())
                         .build()
         )));
@@ -318,8 +319,8 @@ class ShopControllerImplTest {
                 () -> assertEquals(1, pageResponse.content().size()),
                 () -> assertEquals(shop.getId(), pageResponse.content().get(0).getId()),
                 () -> assertEquals(shop.getName(), pageResponse.content().get(0).getName()),
-                () -> assertTrue(pageResponse.content().get(0).getBooksId().contains(book.getId())),
-                () -> assertTrue(pageResponse.content().get(0).getClientsId().contains(clientTest.getId())),
+                () -> assertEquals(shop.getBooks().size(), pageResponse.content().get(0).getBooksCount()),
+                () -> assertEquals(shop.getClients().size(), pageResponse.content().get(0).getClientsCount()),
                 () -> assertEquals(shop.getLocation(), pageResponse.content().get(0).getLocation())
         );
 
@@ -354,8 +355,8 @@ class ShopControllerImplTest {
                 GetShopDto.builder()
                         .id(shop.getId())
                         .name(shop.getName())
-                        .booksId(shop.getBooks().stream().map(Book::getId).collect(Collectors.toSet()))
-                        .clientsId(shop.getClients().stream().map(Client::getId).collect(Collectors.toSet()))
+                        .booksCount(shop.getBooks().size())
+                        .clientsCount(shop.getClients().size())
                         .location(shop.getLocation())
                         .build()
         )));
@@ -376,8 +377,8 @@ class ShopControllerImplTest {
                 () -> assertEquals(1, pageResponse.content().size()),
                 () -> assertEquals(shop.getId(), pageResponse.content().get(0).getId()),
                 () -> assertEquals(shop.getName(), pageResponse.content().get(0).getName()),
-                () -> assertTrue(pageResponse.content().get(0).getBooksId().contains(book.getId())),
-                () -> assertTrue(pageResponse.content().get(0).getClientsId().contains(clientTest.getId())),
+                () -> assertEquals(shop.getBooks().size(), pageResponse.content().get(0).getBooksCount()),
+                () -> assertEquals(shop.getClients().size(), pageResponse.content().get(0).getClientsCount()),
                 () -> assertEquals(shop.getLocation(), pageResponse.content().get(0).getLocation())
         );
 
@@ -443,8 +444,8 @@ class ShopControllerImplTest {
                 () -> assertEquals(200, response.getStatus()),
                 () -> assertEquals(shop.getId(), shopResponse.getId()),
                 () -> assertEquals(shop.getName(), shopResponse.getName()),
-                () -> assertEquals(getShopDto.getBooksId(), shopResponse.getBooksId()),
-                () -> assertEquals(getShopDto.getClientsId(), shopResponse.getClientsId()),
+                () -> assertEquals(getShopDto.getBooksCount(), shopResponse.getBooksCount()),
+                () -> assertEquals(getShopDto.getClientsCount(), shopResponse.getClientsCount()),
                 () -> assertEquals(shop.getLocation(), shopResponse.getLocation())
         );
 
@@ -488,8 +489,8 @@ class ShopControllerImplTest {
                 () -> assertEquals(201, response.getStatus()),
                 () -> assertEquals(shop.getId(), shopResponse.getId()),
                 () -> assertEquals(shop.getName(), shopResponse.getName()),
-                () -> assertEquals(getShopDto.getBooksId(), shopResponse.getBooksId()),
-                () -> assertEquals(getShopDto.getClientsId(), shopResponse.getClientsId()),
+                () -> assertEquals(getShopDto.getBooksCount(), shopResponse.getBooksCount()),
+                () -> assertEquals(getShopDto.getClientsCount(), shopResponse.getClientsCount()),
                 () -> assertEquals(shop.getLocation(), shopResponse.getLocation())
         );
 
@@ -633,8 +634,8 @@ class ShopControllerImplTest {
                 () -> assertEquals(200, response.getStatus()),
                 () -> assertEquals(shop.getId(), shopResponse.getId()),
                 () -> assertEquals(shop.getName(), shopResponse.getName()),
-                () -> assertEquals(getShopDto.getBooksId(), shopResponse.getBooksId()),
-                () -> assertEquals(getShopDto.getClientsId(), shopResponse.getClientsId()),
+                () -> assertEquals(getShopDto.getBooksCount(), shopResponse.getBooksCount()),
+                () -> assertEquals(getShopDto.getClientsCount(), shopResponse.getClientsCount()),
                 () -> assertEquals(shop.getLocation(), shopResponse.getLocation())
         );
 
@@ -836,6 +837,43 @@ class ShopControllerImplTest {
         verify(service, times(1)).deleteShop(any(UUID.class));
     }
 
+    @Test
+    void getShopBooks_ShouldReturnPage() throws Exception {
+        when(service.getShopBooks(any(UUID.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(
+                GetBookDTO.builder().id(book.getId()).name(book.getName()).build()
+        )));
+
+        MockHttpServletResponse response = mockMvc.perform(
+                get(endpoint + "/" + shop.getId() + "/books")
+                        .accept("application/json")
+        ).andReturn().getResponse();
+
+        PageResponse<GetBookDTO> pageResponse = mapper.readValue(response.getContentAsString(StandardCharsets.UTF_8),
+                mapper.getTypeFactory().constructParametricType(PageResponse.class, GetBookDTO.class));
+
+        assertAll(
+                () -> assertEquals(200, response.getStatus()),
+                () -> assertEquals(1, pageResponse.totalElements()),
+                () -> assertEquals(book.getId(), pageResponse.content().get(0).getId())
+        );
+
+        verify(service, times(1)).getShopBooks(any(UUID.class), any(PageRequest.class));
+    }
+
+    @Test
+    void getShopClients_ShouldReturnShopNotFound() throws Exception {
+        when(service.getShopClients(any(UUID.class), any(PageRequest.class))).thenThrow(new ShopNotFoundException(shop.getId().toString()));
+
+        MockHttpServletResponse response = mockMvc.perform(
+                get(endpoint + "/" + shop.getId() + "/clients")
+                        .accept("application/json")
+        ).andReturn().getResponse();
+
+        assertEquals(404, response.getStatus());
+
+        verify(service, times(1)).getShopClients(any(UUID.class), any(PageRequest.class));
+    }
+
     @Test
     void addBookToShop_ShouldReturnGetShopDto() throws Exception {
         when(service.addBookToShop(any(UUID.class), any(Long.class))).thenReturn(getShopDto);
@@ -852,8 +890,8 @@ class ShopControllerImplTest {
                 () -> assertEquals(200, response.getStatus()),
                 () -> assertEquals(shop.getId(), shopResponse.getId()),
                 () -> assertEquals(shop.getName(), shopResponse.getName()),
-                () -> assertEquals(getShopDto.getBooksId(), shopResponse.getBooksId()),
-                () -> assertEquals(getShopDto.getClientsId(), shopResponse.getClientsId()),
+                () -> assertEquals(getShopDto.getBooksCount(), shopResponse.getBooksCount()),
+                () -> assertEquals(getShopDto.getClientsCount(), shopResponse.getClientsCount()),
                 () -> assertEquals(shop.getLocation(), shopResponse.getLocation())
         );
 
@@ -916,8 +954,8 @@ class ShopControllerImplTest {
                 () -> assertEquals(200, response.getStatus()),
                 () -> assertEquals(shop.getId(), shopResponse.getId()),
                 () -> assertEquals(shop.getName(), shopResponse.getName()),
-                () -> assertEquals(getShopDto.getBooksId(), shopResponse.getBooksId()),
-                () -> assertEquals(getShopDto.getClientsId(), shopResponse.getClientsId()),
+                () -> assertEquals(getShopDto.getBooksCount(), shopResponse.getBooksCount()),
+                () -> assertEquals(getShopDto.getClientsCount(), shopResponse.getClientsCount()),
                 () -> assertEquals(shop.getLocation(), shopResponse.getLocation())
         );
 
@@ -980,8 +1018,8 @@ class ShopControllerImplTest {
                 () -> assertEquals(200, response.getStatus()),
                 () -> assertEquals(shop.getId(), shopResponse.getId()),
                 () -> assertEquals(shop.getName(), shopResponse.getName()),
-                () -> assertEquals(getShopDto.getBooksId(), shopResponse.getBooksId()),
-                () -> assertEquals(getShopDto.getClientsId(), shopResponse.getClientsId()),
+                () -> assertEquals(getShopDto.getBooksCount(), shopResponse.getBooksCount()),
+                () -> assertEquals(getShopDto.getClientsCount(), shopResponse.getClientsCount()),
                 () -> assertEquals(shop.getLocation(), shopResponse.getLocation())
         );
 
@@ -52,6 +52,8 @@ public class ShopMapperImplTest {
                     .postalCode("28001")
                     .country("España")
                     .build())
+            .booksCount(3)
+            .clientsCount(2)
             .build();
 
     @Test
@@ -82,7 +84,9 @@ public class ShopMapperImplTest {
         GetShopDto shopT = shopMapperImpl.toGetShopDto(shop);
         assertAll(
                 () -> assertEquals(shopT.getName(), createShopDto.getName()),
-                () -> assertEquals(shopT.getLocation(), createShopDto.getLocation())
+                () -> assertEquals(shopT.getLocation(), createShopDto.getLocation()),
+                () -> assertEquals(3, shopT.getBooksCount()),
+                () -> assertEquals(2, shopT.getClientsCount())
         );
 
     }
@@ -1,6 +1,8 @@
 package com.nullers.restbookstore.rest.shop.services;
 
+import com.nullers.restbookstore.rest.book.dto.GetBookDTO;
 import com.nullers.restbookstore.rest.book.exceptions.BookNotFoundException;
+import com.nullers.restbookstore.rest.book.mappers.BookMapperImpl;
 import com.nullers.restbookstore.rest.book.model.Book;
 import com.nullers.restbookstore.rest.book.repository.BookRepository;
 import com.nullers.restbookstore.rest.category.model.Category;
@@ -8,9 +10,13 @@ import com.nullers.restbookstore.rest.client.exceptions.ClientNotFound;
 import com.nullers.restbookstore.rest.client.model.Client;
 import com.nullers.restbookstore.rest.client.repository.ClientRepository;
 import com.nullers.restbookstore.rest.common.Address;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
 import com.nullers.restbookstore.rest.orders.models.Order;
 import com.nullers.restbookstore.rest.orders.models.OrderLine;
 import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
+import com.nullers.restbookstore.rest.publisher.dto.PublisherData;
+import com.nullers.restbookstore.rest.publisher.mappers.PublisherMapper;
 import com.nullers.restbookstore.rest.publisher.model.Publisher;
 import com.nullers.restbookstore.rest.shop.dto.CreateShopDto;
 import com.nullers.restbookstore.rest.shop.dto.GetShopDto;
@@ -40,6 +46,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -60,6 +67,15 @@ public class ShopServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private ReferenceFilters referenceFilters;
+
+    @Mock
+    private BookMapperImpl bookMapper;
+
+    @Mock
+    private PublisherMapper publisherMapper;
+
     @InjectMocks
     private ShopServiceImpl shopService;
 
@@ -108,13 +124,13 @@ public class ShopServiceTest {
     OrderLine orderLine = OrderLine.builder()
             .bookId(1L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
     OrderLine orderLine2 = OrderLine.builder()
             .bookId(2L)
             .quantity(1)
-            .price(1.0)
+            .price(Money.of(1.0))
             .build();
 
 
@@ -135,7 +151,7 @@ public class ShopServiceTest {
             .publisher(publisher)
             .image("image.jpg")
             .stock(10)
-            .price(1.0)
+            .price(Money.of(1.0))
             .description("description")
             .active(true)
             .category(category)
@@ -182,7 +198,7 @@ public class ShopServiceTest {
             .orderLines(List.of(orderLine, orderLine2))
             .updatedAt(LocalDateTime.now())
             .createdAt(LocalDateTime.now())
-            .total(2.0)
+            .total(Money.of(2.0))
             .totalBooks(2)
             .build();
 
@@ -199,8 +215,6 @@ public class ShopServiceTest {
                         .postalCode("28001")
                         .country("España")
                         .build())
-                .clientsId(Set.of())
-                .booksId(Set.of())
                 .build();
     }
 
@@ -338,12 +352,24 @@ public class ShopServiceTest {
     @Test
     void deleteShop_ShouldDeleteShop() {
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
-        when(orderRepository.findByShopId(any(UUID.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of()));
+        when(referenceFilters.mightBeReferenced(eq(ReferenceFilters.Reference.ORDER_SHOP), any(UUID.class))).thenReturn(true);
+        when(orderRepository.existsByShopId(any(UUID.class))).thenReturn(false);
 
         shopService.deleteShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"));
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(orderRepository, times(1)).findByShopId(any(UUID.class), any(PageRequest.class));
+        verify(orderRepository, times(1)).existsByShopId(any(UUID.class));
+        verify(shopRepository, times(1)).delete(any(Shop.class));
+    }
+
+    @Test
+    void deleteShop_WithoutOrderReferences_ShouldSkipOrderQuery() {
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(referenceFilters.mightBeReferenced(eq(ReferenceFilters.Reference.ORDER_SHOP), any(UUID.class))).thenReturn(false);
+
+        shopService.deleteShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"));
+
+        verify(orderRepository, never()).existsByShopId(any(UUID.class));
         verify(shopRepository, times(1)).delete(any(Shop.class));
     }
 
@@ -363,7 +389,8 @@ public class ShopServiceTest {
     @Test
     void deleteShop_ShouldReturnShopHasOrdersException() {
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
-        when(orderRepository.findByShopId(any(UUID.class), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(order)));
+        when(referenceFilters.mightBeReferenced(eq(ReferenceFilters.Reference.ORDER_SHOP), any(UUID.class))).thenReturn(true);
+        when(orderRepository.existsByShopId(any(UUID.class))).thenReturn(true);
 
         var res = assertThrows(ShopHasOrders.class, () -> shopService.deleteShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000")));
 
@@ -372,41 +399,67 @@ public class ShopServiceTest {
         );
 
         verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(orderRepository, times(1)).findByShopId(any(UUID.class), any(PageRequest.class));
+        verify(orderRepository, times(1)).existsByShopId(any(UUID.class));
+    }
+
+    @Test
+    void getShopBooks_ShouldReturnPage() {
+        var pageable = PageRequest.of(0, 10);
+        var bookDto = GetBookDTO.builder().id(1L).name("Libro").build();
+        var publisherData = PublisherData.builder().id(1L).build();
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.findBooksByShopId(any(UUID.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(book), pageable, 1));
+        when(publisherMapper.toPublisherData(book.getPublisher())).thenReturn(publisherData);
+        when(bookMapper.toGetBookDTO(book, publisherData)).thenReturn(bookDto);
+
+        var result = shopService.getShopBooks(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), pageable);
+
+        assertAll(
+                () -> assertEquals(1, result.getTotalElements()),
+                () -> assertEquals(bookDto, result.getContent().get(0))
+        );
+
+        verify(shopRepository, times(1)).findBooksByShopId(any(UUID.class), eq(pageable));
+    }
+
+    @Test
+    void getShopBooks_ShouldShopNotFoundException() {
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(false);
+
+        var res = assertThrows(ShopNotFoundException.class, () -> shopService.getShopBooks(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), PageRequest.of(0, 10)));
+
+        assertEquals("Tienda no encontrada - 123e4567-e89b-12d3-a456-426614174000", res.getMessage());
+        verify(shopRepository, never()).findBooksByShopId(any(UUID.class), any(PageRequest.class));
+    }
+
+    @Test
+    void getShopClients_ShouldReturnPage() {
+        var pageable = PageRequest.of(0, 10);
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.findClientsByShopId(any(UUID.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(clientTest), pageable, 1));
+
+        var result = shopService.getShopClients(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), pageable);
+
+        assertAll(
+                () -> assertEquals(1, result.getTotalElements()),
+                () -> assertEquals(clientTest.getId(), result.getContent().get(0).getId())
+        );
+
+        verify(shopRepository, times(1)).findClientsByShopId(any(UUID.class), eq(pageable));
     }
 
     @Test
     void addBookToShop_ShouldReturnShop() {
-        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
-        when(shopRepository.save(any(Shop.class))).thenReturn(Shop.builder()
+        GetShopDto updated = GetShopDto.builder()
                 .id(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"))
                 .name("Tienda 1")
-                .location(Address.builder()
-                        .province("Madrid")
-                        .city("Madrid")
-                        .street("Calle 1")
-                        .number("1")
-                        .postalCode("28001")
-                        .country("España")
-                        .build())
-                .clients(Set.of())
-                .books(Set.of(book))
-                .build());
-        when(shopMapper.toGetShopDto(any(Shop.class))).thenReturn(GetShopDto.builder()
-                .id(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"))
-                .name("Tienda 1")
-                .location(Address.builder()
-                        .province("Madrid")
-                        .city("Madrid")
-                        .street("Calle 1")
-                        .number("1")
-                        .postalCode("28001")
-                        .country("España")
-                        .build())
-                .clientsId(Set.of())
-                .booksId(Set.of(book.getId()))
-                .build());
+                .location(shop.getLocation())
+                .booksCount(1)
+                .build();
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.addBook(any(UUID.class), eq(1L))).thenReturn(1);
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(shopMapper.toGetShopDto(any(Shop.class))).thenReturn(updated);
 
         var result = shopService.addBookToShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 1L);
 
@@ -414,19 +467,17 @@ public class ShopServiceTest {
                 () -> assertEquals(shop.getId(), result.getId()),
                 () -> assertEquals(shop.getName(), result.getName()),
                 () -> assertEquals(shop.getLocation(), result.getLocation()),
-                () -> assertTrue(result.getBooksId().contains(1L))
+                () -> assertEquals(1, result.getBooksCount())
         );
 
-        verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
-        verify(shopRepository, times(1)).save(any(Shop.class));
-        verify(shopMapper, times(1)).toGetShopDto(any(Shop.class));
+        verify(shopRepository, times(1)).addBook(any(UUID.class), eq(1L));
+        verify(shopRepository, never()).save(any(Shop.class));
+        verify(bookRepository, never()).findById(any(Long.class));
     }
 
     @Test
     void addBookToShop_ShouldShopNotFoundException() {
-        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(false);
 
         var res = assertThrows(ShopNotFoundException.class, () -> shopService.addBookToShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 1L));
 
@@ -434,13 +485,13 @@ public class ShopServiceTest {
                 () -> assertEquals("Tienda no encontrada - 123e4567-e89b-12d3-a456-426614174000", res.getMessage())
         );
 
-        verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(shopRepository, times(1)).findById(any(UUID.class));
+        verify(shopRepository, never()).addBook(any(UUID.class), any(Long.class));
     }
 
     @Test
     void addBookToShop_ShouldBookNotFoundException() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.addBook(any(UUID.class), eq(1L))).thenReturn(0);
 
         var res = assertThrows(BookNotFoundException.class, () -> shopService.addBookToShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 1L));
 
@@ -448,15 +499,14 @@ public class ShopServiceTest {
                 () -> assertEquals("Libro no encontrado - 1", res.getMessage())
         );
 
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(shopRepository, never()).findById(any(UUID.class));
     }
 
-
     @Test
     void removeBookFromShop_ShouldReturnShop() {
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.removeBook(any(UUID.class), eq(1L))).thenReturn(1);
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
-        when(shopRepository.save(any(Shop.class))).thenReturn(shop);
         when(shopMapper.toGetShopDto(any(Shop.class))).thenReturn(getShopDto);
 
         var result = shopService.removeBookFromShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 1L);
@@ -465,32 +515,44 @@ public class ShopServiceTest {
                 () -> assertEquals(shop.getId(), result.getId()),
                 () -> assertEquals(shop.getName(), result.getName()),
                 () -> assertEquals(shop.getLocation(), result.getLocation()),
-                () -> assertTrue(result.getBooksId().isEmpty())
+                () -> assertEquals(0, result.getBooksCount())
         );
 
-        verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(bookRepository, times(1)).findById(any(Long.class));
-        verify(shopRepository, times(1)).save(any(Shop.class));
-        verify(shopMapper, times(1)).toGetShopDto(any(Shop.class));
+        verify(shopRepository, times(1)).removeBook(any(UUID.class), eq(1L));
+        verify(bookRepository, never()).existsById(any(Long.class));
+        verify(shopRepository, never()).save(any(Shop.class));
+    }
+
+    @Test
+    void removeBookFromShop_NotInShop_ShouldReturnShop() {
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.removeBook(any(UUID.class), eq(1L))).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
+        when(shopMapper.toGetShopDto(any(Shop.class))).thenReturn(getShopDto);
+
+        var result = shopService.removeBookFromShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 1L);
+
+        assertEquals(shop.getId(), result.getId());
     }
 
     @Test
     void removeBookFromShop_ShouldShopNotFoundException() {
-        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.of(book));
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(false);
         var res = assertThrows(ShopNotFoundException.class, () -> shopService.removeBookFromShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 1L));
 
         assertAll(
                 () -> assertEquals("Tienda no encontrada - 123e4567-e89b-12d3-a456-426614174000", res.getMessage())
         );
 
-        verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(shopRepository, times(1)).findById(any(UUID.class));
+        verify(shopRepository, never()).removeBook(any(UUID.class), any(Long.class));
     }
 
     @Test
     void removeBookFromShop_ShouldBookNotFoundException() {
-        when(bookRepository.findById(any(Long.class))).thenReturn(Optional.empty());
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.removeBook(any(UUID.class), eq(1L))).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(false);
 
         var res = assertThrows(BookNotFoundException.class, () -> shopService.removeBookFromShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), 1L));
 
@@ -498,45 +560,21 @@ public class ShopServiceTest {
                 () -> assertEquals("Libro no encontrado - 1", res.getMessage())
         );
 
-        verify(bookRepository, times(1)).findById(any(Long.class));
+        verify(bookRepository, times(1)).existsById(1L);
     }
 
     @Test
     void addClientToShop_ShoulReturnGetShopDto() {
+        GetShopDto updated = GetShopDto.builder()
+                .id(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"))
+                .name("Tienda 1")
+                .location(shop.getLocation())
+                .clientsCount(1)
+                .build();
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.addClient(any(UUID.class), eq(clientTest.getId()))).thenReturn(1);
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
-        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
-        when(shopRepository.save(any(Shop.class))).thenReturn(
-                Shop.builder()
-                        .id(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"))
-                        .name("Tienda 1")
-                        .location(Address.builder()
-                                .province("Madrid")
-                                .city("Madrid")
-                                .street("Calle 1")
-                                .number("1")
-                                .postalCode("28001")
-                                .country("España")
-                                .build())
-                        .clients(Set.of(clientTest))
-                        .books(Set.of())
-                        .build()
-        );
-        when(shopMapper.toGetShopDto(any(Shop.class))).thenReturn(
-                GetShopDto.builder()
-                        .id(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"))
-                        .name("Tienda 1")
-                        .location(Address.builder()
-                                .province("Madrid")
-                                .city("Madrid")
-                                .street("Calle 1")
-                                .number("1")
-                                .postalCode("28001")
-                                .country("España")
-                                .build())
-                        .clientsId(Set.of(clientTest.getId()))
-                        .booksId(Set.of())
-                        .build()
-        );
+        when(shopMapper.toGetShopDto(any(Shop.class))).thenReturn(updated);
 
         var result = shopService.addClientToShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0"));
 
@@ -544,19 +582,17 @@ public class ShopServiceTest {
                 () -> assertEquals(shop.getId(), result.getId()),
                 () -> assertEquals(shop.getName(), result.getName()),
                 () -> assertEquals(shop.getLocation(), result.getLocation()),
-                () -> assertTrue(result.getClientsId().contains(clientTest.getId()))
+                () -> assertEquals(1, result.getClientsCount())
         );
 
-        verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(clientRepository, times(1)).findById(any(UUID.class));
-        verify(shopRepository, times(1)).save(any(Shop.class));
-        verify(shopMapper, times(1)).toGetShopDto(any(Shop.class));
+        verify(shopRepository, times(1)).addClient(any(UUID.class), eq(clientTest.getId()));
+        verify(shopRepository, never()).save(any(Shop.class));
+        verify(clientRepository, never()).findById(any(UUID.class));
     }
 
     @Test
     void addClientToShop_ShouldShopNotFoundException() {
-        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
-        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(false);
 
         var res = assertThrows(ShopNotFoundException.class, () -> shopService.addClientToShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0")));
 
@@ -564,13 +600,13 @@ public class ShopServiceTest {
                 () -> assertEquals("Tienda no encontrada - 123e4567-e89b-12d3-a456-426614174000", res.getMessage())
         );
 
-        verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(shopRepository, times(1)).findById(any(UUID.class));
+        verify(shopRepository, never()).addClient(any(UUID.class), any(UUID.class));
     }
 
     @Test
     void addClientToShop_ShouldClientNotFoundException() {
-        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.addClient(any(UUID.class), any(UUID.class))).thenReturn(0);
 
         var res = assertThrows(ClientNotFound.class, () -> shopService.addClientToShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0")));
 
@@ -578,14 +614,14 @@ public class ShopServiceTest {
                 () -> assertEquals("Client con id: 9def16db-362b-44c4-9fc9-77117758b5b0 no existe", res.getMessage())
         );
 
-        verify(clientRepository, times(1)).findById(any(UUID.class));
+        verify(shopRepository, never()).findById(any(UUID.class));
     }
 
     @Test
     void removeClientFromShop_ShouldReturnGetShopDto() {
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.removeClient(any(UUID.class), any(UUID.class))).thenReturn(1);
         when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.of(shop));
-        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
-        when(shopRepository.save(any(Shop.class))).thenReturn(shop);
         when(shopMapper.toGetShopDto(any(Shop.class))).thenReturn(getShopDto);
 
         var result = shopService.removeClientFromShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0"));
@@ -594,19 +630,17 @@ public class ShopServiceTest {
                 () -> assertEquals(shop.getId(), result.getId()),
                 () -> assertEquals(shop.getName(), result.getName()),
                 () -> assertEquals(shop.getLocation(), result.getLocation()),
-                () -> assertTrue(result.getClientsId().isEmpty())
+                () -> assertEquals(0, result.getClientsCount())
         );
 
-        verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(clientRepository, times(1)).findById(any(UUID.class));
-        verify(shopRepository, times(1)).save(any(Shop.class));
-        verify(shopMapper, times(1)).toGetShopDto(any(Shop.class));
+        verify(shopRepository, times(1)).removeClient(any(UUID.class), any(UUID.class));
+        verify(clientRepository, never()).existsById(any(UUID.class));
+        verify(shopRepository, never()).save(any(Shop.class));
     }
 
     @Test
     void removeClientFromShop_ShouldShopNotFoundException() {
-        when(shopRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
-        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.of(clientTest));
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(false);
 
         var res = assertThrows(ShopNotFoundException.class, () -> shopService.removeClientFromShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0")));
 
@@ -614,13 +648,14 @@ public class ShopServiceTest {
                 () -> assertEquals("Tienda no encontrada - 123e4567-e89b-12d3-a456-426614174000", res.getMessage())
         );
 
-        verify(shopRepository, times(1)).findById(any(UUID.class));
-        verify(shopRepository, times(1)).findById(any(UUID.class));
+        verify(shopRepository, never()).removeClient(any(UUID.class), any(UUID.class));
     }
 
     @Test
     void removeClientFromShop_ShouldClientNotFoundException() {
-        when(clientRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(shopRepository.existsById(any(UUID.class))).thenReturn(true);
+        when(shopRepository.removeClient(any(UUID.class), any(UUID.class))).thenReturn(0);
+        when(clientRepository.existsById(any(UUID.class))).thenReturn(false);
 
         var res = assertThrows(ClientNotFound.class, () -> shopService.removeClientFromShop(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), UUID.fromString("9def16db-362b-44c4-9fc9-77117758b5b0")));
 
@@ -628,7 +663,7 @@ public class ShopServiceTest {
                 () -> assertEquals("Client con id: 9def16db-362b-44c4-9fc9-77117758b5b0 no existe", res.getMessage())
         );
 
-        verify(clientRepository, times(1)).findById(any(UUID.class));
+        verify(clientRepository, times(1)).existsById(any(UUID.class));
     }
 
 
@@ -1,8 +1,13 @@
 package com.nullers.restbookstore.rest.users.services;
 
+import com.nullers.restbookstore.rest.auth.services.jwt.TokenVersionRegistry;
+import com.nullers.restbookstore.rest.common.Money;
+import com.nullers.restbookstore.rest.common.ReferenceFilters;
+import com.nullers.restbookstore.rest.orders.dto.OrderSummary;
 import com.nullers.restbookstore.rest.orders.models.Order;
 import com.nullers.restbookstore.rest.orders.repositories.OrderRepository;
 import com.nullers.restbookstore.rest.user.dto.UserInfoResponse;
+import com.nullers.restbookstore.rest.user.dto.UserProfileResponse;
 import com.nullers.restbookstore.rest.user.dto.UserRequest;
 import com.nullers.restbookstore.rest.user.dto.UserResponse;
 import com.nullers.restbookstore.rest.user.exceptions.UserNameOrEmailExists;
@@ -11,6 +16,7 @@ import com.nullers.restbookstore.rest.user.mapper.UserMapper;
 import com.nullers.restbookstore.rest.user.models.User;
 import com.nullers.restbookstore.rest.user.repository.UserRepository;
 import com.nullers.restbookstore.rest.user.services.UserService;
+import com.nullers.restbookstore.rest.user.services.UserSearchIndex;
 import com.nullers.restbookstore.rest.user.services.UserServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +29,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +37,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -62,6 +70,15 @@ class UserServicesTest {
     @Mock
     private PasswordEncoder passwordEncode;
 
+    @Mock
+    private ReferenceFilters referenceFilters;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -85,6 +102,19 @@ class UserServicesTest {
         );
     }
 
+    @Test
+    void findAllWithoutSearchIndexCandidates() {
+        // Arrange
+        when(userSearchIndex.candidates(Optional.of("nadie"), Optional.empty())).thenReturn(Optional.of(List.of()));
+
+        // Act
+        Page<UserResponse> result = userService.findAll(Optional.of("nadie"), Optional.empty(), Optional.empty(), Pageable.unpaged());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(userRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void findById() {
         // Arrange
@@ -101,6 +131,57 @@ class UserServicesTest {
         );
     }
 
+    @Test
+    void findByIdReturnsOrderIds() {
+        // Arrange
+        Order order = Order.builder().build();
+        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
+        when(orderRepository.findOrderIdsByClientId(user.getId())).thenReturn(List.of(order));
+        when(userMapper.toUserInfoResponse(user, List.of(order.getId().toHexString()))).thenReturn(userInfoResponse);
+
+        // Act
+        UserInfoResponse result = userService.findById(user.getId());
+
+        // Assert
+        assertAll(
+                () -> assertNotNull(result),
+                () -> assertEquals("test", result.getUsername())
+        );
+        verify(orderRepository, times(1)).findOrderIdsByClientId(user.getId());
+    }
+
+    @Test
+    void findProfileById() {
+        // Arrange
+        var summary = new OrderSummary("6536518de9b0d305f193b5ef", Money.of(10.0), 1, LocalDateTime.now());
+        var profile = UserProfileResponse.builder().username("test").orderCount(25).recentOrders(List.of(summary)).build();
+        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
+        when(orderRepository.findSummariesByClientId(eq(user.getId()), any(Pageable.class))).thenReturn(List.of(summary));
+        when(orderRepository.countByClientId(user.getId())).thenReturn(25L);
+        when(userMapper.toUserProfileResponse(user, 25L, List.of(summary))).thenReturn(profile);
+
+        // Act
+        UserProfileResponse result = userService.findProfileById(user.getId());
+
+        // Assert
+        assertAll(
+                () -> assertEquals("test", result.getUsername()),
+                () -> assertEquals(25, result.getOrderCount()),
+                () -> assertEquals(1, result.getRecentOrders().size())
+        );
+        verify(orderRepository, times(1)).findSummariesByClientId(eq(user.getId()), any(Pageable.class));
+        verify(orderRepository, never()).findOrderIdsByClientId(any(UUID.class));
+    }
+
+    @Test
+    void findProfileByIdNotFound() {
+        // Arrange
+        when(userRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UserNotFound.class, () -> userService.findProfileById(user.getId()));
+    }
+
     @Test
     void findByIdNotFound() {
         // Arrange
@@ -156,8 +237,10 @@ class UserServicesTest {
         // Assert
         assertAll(
                 () -> assertNotNull(result),
-                () -> assertEquals("test", result.getUsername())
+                () -> assertEquals("test", result.getUsername()),
+                () -> assertEquals(1, user.getTokenVersion())
         );
+        verify(tokenVersionRegistry, times(1)).revoke(user.getId(), 1);
     }
 
     @Test
@@ -192,9 +275,11 @@ class UserServicesTest {
     void deleteById() {
         UUID id = UUID.fromString("c671d981-bd6f-4e75-b7cc-fd3ca96582d5");
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
+        when(referenceFilters.mightBeReferenced(eq(ReferenceFilters.Reference.ORDER_USER), any(UUID.class))).thenReturn(true);
         when(orderRepository.existsByUserId(id)).thenReturn(true);
         userService.deleteById(id);
         verify(userRepository, times(1)).findById(id);
+        verify(tokenVersionRegistry, times(1)).revoke(id, 1);
     }
 
     @Test
@@ -0,0 +1,124 @@
+package com.nullers.restbookstore.storage.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapImageCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeFile(String name, int size) throws IOException {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte) name.charAt(0));
+        return Files.write(tempDir.resolve(name), content);
+    }
+
+    @Test
+    void getAdmitsFrequentImageAndServesItFromCache() throws IOException {
+        OffHeapImageCache cache = new OffHeapImageCache(16, 4, 2);
+        Path file = writeFile("a.png", 100);
+
+        Optional<Resource> first = cache.get("a.png", file);
+        Optional<Resource> second = cache.get("a.png", file);
+        Optional<Resource> third = cache.get("a.png", file);
+        byte[] served;
+        try (InputStream inputStream = third.orElseThrow().getInputStream()) {
+            served = inputStream.readAllBytes();
+        }
+        var stats = cache.getStats();
+
+        assertAll(
+                () -> assertTrue(first.isEmpty()),
+                () -> assertTrue(second.isEmpty()),
+                () -> assertArrayEquals(Files.readAllBytes(file), served),
+                () -> assertEquals(100, third.get().contentLength()),
+                () -> assertEquals(1, stats.getEntries()),
+                () -> assertEquals(1, stats.getHits()),
+                () -> assertEquals(2, stats.getMisses()),
+                () -> assertEquals(100, stats.getBytesServed()),
+                () -> assertEquals(100, stats.getUsedBytes())
+        );
+    }
+
+    @Test
+    void getDoesNotAdmitImagesLargerThanMaxEntry() throws IOException {
+        OffHeapImageCache cache = new OffHeapImageCache(16, 1, 1);
+        Path file = writeFile("big.png", 2048);
+
+        cache.get("big.png", file);
+
+        assertAll(
+                () -> assertTrue(cache.get("big.png", file).isEmpty()),
+                () -> assertEquals(0, cache.getStats().getEntries())
+        );
+    }
+
+    @Test
+    void invalidateRemovesImage() throws IOException {
+        OffHeapImageCache cache = new OffHeapImageCache(16, 4, 1);
+        Path file = writeFile("a.png", 100);
+        cache.get("a.png", file);
+
+        cache.invalidate("a.png");
+
+        assertAll(
+                () -> assertEquals(0, cache.getStats().getEntries()),
+                () -> assertEquals(0, cache.getStats().getUsedBytes()),
+                () -> assertTrue(cache.get("a.png", file).isEmpty())
+        );
+    }
+
+    @Test
+    void getEvictsOnlyForMoreFrequentImages() throws IOException {
+        OffHeapImageCache cache = new OffHeapImageCache(2, 1, 2);
+        Path a = writeFile("a.png", 1024);
+        Path b = writeFile("b.png", 1024);
+        Path c = writeFile("c.png", 1024);
+        for (int i = 0; i < 5; i++) {
+            cache.get("a.png", a);
+        }
+        for (int i = 0; i < 3; i++) {
+            cache.get("b.png", b);
+        }
+
+        cache.get("c.png", c);
+        cache.get("c.png", c);
+        long rejectionsWhileCold = cache.getStats().getRejections();
+        for (int i = 0; i < 4; i++) {
+            cache.get("c.png", c);
+        }
+        var stats = cache.getStats();
+
+        assertAll(
+                () -> assertEquals(1, rejectionsWhileCold),
+                () -> assertEquals(1, stats.getEvictions()),
+                () -> assertEquals(2, stats.getEntries()),
+                () -> assertEquals(2048, stats.getUsedBytes()),
+                () -> assertTrue(cache.get("c.png", c).isPresent()),
+                () -> assertTrue(cache.get("b.png", b).isPresent())
+        );
+    }
+
+    @Test
+    void disabledCacheNeverStoresImages() throws IOException {
+        OffHeapImageCache cache = OffHeapImageCache.disabled();
+        Path file = writeFile("a.png", 100);
+        cache.get("a.png", file);
+
+        assertAll(
+                () -> assertTrue(cache.get("a.png", file).isEmpty()),
+                () -> assertFalse(cache.getStats().isEnabled())
+        );
+    }
+}
@@ -20,6 +20,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -152,10 +153,13 @@ class FileSystemStorageServiceTest {
 
     @Test
     void testLoadAll() {
-        var res = fileSystemStorageService.loadAll();
+        List<Path> res;
+        try (Stream<Path> files = fileSystemStorageService.loadAll()) {
+            res = files.toList();
+        }
         assertAll(
                 () -> assertNotNull(res),
-                () -> assertFalse(res.toList().isEmpty())
+                () -> assertFalse(res.isEmpty())
         );
     }
 
@@ -205,10 +209,13 @@ class FileSystemStorageServiceTest {
     void testDeleteAll() throws IOException {
         fileSystemStorageService.deleteAll();
         fileSystemStorageService.init();
-        var res = fileSystemStorageService.loadAll();
+        List<Path> res;
+        try (Stream<Path> files = fileSystemStorageService.loadAll()) {
+            res = files.toList();
+        }
 
         assertAll(
-                () -> assertTrue(res.toList().isEmpty())
+                () -> assertTrue(res.isEmpty())
         );
     }
 
@@ -226,10 +233,13 @@ class FileSystemStorageServiceTest {
     void testInit() throws IOException {
         fileSystemStorageService.deleteAll();
         fileSystemStorageService.init();
-        var res = fileSystemStorageService.loadAll();
+        List<Path> res;
+        try (Stream<Path> files = fileSystemStorageService.loadAll()) {
+            res = files.toList();
+        }
         assertAll(
                 () -> assertNotNull(res),
-                () -> assertTrue(res.toList().isEmpty())
+                () -> assertTrue(res.isEmpty())
         );
     }
 
@@ -240,7 +250,10 @@ class FileSystemStorageServiceTest {
                         "image/png", bytesPNG),
                 List.of("jpg", "jpeg", "png"), UUID.randomUUID().toString());
         fileSystemStorageService.delete(file);
-        var res = fileSystemStorageService.loadAll().toList();
+        List<Path> res;
+        try (Stream<Path> files = fileSystemStorageService.loadAll()) {
+            res = files.toList();
+        }
         assertAll(
                 () -> assertNotNull(res),
                 () -> assertEquals(2, res.size())
@@ -0,0 +1,98 @@
+package com.nullers.restbookstore.storage.services;
+
+import com.nullers.restbookstore.rest.book.repository.BookRepository;
+import com.nullers.restbookstore.rest.client.repository.ClientRepository;
+import com.nullers.restbookstore.rest.publisher.repository.PublisherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanImageGarbageCollectorTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PublisherRepository publisherRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    private final FileSystemStorageService storageService = new FileSystemStorageService("test-gc-images");
+
+    private OrphanImageGarbageCollector garbageCollector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storageService.deleteAll();
+        storageService.init();
+        FileTime old = FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS));
+        Files.setLastModifiedTime(Files.write(storageService.load("keep.png"), new byte[]{1}), old);
+        Files.setLastModifiedTime(Files.write(storageService.load("orphan.png"), new byte[]{1, 2}), old);
+        Files.write(storageService.load("recent.png"), new byte[]{1});
+        garbageCollector = new OrphanImageGarbageCollector(storageService, bookRepository, publisherRepository,
+                clientRepository, false, 1000, 60, 100, 10, 0);
+    }
+
+    @Test
+    void runIncrementDeletesOnlyOldUnreferencedFiles() {
+        when(bookRepository.findAllImages(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of("https://localhost:8080/storage/keep.png")));
+        when(publisherRepository.findAllImages(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(clientRepository.findAllImages(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+
+        boolean finished = garbageCollector.runIncrement();
+        var status = garbageCollector.getStatus();
+
+        assertAll(
+                () -> assertTrue(finished),
+                () -> assertTrue(Files.exists(storageService.load("keep.png"))),
+                () -> assertTrue(Files.exists(storageService.load("recent.png"))),
+                () -> assertFalse(Files.exists(storageService.load("orphan.png"))),
+                () -> assertEquals(3, status.getFilesScanned()),
+                () -> assertEquals(1, status.getFilesDeleted()),
+                () -> assertEquals(2, status.getBytesReclaimed()),
+                () -> assertEquals(1, status.getCompletedCycles()),
+                () -> assertFalse(status.isCycleInProgress())
+        );
+    }
+
+    @Test
+    void runIncrementResumesFromCursor() {
+        garbageCollector = new OrphanImageGarbageCollector(storageService, bookRepository, publisherRepository,
+                clientRepository, false, 1000, 60, 2, 10, 0);
+        when(bookRepository.findAllImages(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(publisherRepository.findAllImages(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        when(clientRepository.findAllImages(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+
+        boolean firstFinished = garbageCollector.runIncrement();
+        String cursor = garbageCollector.getStatus().getCursor();
+        boolean secondFinished = garbageCollector.runIncrement();
+
+        assertAll(
+                () -> assertFalse(firstFinished),
+                () -> assertEquals("orphan.png", cursor),
+                () -> assertTrue(secondFinished),
+                () -> assertEquals(3, garbageCollector.getStatus().getFilesScanned()),
+                () -> assertEquals(2, garbageCollector.getStatus().getFilesDeleted()),
+                () -> assertTrue(Files.exists(storageService.load("recent.png"))),
+                () -> assertNull(garbageCollector.getStatus().getCursor())
+        );
+    }
+}
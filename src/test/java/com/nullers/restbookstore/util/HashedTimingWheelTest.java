@@ -0,0 +1,64 @@
+package com.nullers.restbookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void expiresOnDeadlineTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, TimeUnit.MILLISECONDS, 8, 0);
+        wheel.schedule("a", 500, TimeUnit.MILLISECONDS, 0);
+
+        assertAll(
+                () -> assertTrue(wheel.advance(4 * TICK).isEmpty()),
+                () -> assertEquals(List.of("a"), wheel.advance(5 * TICK)),
+                () -> assertEquals(0, wheel.size())
+        );
+    }
+
+    @Test
+    void deadlinesBeyondOneTurnWaitForTheirRound() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, TimeUnit.MILLISECONDS, 8, 0);
+        wheel.schedule("near", 400, TimeUnit.MILLISECONDS, 0);
+        wheel.schedule("far", 2000, TimeUnit.MILLISECONDS, 0);
+
+        assertAll(
+                () -> assertEquals(List.of("near"), wheel.advance(12 * TICK)),
+                () -> assertTrue(wheel.advance(19 * TICK).isEmpty()),
+                () -> assertEquals(List.of("far"), wheel.advance(20 * TICK))
+        );
+    }
+
+    @Test
+    void scheduleAfterAdvanceIsRelativeToNow() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, TimeUnit.MILLISECONDS, 8, 0);
+        wheel.advance(10 * TICK);
+        wheel.schedule("a", 1000, TimeUnit.MILLISECONDS, 10 * TICK);
+
+        assertAll(
+                () -> assertTrue(wheel.advance(19 * TICK).isEmpty()),
+                () -> assertEquals(List.of("a"), wheel.advance(20 * TICK))
+        );
+    }
+
+    @Test
+    void cancelledItemsNeverExpire() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, TimeUnit.MILLISECONDS, 8, 0);
+        HashedTimingWheel.Timeout<String> timeout = wheel.schedule("a", 300, TimeUnit.MILLISECONDS, 0);
+        wheel.schedule("b", 300, TimeUnit.MILLISECONDS, 0);
+
+        assertAll(
+                () -> assertTrue(wheel.cancel(timeout)),
+                () -> assertFalse(wheel.cancel(timeout)),
+                () -> assertEquals(List.of("b"), wheel.advance(3 * TICK)),
+                () -> assertEquals(0, wheel.size())
+        );
+    }
+}
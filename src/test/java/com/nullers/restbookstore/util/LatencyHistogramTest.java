@@ -0,0 +1,85 @@
+package com.nullers.restbookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int i = 0; i < LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE); i++) {
+            long lowest = LatencyHistogram.lowestEquivalentValue(i);
+            assertEquals(i, LatencyHistogram.indexOf(lowest));
+            assertEquals(i, LatencyHistogram.indexOf(LatencyHistogram.highestEquivalentValue(i)));
+            assertEquals(i + 1, LatencyHistogram.indexOf(LatencyHistogram.highestEquivalentValue(i) + 1));
+        }
+    }
+
+    @Test
+    void emptyHistogram() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertAll(
+                () -> assertEquals(0, snapshot.count()),
+                () -> assertEquals(0, snapshot.percentile(99)),
+                () -> assertEquals(0, snapshot.mean())
+        );
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertAll(
+                () -> assertEquals(50, snapshot.count()),
+                () -> assertEquals(25, snapshot.percentile(50)),
+                () -> assertEquals(45, snapshot.percentile(90)),
+                () -> assertEquals(50, snapshot.percentile(100)),
+                () -> assertEquals(50, snapshot.max()),
+                () -> assertEquals(25.5, snapshot.mean())
+        );
+    }
+
+    @Test
+    void percentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = snapshot.percentile(percentile);
+            assertTrue(actual >= expected && actual <= expected * 1.04 + 1, percentile + ": " + actual + " " + expected);
+        }
+        assertEquals(values[values.length - 1], snapshot.max());
+    }
+
+    @Test
+    void largeValuesGoToLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE / 2);
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertAll(
+                () -> assertEquals(2, snapshot.count()),
+                () -> assertEquals(0, snapshot.percentile(50)),
+                () -> assertEquals(Long.MAX_VALUE / 2, snapshot.percentile(100))
+        );
+    }
+}
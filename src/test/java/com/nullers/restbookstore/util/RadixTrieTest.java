@@ -0,0 +1,96 @@
+package com.nullers.restbookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixTrieTest {
+
+    private static List<Long> ids(List<RadixTrie.Completion<Long>> completions) {
+        return completions.stream().map(RadixTrie.Completion::id).toList();
+    }
+
+    @Test
+    void completesTextsAndWordsByWeight() {
+        RadixTrie<Long> trie = new RadixTrie<>(3);
+        trie.put(1L, "¿El asesino sigue aquí?", 5);
+        trie.put(2L, "El señor de los anillos", 10);
+        trie.put(3L, "El Asesinato de Roger", 1);
+        trie.put(4L, "Asesinos", 7);
+
+        assertAll(
+                () -> assertEquals(List.of(2L, 1L, 3L), ids(trie.complete("el", 10))),
+                () -> assertEquals(List.of(4L, 1L, 3L), ids(trie.complete("ASES", 10))),
+                () -> assertEquals(List.of(2L), ids(trie.complete("senor d", 10))),
+                () -> assertEquals(List.of(1L), ids(trie.complete("aqui", 10))),
+                () -> assertEquals(List.of(4L), ids(trie.complete("ases", 1))),
+                () -> assertEquals(List.of(), trie.complete("xyz", 10))
+        );
+    }
+
+    @Test
+    void updatesAndRemovalsRecomputeSuggestions() {
+        RadixTrie<Long> trie = new RadixTrie<>(2);
+        trie.put(1L, "Dune", 1);
+        trie.put(2L, "Dublinesca", 2);
+        trie.put(3L, "Drácula", 3);
+
+        assertEquals(List.of(3L, 2L), ids(trie.complete("d", 10)));
+
+        trie.put(1L, "Dune", 9);
+        trie.remove(3L);
+
+        assertAll(
+                () -> assertEquals(List.of(1L, 2L), ids(trie.complete("d", 10))),
+                () -> assertEquals(List.of(), trie.complete("dra", 10)),
+                () -> assertEquals(2, trie.size())
+        );
+    }
+
+    @Test
+    void matchesLinearScanAfterManyChanges() {
+        String[] words = {"ana", "anillo", "ando", "bar", "barco", "casa", "cas", "c", "zz", "a"};
+        RadixTrie<Integer> trie = new RadixTrie<>(5);
+        Map<Integer, String> texts = new HashMap<>();
+        Map<Integer, Long> weights = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(300);
+            if (random.nextInt(5) == 0) {
+                trie.remove(id);
+                texts.remove(id);
+                weights.remove(id);
+                continue;
+            }
+            StringBuilder text = new StringBuilder();
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                text.append(words[random.nextInt(words.length)]).append(j > 0 ? " " : "");
+            }
+            long weight = random.nextInt(50);
+            trie.put(id, text.toString(), weight);
+            texts.put(id, text.toString());
+            weights.put(id, weight);
+        }
+
+        for (String query : List.of("a", "an", "ani", "b", "bar", "ca", "c", "z", "x", "ana an")) {
+            List<Integer> expected = new ArrayList<>();
+            texts.forEach((id, text) -> {
+                if (RadixTrie.keys(text).stream().anyMatch(key -> key.startsWith(query))) {
+                    expected.add(id);
+                }
+            });
+            expected.sort(Comparator.comparingLong((Integer id) -> -weights.get(id)).thenComparing(texts::get));
+            List<Long> expectedWeights = expected.stream().limit(5).map(weights::get).toList();
+            List<Long> actualWeights = trie.complete(query, 5).stream().map(RadixTrie.Completion::weight).toList();
+            assertEquals(expectedWeights, actualWeights, query);
+        }
+        assertEquals(texts.size(), trie.size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.nullers.restbookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void consumesUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 1, TimeUnit.SECONDS, 0);
+
+        assertAll(
+                () -> assertTrue(bucket.tryConsume(0)),
+                () -> assertTrue(bucket.tryConsume(0)),
+                () -> assertTrue(bucket.tryConsume(0)),
+                () -> assertFalse(bucket.tryConsume(0)),
+                () -> assertEquals(SECOND, bucket.nanosUntilNextToken(0))
+        );
+    }
+
+    @Test
+    void refillsOverTimeWithoutExceedingCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, 1, TimeUnit.SECONDS, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertAll(
+                () -> assertFalse(bucket.tryConsume(SECOND / 2)),
+                () -> assertTrue(bucket.tryConsume(SECOND)),
+                () -> assertFalse(bucket.isFull(SECOND)),
+                () -> assertTrue(bucket.isFull(100 * SECOND)),
+                () -> assertTrue(bucket.tryConsume(100 * SECOND)),
+                () -> assertTrue(bucket.tryConsume(100 * SECOND)),
+                () -> assertFalse(bucket.tryConsume(100 * SECOND))
+        );
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 1, TimeUnit.SECONDS, 0));
+    }
+}
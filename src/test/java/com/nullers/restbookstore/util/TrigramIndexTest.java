@@ -0,0 +1,116 @@
+package com.nullers.restbookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    void findsSubstringsIgnoringCase() {
+        TrigramIndex index = new TrigramIndex(2);
+        UUID daniel = UUID.randomUUID();
+        UUID maria = UUID.randomUUID();
+        index.put(daniel, "Daniel", "daniel@gmail.com");
+        index.put(maria, "María", "maria@hotmail.com");
+
+        assertAll(
+                () -> assertEquals(Optional.of(List.of(daniel)), index.candidates(10, "ANI", null)),
+                () -> assertEquals(Optional.of(List.of(maria)), index.candidates(10, "rÍa", null)),
+                () -> assertEquals(Set.of(daniel, maria), Set.copyOf(index.candidates(10, null, "mail.com").orElseThrow())),
+                () -> assertEquals(Optional.of(List.of()), index.candidates(10, "xyz", null))
+        );
+    }
+
+    @Test
+    void combinesFieldsWithAnd() {
+        TrigramIndex index = new TrigramIndex(2);
+        UUID daniel = UUID.randomUUID();
+        index.put(daniel, "Daniel", "daniel@gmail.com");
+        index.put(UUID.randomUUID(), "Daniela", "daniela@hotmail.com");
+
+        assertAll(
+                () -> assertEquals(Optional.of(List.of(daniel)), index.candidates(10, "dan", "gmail")),
+                () -> assertEquals(Optional.of(List.of()), index.candidates(10, "gmail", null))
+        );
+    }
+
+    @Test
+    void unindexableQueriesFallBack() {
+        TrigramIndex index = new TrigramIndex(2);
+        for (int i = 0; i < 5; i++) {
+            index.put(UUID.randomUUID(), "cliente" + i, null);
+        }
+
+        assertAll(
+                () -> assertEquals(Optional.empty(), index.candidates(10, "cl", null)),
+                () -> assertEquals(Optional.empty(), index.candidates(10, "cli%", null)),
+                () -> assertEquals(Optional.empty(), index.candidates(10, null, null)),
+                () -> assertEquals(Optional.empty(), index.candidates(4, "cliente", null)),
+                () -> assertEquals(5, index.candidates(5, "cliente", null).orElseThrow().size())
+        );
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisible() {
+        TrigramIndex index = new TrigramIndex(1);
+        UUID id = UUID.randomUUID();
+        index.put(id, "antiguo");
+        index.put(id, "nuevo");
+
+        assertAll(
+                () -> assertEquals(Optional.of(List.of()), index.candidates(10, "antiguo")),
+                () -> assertEquals(Optional.of(List.of(id)), index.candidates(10, "nuevo")),
+                () -> assertFalse(index.putIfAbsent(id, "otro")),
+                () -> assertEquals(1, index.size())
+        );
+
+        index.remove(id);
+
+        assertAll(
+                () -> assertEquals(Optional.of(List.of()), index.candidates(10, "nuevo")),
+                () -> assertEquals(0, index.size())
+        );
+    }
+
+    @Test
+    void matchesLinearScanAfterManyChanges() {
+        TrigramIndex index = new TrigramIndex(1);
+        Map<UUID, String> values = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            UUID id = i < 2000 || ids.isEmpty() || random.nextBoolean() ? UUID.randomUUID() : ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(4) == 0 && values.containsKey(id)) {
+                index.remove(id);
+                values.remove(id);
+                continue;
+            }
+            String value = "usuario" + random.nextInt(500);
+            index.put(id, value);
+            values.put(id, value);
+            ids.add(id);
+        }
+
+        for (String query : List.of("rio1", "uario42", "o99", "usuario7")) {
+            Set<UUID> expected = new HashSet<>();
+            values.forEach((id, value) -> {
+                if (value.contains(query)) {
+                    expected.add(id);
+                }
+            });
+            assertEquals(expected, Set.copyOf(index.candidates(Integer.MAX_VALUE, query).orElseThrow()), query);
+        }
+        assertEquals(values.size(), index.size());
+    }
+}
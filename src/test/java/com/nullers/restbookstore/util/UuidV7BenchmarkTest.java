@@ -0,0 +1,75 @@
+package com.nullers.restbookstore.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara en PostgreSQL la velocidad de inserción y el tamaño del índice de la clave primaria con UUID versión 4 y
+ * versión 7. Solo se ejecuta con BENCHMARK_JDBC_URL (y BENCHMARK_JDBC_USER / BENCHMARK_JDBC_PASSWORD) apuntando a una
+ * base de datos de pruebas
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_JDBC_URL", matches = "jdbc:postgresql:.+")
+class UuidV7BenchmarkTest {
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(System.getenv("BENCHMARK_JDBC_URL"),
+                System.getenv("BENCHMARK_JDBC_USER"), System.getenv("BENCHMARK_JDBC_PASSWORD"));
+    }
+
+    private static String run(Connection connection, String table, Supplier<UUID> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, payload INTEGER NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " VALUES (?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setObject(1, ids.get());
+                insert.setInt(2, i);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("VACUUM ANALYZE " + table);
+            String result;
+            try (ResultSet rows = statement.executeQuery("SELECT COUNT(*), pg_relation_size('" + table + "_pkey') FROM "
+                    + table)) {
+                rows.next();
+                assertEquals(ROWS, rows.getLong(1));
+                result = String.format("%s: %.0f filas/s, índice %d KB", table, ROWS / seconds,
+                        rows.getLong(2) / 1024);
+            }
+            statement.execute("DROP TABLE " + table);
+            return result;
+        }
+    }
+
+    @Test
+    void insertThroughputAndIndexSize() throws SQLException {
+        try (Connection connection = connect()) {
+            String v4 = run(connection, "uuid_benchmark_v4", UUID::randomUUID);
+            String v7 = run(connection, "uuid_benchmark_v7", UuidV7::randomUuid);
+            System.out.println(v4 + System.lineSeparator() + v7);
+        }
+    }
+}
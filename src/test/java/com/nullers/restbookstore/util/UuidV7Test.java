@@ -0,0 +1,85 @@
+package com.nullers.restbookstore.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void generatesVersion7WithTimestamp() {
+        UUID uuid = new UuidV7(() -> 1_700_000_000_000L).next();
+
+        assertAll(
+                () -> assertEquals(7, uuid.version()),
+                () -> assertEquals(2, uuid.variant()),
+                () -> assertEquals(1_700_000_000_000L, UuidV7.timestamp(uuid))
+        );
+    }
+
+    @Test
+    void staysMonotonicWithinTheSameMillisecondAndWhenTheClockGoesBack() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7 generator = new UuidV7(clock::get);
+        UUID previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-1_000);
+            }
+            UUID next = generator.next();
+            assertTrue(previous.compareTo(next) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void javaOrderMatchesUnsignedByteOrder() {
+        UuidV7 generator = new UuidV7(System::currentTimeMillis);
+        UUID first = generator.next();
+        UUID second = generator.next();
+
+        assertAll(
+                () -> assertTrue(first.compareTo(second) < 0),
+                () -> assertTrue(first.toString().compareTo(second.toString()) < 0)
+        );
+    }
+
+    @Test
+    void concurrentIdsAreUniqueAndIncreasingPerThread() throws Exception {
+        UuidV7 generator = new UuidV7(System::currentTimeMillis);
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(executor.submit(() -> {
+                UUID previous = null;
+                for (int i = 0; i < 20_000; i++) {
+                    UUID next = generator.next();
+                    if (!ids.add(next) || previous != null && previous.compareTo(next) >= 0) {
+                        return false;
+                    }
+                    previous = next;
+                }
+                return true;
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        assertEquals(160_000, ids.size());
+    }
+}